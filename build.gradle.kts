@@ -8,6 +8,7 @@ plugins {
     signing
     id("com.github.johnrengelman.shadow") version "7.1.2" apply false
     id("net.researchgate.release") version "3.0.2" apply false
+    id("me.champeau.jmh") version "0.6.8" apply false
 }
 
 repositories {
@@ -44,6 +45,7 @@ apply(from = "gradle/readme.gradle.kts")
 apply(from = "gradle/jars.gradle")
 apply(from = "gradle/java9.gradle")
 apply(from = "gradle/tests.gradle")
+apply(from = "gradle/jmh.gradle")
 apply(from = "gradle/listener-manager-generation.gradle")
 apply(from = "gradle/event-dispatcher-generation.gradle")
 apply(from = "gradle/checkstyle.gradle.kts")
@@ -39,6 +39,8 @@ import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.interaction.ApplicationCommand;
 import org.javacord.api.interaction.ApplicationCommandBuilder;
 import org.javacord.api.interaction.ApplicationCommandUpdater;
+import org.javacord.api.interaction.InteractionEndpoint;
+import org.javacord.api.interaction.InteractionResponseMetrics;
 import org.javacord.api.interaction.MessageContextMenu;
 import org.javacord.api.interaction.ServerApplicationCommandPermissions;
 import org.javacord.api.interaction.SlashCommand;
@@ -48,10 +50,12 @@ import org.javacord.api.util.DiscordRegexPattern;
 import org.javacord.api.util.concurrent.ThreadPool;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestBatch;
 
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
+import java.net.InetSocketAddress;
 import java.net.URL;
 import java.time.Duration;
 import java.util.Collections;
@@ -313,6 +317,15 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     UncachedMessageUtil getUncachedMessageUtil();
 
+    /**
+     * Creates a new batch of rest operations.
+     * A batch sends many operations, e.g. role updates of all members of a server, as fast as the ratelimits allow
+     * without flooding the request queues.
+     *
+     * @return A new batch of rest operations.
+     */
+    RestBatch batch();
+
     /**
      * Gets the current global ratelimiter.
      *
@@ -441,6 +454,51 @@ public interface DiscordApi extends GloballyAttachableListenerManager {
      */
     boolean isDefaultAutomaticMessageCacheCleanupEnabled();
 
+    /**
+     * Sets the maximum amount of cached messages across all channels.
+     *
+     * <p>While this global capacity is set, the capacity of the single message caches is not enforced. Instead, the
+     * oldest messages of the least recently active channels are evicted first if the global capacity is exceeded, so
+     * busy channels keep more of their history than idle ones. Messages which are cached forever are not included in
+     * this limit. The maximum age of the single message caches still applies.
+     *
+     * @param capacity The maximum amount of cached messages across all channels, or {@code -1} to disable the global
+     *                 capacity.
+     */
+    void setGlobalMessageCacheCapacity(int capacity);
+
+    /**
+     * Gets the maximum amount of cached messages across all channels.
+     *
+     * @return The maximum amount of cached messages across all channels, or {@code -1} if it is disabled.
+     * @see #setGlobalMessageCacheCapacity(int)
+     */
+    int getGlobalMessageCacheCapacity();
+
+    /**
+     * Gets the metrics of the responses to interactions.
+     *
+     * <p>The response time of an interaction is the time from receiving it until Discord accepted the initial response.
+     *
+     * @return The metrics of the responses to interactions.
+     */
+    InteractionResponseMetrics getInteractionResponseMetrics();
+
+    /**
+     * Starts an embedded http endpoint which receives interactions from Discord.
+     *
+     * <p>Set the "Interactions Endpoint URL" of the application in the developer portal to the url under which the
+     * endpoint can be reached. Discord then sends all interactions to the endpoint instead of the gateway.
+     *
+     * @param address The address to bind the endpoint to.
+     * @param path The path to receive interactions on, e.g. {@code "/interactions"}.
+     * @param publicKey The hex encoded public key of the application from the developer portal.
+     * @return The started endpoint.
+     * @see InteractionEndpoint
+     */
+    CompletableFuture<InteractionEndpoint> startInteractionEndpoint(
+            InetSocketAddress address, String path, String publicKey);
+
     /**
      * Gets the current shard of the bot, starting with <code>0</code>.
      *
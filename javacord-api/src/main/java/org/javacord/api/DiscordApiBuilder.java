@@ -6,10 +6,14 @@ import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.ChainableGloballyAttachableListenerManager;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.api.util.event.EventDispatchMode;
 import org.javacord.api.util.internal.DelegateFactory;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 
+import java.io.File;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.util.Arrays;
@@ -472,6 +476,246 @@ public class DiscordApiBuilder implements ChainableGloballyAttachableListenerMan
         return delegate.isUserCacheEnabled();
     }
 
+    /**
+     * Sets the data structure that is used to cache channels, members and user presences.
+     *
+     * <p>By default, {@link EntityCacheBackend#IMMUTABLE} is used.
+     *
+     * @param entityCacheBackend The entity cache backend.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setEntityCacheBackend(EntityCacheBackend entityCacheBackend) {
+        delegate.setEntityCacheBackend(entityCacheBackend);
+        return this;
+    }
+
+    /**
+     * Gets the data structure that is used to cache channels, members and user presences.
+     *
+     * @return The entity cache backend.
+     */
+    public EntityCacheBackend getEntityCacheBackend() {
+        return delegate.getEntityCacheBackend();
+    }
+
+    /**
+     * Sets the maximum amount of cached messages across all channels.
+     *
+     * <p>By default, there is no global capacity and every channel caches up to its own capacity.
+     *
+     * @param capacity The maximum amount of cached messages across all channels, or {@code -1} to disable the global
+     *                 capacity.
+     * @return The current instance in order to chain call methods.
+     * @see DiscordApi#setGlobalMessageCacheCapacity(int)
+     */
+    public DiscordApiBuilder setGlobalMessageCacheCapacity(int capacity) {
+        delegate.setGlobalMessageCacheCapacity(capacity);
+        return this;
+    }
+
+    /**
+     * Gets the maximum amount of cached messages across all channels.
+     *
+     * @return The maximum amount of cached messages across all channels, or {@code -1} if it is disabled.
+     */
+    public int getGlobalMessageCacheCapacity() {
+        return delegate.getGlobalMessageCacheCapacity();
+    }
+
+    /**
+     * Sets whether the executor service of the {@link DiscordApi#getThreadPool() thread pool} should start a new
+     * virtual thread for every task, e.g. for every listener call.
+     *
+     * <p>Virtual threads are cheap to block, so listeners and ratelimited requests that wait no longer occupy a
+     * platform thread each. They require Java 21 or newer, on older Java versions platform threads are used anyway.
+     * By default, platform threads are used.
+     *
+     * @param enabled Whether virtual threads should be used.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setVirtualThreadsEnabled(boolean enabled) {
+        delegate.setVirtualThreadsEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether the executor service of the thread pool should start a new virtual thread for every task.
+     *
+     * @return Whether virtual threads should be used.
+     */
+    public boolean isVirtualThreadsEnabled() {
+        return delegate.isVirtualThreadsEnabled();
+    }
+
+    /**
+     * Sets the amount of threads which handle the packets of servers in parallel.
+     *
+     * <p>The packets of a server are always handled by the same thread, so they are handled in the order they were
+     * received. Packets without a server, like private messages, are handled by an additional thread.
+     * By default, the amount of available processors is used.
+     *
+     * @param threads The amount of threads. Must be at least {@code 1}.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setPacketHandlerThreads(int threads) {
+        delegate.setPacketHandlerThreads(threads);
+        return this;
+    }
+
+    /**
+     * Gets the amount of threads which handle the packets of servers in parallel.
+     *
+     * @return The amount of threads.
+     */
+    public int getPacketHandlerThreads() {
+        return delegate.getPacketHandlerThreads();
+    }
+
+    /**
+     * Sets whether large gateway packets should be decoded while they are handled instead of being parsed into a
+     * tree first.
+     *
+     * <p>If enabled, the members and presences of servers are parsed one by one when the server is created or members
+     * are received, so the memory that is required to receive large servers on startup is much lower.
+     * By default, streaming packet decoding is disabled.
+     *
+     * @param enabled Whether streaming packet decoding should be enabled.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setStreamingPacketDecodingEnabled(boolean enabled) {
+        delegate.setStreamingPacketDecodingEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether large gateway packets should be decoded while they are handled instead of being parsed into a
+     * tree first.
+     *
+     * @return Whether streaming packet decoding is enabled.
+     */
+    public boolean isStreamingPacketDecodingEnabled() {
+        return delegate.isStreamingPacketDecodingEnabled();
+    }
+
+    /**
+     * Sets the directory in which downloaded files like avatars, icons and attachments are cached.
+     *
+     * <p>Files are cached as far as their cache headers allow it. The least recently used files are removed when the
+     * cache exceeds its {@link #setDownloadCacheMaxSize(long) maximum size}. By default, no directory is set and
+     * downloaded files are only cached in memory.
+     *
+     * @param directory The directory of the download cache, or {@code null} to disable the disk cache.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setDownloadCacheDirectory(File directory) {
+        delegate.setDownloadCacheDirectory(directory);
+        return this;
+    }
+
+    /**
+     * Gets the directory in which downloaded files are cached.
+     *
+     * @return The directory of the download cache.
+     */
+    public Optional<File> getDownloadCacheDirectory() {
+        return delegate.getDownloadCacheDirectory();
+    }
+
+    /**
+     * Sets the maximum size of the download cache directory in bytes.
+     *
+     * <p>By default, the maximum size is 50 MiB.
+     *
+     * @param maxSize The maximum size in bytes. Must be positive.
+     * @return The current instance in order to chain call methods.
+     * @see #setDownloadCacheDirectory(File)
+     */
+    public DiscordApiBuilder setDownloadCacheMaxSize(long maxSize) {
+        delegate.setDownloadCacheMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * Gets the maximum size of the download cache directory in bytes.
+     *
+     * @return The maximum size in bytes.
+     */
+    public long getDownloadCacheMaxSize() {
+        return delegate.getDownloadCacheMaxSize();
+    }
+
+    /**
+     * Sets the way events are queued before they are dispatched to the listeners.
+     *
+     * <p>By default, {@link EventDispatchMode#QUEUE_MANAGER} is used.
+     *
+     * @param eventDispatchMode The event dispatch mode.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setEventDispatchMode(EventDispatchMode eventDispatchMode) {
+        delegate.setEventDispatchMode(eventDispatchMode);
+        return this;
+    }
+
+    /**
+     * Gets the way events are queued before they are dispatched to the listeners.
+     *
+     * @return The event dispatch mode.
+     */
+    public EventDispatchMode getEventDispatchMode() {
+        return delegate.getEventDispatchMode();
+    }
+
+    /**
+     * Sets how the origin of rest requests is captured.
+     *
+     * <p>The origin is the cause of a {@link org.javacord.api.exception.DiscordException} and shows the code which
+     * sent the failed request. Capturing it costs a stack trace for every request.
+     * By default, the {@link RestRequestOriginCapture#full() full} origin of every request is captured.
+     *
+     * @param restRequestOriginCapture The origin capture.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture) {
+        delegate.setRestRequestOriginCapture(restRequestOriginCapture);
+        return this;
+    }
+
+    /**
+     * Gets how the origin of rest requests is captured.
+     *
+     * @return The origin capture.
+     */
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return delegate.getRestRequestOriginCapture();
+    }
+
+    /**
+     * Sets whether interactions are handled in a fast lane.
+     *
+     * <p>Interactions have to be responded to within 3 seconds. If enabled, {@code INTERACTION_CREATE} packets are
+     * handled in their own lane instead of waiting behind the other packets of their server, and interaction events are
+     * dispatched right away instead of being queued behind the other events of their server. This means that
+     * interaction listeners may run in parallel to other listeners of the same server.
+     * By default, the interaction fast lane is disabled.
+     *
+     * @param enabled Whether the interaction fast lane should be enabled.
+     * @return The current instance in order to chain call methods.
+     */
+    public DiscordApiBuilder setInteractionFastLaneEnabled(boolean enabled) {
+        delegate.setInteractionFastLaneEnabled(enabled);
+        return this;
+    }
+
+    /**
+     * Gets whether interactions are handled in a fast lane.
+     *
+     * @return Whether the interaction fast lane is enabled.
+     */
+    public boolean isInteractionFastLaneEnabled() {
+        return delegate.isInteractionFastLaneEnabled();
+    }
+
     /**
      * Retrieves the recommended shards count from the Discord API and sets it in this builder.
      * Sharding allows you to split your bot into several independent instances.
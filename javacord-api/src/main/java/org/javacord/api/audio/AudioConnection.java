@@ -4,6 +4,7 @@ import org.javacord.api.entity.channel.ServerVoiceChannel;
 import org.javacord.api.entity.server.Server;
 import org.javacord.api.listener.audio.AudioConnectionAttachableListenerManager;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -58,6 +59,27 @@ public interface AudioConnection extends AudioConnectionAttachableListenerManage
      */
     void removeAudioSource();
 
+    /**
+     * Gets the handler of the received audio.
+     *
+     * @return The handler of the received audio.
+     */
+    Optional<AudioReceiveHandler> getReceiveHandler();
+
+    /**
+     * Sets the handler of the received audio, replacing any current handler.
+     *
+     * <p>Audio is only received while a handler is set.
+     *
+     * @param handler The handler of the received audio.
+     */
+    void setReceiveHandler(AudioReceiveHandler handler);
+
+    /**
+     * Removes the handler of the received audio.
+     */
+    void removeReceiveHandler();
+
     /**
      * Gets the voice channel of the audio connection.
      *
@@ -122,6 +144,34 @@ public interface AudioConnection extends AudioConnectionAttachableListenerManage
      */
     Set<SpeakingFlag> getSpeakingFlags();
 
+    /**
+     * Gets the jitter of the sent audio frames.
+     *
+     * <p>Every frame has a deadline, 20ms after the previous one. The jitter is the average delay between the deadline
+     * and the time the frame was actually sent, smoothed like the interarrival jitter of RTP (RFC 3550).
+     *
+     * @return The jitter of the sent audio frames.
+     */
+    Duration getSendJitter();
+
+    /**
+     * Gets the maximum delay between the deadline of an audio frame and the time it was actually sent.
+     *
+     * @return The maximum delay of a sent audio frame.
+     * @see #getSendJitter()
+     */
+    Duration getMaxSendJitter();
+
+    /**
+     * Gets the amount of audio frames which missed their deadline.
+     *
+     * <p>A frame missed its deadline if it was sent after the deadline of the next frame, or if it was skipped because
+     * sending fell too far behind.
+     *
+     * @return The amount of audio frames which missed their deadline.
+     */
+    long getMissedSendDeadlineCount();
+
     /**
      * Gets the server of the audio connection.
      *
@@ -0,0 +1,22 @@
+package org.javacord.api.audio;
+
+/**
+ * Handles the audio which is received by an audio connection.
+ *
+ * <p>The handler is called by the thread which reads the voice socket, so it should return quickly. Frames of the same
+ * user are handled in the order of their sequence, even if the packets were received out of order.
+ */
+@FunctionalInterface
+public interface AudioReceiveHandler {
+
+    /**
+     * Handles a received opus frame.
+     *
+     * <p>The frame and its data are reused after this method returns. Use
+     * {@link ReceivedOpusFrame#getOpusDataAsByteArray()} to keep the data.
+     *
+     * @param frame The received frame.
+     */
+    void handleOpusFrame(ReceivedOpusFrame frame);
+
+}
@@ -0,0 +1,73 @@
+package org.javacord.api.audio;
+
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+/**
+ * An opus frame which was received by an audio connection.
+ *
+ * <p>A frame is only valid while it is handled by an {@link AudioReceiveHandler}.
+ */
+public interface ReceivedOpusFrame {
+
+    /**
+     * Gets the audio connection which received the frame.
+     *
+     * @return The audio connection which received the frame.
+     */
+    AudioConnection getConnection();
+
+    /**
+     * Gets the ssrc of the frame, which identifies the audio stream of a user.
+     *
+     * @return The ssrc of the frame.
+     */
+    int getSsrc();
+
+    /**
+     * Gets the id of the user who sent the frame.
+     *
+     * <p>The user of a ssrc is not known until Discord tells which user is speaking with it.
+     *
+     * @return The id of the user who sent the frame.
+     */
+    Optional<Long> getUserId();
+
+    /**
+     * Gets the rtp sequence of the frame, from {@code 0} to {@code 65535}.
+     *
+     * @return The sequence of the frame.
+     */
+    int getSequence();
+
+    /**
+     * Gets the rtp timestamp of the frame, which is incremented by {@code 960} every 20ms.
+     *
+     * @return The timestamp of the frame.
+     */
+    int getTimestamp();
+
+    /**
+     * Gets the amount of frames of this ssrc which were lost right before this frame.
+     *
+     * <p>Frames are lost if they were not received, or if they were received too late to be handled in order.
+     *
+     * @return The amount of frames which were lost right before this frame.
+     */
+    int getLostFramesBefore();
+
+    /**
+     * Gets the opus data of the frame.
+     *
+     * @return A read-only buffer with the opus data of the frame.
+     */
+    ByteBuffer getOpusData();
+
+    /**
+     * Gets a copy of the opus data of the frame.
+     *
+     * @return A copy of the opus data of the frame.
+     */
+    byte[] getOpusDataAsByteArray();
+
+}
@@ -362,6 +362,10 @@ abstract class MessageBuilderBase<T> {
     /**
      * Adds an attachment to the message.
      *
+     * <p>The stream is read while the message is sent. Up to 1 MiB of it is kept in memory, so the message can be
+     * sent again if it hits a ratelimit. Sending a larger stream fails in this case, so prefer a file for large
+     * attachments.
+     *
      * @param stream The stream of the file.
      * @param fileName The name of the file.
      * @param description The description of the attachment.
@@ -506,6 +510,8 @@ abstract class MessageBuilderBase<T> {
     /**
      * Adds an attachment to the message and marks it as spoiler.
      *
+     * <p>See {@link #addAttachment(InputStream, String, String)} for the limits of streams.
+     *
      * @param stream The stream of the file.
      * @param fileName The name of the file.
      * @param description The description of the attachment.
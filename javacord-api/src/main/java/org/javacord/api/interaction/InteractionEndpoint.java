@@ -0,0 +1,42 @@
+package org.javacord.api.interaction;
+
+import org.javacord.api.DiscordApi;
+
+import java.net.InetSocketAddress;
+
+/**
+ * An embedded http endpoint which receives interactions from Discord instead of the gateway.
+ *
+ * <p>Discord sends interactions to the "Interactions Endpoint URL" of the application if one is set in the developer
+ * portal. The endpoint verifies the signature of every request with the public key of the application, dispatches
+ * the same events as interactions received from the gateway and sends the initial response in the body of the http
+ * response instead of a separate rest request.
+ *
+ * <p>The servers, channels and users of interactions are taken from the cache of the api, so the api should still be
+ * connected to the gateway. As the endpoint is stateless, interactions can be load balanced across several instances.
+ *
+ * @see DiscordApi#startInteractionEndpoint(InetSocketAddress, String, String)
+ */
+public interface InteractionEndpoint {
+
+    /**
+     * Gets the address which the endpoint is bound to.
+     *
+     * @return The address of the endpoint.
+     */
+    InetSocketAddress getAddress();
+
+    /**
+     * Gets the path which the endpoint receives interactions on.
+     *
+     * @return The path of the endpoint.
+     */
+    String getPath();
+
+    /**
+     * Stops the endpoint.
+     * The endpoint is also stopped when the api disconnects.
+     */
+    void stop();
+
+}
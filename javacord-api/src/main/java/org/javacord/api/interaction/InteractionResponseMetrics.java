@@ -0,0 +1,56 @@
+package org.javacord.api.interaction;
+
+import java.time.Duration;
+
+/**
+ * Metrics of the initial responses to interactions.
+ *
+ * <p>The response time of an interaction is the time from receiving the interaction until Discord accepted its
+ * initial response. Discord only accepts initial responses within {@link #RESPONSE_DEADLINE 3 seconds}.
+ */
+public interface InteractionResponseMetrics {
+
+    /**
+     * The time in which the initial response to an interaction has to be sent.
+     */
+    Duration RESPONSE_DEADLINE = Duration.ofSeconds(3);
+
+    /**
+     * Gets the amount of interactions whose initial response was accepted by Discord.
+     *
+     * @return The amount of responses.
+     */
+    long getResponseCount();
+
+    /**
+     * Gets the amount of interactions whose initial response was accepted after the {@link #RESPONSE_DEADLINE}.
+     *
+     * <p>Discord usually rejects these responses, so this only counts the responses which were close to the deadline.
+     * Responses which were rejected by Discord are counted by {@link #getFailedResponseCount()}.
+     *
+     * @return The amount of late responses.
+     */
+    long getLateResponseCount();
+
+    /**
+     * Gets the amount of interactions whose initial response failed, e.g. because it was sent too late.
+     *
+     * @return The amount of failed responses.
+     */
+    long getFailedResponseCount();
+
+    /**
+     * Gets the average response time of all accepted responses.
+     *
+     * @return The average response time, or {@link Duration#ZERO} if there was no response yet.
+     */
+    Duration getAverageResponseTime();
+
+    /**
+     * Gets the longest response time of all accepted responses.
+     *
+     * @return The longest response time, or {@link Duration#ZERO} if there was no response yet.
+     */
+    Duration getMaxResponseTime();
+
+}
@@ -5,8 +5,12 @@ import org.javacord.api.DiscordApiBuilder;
 import org.javacord.api.entity.intent.Intent;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.api.util.event.EventDispatchMode;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 
+import java.io.File;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.util.List;
@@ -193,6 +197,148 @@ public interface DiscordApiBuilderDelegate {
      */
     boolean isUserCacheEnabled();
 
+    /**
+     * Sets the data structure that is used to cache channels, members and user presences.
+     *
+     * @param entityCacheBackend The entity cache backend.
+     */
+    void setEntityCacheBackend(EntityCacheBackend entityCacheBackend);
+
+    /**
+     * Gets the data structure that is used to cache channels, members and user presences.
+     *
+     * @return The entity cache backend.
+     */
+    EntityCacheBackend getEntityCacheBackend();
+
+    /**
+     * Sets the maximum amount of cached messages across all channels.
+     *
+     * @param capacity The maximum amount of cached messages across all channels, or {@code -1} to disable it.
+     */
+    void setGlobalMessageCacheCapacity(int capacity);
+
+    /**
+     * Gets the maximum amount of cached messages across all channels.
+     *
+     * @return The maximum amount of cached messages across all channels, or {@code -1} if it is disabled.
+     */
+    int getGlobalMessageCacheCapacity();
+
+    /**
+     * Sets whether the executor service of the thread pool should start a new virtual thread for every task.
+     *
+     * @param enabled Whether virtual threads should be used.
+     */
+    void setVirtualThreadsEnabled(boolean enabled);
+
+    /**
+     * Gets whether the executor service of the thread pool should start a new virtual thread for every task.
+     *
+     * @return Whether virtual threads should be used.
+     */
+    boolean isVirtualThreadsEnabled();
+
+    /**
+     * Sets the amount of threads which handle the packets of servers in parallel.
+     *
+     * @param threads The amount of threads.
+     */
+    void setPacketHandlerThreads(int threads);
+
+    /**
+     * Gets the amount of threads which handle the packets of servers in parallel.
+     *
+     * @return The amount of threads.
+     */
+    int getPacketHandlerThreads();
+
+    /**
+     * Sets whether large gateway packets should be decoded while they are handled instead of being parsed into a
+     * tree first.
+     *
+     * @param enabled Whether streaming packet decoding should be enabled.
+     */
+    void setStreamingPacketDecodingEnabled(boolean enabled);
+
+    /**
+     * Gets whether large gateway packets should be decoded while they are handled instead of being parsed into a
+     * tree first.
+     *
+     * @return Whether streaming packet decoding is enabled.
+     */
+    boolean isStreamingPacketDecodingEnabled();
+
+    /**
+     * Sets the directory in which downloaded files like avatars, icons and attachments are cached.
+     *
+     * @param directory The directory of the download cache, or {@code null} to disable the disk cache.
+     */
+    void setDownloadCacheDirectory(File directory);
+
+    /**
+     * Gets the directory in which downloaded files are cached.
+     *
+     * @return The directory of the download cache.
+     */
+    Optional<File> getDownloadCacheDirectory();
+
+    /**
+     * Sets the maximum size of the download cache directory in bytes.
+     *
+     * @param maxSize The maximum size in bytes.
+     */
+    void setDownloadCacheMaxSize(long maxSize);
+
+    /**
+     * Gets the maximum size of the download cache directory in bytes.
+     *
+     * @return The maximum size in bytes.
+     */
+    long getDownloadCacheMaxSize();
+
+    /**
+     * Sets the way events are queued before they are dispatched to the listeners.
+     *
+     * @param eventDispatchMode The event dispatch mode.
+     */
+    void setEventDispatchMode(EventDispatchMode eventDispatchMode);
+
+    /**
+     * Gets the way events are queued before they are dispatched to the listeners.
+     *
+     * @return The event dispatch mode.
+     */
+    EventDispatchMode getEventDispatchMode();
+
+    /**
+     * Sets how the origin of rest requests is captured.
+     *
+     * @param restRequestOriginCapture The origin capture.
+     */
+    void setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture);
+
+    /**
+     * Gets how the origin of rest requests is captured.
+     *
+     * @return The origin capture.
+     */
+    RestRequestOriginCapture getRestRequestOriginCapture();
+
+    /**
+     * Sets whether interactions are handled in a fast lane.
+     *
+     * @param enabled Whether the interaction fast lane should be enabled.
+     */
+    void setInteractionFastLaneEnabled(boolean enabled);
+
+    /**
+     * Gets whether interactions are handled in a fast lane.
+     *
+     * @return Whether the interaction fast lane is enabled.
+     */
+    boolean isInteractionFastLaneEnabled();
+
     /**
      * Logs the bot in.
      *
@@ -0,0 +1,25 @@
+package org.javacord.api.util.cache;
+
+/**
+ * The data structure that is used to cache channels, members and user presences.
+ */
+public enum EntityCacheBackend {
+
+    /**
+     * An immutable cache that is atomically replaced on every update.
+     *
+     * <p>Reads always see a consistent snapshot, but every update copies the affected persistent collections.
+     * This is the default.
+     */
+    IMMUTABLE,
+
+    /**
+     * A mutable cache that is partitioned into striped maps with primitive {@code long} keys.
+     *
+     * <p>Updates only lock the affected ids and do not copy anything, which reduces CPU usage and garbage for bots
+     * with many servers and a high rate of member or presence updates. Reads return read-only views of the current
+     * state instead of consistent snapshots.
+     */
+    STRIPED
+
+}
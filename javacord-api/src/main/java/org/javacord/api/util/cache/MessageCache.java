@@ -16,6 +16,7 @@ public interface MessageCache {
     /**
      * Sets the capacity of the message cache.
      * Messages which are cached forever are not included in this limit.
+     * The capacity is not enforced while a global message cache capacity is set.
      * Please notice that the cache is cleared only once every minute!
      *
      * @param capacity The capacity of the message cache.
@@ -45,4 +46,26 @@ public interface MessageCache {
      */
     void setAutomaticCleanupEnabled(boolean automaticCleanupEnabled);
 
+    /**
+     * Gets the amount of times a message of this channel that was received from Discord was already in the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    long getHitCount();
+
+    /**
+     * Gets the amount of times a message of this channel that was received from Discord was not in the cache.
+     *
+     * @return The amount of cache misses.
+     */
+    long getMissCount();
+
+    /**
+     * Gets the amount of messages that were evicted from this cache because of its capacity, the maximum age, the
+     * global message cache capacity or a memory shortage.
+     *
+     * @return The amount of evicted messages.
+     */
+    long getEvictionCount();
+
 }
@@ -19,6 +19,14 @@ public interface ThreadPool {
      */
     ExecutorService getExecutorService();
 
+    /**
+     * Checks whether the executor service starts a new virtual thread for every task.
+     *
+     * @return Whether the executor service uses virtual threads.
+     * @see org.javacord.api.DiscordApiBuilder#setVirtualThreadsEnabled(boolean)
+     */
+    boolean isUsingVirtualThreads();
+
     /**
      * Gets the used scheduler.
      *
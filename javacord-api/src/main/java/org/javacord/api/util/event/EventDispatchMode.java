@@ -0,0 +1,27 @@
+package org.javacord.api.util.event;
+
+/**
+ * The way events are queued before they are dispatched to the listeners.
+ *
+ * <p>All modes guarantee the same order: Events of the same server are dispatched sequentially in the order they
+ * were received, and connection events (lost connection, resume, reconnect) are only dispatched after all previously
+ * received events were dispatched and before any event that is received afterwards.
+ */
+public enum EventDispatchMode {
+
+    /**
+     * Every event is first handed to a single manager thread which puts it into the queue of its server.
+     *
+     * <p>This is the default.
+     */
+    QUEUE_MANAGER,
+
+    /**
+     * Every event is put directly into the queue of its server by the thread that received it.
+     *
+     * <p>The queues are lock-free and every queue schedules itself, so the dispatch throughput scales with the amount
+     * of cores instead of being limited by a single thread. This is recommended for bots with many servers.
+     */
+    LOCK_FREE
+
+}
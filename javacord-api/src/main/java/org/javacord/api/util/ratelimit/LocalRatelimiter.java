@@ -3,6 +3,12 @@ package org.javacord.api.util.ratelimit;
 import org.javacord.api.DiscordApiBuilder;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * An implementation of {@code Ratelimiter} that allows for simple local ratelimits.
@@ -30,16 +36,23 @@ import java.time.Duration;
  * Choosing a lower {@code amount} increases the maximum throughput but can limit your ability to perform actions
  * in bulk.
  *
+ * <p>This ratelimiter does not lock. Every request atomically reserves the next free quota, which might be in one of
+ * the next reset intervals. {@link #acquire(Executor)} completes the future of such a request from a scheduler once
+ * its reset interval starts, so no thread waits for it.
+ *
  * @see <a href="https://javacord.org/wiki/advanced-topics/ratelimits.html">Related wiki article</a>
  * @see DiscordApiBuilder#setGlobalRatelimiter(Ratelimiter)
  */
 public class LocalRatelimiter implements Ratelimiter {
 
-    private volatile long nextResetNanos;
-    private volatile int remainingQuota;
-
     private final int amount;
     private final Duration bucketDuration;
+    private final long bucketDurationNanos;
+
+    /**
+     * The current reset interval and the quota that was reserved from it and the following intervals.
+     */
+    private final AtomicReference<Bucket> bucket;
 
     /**
      * Creates a new local ratelimiter.
@@ -50,6 +63,17 @@ public class LocalRatelimiter implements Ratelimiter {
     public LocalRatelimiter(int amount, Duration bucketDuration) {
         this.amount = amount;
         this.bucketDuration = bucketDuration;
+        long bucketDurationNanos;
+        try {
+            bucketDurationNanos = bucketDuration.toNanos();
+        } catch (ArithmeticException e) {
+            // An ArithmeticException means that the duration was too large to be represented
+            // as a long. While such a value is completely non-sense and should not be used, we
+            // still don't want an exception.
+            bucketDurationNanos = Long.MAX_VALUE;
+        }
+        this.bucketDurationNanos = bucketDurationNanos;
+        bucket = new AtomicReference<>(new Bucket(System.nanoTime(), 0));
     }
 
     /**
@@ -78,7 +102,7 @@ public class LocalRatelimiter implements Ratelimiter {
      * @return The next time the quota resets. Can be in the past.
      */
     public long getNextResetNanos() {
-        return nextResetNanos;
+        return bucket.get().resetNanos;
     }
 
     /**
@@ -87,36 +111,133 @@ public class LocalRatelimiter implements Ratelimiter {
      * @return The remaining quota.
      */
     public int getRemainingQuota() {
-        return remainingQuota;
+        return (int) Math.max(amount - bucket.get().reserved, 0);
+    }
+
+    @Override
+    public void requestQuota() throws InterruptedException {
+        long availableNanos = System.nanoTime() + reserve();
+        long sleepTime;
+        while ((sleepTime = availableNanos - System.nanoTime()) > 0) { // Sleep is unreliable, so we have to loop
+            Thread.sleep(sleepTime / 1_000_000, (int) (sleepTime % 1_000_000));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>No thread waits for the quota, so the executor is not used.
+     */
+    @Override
+    public CompletableFuture<Void> acquire(Executor executor) {
+        long waitNanos = reserve();
+        if (waitNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        SchedulerHolder.SCHEDULER.schedule(() -> future.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return future;
     }
 
     @Override
-    public synchronized void requestQuota() throws InterruptedException {
-        if (remainingQuota <= 0) {
-            // Wait until a new quota becomes available
-            long sleepTime;
-            while ((sleepTime = calculateSleepTime()) > 0) { // Sleep is unreliable, so we have to loop
-                Thread.sleep(sleepTime / 1_000_000, (int) (sleepTime % 1_000_000));
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            Bucket current = bucket.get();
+            Bucket normalized = normalize(current, now);
+            if (normalized.reserved >= amount) {
+                return false;
+            }
+            if (bucket.compareAndSet(current, new Bucket(normalized.resetNanos, normalized.reserved + 1))) {
+                return true;
             }
         }
+    }
 
-        // Reset the limit when the last reset timestamp is past
-        if (System.nanoTime() >= nextResetNanos) {
-            remainingQuota = amount;
-            try {
-                nextResetNanos = System.nanoTime() + bucketDuration.toNanos();
-            } catch (ArithmeticException e) {
-                // An ArithmeticException means that the duration was too large to be represented
-                // as a long. While such a value is completely non-sense and should not be used, we
-                // still don't want an exception.
-                nextResetNanos = Long.MAX_VALUE;
+    /**
+     * Reserves the next free quota.
+     *
+     * @return The nanoseconds to wait until the reserved quota becomes available, or {@code 0} if it is available now.
+     */
+    private long reserve() {
+        while (true) {
+            long now = System.nanoTime();
+            Bucket current = bucket.get();
+            Bucket normalized = normalize(current, now);
+            if (bucket.compareAndSet(current, new Bucket(normalized.resetNanos, normalized.reserved + 1))) {
+                long interval = amount <= 0 ? Long.MAX_VALUE : normalized.reserved / amount;
+                if (interval == 0) {
+                    return 0;
+                }
+                // The reserved quota is in a later reset interval which starts when the previous one resets
+                long availableNanos =
+                        saturatedAdd(normalized.resetNanos, saturatedMultiply(interval - 1, bucketDurationNanos));
+                return Math.max(availableNanos - now, 0);
             }
         }
+    }
 
-        remainingQuota--;
+    /**
+     * Moves the bucket to the reset interval which contains the given time.
+     *
+     * @param current The current bucket.
+     * @param now The current time.
+     * @return The bucket for the given time.
+     */
+    private Bucket normalize(Bucket current, long now) {
+        Bucket normalized = current;
+        while (now - normalized.resetNanos >= 0) {
+            if (normalized.reserved <= amount) {
+                // Nothing is reserved in later intervals, so a new interval starts now
+                return new Bucket(saturatedAdd(now, bucketDurationNanos), 0);
+            }
+            normalized = new Bucket(
+                    saturatedAdd(normalized.resetNanos, bucketDurationNanos), normalized.reserved - amount);
+        }
+        return normalized;
     }
 
-    private long calculateSleepTime() {
-        return nextResetNanos - System.nanoTime();
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        // Overflow if both arguments have the opposite sign of the result
+        return ((a ^ result) & (b ^ result)) < 0 ? Long.MAX_VALUE : result;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return a != 0 && b > Long.MAX_VALUE / a ? Long.MAX_VALUE : a * b;
+    }
+
+    /**
+     * An immutable state of the ratelimiter.
+     */
+    private static class Bucket {
+
+        /**
+         * The time when the current reset interval ends.
+         */
+        private final long resetNanos;
+
+        /**
+         * The quota reserved from the current interval and, if it exceeds the amount, from the following intervals.
+         */
+        private final long reserved;
+
+        private Bucket(long resetNanos, long reserved) {
+            this.resetNanos = resetNanos;
+            this.reserved = reserved;
+        }
+    }
+
+    /**
+     * Holds the scheduler which completes the futures of {@link #acquire()}, so it is only created when needed.
+     */
+    private static class SchedulerHolder {
+
+        private static final ScheduledExecutorService SCHEDULER =
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "Javacord - Local Ratelimiter Scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 }
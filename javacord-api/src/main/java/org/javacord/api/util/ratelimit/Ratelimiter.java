@@ -1,5 +1,10 @@
 package org.javacord.api.util.ratelimit;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Can be used to implement ratelimits.
  */
@@ -14,4 +19,48 @@ public interface Ratelimiter {
      */
     void requestQuota() throws InterruptedException;
 
+    /**
+     * Requests a quota without blocking the requesting thread.
+     *
+     * <p>The default implementation calls {@link #acquire(Executor)} with the common fork join pool. Prefer
+     * {@link #acquire(Executor)} with an executor which may be blocked, unless the ratelimiter overrides it.
+     *
+     * @return A future which is completed once the quota is available.
+     */
+    default CompletableFuture<Void> acquire() {
+        return acquire(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Requests a quota without blocking the requesting thread.
+     *
+     * <p>The default implementation blocks a thread of the given executor in {@link #requestQuota()} until the quota
+     * is available. Implementations should override it if they can wait for a quota without blocking a thread.
+     *
+     * @param executor The executor which may be blocked while waiting for the quota.
+     * @return A future which is completed once the quota is available.
+     */
+    default CompletableFuture<Void> acquire(Executor executor) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                requestQuota();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Requests a quota if it is available right now.
+     *
+     * <p>The default implementation always returns {@code false}, as {@link #requestQuota()} can not tell whether it
+     * would block. Use {@link #acquire(Executor)} instead if the ratelimiter does not override this method.
+     *
+     * @return Whether a quota was available and was taken.
+     */
+    default boolean tryAcquire() {
+        return false;
+    }
+
 }
@@ -0,0 +1,170 @@
+package org.javacord.api.util.rest;
+
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.channel.TextChannel;
+import org.javacord.api.entity.message.Message;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A batch of rest operations, which are executed together.
+ *
+ * <p>The operations of a batch are grouped by their ratelimit bucket. Every bucket gets at most as many requests
+ * at once as Discord told us it has remaining, and at most {@link #setMaxParallelism(int)} requests of the batch are
+ * pending at a time, so a large batch neither floods the request queues nor runs into ratelimits. Message deletions
+ * and bans are sent with Discord's bulk endpoints where possible.
+ *
+ * <p>Operations of the same ratelimit bucket, e.g. adding and removing roles in the same server, are executed in the
+ * order they were added. The buckets are served in parallel, so operations of different buckets, e.g. adding a role
+ * and kicking the user, are executed in no particular order.
+ *
+ * <p>A batch can be executed only once. Example:
+ * <pre>
+ *     api.batch()
+ *             .addRoleToUser(user1, role)
+ *             .addRoleToUser(user2, role)
+ *             .deleteMessages(channel, messageIds)
+ *             .execute()
+ *             .thenAccept(result -&gt; System.out.println(result.getFailedCount() + " operations failed"));
+ * </pre>
+ */
+public interface RestBatch {
+
+    /**
+     * The default maximum amount of pending requests of a batch.
+     */
+    int DEFAULT_MAX_PARALLELISM = 8;
+
+    /**
+     * Adds the given role to the user.
+     *
+     * @param user The user.
+     * @param role The role to add.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch addRoleToUser(User user, Role role);
+
+    /**
+     * Removes the given role from the user.
+     *
+     * @param user The user.
+     * @param role The role to remove.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch removeRoleFromUser(User user, Role role);
+
+    /**
+     * Updates the nickname of the user in the given server.
+     *
+     * @param server The server.
+     * @param user The user.
+     * @param nickname The new nickname or {@code null} to reset it.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch updateNickname(Server server, User user, String nickname);
+
+    /**
+     * Kicks the user from the given server.
+     *
+     * @param server The server.
+     * @param user The user to kick.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch kickUser(Server server, User user);
+
+    /**
+     * Bans the user from the given server.
+     * The bans of a server are sent in bulk.
+     *
+     * @param server The server.
+     * @param userId The id of the user to ban.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch banUser(Server server, long userId);
+
+    /**
+     * Bans the user from the given server.
+     * The bans of a server are sent in bulk.
+     *
+     * @param server The server.
+     * @param user The user to ban.
+     * @return The current instance in order to chain call methods.
+     */
+    default RestBatch banUser(Server server, User user) {
+        return banUser(server, user.getId());
+    }
+
+    /**
+     * Deletes the messages with the given ids.
+     * Messages which are younger than two weeks are deleted in bulk.
+     *
+     * @param channel The channel of the messages.
+     * @param messageIds The ids of the messages to delete.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch deleteMessages(TextChannel channel, long... messageIds);
+
+    /**
+     * Deletes the given messages.
+     * Messages which are younger than two weeks are deleted in bulk.
+     *
+     * @param messages The messages to delete.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch deleteMessages(Message... messages);
+
+    /**
+     * Deletes the given channel.
+     *
+     * @param channel The channel to delete.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch deleteChannel(ServerChannel channel);
+
+    /**
+     * Sets the audit log reason of all operations of this batch.
+     *
+     * @param reason The audit log reason.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch setAuditLogReason(String reason);
+
+    /**
+     * Sets the maximum amount of requests of this batch which are pending at a time.
+     * Defaults to {@value #DEFAULT_MAX_PARALLELISM}.
+     *
+     * @param maxParallelism The maximum amount of pending requests.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch setMaxParallelism(int maxParallelism);
+
+    /**
+     * Adds a listener which is called whenever operations of this batch completed.
+     *
+     * @param listener The listener.
+     * @return The current instance in order to chain call methods.
+     */
+    RestBatch addProgressListener(Consumer<RestBatchProgress> listener);
+
+    /**
+     * Gets the amount of operations of this batch.
+     *
+     * @return The amount of operations of this batch.
+     */
+    int getOperationCount();
+
+    /**
+     * Executes this batch.
+     *
+     * <p>The returned future completes once all operations completed. Failed operations do not complete the future
+     * exceptionally, but are reported by the {@link RestBatchResult result}.
+     *
+     * @return The result of the batch.
+     * @throws IllegalStateException If the batch was already executed.
+     */
+    CompletableFuture<RestBatchResult> execute();
+}
@@ -0,0 +1,46 @@
+package org.javacord.api.util.rest;
+
+/**
+ * The progress of a {@link RestBatch}.
+ */
+public interface RestBatchProgress {
+
+    /**
+     * Gets the amount of operations of the batch.
+     *
+     * @return The amount of operations of the batch.
+     */
+    int getOperationCount();
+
+    /**
+     * Gets the amount of operations which succeeded.
+     *
+     * @return The amount of operations which succeeded.
+     */
+    int getSucceededCount();
+
+    /**
+     * Gets the amount of operations which failed.
+     *
+     * @return The amount of operations which failed.
+     */
+    int getFailedCount();
+
+    /**
+     * Gets the amount of operations which completed.
+     *
+     * @return The amount of operations which completed.
+     */
+    default int getCompletedCount() {
+        return getSucceededCount() + getFailedCount();
+    }
+
+    /**
+     * Checks whether all operations of the batch completed.
+     *
+     * @return Whether all operations of the batch completed.
+     */
+    default boolean isDone() {
+        return getCompletedCount() == getOperationCount();
+    }
+}
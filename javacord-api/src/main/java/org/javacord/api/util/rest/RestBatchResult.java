@@ -0,0 +1,17 @@
+package org.javacord.api.util.rest;
+
+import java.util.Map;
+
+/**
+ * The result of a {@link RestBatch}.
+ */
+public interface RestBatchResult extends RestBatchProgress {
+
+    /**
+     * Gets the failed operations.
+     *
+     * @return The cause of every failed operation by a description of the operation, e.g.
+     *     {@code "ban user 123 from server 456"}.
+     */
+    Map<String, Throwable> getFailures();
+}
@@ -0,0 +1,160 @@
+package org.javacord.api.util.rest;
+
+import org.javacord.api.DiscordApiBuilder;
+import org.javacord.api.exception.DiscordException;
+
+import java.util.Objects;
+
+/**
+ * Defines how the origin of rest requests is captured.
+ *
+ * <p>The origin is an exception which is created when a request is created, so its stack trace shows the code which
+ * sent the request. It is the cause of a {@link DiscordException} if the request failed, because the exception
+ * itself is thrown by an internal thread. Capturing the full stack trace of every request is expensive for bots
+ * which send many requests, so the origin can be captured only for some requests, with a limited amount of frames,
+ * or not at all.
+ *
+ * @see DiscordApiBuilder#setRestRequestOriginCapture(RestRequestOriginCapture)
+ */
+public final class RestRequestOriginCapture {
+
+    private static final RestRequestOriginCapture DISABLED = new RestRequestOriginCapture(Mode.DISABLED, 0);
+    private static final RestRequestOriginCapture FULL = new RestRequestOriginCapture(Mode.FULL, 0);
+
+    private final Mode mode;
+    private final int value;
+
+    private RestRequestOriginCapture(Mode mode, int value) {
+        this.mode = mode;
+        this.value = value;
+    }
+
+    /**
+     * Does not capture the origin of requests.
+     * Discord exceptions have no cause.
+     *
+     * @return The origin capture.
+     */
+    public static RestRequestOriginCapture disabled() {
+        return DISABLED;
+    }
+
+    /**
+     * Captures the full origin of randomly sampled requests.
+     * Discord exceptions of the other requests have no cause.
+     *
+     * @param rate The origin of one in {@code rate} requests is captured. Must be at least {@code 1}.
+     * @return The origin capture.
+     */
+    public static RestRequestOriginCapture sampled(int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException("rate cannot be less than 1!");
+        }
+        return new RestRequestOriginCapture(Mode.SAMPLED, rate);
+    }
+
+    /**
+     * Captures the origin of every request with a limited amount of stack frames, starting with the frame which
+     * created the request.
+     *
+     * <p>Only the captured frames are walked, which requires Java 9 or newer. On Java 8, the full origin is captured.
+     *
+     * @param maxFrames The maximum amount of stack frames. Must be at least {@code 1}.
+     * @return The origin capture.
+     */
+    public static RestRequestOriginCapture limited(int maxFrames) {
+        if (maxFrames < 1) {
+            throw new IllegalArgumentException("maxFrames cannot be less than 1!");
+        }
+        return new RestRequestOriginCapture(Mode.LIMITED, maxFrames);
+    }
+
+    /**
+     * Captures the full origin of every request.
+     *
+     * <p>This is the default.
+     *
+     * @return The origin capture.
+     */
+    public static RestRequestOriginCapture full() {
+        return FULL;
+    }
+
+    /**
+     * Gets the mode of the origin capture.
+     *
+     * @return The mode.
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Gets the rate of sampled requests.
+     *
+     * @return The origin of one in this many requests is captured, or {@code 0} if the mode is not
+     *     {@link Mode#SAMPLED}.
+     */
+    public int getSampleRate() {
+        return mode == Mode.SAMPLED ? value : 0;
+    }
+
+    /**
+     * Gets the maximum amount of captured stack frames.
+     *
+     * @return The maximum amount of stack frames, or {@code 0} if the mode is not {@link Mode#LIMITED}.
+     */
+    public int getMaxFrames() {
+        return mode == Mode.LIMITED ? value : 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        RestRequestOriginCapture that = (RestRequestOriginCapture) o;
+        return mode == that.mode && value == that.value;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, value);
+    }
+
+    @Override
+    public String toString() {
+        return "RestRequestOriginCapture (mode: " + mode + ", value: " + value + ")";
+    }
+
+    /**
+     * The modes of the origin capture.
+     */
+    public enum Mode {
+
+        /**
+         * The origin is not captured.
+         */
+        DISABLED,
+
+        /**
+         * The full origin of randomly sampled requests is captured.
+         */
+        SAMPLED,
+
+        /**
+         * The origin of every request is captured with a limited amount of stack frames.
+         */
+        LIMITED,
+
+        /**
+         * The full origin of every request is captured.
+         */
+        FULL
+
+    }
+
+}
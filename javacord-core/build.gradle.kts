@@ -30,7 +30,11 @@ dependencies {
     implementation("com.neovisionaries:nv-websocket-client:2.14")
 
     // voice encryption
-    implementation("com.codahale:xsalsa20poly1305:0.11.0")
+    implementation("org.bouncycastle:bcprov-jdk18on:1.81")
+    // reference implementation of the voice encryption for tests
+    testImplementation("com.codahale:xsalsa20poly1305:0.11.0") {
+        exclude(group = "org.bouncycastle")
+    }
 
     // logging
     implementation("org.apache.logging.log4j:log4j-api:2.17.2")
@@ -0,0 +1,107 @@
+package org.javacord.core;
+
+import org.javacord.api.entity.DiscordEntity;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.entity.user.Member;
+
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates lightweight stand-ins for entities that are expensive to construct from JSON.
+ *
+ * <p>Only the id, the server and the user are backed by actual values, all other methods return {@code null} or
+ * their primitive default. Servers and users are equal by id, members by identity, like their real implementations.
+ */
+public class EntityStubs {
+
+    private EntityStubs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a server stub.
+     *
+     * @param id The id of the server.
+     * @return The server stub.
+     */
+    public static Server server(long id) {
+        return stub(Server.class, id, null, null, true);
+    }
+
+    /**
+     * Creates a user stub.
+     *
+     * @param id The id of the user.
+     * @return The user stub.
+     */
+    public static User user(long id) {
+        return stub(User.class, id, null, null, true);
+    }
+
+    /**
+     * Creates a member stub.
+     *
+     * @param user The user of the member.
+     * @param server The server of the member.
+     * @return The member stub.
+     */
+    public static Member member(User user, Server server) {
+        return stub(Member.class, user.getId(), server, user, false);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive() || type == void.class) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == double.class) {
+            return 0D;
+        }
+        if (type == float.class) {
+            return 0F;
+        }
+        if (type == char.class) {
+            return (char) 0;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    private static <T> T stub(Class<T> type, long id, Server server, User user, boolean equalById) {
+        return type.cast(Proxy.newProxyInstance(EntityStubs.class.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getId":
+                            return id;
+                        case "getIdAsString":
+                            return Long.toUnsignedString(id);
+                        case "getServer":
+                            return server;
+                        case "getUser":
+                            return user;
+                        case "hashCode":
+                            return equalById ? Long.hashCode(id) : System.identityHashCode(proxy);
+                        case "equals":
+                            if (equalById) {
+                                return type.isInstance(args[0]) && ((DiscordEntity) args[0]).getId() == id;
+                            }
+                            return proxy == args[0];
+                        case "toString":
+                            return type.getSimpleName() + " (id: " + id + ")";
+                        default:
+                            return defaultValue(method.getReturnType());
+                    }
+                }));
+    }
+}
@@ -0,0 +1,297 @@
+package org.javacord.core.entity.permission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.api.entity.permission.PermissionState;
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
+import org.javacord.api.entity.permission.PermissionsBuilder;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.OfflineDiscordApiBuilder;
+import org.javacord.core.entity.channel.RegularServerChannelImpl;
+import org.javacord.core.entity.server.ServerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the calculation of the effective permissions of a member in a channel, like a command framework does it for
+ * every message.
+ *
+ * <p>The server has {@value #ROLES} roles and {@value #MEMBERS} members with {@value #ROLES_PER_MEMBER} roles each. The
+ * channel has overwrites for the everyone role, some roles and one member. The {@code legacy} benchmarks run the
+ * calculation which iterates all permission types with the states of {@link Permissions} objects, the others use the
+ * bitmask calculation with and without the memoization of the channel. Run with {@code -prof gc} to compare the
+ * allocations.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=PermissionBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PermissionBenchmark {
+
+    private static final int ROLES = 25;
+    private static final int ROLES_PER_MEMBER = 5;
+    private static final int MEMBERS = 1000;
+    private static final long SERVER_ID = 1_000_000_000_000_000L;
+    private static final long CHANNEL_ID = 1_100_000_000_000_000L;
+    private static final long FIRST_ROLE_ID = 1_200_000_000_000_000L;
+    private static final long FIRST_USER_ID = 1_300_000_000_000_000L;
+
+    private DiscordApiImpl api;
+    private ServerImpl server;
+    private RegularServerChannelImpl channel;
+    private User[] users;
+
+    /**
+     * Creates an api that is not connected to Discord with a server which has a channel with overwrites.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new OfflineDiscordApiBuilder().build();
+
+        Random random = new Random(42);
+        ObjectMapper mapper = api.getObjectMapper();
+        ObjectNode data = mapper.createObjectNode()
+                .put("id", Long.toString(SERVER_ID))
+                .put("name", "Server")
+                .put("region", "us-west")
+                .put("large", false)
+                .put("member_count", MEMBERS)
+                .put("owner_id", "1")
+                .put("verification_level", 0)
+                .put("explicit_content_filter", 0)
+                .put("default_message_notifications", 0)
+                .put("mfa_level", 0)
+                .put("premium_tier", 0)
+                .put("nsfw_level", 0)
+                .put("preferred_locale", "en-US");
+
+        ArrayNode roles = data.putArray("roles");
+        addRole(roles, SERVER_ID, PermissionType.VIEW_CHANNEL.getValue() | PermissionType.SEND_MESSAGES.getValue());
+        for (int i = 0; i < ROLES; i++) {
+            // Any permission but administrator, which would make the calculation trivial
+            long permissions = random.nextLong() & ~PermissionType.ADMINISTRATOR.getValue();
+            addRole(roles, FIRST_ROLE_ID + i, permissions);
+        }
+
+        ArrayNode overwrites = data.putArray("channels").addObject()
+                .put("id", Long.toString(CHANNEL_ID))
+                .put("type", 0)
+                .put("name", "general")
+                .put("position", 0)
+                .put("nsfw", false)
+                .putArray("permission_overwrites");
+        addOverwrite(overwrites, SERVER_ID, 0, 0, PermissionType.SEND_MESSAGES.getValue());
+        for (int i = 0; i < ROLES; i += 5) {
+            addOverwrite(overwrites, FIRST_ROLE_ID + i, 0, random.nextLong(), random.nextLong());
+        }
+        addOverwrite(overwrites, FIRST_USER_ID, 1, PermissionType.MANAGE_MESSAGES.getValue(), 0);
+
+        ArrayNode members = data.putArray("members");
+        for (int i = 0; i < MEMBERS; i++) {
+            ObjectNode member = members.addObject().put("joined_at", "2022-01-01T00:00:00.000000+00:00");
+            member.putObject("user")
+                    .put("id", Long.toString(FIRST_USER_ID + i))
+                    .put("username", "User " + i)
+                    .put("discriminator", "0001");
+            ArrayNode memberRoles = member.putArray("roles");
+            for (int j = 0; j < ROLES_PER_MEMBER; j++) {
+                memberRoles.add(Long.toString(FIRST_ROLE_ID + random.nextInt(ROLES)));
+            }
+        }
+
+        server = new ServerImpl(api, data);
+        channel = (RegularServerChannelImpl) server.getRegularChannelById(CHANNEL_ID).orElseThrow(AssertionError::new);
+        users = server.getMembers().toArray(new User[0]);
+    }
+
+    private static void addRole(ArrayNode roles, long id, long permissions) {
+        roles.addObject()
+                .put("id", Long.toString(id))
+                .put("name", "Role " + id)
+                .put("permissions", Long.toString(permissions))
+                .put("position", 0)
+                .put("color", 0)
+                .put("hoist", false)
+                .put("managed", false)
+                .put("mentionable", false);
+    }
+
+    private static void addOverwrite(ArrayNode overwrites, long id, int type, long allow, long deny) {
+        overwrites.addObject()
+                .put("id", Long.toString(id))
+                .put("type", type)
+                .put("allow", Long.toString(allow))
+                .put("deny", Long.toString(deny));
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    private User randomUser() {
+        return users[ThreadLocalRandom.current().nextInt(users.length)];
+    }
+
+    /**
+     * Calculates the effective permissions of a random member with the former calculation.
+     *
+     * @return The effective permissions.
+     */
+    @Benchmark
+    public Permissions legacyEffectivePermissions() {
+        return calculateLegacyEffectivePermissions(channel, randomUser());
+    }
+
+    /**
+     * Checks a permission of a random member with the former calculation.
+     *
+     * @return Whether the member has the permission.
+     */
+    @Benchmark
+    public boolean legacyHasPermission() {
+        return calculateLegacyEffectivePermissions(channel, randomUser()).getAllowedPermission()
+                .contains(PermissionType.SEND_MESSAGES);
+    }
+
+    /**
+     * Calculates the effective permissions of a random member without memoization.
+     *
+     * @return The effective permissions.
+     */
+    @Benchmark
+    public Permissions calculatedEffectivePermissions() {
+        User user = randomUser();
+        List<Long> roleIds = server.getRoleIds(user);
+        return PermissionCalculator.calculateEffectivePermissions(
+                PermissionCalculator.calculateBasePermissions(server, user.getId(), roleIds),
+                PermissionCalculator.calculateOverwrittenPermissions(SERVER_ID, roleIds, user.getId(),
+                        channel.getInternalOverwrittenRolePermissions(),
+                        channel.getInternalOverwrittenUserPermissions()));
+    }
+
+    /**
+     * Gets the memoized effective permissions of a random member.
+     *
+     * @return The effective permissions.
+     */
+    @Benchmark
+    public Permissions effectivePermissions() {
+        return channel.getEffectivePermissions(randomUser());
+    }
+
+    /**
+     * Checks a permission of a random member with the memoized effective permissions.
+     *
+     * @return Whether the member has the permission.
+     */
+    @Benchmark
+    public boolean hasPermission() {
+        return channel.hasPermission(randomUser(), PermissionType.SEND_MESSAGES);
+    }
+
+    /**
+     * The calculation of the effective permissions before they were calculated with bitmasks.
+     */
+    private static Permissions calculateLegacyEffectivePermissions(RegularServerChannelImpl channel, User user) {
+        Server server = channel.getServer();
+        Set<PermissionType> allowed = new HashSet<>();
+        if (server.isOwner(user)) {
+            allowed.addAll(Arrays.asList(PermissionType.values()));
+        } else {
+            server.getRoles(user).forEach(role -> allowed.addAll(role.getAllowedPermissions()));
+        }
+        PermissionsBuilder serverPermissions = new PermissionsBuilder();
+        allowed.forEach(type -> serverPermissions.setState(type, PermissionState.ALLOWED));
+        if (server.isOwner(user)) {
+            return serverPermissions.build();
+        }
+
+        PermissionsBuilder builder = new PermissionsBuilder(serverPermissions.build());
+        Permissions effectiveOverwrittenPermissions = calculateLegacyOverwrittenPermissions(channel, user);
+        Arrays.stream(PermissionType.values())
+                .filter(type -> effectiveOverwrittenPermissions.getState(type) != PermissionState.UNSET)
+                .forEachOrdered(type -> builder.setState(type, effectiveOverwrittenPermissions.getState(type)));
+        Arrays.stream(PermissionType.values())
+                .filter(type -> builder.getState(type) == PermissionState.UNSET)
+                .forEachOrdered(type -> builder.setState(type, PermissionState.DENIED));
+        return builder.build();
+    }
+
+    private static Permissions calculateLegacyOverwrittenPermissions(RegularServerChannelImpl channel, User user) {
+        PermissionsBuilder builder = new PermissionsBuilder(PermissionsImpl.EMPTY_PERMISSIONS);
+        Server server = channel.getServer();
+        Role everyoneRole = server.getEveryoneRole();
+        Permissions everyoneRolePermissionOverwrites = channel.getOverwrittenPermissions(everyoneRole);
+        for (PermissionType type : PermissionType.values()) {
+            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.DENIED) {
+                builder.setState(type, PermissionState.DENIED);
+            }
+            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.ALLOWED) {
+                builder.setState(type, PermissionState.ALLOWED);
+            }
+        }
+        List<Role> rolesOfUser = new ArrayList<>(server.getRoles(user));
+        rolesOfUser.remove(everyoneRole);
+        List<Permissions> permissionOverwrites = rolesOfUser.stream()
+                .map(channel::getOverwrittenPermissions)
+                .collect(Collectors.toList());
+        for (Permissions permissions : permissionOverwrites) {
+            for (PermissionType type : PermissionType.values()) {
+                if (permissions.getState(type) == PermissionState.DENIED) {
+                    builder.setState(type, PermissionState.DENIED);
+                }
+            }
+        }
+        for (Permissions permissions : permissionOverwrites) {
+            for (PermissionType type : PermissionType.values()) {
+                if (permissions.getState(type) == PermissionState.ALLOWED) {
+                    builder.setState(type, PermissionState.ALLOWED);
+                }
+            }
+        }
+        for (PermissionType type : PermissionType.values()) {
+            Permissions permissions = channel.getInternalOverwrittenUserPermissions()
+                    .getOrDefault(user.getId(), PermissionsImpl.EMPTY_PERMISSIONS);
+            if (permissions.getState(type) == PermissionState.DENIED) {
+                builder.setState(type, PermissionState.DENIED);
+            }
+            if (permissions.getState(type) == PermissionState.ALLOWED) {
+                builder.setState(type, PermissionState.ALLOWED);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,132 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.api.entity.user.UserStatus;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.core.EntityStubs;
+import org.javacord.core.entity.user.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ImmutableEntityCache} with the {@link StripedEntityCache} for the cache operations of
+ * GUILD_MEMBER_UPDATE and PRESENCE_UPDATE bursts.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=EntityCacheBenchmark}, add {@code -prof gc} to the JMH
+ * arguments to compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EntityCacheBenchmark {
+
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    @Param({"IMMUTABLE", "STRIPED"})
+    public EntityCacheBackend backend;
+
+    @Param({"1000"})
+    public int servers;
+
+    @Param({"100"})
+    public int membersPerServer;
+
+    private EntityCache cache;
+    private Server[] serverStubs;
+    private User[] userStubs;
+
+    /**
+     * Fills the cache with {@code servers * membersPerServer} members and a presence for every user.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        cache = backend == EntityCacheBackend.STRIPED ? new StripedEntityCache() : new ImmutableEntityCache();
+        serverStubs = new Server[servers];
+        for (int i = 0; i < servers; i++) {
+            serverStubs[i] = EntityStubs.server(1_000_000L + i);
+        }
+        // every user is member of two servers to exercise the per-user index
+        userStubs = new User[servers * membersPerServer / 2];
+        for (int i = 0; i < userStubs.length; i++) {
+            userStubs[i] = EntityStubs.user(10_000_000L + i);
+        }
+        for (int i = 0; i < servers * membersPerServer; i++) {
+            cache.addOrReplaceMember(EntityStubs.member(userOf(i), serverOf(i)));
+            cache.updateUserPresence(userOf(i).getId(), presence -> presence.setStatus(UserStatus.ONLINE));
+        }
+    }
+
+    private User userOf(int memberIndex) {
+        return userStubs[memberIndex % userStubs.length];
+    }
+
+    private Server serverOf(int memberIndex) {
+        return serverStubs[memberIndex / membersPerServer];
+    }
+
+    /**
+     * Replaces a random member, like a GUILD_MEMBER_UPDATE does.
+     */
+    @Benchmark
+    @Threads(4)
+    public void memberUpdate() {
+        int index = ThreadLocalRandom.current().nextInt(servers * membersPerServer);
+        cache.addOrReplaceMember(EntityStubs.member(userOf(index), serverOf(index)));
+    }
+
+    /**
+     * Updates the status of a random user, like a PRESENCE_UPDATE does.
+     */
+    @Benchmark
+    @Threads(4)
+    public void presenceUpdate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UserStatus status = STATUSES[random.nextInt(STATUSES.length)];
+        cache.updateUserPresence(userStubs[random.nextInt(userStubs.length)].getId(),
+                presence -> presence.setStatus(status));
+    }
+
+    /**
+     * Looks up a random member by its id and server id.
+     *
+     * @return The member.
+     */
+    @Benchmark
+    @Threads(4)
+    public Optional<Member> memberLookup() {
+        int index = ThreadLocalRandom.current().nextInt(servers * membersPerServer);
+        return cache.getMemberCache().getMemberByIdAndServer(userOf(index).getId(), serverOf(index).getId());
+    }
+
+    /**
+     * Counts the members of a random server.
+     *
+     * @return The amount of members.
+     */
+    @Benchmark
+    @Threads(4)
+    public int serverMemberCount() {
+        return cache.getMemberCache()
+                .getMembersByServer(serverStubs[ThreadLocalRandom.current().nextInt(servers)].getId())
+                .size();
+    }
+}
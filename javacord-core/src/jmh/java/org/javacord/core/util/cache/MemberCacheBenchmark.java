@@ -0,0 +1,125 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.EntityStubs;
+import org.javacord.core.entity.user.Member;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookups of the {@link ImmutableMemberCache} and its retained heap.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=MemberCacheBenchmark} and add {@code -prof gc} to the
+ * JMH arguments to verify that the id lookups do not allocate. The retained heap of the cache is printed once per
+ * fork after the cache was filled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class MemberCacheBenchmark {
+
+    @Param({"1000000"})
+    public int members;
+
+    @Param({"100"})
+    public int membersPerServer;
+
+    private ImmutableMemberCache cache;
+    private long[] userIds;
+    private long[] serverIds;
+
+    /**
+     * Fills the cache with members of which every user is member of two servers.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        int servers = members / membersPerServer;
+        int users = members / 2;
+        Server[] serverStubs = new Server[servers];
+        for (int i = 0; i < servers; i++) {
+            serverStubs[i] = EntityStubs.server(1_000_000L + i);
+        }
+        User[] userStubs = new User[users];
+        for (int i = 0; i < users; i++) {
+            userStubs[i] = EntityStubs.user(10_000_000L + i);
+        }
+        Member[] memberStubs = new Member[members];
+        userIds = new long[members];
+        serverIds = new long[members];
+        for (int i = 0; i < members; i++) {
+            memberStubs[i] = EntityStubs.member(userStubs[i % users], serverStubs[i / membersPerServer]);
+            userIds[i] = memberStubs[i].getId();
+            serverIds[i] = memberStubs[i].getServer().getId();
+        }
+
+        long heapBefore = usedHeap();
+        ImmutableMemberCache filledCache = ImmutableMemberCache.empty();
+        for (Member member : memberStubs) {
+            filledCache = filledCache.addMember(member);
+        }
+        cache = filledCache;
+        long heapAfter = usedHeap();
+        System.out.printf("%nRetained heap of the member cache with %d members: %.1f MiB (%d bytes per member)%n",
+                members, (heapAfter - heapBefore) / (1024.0 * 1024.0), (heapAfter - heapBefore) / members);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Several collections to give reference processing and concurrent collectors a chance to settle
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+
+    /**
+     * Looks up a random member by its id and server id.
+     *
+     * @return The member.
+     */
+    @Benchmark
+    public Member memberByIdAndServer() {
+        int index = ThreadLocalRandom.current().nextInt(members);
+        return cache.getMemberByIdAndServer(userIds[index], serverIds[index]).orElse(null);
+    }
+
+    /**
+     * Looks up a random user by its id.
+     *
+     * @return The user.
+     */
+    @Benchmark
+    public User userById() {
+        return cache.getUserCache().getUserById(userIds[ThreadLocalRandom.current().nextInt(members)]).orElse(null);
+    }
+
+    /**
+     * Gets the servers of a random user.
+     *
+     * @return The servers.
+     */
+    @Benchmark
+    public Set<Server> serversOfUser() {
+        return cache.getServers(userIds[ThreadLocalRandom.current().nextInt(members)]);
+    }
+}
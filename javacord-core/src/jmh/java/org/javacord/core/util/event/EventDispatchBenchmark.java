@@ -0,0 +1,113 @@
+package org.javacord.core.util.event;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.api.util.event.EventDispatchMode;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.OfflineDiscordApiBuilder;
+import org.javacord.core.entity.server.ServerImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares the {@link EventDispatchMode}s by dispatching one event to each of 10,000 servers from a single thread,
+ * like the gateway thread of a large bot does.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=EventDispatchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    private static final int SERVERS = 10_000;
+
+    @Param({"QUEUE_MANAGER", "LOCK_FREE"})
+    public EventDispatchMode mode;
+
+    /**
+     * The amount of listeners for every event.
+     */
+    @Param({"1"})
+    public int listeners;
+
+    private DiscordApiImpl api;
+    private ServerImpl[] servers;
+    private List<CountDownLatch> listenerList;
+
+    /**
+     * Creates an api that is not connected to Discord and adds {@value #SERVERS} servers to it.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new OfflineDiscordApiBuilder()
+                .setUserCacheEnabled(false)
+                .setEventDispatchMode(mode)
+                .build();
+        api.getEventDispatcher().setExecutionTimeCheckingEnabled(false);
+        servers = new ServerImpl[SERVERS];
+        for (int i = 0; i < SERVERS; i++) {
+            ObjectNode data = api.getObjectMapper().createObjectNode()
+                    .put("id", Long.toString(1_000_000L + i))
+                    .put("name", "Server " + i)
+                    .put("region", "us-west")
+                    .put("large", false)
+                    .put("member_count", 0)
+                    .put("owner_id", "1")
+                    .put("verification_level", 0)
+                    .put("explicit_content_filter", 0)
+                    .put("default_message_notifications", 0)
+                    .put("mfa_level", 0)
+                    .put("premium_tier", 0)
+                    .put("nsfw_level", 0)
+                    .put("preferred_locale", "en-US");
+            servers[i] = new ServerImpl(api, data);
+        }
+        listenerList = Collections.nCopies(listeners, null);
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Dispatches one event to every server and waits until all listeners were called.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SERVERS)
+    public void dispatchToAllServers() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(SERVERS * listeners);
+        Consumer<CountDownLatch> listenerCall = ignored -> latch.countDown();
+        EventDispatcherBase eventDispatcher = api.getEventDispatcher();
+        for (ServerImpl server : servers) {
+            eventDispatcher.dispatchEvent(server, listenerList, listenerCall);
+        }
+        latch.await();
+    }
+}
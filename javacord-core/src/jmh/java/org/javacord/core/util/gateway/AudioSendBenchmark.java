@@ -0,0 +1,119 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.engines.XSalsa20Engine;
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many audio frames per second a single core can prepare for sending.
+ *
+ * <p>Every frame gets an rtp header, is encrypted with {@code xsalsa20_poly1305} and is put into a datagram packet,
+ * like the send loop of a voice connection does every 20ms. {@code perFrameAllocation} creates new arrays, a new
+ * cipher and a new datagram packet for every frame, like the send loop did before, while {@code reusedPacket} seals
+ * the frame in place into the reused {@link AudioPacket}. Run with {@code -prof gc} to compare the allocations.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=AudioSendBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AudioSendBenchmark {
+
+    private static final int SSRC = 42;
+
+    /**
+     * The size of an opus frame, e.g. 160 bytes for 20ms at 64 kbit/s.
+     */
+    @Param({"160", "320"})
+    public int frameSize;
+
+    private byte[] secretKey;
+    private byte[] frame;
+    private InetSocketAddress address;
+    private AudioPacket packet;
+    private XSalsa20Poly1305 cipher;
+    private char sequence;
+
+    /**
+     * Creates a random secret key and frame.
+     */
+    @Setup
+    public void setup() {
+        secretKey = new byte[XSalsa20Poly1305.KEY_LENGTH];
+        ThreadLocalRandom.current().nextBytes(secretKey);
+        frame = new byte[frameSize];
+        ThreadLocalRandom.current().nextBytes(frame);
+        address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 50000);
+        packet = new AudioPacket(SSRC, address);
+        cipher = new XSalsa20Poly1305(secretKey);
+    }
+
+    /**
+     * Prepares a frame with new arrays and a new cipher.
+     *
+     * @return The datagram packet.
+     */
+    @Benchmark
+    public DatagramPacket perFrameAllocation() {
+        sequence++;
+        byte[] header = ByteBuffer.allocate(12)
+                .put(0, (byte) 0x80)
+                .put(1, (byte) 0x78)
+                .putChar(2, sequence)
+                .putInt(4, sequence * 960)
+                .putInt(8, SSRC)
+                .array();
+        byte[] nonce = new byte[XSalsa20Poly1305.NONCE_LENGTH];
+        System.arraycopy(header, 0, nonce, 0, header.length);
+
+        // What SecretBox#seal(byte[], byte[]) does
+        XSalsa20Engine engine = new XSalsa20Engine();
+        Poly1305 mac = new Poly1305();
+        engine.init(true, new ParametersWithIV(new KeyParameter(secretKey), nonce));
+        byte[] macKey = new byte[XSalsa20Poly1305.KEY_LENGTH];
+        engine.processBytes(macKey, 0, macKey.length, macKey, 0);
+        byte[] sealed = new byte[frame.length + XSalsa20Poly1305.MAC_LENGTH];
+        engine.processBytes(frame, 0, frame.length, sealed, XSalsa20Poly1305.MAC_LENGTH);
+        mac.init(new KeyParameter(macKey));
+        mac.update(sealed, XSalsa20Poly1305.MAC_LENGTH, frame.length);
+        mac.doFinal(sealed, 0);
+
+        byte[] data = new byte[header.length + sealed.length];
+        System.arraycopy(header, 0, data, 0, header.length);
+        System.arraycopy(sealed, 0, data, header.length, sealed.length);
+        return new DatagramPacket(data, data.length, address);
+    }
+
+    /**
+     * Seals a frame in place into the reused packet.
+     *
+     * @return The datagram packet.
+     */
+    @Benchmark
+    public DatagramPacket reusedPacket() {
+        sequence++;
+        return packet.seal(frame, sequence, sequence * 960, cipher);
+    }
+}
@@ -0,0 +1,183 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares parsing large gateway packets into a tree with streaming packet decoding.
+ *
+ * <p>Both variants visit every member and presence of a {@code GUILD_CREATE} packet of a server with
+ * {@value #MEMBERS} members, like {@code ServerImpl} does. The tree keeps all members and presences in memory until
+ * the packet is handled, while streaming only keeps the raw json and the current element. Run with {@code -prof gc}
+ * to compare the allocations, or with a small heap (e.g. {@code -jvmArgsAppend -Xmx64m}) to compare the peak heap.
+ *
+ * <p>Recorded payloads can be decoded instead with the {@code replayFile} parameter, e.g.
+ * {@code -p replayFile=gateway.jsonl}. It contains one gateway payload per line, like it was received from Discord.
+ * Only its {@code GUILD_CREATE} and {@code GUILD_MEMBERS_CHUNK} packets are used.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=PacketDecodingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketDecodingBenchmark {
+
+    private static final int MEMBERS = 25_000;
+    private static final String[] STREAMED_ARRAYS = {"members", "presences"};
+
+    /**
+     * A file with recorded gateway payloads, or an empty string for a generated packet.
+     */
+    @Param({""})
+    public String replayFile;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private byte[][] payloads;
+
+    /**
+     * Generates or reads the payloads.
+     *
+     * @throws IOException If the replay cannot be read.
+     */
+    @Setup
+    public void setup() throws IOException {
+        if (replayFile.isEmpty()) {
+            payloads = new byte[][] {generateServerPacket()};
+            return;
+        }
+        List<String> lines = Files.readAllLines(Paths.get(replayFile), StandardCharsets.UTF_8);
+        payloads = lines.stream()
+                .filter(line -> line.contains("\"GUILD_CREATE\"") || line.contains("\"GUILD_MEMBERS_CHUNK\""))
+                .map(line -> line.getBytes(StandardCharsets.UTF_8))
+                .collect(Collectors.toList())
+                .toArray(new byte[0][]);
+    }
+
+    /**
+     * Parses every payload into a tree and visits its members and presences.
+     *
+     * @param blackhole The blackhole which consumes the elements.
+     * @throws IOException If a payload is invalid.
+     */
+    @Benchmark
+    public void tree(Blackhole blackhole) throws IOException {
+        for (byte[] payload : payloads) {
+            JsonNode data = mapper.readTree(payload).get("d");
+            for (String array : STREAMED_ARRAYS) {
+                for (JsonNode element : data.path(array)) {
+                    blackhole.consume(element);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes every payload with streaming packet decoding and visits its members and presences.
+     *
+     * @param blackhole The blackhole which consumes the elements.
+     * @throws IOException If a payload is invalid.
+     */
+    @Benchmark
+    public void streamed(Blackhole blackhole) throws IOException {
+        for (byte[] payload : payloads) {
+            StreamedPacket packet = StreamedPacket.scan(mapper, payload, payload.length, type -> true)
+                    .orElseThrow(IllegalStateException::new);
+            blackhole.consume(packet.readObject(STREAMED_ARRAYS));
+            for (String array : STREAMED_ARRAYS) {
+                for (JsonNode element : packet.getStreamedArray(array)) {
+                    blackhole.consume(element);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates a {@code GUILD_CREATE} packet with {@value #MEMBERS} members and presences.
+     *
+     * <p>The packet is written without a tree, so it does not affect the peak heap.
+     */
+    private byte[] generateServerPacket() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("t", "GUILD_CREATE");
+            generator.writeNumberField("s", 1);
+            generator.writeNumberField("op", GatewayOpcode.DISPATCH.getCode());
+            generator.writeObjectFieldStart("d");
+            generator.writeStringField("id", "1000000000000000000");
+            generator.writeStringField("name", "Large Server");
+            generator.writeNumberField("member_count", MEMBERS);
+            generator.writeArrayFieldStart("members");
+            for (int i = 0; i < MEMBERS; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("joined_at", "2022-01-01T00:00:00.000000+00:00");
+                generator.writeBooleanField("deaf", false);
+                generator.writeBooleanField("mute", false);
+                generator.writeNullField("nick");
+                generator.writeArrayFieldStart("roles");
+                generator.writeString("1000000000000000001");
+                generator.writeEndArray();
+                generator.writeObjectFieldStart("user");
+                generator.writeStringField("id", userId(i));
+                generator.writeStringField("username", "User " + i);
+                generator.writeStringField("discriminator", String.format("%04d", i % 10_000));
+                generator.writeStringField("avatar", "0123456789abcdef0123456789abcdef");
+                generator.writeEndObject();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeArrayFieldStart("presences");
+            for (int i = 0; i < MEMBERS; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("status", "online");
+                generator.writeObjectFieldStart("user");
+                generator.writeStringField("id", userId(i));
+                generator.writeEndObject();
+                generator.writeObjectFieldStart("client_status");
+                generator.writeStringField("desktop", "online");
+                generator.writeEndObject();
+                generator.writeArrayFieldStart("activities");
+                generator.writeStartObject();
+                generator.writeStringField("name", "Game " + i % 100);
+                generator.writeNumberField("type", 0);
+                generator.writeNumberField("created_at", 1_640_995_200_000L);
+                generator.writeEndObject();
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    private static String userId(int member) {
+        return Long.toString(2_000_000_000_000_000_000L + member);
+    }
+}
@@ -0,0 +1,226 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.OfflineDiscordApiBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the packet throughput of the gateway by replaying recorded gateway packets through
+ * {@link DiscordWebSocketAdapter#onTextMessage(com.neovisionaries.ws.client.WebSocket, String)} and waiting until all
+ * packet handlers are finished.
+ *
+ * <p>By default, {@value #SERVERS} servers with one text channel each are created and {@value #MESSAGES} messages are
+ * spread across them. A recording can be replayed instead with the {@code replayFile} parameter, e.g.
+ * {@code -p replayFile=gateway.jsonl}. It contains one gateway payload per line, like it was received from Discord.
+ * Its {@code GUILD_CREATE} packets are handled once during the setup, and all other dispatch packets (except
+ * {@code READY} and {@code RESUMED}) are replayed in every invocation.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=PacketHandlingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PacketHandlingBenchmark {
+
+    private static final int SERVERS = 1_000;
+    private static final int MESSAGES = 20_000;
+
+    /**
+     * The amount of threads which handle the packets of servers.
+     */
+    @Param({"1", "4"})
+    public int threads;
+
+    /**
+     * A file with recorded gateway payloads, or an empty string for generated packets.
+     */
+    @Param({""})
+    public String replayFile;
+
+    private DiscordApiImpl api;
+    private DiscordWebSocketAdapter adapter;
+    private String[] packets;
+
+    /**
+     * Creates an api that is not connected to Discord and handles the server packets of the replay.
+     *
+     * @throws Exception If the replay cannot be read or handled.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        api = new OfflineDiscordApiBuilder()
+                .setUserCacheEnabled(false)
+                .setPacketHandlerThreads(threads)
+                .build();
+        api.getEventDispatcher().setExecutionTimeCheckingEnabled(false);
+        // The adapter does not reconnect, so it just gives up on the unreachable gateway
+        DiscordWebSocketAdapter.setGateway("ws://127.0.0.1:9");
+        adapter = new DiscordWebSocketAdapter(api, false);
+
+        List<String> serverPackets = new ArrayList<>();
+        List<String> replayedPackets = new ArrayList<>();
+        List<String> lines = replayFile.isEmpty()
+                ? generatePackets(api.getObjectMapper())
+                : Files.readAllLines(Paths.get(replayFile), StandardCharsets.UTF_8);
+        for (String line : lines) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode packet = api.getObjectMapper().readTree(line);
+            String type = packet.path("t").asText();
+            if (packet.path("op").asInt() != GatewayOpcode.DISPATCH.getCode()
+                    || type.equals("READY") || type.equals("RESUMED")) {
+                continue;
+            }
+            (type.equals("GUILD_CREATE") ? serverPackets : replayedPackets).add(line);
+        }
+        for (String packet : serverPackets) {
+            adapter.onTextMessage(null, packet);
+        }
+        awaitHandlers();
+        packets = replayedPackets.toArray(new String[0]);
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Replays all packets and waits until they are handled.
+     *
+     * @return The amount of replayed packets.
+     * @throws Exception If a packet cannot be handled.
+     */
+    @Benchmark
+    public int replay() throws Exception {
+        for (String packet : packets) {
+            adapter.onTextMessage(null, packet);
+        }
+        awaitHandlers();
+        return packets.length;
+    }
+
+    /**
+     * Waits until all packet handlers which were submitted before are finished.
+     */
+    private void awaitHandlers() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        api.getPacketHandlerExecutor().submitBarrier(latch::countDown);
+        latch.await();
+    }
+
+    /**
+     * Generates the packets of {@value #SERVERS} servers with one text channel each and {@value #MESSAGES} messages
+     * which are spread across them.
+     */
+    private static List<String> generatePackets(ObjectMapper mapper) throws IOException {
+        List<String> lines = new ArrayList<>();
+        int sequence = 0;
+        for (int i = 0; i < SERVERS; i++) {
+            String serverId = Long.toString(serverId(i));
+            ObjectNode data = mapper.createObjectNode()
+                    .put("id", serverId)
+                    .put("name", "Server " + i)
+                    .put("region", "us-west")
+                    .put("large", false)
+                    .put("member_count", 0)
+                    .put("owner_id", "1")
+                    .put("verification_level", 0)
+                    .put("explicit_content_filter", 0)
+                    .put("default_message_notifications", 0)
+                    .put("mfa_level", 0)
+                    .put("premium_tier", 0)
+                    .put("nsfw_level", 0)
+                    .put("preferred_locale", "en-US");
+            data.putArray("roles").addObject()
+                    .put("id", serverId)
+                    .put("name", "@everyone")
+                    .put("permissions", "0")
+                    .put("position", 0)
+                    .put("color", 0)
+                    .put("hoist", false)
+                    .put("managed", false)
+                    .put("mentionable", false);
+            data.putArray("channels").addObject()
+                    .put("id", Long.toString(channelId(i)))
+                    .put("type", 0)
+                    .put("name", "general")
+                    .put("position", 0)
+                    .put("nsfw", false)
+                    .putArray("permission_overwrites");
+            data.putArray("members");
+            lines.add(mapper.writeValueAsString(dispatch(mapper, "GUILD_CREATE", ++sequence, data)));
+        }
+        for (int i = 0; i < MESSAGES; i++) {
+            int server = i % SERVERS;
+            ObjectNode data = mapper.createObjectNode()
+                    .put("id", Long.toString(2_000_000_000_000_000L + i))
+                    .put("channel_id", Long.toString(channelId(server)))
+                    .put("guild_id", Long.toString(serverId(server)))
+                    .put("content", "Message " + i)
+                    .put("timestamp", "2022-01-01T00:00:00.000000+00:00")
+                    .put("tts", false)
+                    .put("mention_everyone", false)
+                    .put("pinned", false)
+                    .put("type", 0);
+            data.putObject("author")
+                    .put("id", Long.toString(3_000_000_000_000_000L + i % 100))
+                    .put("username", "User " + i % 100)
+                    .put("discriminator", "0001")
+                    .putNull("avatar");
+            for (String array : new String[] {"mentions", "mention_roles", "attachments", "embeds"}) {
+                data.putArray(array);
+            }
+            lines.add(mapper.writeValueAsString(dispatch(mapper, "MESSAGE_CREATE", ++sequence, data)));
+        }
+        return lines;
+    }
+
+    private static ObjectNode dispatch(ObjectMapper mapper, String type, int sequence, ObjectNode data) {
+        ObjectNode packet = mapper.createObjectNode()
+                .put("op", GatewayOpcode.DISPATCH.getCode())
+                .put("s", sequence)
+                .put("t", type);
+        packet.set("d", data);
+        return packet;
+    }
+
+    private static long serverId(int server) {
+        return 1_000_000_000_000_000L + server * 4_194_304L;
+    }
+
+    private static long channelId(int server) {
+        return 1_500_000_000_000_000L + server * 4_194_304L;
+    }
+}
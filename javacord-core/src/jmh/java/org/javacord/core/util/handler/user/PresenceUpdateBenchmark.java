@@ -0,0 +1,113 @@
+package org.javacord.core.util.handler.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.OfflineDiscordApiBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a sustained storm of {@code PRESENCE_UPDATE} packets, like a large bot receives them for every mutual
+ * server of its users.
+ *
+ * <p>The packets of {@value #USERS} users are pre-parsed and handled directly by the {@link PresenceUpdateHandler} from
+ * multiple threads, like the packet handler lanes do. Every user switches between a few statuses and activities, so
+ * most packets repeat an activity payload which was seen before. Run with {@code -prof gc} to compare the allocations.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=PresenceUpdateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PresenceUpdateBenchmark {
+
+    private static final int USERS = 10_000;
+    private static final int PACKETS_PER_USER = 4;
+    private static final String[] STATUSES = {"online", "idle", "dnd", "offline"};
+
+    @Param({"IMMUTABLE", "STRIPED"})
+    public EntityCacheBackend backend;
+
+    /**
+     * Whether there are user change status and user change activity listeners.
+     */
+    @Param({"false", "true"})
+    public boolean listeners;
+
+    private DiscordApiImpl api;
+    private PresenceUpdateHandler handler;
+    private JsonNode[] packets;
+
+    /**
+     * Creates an api that is not connected to Discord and generates the packets.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        api = new OfflineDiscordApiBuilder()
+                .setUserCacheEnabled(false)
+                .setEntityCacheBackend(backend)
+                .build();
+        api.getEventDispatcher().setExecutionTimeCheckingEnabled(false);
+        if (listeners) {
+            api.addUserChangeStatusListener(event -> { });
+            api.addUserChangeActivityListener(event -> { });
+        }
+        handler = new PresenceUpdateHandler(api);
+
+        ObjectMapper mapper = api.getObjectMapper();
+        packets = new JsonNode[USERS * PACKETS_PER_USER];
+        for (int user = 0; user < USERS; user++) {
+            for (int i = 0; i < PACKETS_PER_USER; i++) {
+                ObjectNode packet = mapper.createObjectNode()
+                        .put("guild_id", Long.toString(1_000_000_000_000_000L + user % 100))
+                        .put("status", STATUSES[i]);
+                packet.putObject("user").put("id", Long.toString(2_000_000_000_000_000L + user));
+                packet.putObject("client_status").put("desktop", STATUSES[i]).put("mobile", "online");
+                packet.putArray("activities").addObject()
+                        .put("name", "Game " + (user + i % 2) % 100)
+                        .put("type", 0)
+                        .put("created_at", 1_640_995_200_000L + user)
+                        .putObject("timestamps").put("start", 1_640_995_200_000L);
+                packets[user * PACKETS_PER_USER + i] = packet;
+            }
+        }
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Handles a random presence update packet.
+     */
+    @Benchmark
+    @Threads(4)
+    public void presenceUpdate() {
+        handler.handle(packets[ThreadLocalRandom.current().nextInt(packets.length)]);
+    }
+}
@@ -0,0 +1,106 @@
+package org.javacord.core.util.rest;
+
+import org.javacord.api.util.rest.RestRequestOriginCapture;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.OfflineDiscordApiBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of creating a rest request with every {@link RestRequestOriginCapture.Mode}.
+ *
+ * <p>The request is created {@link #depth} frames deep, like in a listener of a bot. Sampled capture captures one in
+ * {@value #SAMPLE_RATE} requests and limited capture {@value #MAX_FRAMES} frames. Run with {@code -prof gc} to compare
+ * the allocations.
+ *
+ * <p>Limited capture needs the classes for Java 9 and newer from the multi-release jar. With the main classes, it
+ * captures the full stack trace like {@code FULL}.
+ *
+ * <p>Run with {@code ./gradlew :javacord-core:jmh -PjmhIncludes=RestRequestOriginBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RestRequestOriginBenchmark {
+
+    private static final int SAMPLE_RATE = 100;
+    private static final int MAX_FRAMES = 8;
+
+    @Param({"DISABLED", "SAMPLED", "LIMITED", "FULL"})
+    public RestRequestOriginCapture.Mode mode;
+
+    /**
+     * The depth of the stack when the request is created.
+     */
+    @Param({"64"})
+    public int depth;
+
+    private DiscordApiImpl api;
+
+    /**
+     * Creates an api that is not connected to Discord with the origin capture of the benchmarked mode.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        RestRequestOriginCapture originCapture;
+        switch (mode) {
+            case DISABLED:
+                originCapture = RestRequestOriginCapture.disabled();
+                break;
+            case SAMPLED:
+                originCapture = RestRequestOriginCapture.sampled(SAMPLE_RATE);
+                break;
+            case LIMITED:
+                originCapture = RestRequestOriginCapture.limited(MAX_FRAMES);
+                break;
+            default:
+                originCapture = RestRequestOriginCapture.full();
+                break;
+        }
+        api = new OfflineDiscordApiBuilder()
+                .setUserCacheEnabled(false)
+                .setRestRequestOriginCapture(originCapture)
+                .build();
+    }
+
+    /**
+     * Shuts down the thread pool of the api.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        api.disconnect();
+    }
+
+    /**
+     * Creates a rest request.
+     *
+     * @return The origin of the request.
+     */
+    @Benchmark
+    public Exception createRequest() {
+        return createRequest(depth);
+    }
+
+    private Exception createRequest(int remainingDepth) {
+        if (remainingDepth > 0) {
+            return createRequest(remainingDepth - 1);
+        }
+        return new RestRequest<Void>(api, RestMethod.POST, RestEndpoint.CHANNEL_TYPING).getOrigin();
+    }
+}
@@ -8,7 +8,10 @@ import org.javacord.api.entity.intent.Intent;
 import org.javacord.api.internal.DiscordApiBuilderDelegate;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.api.util.event.EventDispatchMode;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.logging.PrivacyProtectionLogger;
@@ -17,6 +20,7 @@ import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 import org.javacord.core.util.rest.RestRequestResult;
 
+import java.io.File;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.util.ArrayList;
@@ -132,6 +136,56 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
      */
     private boolean userCacheEnabled = true;
 
+    /**
+     * The data structure that is used to cache channels, members and user presences.
+     */
+    private volatile EntityCacheBackend entityCacheBackend = EntityCacheBackend.IMMUTABLE;
+
+    /**
+     * The maximum amount of cached messages across all channels, or {@code -1} if it is disabled.
+     */
+    private volatile int globalMessageCacheCapacity = -1;
+
+    /**
+     * Whether the executor service of the thread pool should start a new virtual thread for every task.
+     */
+    private volatile boolean virtualThreadsEnabled = false;
+
+    /**
+     * The amount of threads which handle the packets of servers in parallel.
+     */
+    private volatile int packetHandlerThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Whether large gateway packets should be decoded while they are handled instead of being parsed into a tree.
+     */
+    private volatile boolean streamingPacketDecodingEnabled = false;
+
+    /**
+     * The directory in which downloaded files are cached, or {@code null} if they are only cached in memory.
+     */
+    private volatile File downloadCacheDirectory = null;
+
+    /**
+     * The maximum size of the download cache directory in bytes.
+     */
+    private volatile long downloadCacheMaxSize = 50L * 1024 * 1024;
+
+    /**
+     * The way events are queued before they are dispatched to the listeners.
+     */
+    private volatile EventDispatchMode eventDispatchMode = EventDispatchMode.QUEUE_MANAGER;
+
+    /**
+     * How the origin of rest requests is captured.
+     */
+    private volatile RestRequestOriginCapture restRequestOriginCapture = RestRequestOriginCapture.full();
+
+    /**
+     * Whether interactions are handled in a fast lane.
+     */
+    private volatile boolean interactionFastLaneEnabled = false;
+
     /**
      * The globally attachable listeners to register for every created DiscordApi instance.
      */
@@ -197,7 +251,11 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
             new DiscordApiImpl(token, currentShard.get(), totalShards.get(), intents,
                     waitForServersOnStartup, waitForUsersOnStartup, registerShutdownHook, globalRatelimiter,
                     gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator, trustAllCertificates,
-                    future, null, preparedListeners, preparedUnspecifiedListeners, userCacheEnabled, dispatchEvents);
+                    future, null, preparedListeners, preparedUnspecifiedListeners, userCacheEnabled, dispatchEvents,
+                    entityCacheBackend, globalMessageCacheCapacity, eventDispatchMode,
+                    virtualThreadsEnabled, packetHandlerThreads, streamingPacketDecodingEnabled,
+                    downloadCacheDirectory, downloadCacheMaxSize, restRequestOriginCapture,
+                    interactionFastLaneEnabled);
         }
         return future;
     }
@@ -408,6 +466,112 @@ public class DiscordApiBuilderDelegateImpl implements DiscordApiBuilderDelegate
         return userCacheEnabled;
     }
 
+    @Override
+    public void setEntityCacheBackend(EntityCacheBackend entityCacheBackend) {
+        this.entityCacheBackend = Objects.requireNonNull(entityCacheBackend);
+    }
+
+    @Override
+    public EntityCacheBackend getEntityCacheBackend() {
+        return entityCacheBackend;
+    }
+
+    @Override
+    public void setGlobalMessageCacheCapacity(int capacity) {
+        globalMessageCacheCapacity = Math.max(capacity, -1);
+    }
+
+    @Override
+    public int getGlobalMessageCacheCapacity() {
+        return globalMessageCacheCapacity;
+    }
+
+    @Override
+    public void setVirtualThreadsEnabled(boolean enabled) {
+        virtualThreadsEnabled = enabled;
+    }
+
+    @Override
+    public boolean isVirtualThreadsEnabled() {
+        return virtualThreadsEnabled;
+    }
+
+    @Override
+    public void setPacketHandlerThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads cannot be less than 1!");
+        }
+        packetHandlerThreads = threads;
+    }
+
+    @Override
+    public int getPacketHandlerThreads() {
+        return packetHandlerThreads;
+    }
+
+    @Override
+    public void setStreamingPacketDecodingEnabled(boolean enabled) {
+        streamingPacketDecodingEnabled = enabled;
+    }
+
+    @Override
+    public boolean isStreamingPacketDecodingEnabled() {
+        return streamingPacketDecodingEnabled;
+    }
+
+    @Override
+    public void setDownloadCacheDirectory(File directory) {
+        downloadCacheDirectory = directory;
+    }
+
+    @Override
+    public Optional<File> getDownloadCacheDirectory() {
+        return Optional.ofNullable(downloadCacheDirectory);
+    }
+
+    @Override
+    public void setDownloadCacheMaxSize(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive!");
+        }
+        downloadCacheMaxSize = maxSize;
+    }
+
+    @Override
+    public long getDownloadCacheMaxSize() {
+        return downloadCacheMaxSize;
+    }
+
+    @Override
+    public void setEventDispatchMode(EventDispatchMode eventDispatchMode) {
+        this.eventDispatchMode = Objects.requireNonNull(eventDispatchMode);
+    }
+
+    @Override
+    public EventDispatchMode getEventDispatchMode() {
+        return eventDispatchMode;
+    }
+
+    @Override
+    public void setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture) {
+        this.restRequestOriginCapture = Objects.requireNonNull(restRequestOriginCapture);
+    }
+
+    @Override
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return restRequestOriginCapture;
+    }
+
+    @Override
+    public void setInteractionFastLaneEnabled(boolean enabled) {
+        interactionFastLaneEnabled = enabled;
+    }
+
+    @Override
+    public boolean isInteractionFastLaneEnabled() {
+        return interactionFastLaneEnabled;
+    }
+
     @Override
     public CompletableFuture<Void> setRecommendedTotalShards() {
         CompletableFuture<Void> future = new CompletableFuture<>();
@@ -4,10 +4,9 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import okhttp3.Dispatcher;
 import okhttp3.Dns;
 import okhttp3.OkHttpClient;
-import okhttp3.logging.HttpLoggingInterceptor;
-import okhttp3.logging.HttpLoggingInterceptor.Level;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
@@ -46,6 +45,7 @@ import org.javacord.api.entity.webhook.Webhook;
 import org.javacord.api.interaction.ApplicationCommand;
 import org.javacord.api.interaction.ApplicationCommandBuilder;
 import org.javacord.api.interaction.ApplicationCommandType;
+import org.javacord.api.interaction.InteractionEndpoint;
 import org.javacord.api.interaction.MessageContextMenu;
 import org.javacord.api.interaction.ServerApplicationCommandPermissions;
 import org.javacord.api.interaction.SlashCommand;
@@ -53,10 +53,15 @@ import org.javacord.api.interaction.UserContextMenu;
 import org.javacord.api.listener.GloballyAttachableListener;
 import org.javacord.api.listener.ObjectAttachableListener;
 import org.javacord.api.util.auth.Authenticator;
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.api.util.cache.MessageCache;
 import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.api.util.event.EventDispatchMode;
 import org.javacord.api.util.event.ListenerManager;
 import org.javacord.api.util.ratelimit.LocalRatelimiter;
 import org.javacord.api.util.ratelimit.Ratelimiter;
+import org.javacord.api.util.rest.RestBatch;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 import org.javacord.core.audio.AudioConnectionImpl;
 import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.activity.ApplicationInfoImpl;
@@ -77,28 +82,41 @@ import org.javacord.core.entity.webhook.IncomingWebhookImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.interaction.ApplicationCommandBuilderDelegateImpl;
 import org.javacord.core.interaction.ApplicationCommandImpl;
+import org.javacord.core.interaction.InteractionEndpointImpl;
+import org.javacord.core.interaction.InteractionResponseMetricsImpl;
 import org.javacord.core.interaction.MessageContextMenuImpl;
 import org.javacord.core.interaction.ServerApplicationCommandPermissionsImpl;
 import org.javacord.core.interaction.SlashCommandImpl;
 import org.javacord.core.interaction.UserContextMenuImpl;
 import org.javacord.core.util.ClassHelper;
 import org.javacord.core.util.Cleanupable;
-import org.javacord.core.util.cache.JavacordEntityCache;
+import org.javacord.core.util.cache.EntityCache;
+import org.javacord.core.util.cache.ImmutableEntityCache;
+import org.javacord.core.util.cache.MessageCacheBudget;
+import org.javacord.core.util.cache.MessageCacheImpl;
+import org.javacord.core.util.cache.StripedEntityCache;
 import org.javacord.core.util.concurrent.ThreadPoolImpl;
 import org.javacord.core.util.event.DispatchQueueSelector;
 import org.javacord.core.util.event.EventDispatcher;
 import org.javacord.core.util.event.ListenerManagerImpl;
+import org.javacord.core.util.gateway.AudioSendScheduler;
 import org.javacord.core.util.gateway.DiscordWebSocketAdapter;
+import org.javacord.core.util.gateway.PacketHandlerExecutor;
+import org.javacord.core.util.http.DownloadCache;
+import org.javacord.core.util.http.LoggingInterceptor;
 import org.javacord.core.util.http.ProxyAuthenticator;
 import org.javacord.core.util.http.TrustAllTrustManager;
 import org.javacord.core.util.logging.LoggerUtil;
 import org.javacord.core.util.ratelimit.RatelimitManager;
+import org.javacord.core.util.rest.RestBatchImpl;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
+import java.io.File;
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
+import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.ProxySelector;
 import java.time.Duration;
@@ -115,7 +133,6 @@ import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
@@ -151,6 +168,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     private static final String BOT_TOKEN_PREFIX = "Bot ";
 
+    /**
+     * The maximum amount of cached activities. The cache is cleared when it is full.
+     */
+    private static final int MAX_CACHED_ACTIVITIES = 10_000;
+
     /**
      * A map with the default gateway identify ratelimiter.
      *
@@ -162,7 +184,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     /**
      * The thread pool which is used internally.
      */
-    private final ThreadPoolImpl threadPool = new ThreadPoolImpl();
+    private final ThreadPoolImpl threadPool;
 
     /**
      * The http client for this instance.
@@ -322,9 +344,59 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private volatile Long timeOffset = null;
 
     /**
-     * An immutable cache with all Javacord entities.
+     * A cache with all Javacord entities.
+     */
+    private final EntityCache entityCache;
+
+    /**
+     * The budget for the amount of cached messages across all channels.
+     */
+    private final MessageCacheBudget messageCacheBudget;
+
+    /**
+     * The way events are queued before they are dispatched to the listeners.
+     */
+    private final EventDispatchMode eventDispatchMode;
+
+    /**
+     * The executor which runs the asynchronous packet handlers.
+     */
+    private final PacketHandlerExecutor packetHandlerExecutor;
+
+    /**
+     * The scheduler which sends the audio of all audio connections.
+     */
+    private final AudioSendScheduler audioSendScheduler;
+
+    /**
+     * Whether large gateway packets should be decoded while they are handled instead of being parsed into a tree.
+     */
+    private final boolean streamingPacketDecodingEnabled;
+
+    /**
+     * The cache for downloaded files.
+     */
+    private final DownloadCache downloadCache;
+
+    /**
+     * How the origin of rest requests is captured.
      */
-    private final AtomicReference<JavacordEntityCache> entityCache = new AtomicReference<>(JavacordEntityCache.empty());
+    private final RestRequestOriginCapture restRequestOriginCapture;
+
+    /**
+     * Whether interactions are handled in a fast lane.
+     */
+    private final boolean interactionFastLaneEnabled;
+
+    /**
+     * The metrics of the responses to interactions.
+     */
+    private final InteractionResponseMetricsImpl interactionResponseMetrics = new InteractionResponseMetricsImpl();
+
+    /**
+     * The running interaction endpoints.
+     */
+    private final Set<InteractionEndpointImpl> interactionEndpoints = ConcurrentHashMap.newKeySet();
 
     /**
      * Whether the user cache is enabled or not.
@@ -370,22 +442,18 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     private final ConcurrentHashMap<Long, Sticker> stickers = new ConcurrentHashMap<>();
 
     /**
-     * A map with all cached messages.
-     */
-    private final Map<Long, WeakReference<Message>> messages = new ConcurrentHashMap<>();
-
-    /**
-     * A lock for accessing the message cache.
+     * Recently created activities by their json data.
+     *
+     * <p>Presences of a user are sent once per mutual server and usually repeat the same activities, so identical
+     * activity payloads share one instance.
      */
-    private final ReentrantLock messageCacheLock = new ReentrantLock();
+    private final ConcurrentHashMap<JsonNode, Activity> activities = new ConcurrentHashMap<>();
 
     /**
-     * A map to retrieve message IDs by the weak ref that point to the respective
-     * message or used to point to it for usage in the messages cleanup,
-     * as at cleanup time the weak ref is already emptied.
+     * A map with all cached messages.
+     * It is accessed without a lock, so messages of different channels never wait for each other.
      */
-    private final Map<Reference<? extends Message>, Long> messageIdByRef
-            = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentHashMap<Long, MessageReference> messages = new ConcurrentHashMap<>();
 
     /**
      * The queue that is notified if a message became weakly-reachable.
@@ -412,6 +480,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Map<ObjectAttachableListener, ListenerManagerImpl<? extends ObjectAttachableListener>>>>>
             objectListeners = Collections.synchronizedMap(new ConcurrentHashMap<>());
 
+    /**
+     * The amount of registered global and object listeners by their listener class.
+     * Listener classes without listeners are not contained.
+     */
+    private final Map<Class<?>, Integer> listenerCounts = new ConcurrentHashMap<>();
+
     /**
      * Creates a new discord api instance that can be used for auto-ratelimited REST calls,
      * but does not connect to the Discord WebSocket.
@@ -475,7 +549,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
     ) {
         this(token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList(), false, true);
+                trustAllCertificates, ready, null, Collections.emptyMap(), Collections.emptyList(), false, true,
+                EntityCacheBackend.IMMUTABLE, -1, EventDispatchMode.QUEUE_MANAGER, false,
+                Runtime.getRuntime().availableProcessors(), false, null, 0, RestRequestOriginCapture.full(),
+                false);
     }
 
     /**
@@ -520,7 +597,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             Dns dns) {
         this(token, currentShard, totalShards, intents, waitForServersOnStartup, waitForUsersOnStartup,
                 true, globalRatelimiter, gatewayIdentifyRatelimiter, proxySelector, proxy, proxyAuthenticator,
-                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList(), false, true);
+                trustAllCertificates, ready, dns, Collections.emptyMap(), Collections.emptyList(), false, true,
+                EntityCacheBackend.IMMUTABLE, -1, EventDispatchMode.QUEUE_MANAGER, false,
+                Runtime.getRuntime().availableProcessors(), false, null, 0,
+                RestRequestOriginCapture.full(), false);
     }
 
     /**
@@ -552,6 +632,17 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param unspecifiedListeners       The listeners of unspecified types to pre-register.
      * @param userCacheEnabled           Whether the user cache should be enabled.
      * @param dispatchEvents             Whether events can be dispatched.
+     * @param entityCacheBackend         The data structure that is used to cache channels, members and presences.
+     * @param globalMessageCacheCapacity The maximum amount of cached messages across all channels, or {@code -1}.
+     * @param eventDispatchMode          The way events are queued before they are dispatched to the listeners.
+     * @param virtualThreadsEnabled      Whether the executor service should start a new virtual thread for every task.
+     * @param packetHandlerThreads       The amount of threads which handle the packets of servers in parallel.
+     * @param streamingPacketDecodingEnabled Whether large gateway packets should be decoded while they are handled
+     *                                   instead of being parsed into a tree.
+     * @param downloadCacheDirectory     The directory in which downloaded files are cached, or {@code null}.
+     * @param downloadCacheMaxSize       The maximum size of the download cache directory in bytes.
+     * @param restRequestOriginCapture   How the origin of rest requests is captured.
+     * @param interactionFastLaneEnabled Whether interactions are handled in a fast lane.
      */
     @SuppressWarnings("unchecked")
     public DiscordApiImpl(
@@ -575,8 +666,21 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                     > listenerSourceMap,
             List<Function<DiscordApi, GloballyAttachableListener>> unspecifiedListeners,
             boolean userCacheEnabled,
-            boolean dispatchEvents
+            boolean dispatchEvents,
+            EntityCacheBackend entityCacheBackend,
+            int globalMessageCacheCapacity,
+            EventDispatchMode eventDispatchMode,
+            boolean virtualThreadsEnabled,
+            int packetHandlerThreads,
+            boolean streamingPacketDecodingEnabled,
+            File downloadCacheDirectory,
+            long downloadCacheMaxSize,
+            RestRequestOriginCapture restRequestOriginCapture,
+            boolean interactionFastLaneEnabled
     ) {
+        this.threadPool = new ThreadPoolImpl(virtualThreadsEnabled);
+        this.packetHandlerExecutor = new PacketHandlerExecutor(threadPool, packetHandlerThreads);
+        this.audioSendScheduler = new AudioSendScheduler(threadPool, Runtime.getRuntime().availableProcessors());
         this.token = token;
         this.currentShard = currentShard;
         this.totalShards = totalShards;
@@ -590,6 +694,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         this.trustAllCertificates = trustAllCertificates;
         this.userCacheEnabled = userCacheEnabled;
         this.dispatchEvents = dispatchEvents;
+        this.entityCache = entityCacheBackend == EntityCacheBackend.STRIPED
+                ? new StripedEntityCache()
+                : new ImmutableEntityCache();
+        this.messageCacheBudget = new MessageCacheBudget(globalMessageCacheCapacity);
+        this.eventDispatchMode = eventDispatchMode;
+        this.streamingPacketDecodingEnabled = streamingPacketDecodingEnabled;
+        this.restRequestOriginCapture = restRequestOriginCapture;
+        this.interactionFastLaneEnabled = interactionFastLaneEnabled;
         this.reconnectDelayProvider = x ->
                 (int) Math.round(Math.pow(x, 1.5) - (1 / (1 / (0.1 * x) + 1)) * Math.pow(x, 1.5));
         //Always add the GUILDS intent unless it is not required anymore for Javacord to be functional.
@@ -603,14 +715,19 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             throw new IllegalArgumentException("Cannot wait for users when GUILD_MEMBERS intent is not set!");
         }
 
+        // Requests are limited by the ratelimit manager, and the calls of the dispatcher run in the central thread pool
+        Dispatcher dispatcher = new Dispatcher(threadPool.getExecutorService());
+        dispatcher.setMaxRequests(
+                RatelimitManager.MAX_IN_FLIGHT_REQUESTS + RatelimitManager.MAX_PRIORITY_IN_FLIGHT_REQUESTS);
+        dispatcher.setMaxRequestsPerHost(
+                RatelimitManager.MAX_IN_FLIGHT_REQUESTS + RatelimitManager.MAX_PRIORITY_IN_FLIGHT_REQUESTS);
         OkHttpClient.Builder httpClientBuilder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .addInterceptor(chain -> chain.proceed(chain.request()
                         .newBuilder()
                         .addHeader("User-Agent", Javacord.USER_AGENT)
                         .build()))
-                .addInterceptor(
-                        new HttpLoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)::trace).setLevel(Level.BODY)
-                )
+                .addInterceptor(new LoggingInterceptor(LoggerUtil.getLogger(OkHttpClient.class)))
                 .proxyAuthenticator(new ProxyAuthenticator(proxyAuthenticator))
                 .proxy(proxy);
         if (proxySelector != null) {
@@ -626,6 +743,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
             httpClientBuilder.sslSocketFactory(trustManager.createSslSocketFactory(), trustManager);
         }
         this.httpClient = httpClientBuilder.build();
+        this.downloadCache = new DownloadCache(httpClient, downloadCacheDirectory, downloadCacheMaxSize);
         this.eventDispatcher = new EventDispatcher(this);
 
         if (ready != null) {
@@ -672,20 +790,15 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
             // After minimum JDK 9 is required this can be switched to use a Cleaner
             getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-                messageCacheLock.lock();
                 try {
                     for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
                             messageRef != null;
                             messageRef = messagesCleanupQueue.poll()) {
-                        Long messageId = messageIdByRef.remove(messageRef);
-                        if (messageId != null) {
-                            messages.remove(messageId, messageRef);
-                        }
+                        // Only removes the entry if it was not replaced by a newer reference in the meantime
+                        messages.remove(((MessageReference) messageRef).getId(), messageRef);
                     }
                 } catch (Throwable t) {
                     logger.error("Failed to process messages cleanup queue!", t);
-                } finally {
-                    messageCacheLock.unlock();
                 }
             }, 30, 30, TimeUnit.SECONDS);
 
@@ -713,10 +826,55 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      *
      * @return The entity cache.
      */
-    public AtomicReference<JavacordEntityCache> getEntityCache() {
+    public EntityCache getEntityCache() {
         return entityCache;
     }
 
+    /**
+     * Gets the budget for the amount of cached messages across all channels.
+     *
+     * @return The message cache budget.
+     */
+    public MessageCacheBudget getMessageCacheBudget() {
+        return messageCacheBudget;
+    }
+
+    /**
+     * Gets the way events are queued before they are dispatched to the listeners.
+     *
+     * @return The event dispatch mode.
+     */
+    public EventDispatchMode getEventDispatchMode() {
+        return eventDispatchMode;
+    }
+
+    /**
+     * Gets the executor which runs the asynchronous packet handlers.
+     *
+     * @return The packet handler executor.
+     */
+    public PacketHandlerExecutor getPacketHandlerExecutor() {
+        return packetHandlerExecutor;
+    }
+
+    /**
+     * Gets the scheduler which sends the audio of all audio connections.
+     *
+     * @return The audio send scheduler.
+     */
+    public AudioSendScheduler getAudioSendScheduler() {
+        return audioSendScheduler;
+    }
+
+    /**
+     * Checks if large gateway packets should be decoded while they are handled instead of being parsed into a tree.
+     *
+     * @return Whether streaming packet decoding is enabled.
+     */
+    public boolean isStreamingPacketDecodingEnabled() {
+        return streamingPacketDecodingEnabled;
+    }
+
     /**
      * Checks if the user cache is enabled.
      *
@@ -736,6 +894,61 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return dispatchEvents;
     }
 
+    /**
+     * Gets how the origin of rest requests is captured.
+     *
+     * @return The origin capture.
+     */
+    public RestRequestOriginCapture getRestRequestOriginCapture() {
+        return restRequestOriginCapture;
+    }
+
+    /**
+     * Checks if interactions are handled in a fast lane.
+     *
+     * @return Whether the interaction fast lane is enabled.
+     */
+    public boolean isInteractionFastLaneEnabled() {
+        return interactionFastLaneEnabled;
+    }
+
+    @Override
+    public InteractionResponseMetricsImpl getInteractionResponseMetrics() {
+        return interactionResponseMetrics;
+    }
+
+    @Override
+    public CompletableFuture<InteractionEndpoint> startInteractionEndpoint(
+            InetSocketAddress address, String path, String publicKey) {
+        CompletableFuture<InteractionEndpoint> future = new CompletableFuture<>();
+        try {
+            InteractionEndpointImpl endpoint = new InteractionEndpointImpl(this, address, path, publicKey);
+            interactionEndpoints.add(endpoint);
+            future.complete(endpoint);
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        }
+        return future;
+    }
+
+    /**
+     * Removes a stopped interaction endpoint.
+     *
+     * @param endpoint The endpoint to remove.
+     */
+    public void removeInteractionEndpoint(InteractionEndpointImpl endpoint) {
+        interactionEndpoints.remove(endpoint);
+    }
+
+    /**
+     * Gets the cache which is used to download files like avatars, icons and attachments.
+     *
+     * @return The download cache.
+     */
+    public DownloadCache getDownloadCache() {
+        return downloadCache;
+    }
+
     /**
      * Gets the used {@link OkHttpClient http client} for this api instance.
      *
@@ -784,20 +997,14 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
         servers.clear();
-        entityCache.get().getChannelCache().getChannels().stream()
+        entityCache.getChannelCache().getChannels().stream()
                 .filter(Cleanupable.class::isInstance)
                 .map(Cleanupable.class::cast)
                 .forEach(Cleanupable::cleanup);
-        entityCache.set(JavacordEntityCache.empty());
+        entityCache.clear();
         unavailableServers.clear();
         customEmojis.clear();
-        messageCacheLock.lock();
-        try {
-            messages.clear();
-            messageIdByRef.clear();
-        } finally {
-            messageCacheLock.unlock();
-        }
+        messages.clear();
         timeOffset = null;
     }
 
@@ -922,13 +1129,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param channel The channel to add.
      */
     public void addChannelToCache(Channel channel) {
-        entityCache.getAndUpdate(cache -> {
-            Channel oldChannel = cache.getChannelCache().getChannelById(channel.getId()).orElse(null);
-            if (oldChannel != channel && oldChannel instanceof Cleanupable) {
-                ((Cleanupable) oldChannel).cleanup();
-            }
-            return cache.updateChannelCache(channelCache -> channelCache.addChannel(channel));
-        });
+        entityCache.addChannel(channel)
+                .filter(oldChannel -> oldChannel != channel)
+                .filter(Cleanupable.class::isInstance)
+                .map(Cleanupable.class::cast)
+                .ifPresent(Cleanupable::cleanup);
     }
 
     /**
@@ -938,12 +1143,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param mapper A function that takes the old user presence (or null) and returns the new user presence.
      */
     public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
-        entityCache.getAndUpdate(cache -> {
-            UserPresence presence = cache.getUserPresenceCache().getPresenceByUserId(userId)
-                    .orElseGet(() -> new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty()));
-            return cache.updateUserPresenceCache(userPresenceCache ->
-                    userPresenceCache.removeUserPresence(presence).addUserPresence(mapper.apply(presence)));
-        });
+        entityCache.updateUserPresence(userId, mapper);
     }
 
     /**
@@ -952,29 +1152,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param channelId The id of the channel to remove.
      */
     public void removeChannelFromCache(long channelId) {
-        entityCache.getAndUpdate(cache -> {
-            Channel channel = cache.getChannelCache().getChannelById(channelId).orElse(null);
-            if (channel == null) {
-                return cache;
-            }
-
-            //Remove all ServerThreadChannels when the parent channel is removed
-            channel.asServerChannel().ifPresent(serverChannel -> {
-                if (serverChannel.asServerThreadChannel().isPresent()) {
-                    return;
-                }
-
-                serverChannel.getServer().getThreadChannels().stream()
-                        .filter(c -> c.getParent().getId() == serverChannel.getId())
-                        .mapToLong(DiscordEntity::getId)
-                        .forEach(this::removeChannelFromCache);
-            });
+        Channel channel = entityCache.getChannelCache().getChannelById(channelId).orElse(null);
+        if (channel == null) {
+            return;
+        }
 
-            if (channel instanceof Cleanupable) {
-                ((Cleanupable) channel).cleanup();
+        //Remove all ServerThreadChannels when the parent channel is removed
+        channel.asServerChannel().ifPresent(serverChannel -> {
+            if (serverChannel.asServerThreadChannel().isPresent()) {
+                return;
             }
-            return cache.updateChannelCache(channelCache -> channelCache.removeChannel(channel));
+
+            serverChannel.getServer().getThreadChannels().stream()
+                    .filter(c -> c.getParent().getId() == serverChannel.getId())
+                    .mapToLong(DiscordEntity::getId)
+                    .forEach(this::removeChannelFromCache);
         });
+
+        entityCache.removeChannel(channelId)
+                .filter(Cleanupable.class::isInstance)
+                .map(Cleanupable.class::cast)
+                .ifPresent(Cleanupable::cleanup);
     }
 
     /**
@@ -986,12 +1184,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         if (!isUserCacheEnabled()) {
             return;
         }
-        entityCache.getAndUpdate(cache -> {
-            Member oldMember = cache.getMemberCache()
-                    .getMemberByIdAndServer(member.getId(), member.getServer().getId())
-                    .orElse(null);
-            return cache.updateMemberCache(memberCache -> memberCache.removeMember(oldMember).addMember(member));
-        });
+        entityCache.addOrReplaceMember(member);
     }
 
     /**
@@ -1000,16 +1193,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param user The new user object.
      */
     public void updateUserOfAllMembers(User user) {
-        entityCache.getAndUpdate(cache -> {
-            JavacordEntityCache newCache = cache;
-            for (Member member : cache.getMemberCache().getMembersById(user.getId())) {
-                newCache = newCache.updateMemberCache(memberCache -> memberCache
-                        .removeMember(member)
-                        .addMember(((MemberImpl) member).setUser((UserImpl) user))
-                );
-            }
-            return newCache;
-        });
+        entityCache.updateMembersById(user.getId(), member -> ((MemberImpl) member).setUser((UserImpl) user));
     }
 
     /**
@@ -1019,13 +1203,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param serverId The id of the member's server.
      */
     public void removeMemberFromCache(long memberId, long serverId) {
-        entityCache.getAndUpdate(cache -> {
-            Member member = cache.getMemberCache().getMemberByIdAndServer(memberId, serverId).orElse(null);
-            if (member == null) {
-                return cache;
-            }
-            return cache.updateMemberCache(memberCache -> memberCache.removeMember(member));
-        });
+        entityCache.removeMember(memberId, serverId);
     }
 
     /**
@@ -1150,6 +1328,29 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return stickers.computeIfAbsent(id, key -> new StickerImpl(this, data));
     }
 
+    /**
+     * Gets or creates a new activity object.
+     *
+     * <p>Activities with a custom emoji are not cached, as the emoji might become known or unknown later.
+     *
+     * @param data The json data of the activity.
+     * @return The activity for the given json object.
+     */
+    public Activity getOrCreateActivity(JsonNode data) {
+        Activity activity = activities.get(data);
+        if (activity != null) {
+            return activity;
+        }
+        activity = new ActivityImpl(this, data);
+        if (!data.path("emoji").has("id")) {
+            if (activities.size() >= MAX_CACHED_ACTIVITIES) {
+                activities.clear();
+            }
+            activities.put(data, activity);
+        }
+        return activity;
+    }
+
     /**
      * Removes a sticker object.
      *
@@ -1180,12 +1381,23 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      */
     public Message getOrCreateMessage(TextChannel channel, JsonNode data) {
         long id = Long.parseLong(data.get("id").asText());
-        messageCacheLock.lock();
-        try {
-            return getCachedMessageById(id).orElseGet(() -> new MessageImpl(this, channel, data));
-        } finally {
-            messageCacheLock.unlock();
+        Message message = getCachedMessageById(id).orElse(null);
+        boolean hit = message != null;
+        if (!hit) {
+            // The constructor adds the message to the cache. If another thread created the same message concurrently,
+            // only one of them made it into the cache, so return that one to never hand out two instances.
+            Message createdMessage = new MessageImpl(this, channel, data);
+            message = getCachedMessageById(id).orElse(createdMessage);
+        }
+        MessageCache messageCache = channel.getMessageCache();
+        if (messageCache instanceof MessageCacheImpl) {
+            if (hit) {
+                ((MessageCacheImpl) messageCache).recordHit();
+            } else {
+                ((MessageCacheImpl) messageCache).recordMiss();
+            }
         }
+        return message;
     }
 
     /**
@@ -1194,19 +1406,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param message The message to add.
      */
     public void addMessageToCache(Message message) {
-        messageCacheLock.lock();
-        try {
-            messages.compute(message.getId(), (key, value) -> {
-                if ((value == null) || (value.get() == null)) {
-                    WeakReference<Message> result = new WeakReference<>(message, messagesCleanupQueue);
-                    messageIdByRef.put(result, key);
-                    return result;
-                }
-                return value;
-            });
-        } finally {
-            messageCacheLock.unlock();
-        }
+        messages.compute(message.getId(), (key, value) -> {
+            if ((value == null) || (value.get() == null)) {
+                return new MessageReference(message, messagesCleanupQueue);
+            }
+            return value;
+        });
     }
 
     /**
@@ -1215,15 +1420,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param messageId The id of the message to remove.
      */
     public void removeMessageFromCache(long messageId) {
-        messageCacheLock.lock();
-        try {
-            WeakReference<Message> messageRef = messages.remove(messageId);
-            if (messageRef != null) {
-                messageIdByRef.remove(messageRef, messageId);
-            }
-        } finally {
-            messageCacheLock.unlock();
-        }
+        messages.remove(messageId);
     }
 
     /**
@@ -1384,6 +1581,31 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
                 .orElseGet(ArrayList::new));
     }
 
+    /**
+     * Updates the amount of registered listeners of the given class.
+     * This is called by the listener managers when a listener is added or removed.
+     *
+     * @param listenerClass The listener class.
+     * @param delta         The change of the amount of listeners.
+     */
+    public void updateListenerCount(Class<?> listenerClass, int delta) {
+        listenerCounts.compute(listenerClass, (key, count) -> {
+            int newCount = (count == null ? 0 : count) + delta;
+            return newCount > 0 ? newCount : null;
+        });
+    }
+
+    /**
+     * Checks if there are any registered listeners of the given class, no matter if they are global listeners or
+     * attached to an object.
+     *
+     * @param listenerClass The listener class.
+     * @return Whether there are listeners of the given class.
+     */
+    public boolean hasListeners(Class<?> listenerClass) {
+        return listenerCounts.containsKey(listenerClass);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T extends GloballyAttachableListener> Map<T, List<Class<T>>> getListeners() {
@@ -1651,6 +1873,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return uncachedMessageUtil;
     }
 
+    @Override
+    public RestBatch batch() {
+        return new RestBatchImpl(this);
+    }
+
     /*
      * Note: You might think the return type should be Optional<WebsocketAdapter>, because it's null till we receive
      *       the gateway from Discord. However, the DiscordApi instance is only passed to the user, AFTER we connect
@@ -1745,6 +1972,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         return defaultAutomaticMessageCacheCleanupEnabled;
     }
 
+    @Override
+    public void setGlobalMessageCacheCapacity(int capacity) {
+        messageCacheBudget.setCapacity(capacity);
+    }
+
+    @Override
+    public int getGlobalMessageCacheCapacity() {
+        return messageCacheBudget.getCapacity();
+    }
+
     @Override
     public int getCurrentShard() {
         return currentShard;
@@ -1878,6 +2115,7 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         }
         if (doDisconnect) {
             // Disconnect has not been called
+            interactionEndpoints.forEach(InteractionEndpoint::stop);
             if (websocketAdapter == null) {
                 // if no web socket is connected, immediately shutdown thread pool
                 threadPool.shutdown();
@@ -1970,12 +2208,12 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Set<User> getCachedUsers() {
-        return getEntityCache().get().getMemberCache().getUserCache().getUsers();
+        return getEntityCache().getMemberCache().getUserCache().getUsers();
     }
 
     @Override
     public Optional<User> getCachedUserById(long id) {
-        return getEntityCache().get().getMemberCache().getUserCache().getUserById(id);
+        return getEntityCache().getMemberCache().getUserCache().getUserById(id);
     }
 
     @Override
@@ -1989,15 +2227,10 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public MessageSet getCachedMessages() {
-        messageCacheLock.lock();
-        try {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .collect(Collectors.toList()));
-        } finally {
-            messageCacheLock.unlock();
-        }
+        return new MessageSetImpl(messages.values().stream()
+                .map(Reference::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -2007,16 +2240,11 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @return The cached messages satisfying the condition.
      */
     public MessageSet getCachedMessagesWhere(Predicate<Message> filter) {
-        messageCacheLock.lock();
-        try {
-            return new MessageSetImpl(messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .collect(Collectors.toList()));
-        } finally {
-            messageCacheLock.unlock();
-        }
+        return new MessageSetImpl(messages.values().stream()
+                .map(Reference::get)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -2026,26 +2254,16 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
      * @param action The action to be applied to the messages.
      */
     public void forEachCachedMessageWhere(Predicate<Message> filter, Consumer<Message> action) {
-        messageCacheLock.lock();
-        try {
-            messages.values().stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(filter)
-                    .forEach(action);
-        } finally {
-            messageCacheLock.unlock();
-        }
+        messages.values().stream()
+                .map(Reference::get)
+                .filter(Objects::nonNull)
+                .filter(filter)
+                .forEach(action);
     }
 
     @Override
     public Optional<Message> getCachedMessageById(long id) {
-        messageCacheLock.lock();
-        try {
-            return Optional.ofNullable(messages.get(id)).map(Reference::get);
-        } finally {
-            messageCacheLock.unlock();
-        }
+        return Optional.ofNullable(messages.get(id)).map(Reference::get);
     }
 
     @Override
@@ -2083,48 +2301,48 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Set<Channel> getChannels() {
-        return entityCache.get().getChannelCache().getChannels();
+        return entityCache.getChannelCache().getChannels();
     }
 
     @Override
     public Set<PrivateChannel> getPrivateChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.PRIVATE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.PRIVATE_CHANNEL);
     }
 
     @Override
     public Set<ServerChannel> getServerChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getServerChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getServerChannelTypes());
     }
 
     @Override
     public Set<RegularServerChannel> getRegularServerChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getRegularServerChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getRegularServerChannelTypes());
     }
 
     @Override
     public Set<TextableRegularServerChannel> getTextableRegularServerChannels() {
-        return entityCache.get().getChannelCache()
+        return entityCache.getChannelCache()
                 .getChannelsWithTypes(ChannelType.getTextableRegularServerChannelTypes());
     }
 
     @Override
     public Set<ChannelCategory> getChannelCategories() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.CHANNEL_CATEGORY);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.CHANNEL_CATEGORY);
     }
 
     @Override
     public Set<ServerTextChannel> getServerTextChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_TEXT_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_TEXT_CHANNEL);
     }
 
     @Override
     public Set<ServerForumChannel> getServerForumChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_FORUM_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_FORUM_CHANNEL);
     }
 
     @Override
     public Set<ServerThreadChannel> getServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(
+        return entityCache.getChannelCache().getChannelsWithTypes(
                 ChannelType.SERVER_PRIVATE_THREAD,
                 ChannelType.SERVER_PUBLIC_THREAD,
                 ChannelType.SERVER_NEWS_THREAD);
@@ -2132,46 +2350,37 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
 
     @Override
     public Set<ServerThreadChannel> getPrivateServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PRIVATE_THREAD);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PRIVATE_THREAD);
     }
 
     @Override
     public Set<ServerThreadChannel> getPublicServerThreadChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PUBLIC_THREAD);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_PUBLIC_THREAD);
     }
 
     @Override
     public Set<ServerVoiceChannel> getServerVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_VOICE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_VOICE_CHANNEL);
     }
 
     @Override
     public Set<ServerStageVoiceChannel> getServerStageVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.SERVER_STAGE_VOICE_CHANNEL);
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.SERVER_STAGE_VOICE_CHANNEL);
     }
 
     @Override
     public Set<TextChannel> getTextChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getTextChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getTextChannelTypes());
     }
 
     @Override
     public Set<VoiceChannel> getVoiceChannels() {
-        return entityCache.get().getChannelCache().getChannelsWithTypes(ChannelType.getVoiceChannelTypes());
+        return entityCache.getChannelCache().getChannelsWithTypes(ChannelType.getVoiceChannelTypes());
     }
 
     @Override
     public Optional<Channel> getChannelById(long id) {
-        return entityCache.get().getChannelCache().getChannelById(id);
-    }
-
-    /**
-     * Get the message cache lock.
-     *
-     * @return the message cache lock
-     */
-    public ReentrantLock getMessageCacheLock() {
-        return messageCacheLock;
+        return entityCache.getChannelCache().getChannelById(id);
     }
 
     @Override
@@ -2231,4 +2440,27 @@ public class DiscordApiImpl implements DiscordApi, DispatchQueueSelector {
         disconnect();
         super.finalize();
     }
+
+    /**
+     * A weak reference to a cached message which remembers the id of the message for the messages cleanup,
+     * as at cleanup time the reference is already cleared.
+     */
+    private static class MessageReference extends WeakReference<Message> {
+
+        private final long id;
+
+        private MessageReference(Message message, ReferenceQueue<Message> queue) {
+            super(message, queue);
+            id = message.getId();
+        }
+
+        /**
+         * Gets the id of the referenced message.
+         *
+         * @return The id of the message.
+         */
+        long getId() {
+            return id;
+        }
+    }
 }
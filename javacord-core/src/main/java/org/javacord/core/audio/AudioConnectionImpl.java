@@ -3,6 +3,7 @@ package org.javacord.core.audio;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.audio.AudioConnection;
+import org.javacord.api.audio.AudioReceiveHandler;
 import org.javacord.api.audio.AudioSource;
 import org.javacord.api.audio.SpeakingFlag;
 import org.javacord.api.entity.channel.Channel;
@@ -11,8 +12,10 @@ import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.listener.audio.InternalAudioConnectionAttachableListenerManager;
 import org.javacord.core.util.concurrent.BlockingReference;
+import org.javacord.core.util.gateway.AudioSendScheduler;
 import org.javacord.core.util.gateway.AudioWebSocketAdapter;
 import org.javacord.core.util.logging.LoggerUtil;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Optional;
@@ -63,6 +66,11 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
      */
     private final BlockingReference<AudioSource> currentSource = new BlockingReference<>();
 
+    /**
+     * The handler of the received audio.
+     */
+    private volatile AudioReceiveHandler receiveHandler;
+
     /**
      * An artificial id for the connection.
      */
@@ -108,6 +116,21 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
      */
     private volatile boolean deafened;
 
+    /**
+     * The smoothed jitter of the sent audio frames in nanoseconds. Only written by the thread which sends the audio.
+     */
+    private volatile long sendJitterNanos;
+
+    /**
+     * The maximum delay of a sent audio frame in nanoseconds. Only written by the thread which sends the audio.
+     */
+    private volatile long maxSendJitterNanos;
+
+    /**
+     * The amount of audio frames which missed their deadline. Only written by the thread which sends the audio.
+     */
+    private volatile long missedSendDeadlineCount;
+
     /**
      * Creates a new audio connection.
      *
@@ -323,6 +346,31 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
         return currentSource.get(timeout, unit);
     }
 
+    /**
+     * Records that an audio frame was sent.
+     *
+     * @param delayNanos The delay between the deadline of the frame and the time it was sent in nanoseconds.
+     */
+    public void recordFrameSent(long delayNanos) {
+        // See https://datatracker.ietf.org/doc/html/rfc3550#section-6.4.1
+        sendJitterNanos += (delayNanos - sendJitterNanos) / 16;
+        if (delayNanos > maxSendJitterNanos) {
+            maxSendJitterNanos = delayNanos;
+        }
+        if (delayNanos >= AudioSendScheduler.FRAME_DURATION_NANOS) {
+            missedSendDeadlineCount++;
+        }
+    }
+
+    /**
+     * Records that audio frames were skipped because sending fell too far behind.
+     *
+     * @param frames The amount of skipped frames.
+     */
+    public void recordFramesSkipped(long frames) {
+        missedSendDeadlineCount += frames;
+    }
+
     @Override
     public DiscordApi getApi() {
         return getChannel().getApi();
@@ -367,11 +415,7 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
 
     @Override
     public Optional<AudioSource> getAudioSource() {
-        try {
-            return Optional.ofNullable(currentSource.get(0, TimeUnit.MILLISECONDS));
-        } catch (InterruptedException e) {
-            return Optional.empty();
-        }
+        return Optional.ofNullable(currentSource.getNow());
     }
 
     @Override
@@ -384,6 +428,34 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
         currentSource.set(null);
     }
 
+    @Override
+    public Optional<AudioReceiveHandler> getReceiveHandler() {
+        return Optional.ofNullable(receiveHandler);
+    }
+
+    @Override
+    public synchronized void setReceiveHandler(AudioReceiveHandler handler) {
+        if (handler == null) {
+            removeReceiveHandler();
+            return;
+        }
+        receiveHandler = handler;
+        AudioWebSocketAdapter adapter = websocketAdapter;
+        if (adapter != null) {
+            adapter.startReceiving();
+        }
+    }
+
+    @Override
+    public synchronized void removeReceiveHandler() {
+        receiveHandler = null;
+        // Nobody is interested in the audio anymore, so the receiving thread does not need to poll the socket
+        AudioWebSocketAdapter adapter = websocketAdapter;
+        if (adapter != null) {
+            adapter.stopReceiving();
+        }
+    }
+
     @Override
     public ServerVoiceChannel getChannel() {
         return channel.getCurrentCachedInstance().flatMap(Channel::asServerVoiceChannel).orElse(channel);
@@ -413,6 +485,21 @@ public class AudioConnectionImpl implements AudioConnection, InternalAudioConnec
                 .sendVoiceStateUpdate(getChannel().getServer(), getChannel(), muted, deafened);
     }
 
+    @Override
+    public Duration getSendJitter() {
+        return Duration.ofNanos(sendJitterNanos);
+    }
+
+    @Override
+    public Duration getMaxSendJitter() {
+        return Duration.ofNanos(maxSendJitterNanos);
+    }
+
+    @Override
+    public long getMissedSendDeadlineCount() {
+        return missedSendDeadlineCount;
+    }
+
     @Override
     public String toString() {
         return String.format(
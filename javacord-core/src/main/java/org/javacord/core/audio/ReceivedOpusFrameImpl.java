@@ -0,0 +1,117 @@
+package org.javacord.core.audio;
+
+import org.javacord.api.audio.AudioConnection;
+import org.javacord.api.audio.ReceivedOpusFrame;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The implementation of {@link ReceivedOpusFrame}.
+ *
+ * <p>An instance is reused for every frame of a connection, so handling a frame does not allocate anything.
+ */
+public class ReceivedOpusFrameImpl implements ReceivedOpusFrame {
+
+    private final AudioConnection connection;
+
+    private int ssrc;
+    private long userId;
+    private int sequence;
+    private int timestamp;
+    private int lostFramesBefore;
+    private byte[] buffer;
+    private int offset;
+    private int length;
+
+    /**
+     * A read-only view of {@link #buffer}.
+     */
+    private ByteBuffer opusData;
+
+    /**
+     * Creates a new received opus frame.
+     *
+     * @param connection The audio connection which receives the frames.
+     */
+    public ReceivedOpusFrameImpl(AudioConnection connection) {
+        this.connection = connection;
+    }
+
+    /**
+     * Sets the content of the frame.
+     *
+     * @param ssrc The ssrc of the frame.
+     * @param userId The id of the user who sent the frame, or {@code 0} if unknown.
+     * @param sequence The rtp sequence of the frame.
+     * @param timestamp The rtp timestamp of the frame.
+     * @param lostFramesBefore The amount of frames which were lost right before this frame.
+     * @param buffer The buffer which contains the opus data.
+     * @param offset The offset of the opus data in the buffer.
+     * @param length The length of the opus data.
+     */
+    public void set(int ssrc, long userId, int sequence, int timestamp, int lostFramesBefore,
+                    byte[] buffer, int offset, int length) {
+        this.ssrc = ssrc;
+        this.userId = userId;
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.lostFramesBefore = lostFramesBefore;
+        if (this.buffer != buffer) {
+            this.buffer = buffer;
+            opusData = null;
+        }
+        this.offset = offset;
+        this.length = length;
+    }
+
+    @Override
+    public AudioConnection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public int getSsrc() {
+        return ssrc;
+    }
+
+    @Override
+    public Optional<Long> getUserId() {
+        return userId == 0 ? Optional.empty() : Optional.of(userId);
+    }
+
+    @Override
+    public int getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public int getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public int getLostFramesBefore() {
+        return lostFramesBefore;
+    }
+
+    @Override
+    public ByteBuffer getOpusData() {
+        if (opusData == null) {
+            opusData = ByteBuffer.wrap(buffer).asReadOnlyBuffer();
+        }
+        opusData.limit(offset + length).position(offset);
+        return opusData;
+    }
+
+    @Override
+    public byte[] getOpusDataAsByteArray() {
+        return Arrays.copyOfRange(buffer, offset, offset + length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ReceivedOpusFrame (ssrc: %d, sequence: %d, length: %d)", ssrc, sequence, length);
+    }
+}
@@ -4,25 +4,22 @@ import com.fasterxml.jackson.databind.JsonNode;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.Permissionable;
 import org.javacord.api.entity.channel.RegularServerChannel;
-import org.javacord.api.entity.permission.PermissionState;
 import org.javacord.api.entity.permission.PermissionType;
 import org.javacord.api.entity.permission.Permissions;
-import org.javacord.api.entity.permission.PermissionsBuilder;
 import org.javacord.api.entity.permission.Role;
-import org.javacord.api.entity.server.Server;
 import org.javacord.api.entity.user.User;
 import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.entity.permission.PermissionCalculator;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.util.logging.LoggerUtil;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RegularServerChannelImpl extends ServerChannelImpl implements RegularServerChannel {
 
@@ -43,6 +40,16 @@ public class RegularServerChannelImpl extends ServerChannelImpl implements Regul
      */
     private final ConcurrentHashMap<Long, Permissions> overwrittenRolePermissions = new ConcurrentHashMap<>();
 
+    /**
+     * The memoized effective permissions by the id of the member.
+     */
+    private final ConcurrentHashMap<Long, MemoizedPermissions> effectivePermissions = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever the memoized permissions are invalidated.
+     */
+    private final AtomicInteger permissionsVersion = new AtomicInteger();
+
     /**
      * The rawPosition of the channel.
      */
@@ -121,48 +128,83 @@ public class RegularServerChannelImpl extends ServerChannelImpl implements Regul
 
     @Override
     public Permissions getEffectiveOverwrittenPermissions(User user) {
-        PermissionsBuilder builder = new PermissionsBuilder(PermissionsImpl.EMPTY_PERMISSIONS);
-        Server server = getServer();
-        Role everyoneRole = server.getEveryoneRole();
-        Permissions everyoneRolePermissionOverwrites = getOverwrittenPermissions(everyoneRole);
-        for (PermissionType type : PermissionType.values()) {
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (everyoneRolePermissionOverwrites.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
-            }
+        ServerImpl server = (ServerImpl) getServer();
+        return PermissionCalculator.calculateOverwrittenPermissions(server.getEveryoneRole().getId(),
+                server.getRoleIds(user), user.getId(), overwrittenRolePermissions, overwrittenUserPermissions);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>The permissions are memoized per member until they are {@link #invalidatePermissions() invalidated} or the
+     * roles of the member change.
+     */
+    @Override
+    public Permissions getEffectivePermissions(User user) {
+        ServerImpl server = (ServerImpl) getServer();
+        long userId = user.getId();
+        List<Long> roleIds = server.getRoleIds(user);
+        // Read the version before calculating, so an invalidation during the calculation is not lost
+        int version = permissionsVersion.get();
+        MemoizedPermissions memoized = effectivePermissions.get(userId);
+        if (memoized != null && memoized.version == version && memoized.roleIds.equals(roleIds)) {
+            return memoized.permissions;
         }
-        List<Role> rolesOfUser = new ArrayList<>(server.getRoles(user));
-        rolesOfUser.remove(everyoneRole);
-        List<Permissions> permissionOverwrites = rolesOfUser.stream()
-                .map(this::getOverwrittenPermissions)
-                .collect(Collectors.toList());
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.DENIED) {
-                    builder.setState(type, PermissionState.DENIED);
-                }
-            }
+
+        long basePermissions = PermissionCalculator.calculateBasePermissions(server, userId, roleIds);
+        Permissions permissions = PermissionCalculator.calculateEffectivePermissions(basePermissions,
+                PermissionCalculator.calculateOverwrittenPermissions(server.getEveryoneRole().getId(), roleIds,
+                        userId, overwrittenRolePermissions, overwrittenUserPermissions));
+        // Only remember members, as anyone could be checked
+        if (!roleIds.isEmpty()) {
+            effectivePermissions.put(userId, new MemoizedPermissions(roleIds, version, permissions));
         }
-        for (Permissions permissions : permissionOverwrites) {
-            for (PermissionType type : PermissionType.values()) {
-                if (permissions.getState(type) == PermissionState.ALLOWED) {
-                    builder.setState(type, PermissionState.ALLOWED);
-                }
+        return permissions;
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return permission.isSet(getEffectivePermissions(user).getAllowedBitmask());
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        long allowed = getEffectivePermissions(user).getAllowedBitmask();
+        for (PermissionType permission : type) {
+            if (!permission.isSet(allowed)) {
+                return false;
             }
         }
-        for (PermissionType type : PermissionType.values()) {
-            Permissions permissions = overwrittenUserPermissions
-                    .getOrDefault(user.getId(), PermissionsImpl.EMPTY_PERMISSIONS);
-            if (permissions.getState(type) == PermissionState.DENIED) {
-                builder.setState(type, PermissionState.DENIED);
-            }
-            if (permissions.getState(type) == PermissionState.ALLOWED) {
-                builder.setState(type, PermissionState.ALLOWED);
+        return true;
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        long allowed = getEffectivePermissions(user).getAllowedBitmask();
+        for (PermissionType permission : type) {
+            if (permission.isSet(allowed)) {
+                return true;
             }
         }
-        return builder.build();
+        return false;
+    }
+
+    /**
+     * Invalidates the memoized permissions of all members.
+     * Must be called whenever the permissions of members may have changed, e.g. when an overwrite was updated.
+     */
+    public void invalidatePermissions() {
+        permissionsVersion.incrementAndGet();
+        effectivePermissions.clear();
+    }
+
+    /**
+     * Invalidates the memoized permissions of a member.
+     *
+     * @param userId The id of the member.
+     */
+    public void invalidatePermissions(long userId) {
+        effectivePermissions.remove(userId);
     }
 
     @Override
@@ -178,4 +220,23 @@ public class RegularServerChannelImpl extends ServerChannelImpl implements Regul
     public void setRawPosition(int position) {
         this.rawPosition = position;
     }
+
+    /**
+     * The memoized effective permissions of a member.
+     */
+    private static final class MemoizedPermissions {
+
+        /**
+         * The ids of the member's roles the permissions were calculated for.
+         */
+        private final List<Long> roleIds;
+        private final int version;
+        private final Permissions permissions;
+
+        private MemoizedPermissions(List<Long> roleIds, int version, Permissions permissions) {
+            this.roleIds = roleIds;
+            this.version = version;
+            this.permissions = permissions;
+        }
+    }
 }
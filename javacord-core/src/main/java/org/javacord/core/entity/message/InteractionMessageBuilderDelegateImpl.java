@@ -8,15 +8,11 @@ import org.javacord.api.entity.message.embed.EmbedBuilder;
 import org.javacord.api.entity.message.internal.InteractionMessageBuilderDelegate;
 import org.javacord.api.interaction.InteractionBase;
 import org.javacord.api.interaction.MessageComponentInteraction;
-import org.javacord.core.entity.message.embed.EmbedBuilderDelegateImpl;
 import org.javacord.core.interaction.InteractionImpl;
-import org.javacord.core.util.FileContainer;
 import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
-import java.util.ArrayList;
 import java.util.EnumSet;
-import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
 
@@ -40,11 +36,7 @@ public class InteractionMessageBuilderDelegateImpl extends MessageBuilderBaseDel
         ObjectNode body = topBody.putObject("data");
         prepareInteractionWebhookBodyParts(body);
 
-        return new RestRequest<Void>(interaction.getApi(),
-                RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(interaction.getIdAsString(), interaction.getToken())
-                .consumeGlobalRatelimit(false)
-                .includeAuthorizationHeader(false)
+        return ((InteractionImpl) interaction).<Void>createCallbackRequest()
                 .setBody(topBody)
                 .execute(result -> null);
     }
@@ -90,11 +82,7 @@ public class InteractionMessageBuilderDelegateImpl extends MessageBuilderBaseDel
         topBody.put("type", InteractionCallbackType.UPDATE_MESSAGE.getId());
         topBody.set("data", data);
 
-        return new RestRequest<Void>(interaction.getApi(),
-                RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(interaction.getIdAsString(), interaction.getToken())
-                .consumeGlobalRatelimit(false)
-                .includeAuthorizationHeader(false)
+        return ((InteractionImpl) interaction).<Void>createCallbackRequest()
                 .setBody(topBody)
                 .execute(result -> null);
     }
@@ -148,41 +136,20 @@ public class InteractionMessageBuilderDelegateImpl extends MessageBuilderBaseDel
     private CompletableFuture<Message> checkForAttachmentsAndExecuteRequest(RestRequest<Message> request,
                                                                             ObjectNode body) {
         if (!newAttachments.isEmpty() || embeds.stream().anyMatch(EmbedBuilder::requiresAttachments)) {
-            CompletableFuture<Message> future = new CompletableFuture<>();
-            // We access files etc. so this should be async
-            request.getApi().getThreadPool().getExecutorService().submit(() -> {
-                try {
-                    List<FileContainer> tempAttachments = new ArrayList<>(newAttachments);
-                    // Add the attachments required for the embed
-                    for (EmbedBuilder embed : embeds) {
-                        tempAttachments.addAll(
-                                ((EmbedBuilderDelegateImpl) embed.getDelegate()).getRequiredAttachments());
-                    }
-
-                    addMultipartBodyToRequest(request, body, tempAttachments, request.getApi());
-
-                    request.execute(result -> request.getApi().getOrCreateMessage(
-                            request.getApi().getTextChannelById(result.getJsonBody().get("channel_id").asLong())
-                                    .orElseThrow(() -> new NoSuchElementException("TextChannel is not cached")),
-                                    result.getJsonBody()))
-                            .whenComplete((message, throwable) -> {
-                                if (throwable != null) {
-                                    future.completeExceptionally(throwable);
-                                } else {
-                                    future.complete(message);
-                                }
-                            });
-                } catch (Throwable t) {
-                    future.completeExceptionally(t);
-                }
-            });
-            return future;
+            try {
+                // The files are streamed when the request is sent, so this does not block
+                addMultipartBodyToRequest(request, body, getAttachmentsToSend(), request.getApi());
+            } catch (Throwable t) {
+                CompletableFuture<Message> future = new CompletableFuture<>();
+                future.completeExceptionally(t);
+                return future;
+            }
         } else {
             request.setBody(body);
-            return request.execute(result -> request.getApi().getOrCreateMessage(
-                    request.getApi().getTextChannelById(result.getJsonBody().get("channel_id").asLong())
-                            .orElseThrow(() -> new NoSuchElementException("TextChannel is not cached")),
-                    result.getJsonBody()));
         }
+        return request.execute(result -> request.getApi().getOrCreateMessage(
+                request.getApi().getTextChannelById(result.getJsonBody().get("channel_id").asLong())
+                        .orElseThrow(() -> new NoSuchElementException("TextChannel is not cached")),
+                result.getJsonBody()));
     }
 }
\ No newline at end of file
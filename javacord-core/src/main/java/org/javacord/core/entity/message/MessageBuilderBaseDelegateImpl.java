@@ -4,9 +4,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import okhttp3.MediaType;
 import okhttp3.MultipartBody;
-import okhttp3.RequestBody;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.Attachment;
@@ -43,7 +41,6 @@ import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
-import java.net.URLConnection;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -535,27 +532,17 @@ public class MessageBuilderBaseDelegateImpl implements MessageBuilderBaseDelegat
                         .includeAuthorizationHeader(false);
         CompletableFuture<Message> future = new CompletableFuture<>();
         if (!newAttachments.isEmpty() || embeds.stream().anyMatch(EmbedBuilder::requiresAttachments)) {
-            // We access files etc. so this should be async
-            api.getThreadPool().getExecutorService().submit(() -> {
-                try {
-                    List<FileContainer> tempAttachments = new ArrayList<>(newAttachments);
-                    // Add the attachments required for the embeds
-                    for (EmbedBuilder embed : embeds) {
-                        tempAttachments.addAll(
-                                ((EmbedBuilderDelegateImpl) embed.getDelegate()).getRequiredAttachments());
-                    }
-
-                    addMultipartBodyToRequest(request, body, tempAttachments, api);
-
-                    executeWebhookRest(request, wait, future, api);
-                } catch (Throwable t) {
-                    future.completeExceptionally(t);
-                }
-            });
+            try {
+                // The files are streamed when the request is sent, so this does not block
+                addMultipartBodyToRequest(request, body, getAttachmentsToSend(), api);
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return future;
+            }
         } else {
             request.setBody(body);
-            executeWebhookRest(request, wait, future, api);
         }
+        executeWebhookRest(request, wait, future, api);
         return future;
     }
 
@@ -635,33 +622,16 @@ public class MessageBuilderBaseDelegateImpl implements MessageBuilderBaseDelegat
             return executeRequestWithoutNewAttachments(channel, body, request);
         }
 
-        CompletableFuture<Message> future = new CompletableFuture<>();
-        // We access files etc. so this should be async
-        channel.getApi().getThreadPool().getExecutorService().submit(() -> {
-            try {
-                List<FileContainer> tempAttachments = new ArrayList<>(newAttachments);
-                // Add the attachments required for the embeds
-                for (EmbedBuilder embed : embeds) {
-                    tempAttachments.addAll(
-                            ((EmbedBuilderDelegateImpl) embed.getDelegate()).getRequiredAttachments());
-                }
-
-                addMultipartBodyToRequest(request, body, tempAttachments, channel.getApi());
-
-                request.execute(result -> ((DiscordApiImpl) channel.getApi())
-                                .getOrCreateMessage(channel, result.getJsonBody()))
-                        .whenComplete((newMessage, throwable) -> {
-                            if (throwable != null) {
-                                future.completeExceptionally(throwable);
-                            } else {
-                                future.complete(newMessage);
-                            }
-                        });
-            } catch (Throwable t) {
-                future.completeExceptionally(t);
-            }
-        });
-        return future;
+        try {
+            // The files are streamed when the request is sent, so this does not block
+            addMultipartBodyToRequest(request, body, getAttachmentsToSend(), channel.getApi());
+        } catch (Throwable t) {
+            CompletableFuture<Message> future = new CompletableFuture<>();
+            future.completeExceptionally(t);
+            return future;
+        }
+        return request.execute(result -> ((DiscordApiImpl) channel.getApi())
+                .getOrCreateMessage(channel, result.getJsonBody()));
     }
 
     private CompletableFuture<Message> executeRequestWithoutNewAttachments(TextChannel channel,
@@ -703,6 +673,19 @@ public class MessageBuilderBaseDelegateImpl implements MessageBuilderBaseDelegat
         }
     }
 
+    /**
+     * Gets the new attachments and the attachments which are required for the embeds.
+     *
+     * @return The attachments which have to be sent.
+     */
+    protected List<FileContainer> getAttachmentsToSend() {
+        List<FileContainer> attachments = new ArrayList<>(newAttachments);
+        for (EmbedBuilder embed : embeds) {
+            attachments.addAll(((EmbedBuilderDelegateImpl) embed.getDelegate()).getRequiredAttachments());
+        }
+        return attachments;
+    }
+
     /**
      * Method which creates and adds a MultipartBody to a RestRequest.
      *
@@ -717,14 +700,8 @@ public class MessageBuilderBaseDelegateImpl implements MessageBuilderBaseDelegat
         Collections.reverse(attachments);
         for (int i = 0; i < attachments.size(); i++) {
             FileContainer fileContainer = attachments.get(i);
-            byte[] bytes = fileContainer.asByteArray(api).join();
-            String mediaType = URLConnection
-                    .guessContentTypeFromName(fileContainer.getFileTypeOrName());
-            if (mediaType == null) {
-                mediaType = "application/octet-stream";
-            }
             multipartBodyBuilder.addFormDataPart("files[" + i + "]", fileContainer.getFileTypeOrName(),
-                    RequestBody.create(bytes, MediaType.parse(mediaType)));
+                    fileContainer.asRequestBody(api));
 
             if (fileContainer.getDescription() != null) {
                 ArrayNode attachmentJson = body.withArray("attachments");
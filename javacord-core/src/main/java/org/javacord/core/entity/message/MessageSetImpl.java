@@ -24,6 +24,7 @@ import java.util.Spliterators;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -804,11 +805,7 @@ public class MessageSetImpl implements MessageSet {
             restRequest.addQueryParameter("after", Long.toUnsignedString(after));
         }
 
-        return restRequest.execute(result -> {
-            List<JsonNode> messageJsonNodes = new ArrayList<>();
-            result.getJsonBody().iterator().forEachRemaining(messageJsonNodes::add);
-            return messageJsonNodes;
-        }).join();
+        return restRequest.executeMappingElements(Function.identity(), Collectors.toCollection(ArrayList::new)).join();
     }
 
     @Override
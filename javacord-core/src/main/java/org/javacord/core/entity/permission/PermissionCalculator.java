@@ -0,0 +1,126 @@
+package org.javacord.core.entity.permission;
+
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.core.entity.server.ServerImpl;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Calculates the permissions of members with bitmasks, following Discord's algorithm.
+ *
+ * <p>The base permissions of a member are the union of the permissions of its roles. In a channel, the overwrites of
+ * the everyone role, of the member's roles and of the member are applied in this order, where the allowed bits of an
+ * overwrite take precedence over its denied bits. The owner of a server and members with
+ * {@link PermissionType#ADMINISTRATOR} have all permissions.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/permissions#permission-overwrites">Discord Docs</a>
+ */
+public final class PermissionCalculator {
+
+    /**
+     * A bitmask with all known permission types.
+     */
+    public static final long ALL_PERMISSIONS;
+
+    static {
+        long allPermissions = 0;
+        for (PermissionType type : PermissionType.values()) {
+            allPermissions |= type.getValue();
+        }
+        ALL_PERMISSIONS = allPermissions;
+    }
+
+    private PermissionCalculator() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calculates the base permissions of a member, i.e. the permissions of the member's roles.
+     *
+     * @param server The server.
+     * @param userId The id of the member.
+     * @param roleIds The ids of the member's roles.
+     * @return The allowed permissions of the member.
+     */
+    public static long calculateBasePermissions(ServerImpl server, long userId, List<Long> roleIds) {
+        if (server.getOwnerId() == userId) {
+            return ALL_PERMISSIONS;
+        }
+        long allowed = 0;
+        for (int i = 0; i < roleIds.size(); i++) {
+            Role role = server.getRoleById(roleIds.get(i)).orElse(null);
+            if (role != null) {
+                allowed |= role.getPermissions().getAllowedBitmask();
+            }
+        }
+        return allowed & ALL_PERMISSIONS;
+    }
+
+    /**
+     * Calculates the effective overwritten permissions of a member in a channel.
+     *
+     * @param everyoneRoleId The id of the server's everyone role.
+     * @param roleIds The ids of the member's roles.
+     * @param userId The id of the member.
+     * @param roleOverwrites The overwritten role permissions of the channel.
+     * @param userOverwrites The overwritten user permissions of the channel.
+     * @return The effective overwritten permissions.
+     */
+    public static Permissions calculateOverwrittenPermissions(
+            long everyoneRoleId, List<Long> roleIds, long userId,
+            Map<Long, Permissions> roleOverwrites, Map<Long, Permissions> userOverwrites) {
+        long allowed = 0;
+        long denied = 0;
+
+        Permissions everyoneOverwrite = roleOverwrites.get(everyoneRoleId);
+        if (everyoneOverwrite != null) {
+            allowed = everyoneOverwrite.getAllowedBitmask();
+            denied = everyoneOverwrite.getDeniedBitmask() & ~allowed;
+        }
+
+        long rolesAllowed = 0;
+        long rolesDenied = 0;
+        if (!roleOverwrites.isEmpty()) {
+            for (int i = 0; i < roleIds.size(); i++) {
+                long roleId = roleIds.get(i);
+                Permissions overwrite = roleId == everyoneRoleId ? null : roleOverwrites.get(roleId);
+                if (overwrite != null) {
+                    rolesAllowed |= overwrite.getAllowedBitmask();
+                    rolesDenied |= overwrite.getDeniedBitmask();
+                }
+            }
+        }
+        allowed = (allowed & ~rolesDenied) | rolesAllowed;
+        denied = (denied | rolesDenied) & ~rolesAllowed;
+
+        Permissions userOverwrite = userOverwrites.get(userId);
+        if (userOverwrite != null) {
+            allowed = (allowed & ~userOverwrite.getDeniedBitmask()) | userOverwrite.getAllowedBitmask();
+            denied = (denied | userOverwrite.getDeniedBitmask()) & ~userOverwrite.getAllowedBitmask();
+        }
+
+        if (allowed == 0 && denied == 0) {
+            return PermissionsImpl.EMPTY_PERMISSIONS;
+        }
+        return new PermissionsImpl(allowed & ALL_PERMISSIONS, denied & ALL_PERMISSIONS);
+    }
+
+    /**
+     * Calculates the effective permissions of a member in a channel.
+     *
+     * @param basePermissions The base permissions of the member.
+     * @param overwrittenPermissions The effective overwritten permissions of the member in the channel.
+     * @return The effective permissions. Every permission is either allowed or denied.
+     */
+    public static Permissions calculateEffectivePermissions(long basePermissions, Permissions overwrittenPermissions) {
+        if (PermissionType.ADMINISTRATOR.isSet(basePermissions)) {
+            return new PermissionsImpl(ALL_PERMISSIONS, 0);
+        }
+        long allowed = ((basePermissions & ~overwrittenPermissions.getDeniedBitmask())
+                | overwrittenPermissions.getAllowedBitmask()) & ALL_PERMISSIONS;
+        return new PermissionsImpl(allowed, ALL_PERMISSIONS & ~allowed);
+    }
+}
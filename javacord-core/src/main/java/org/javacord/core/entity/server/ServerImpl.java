@@ -7,7 +7,6 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.Javacord;
 import org.javacord.api.audio.AudioConnection;
-import org.javacord.api.entity.DiscordClient;
 import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.Icon;
 import org.javacord.api.entity.Region;
@@ -31,6 +30,8 @@ import org.javacord.api.entity.channel.UnknownRegularServerChannel;
 import org.javacord.api.entity.channel.UnknownServerChannel;
 import org.javacord.api.entity.emoji.KnownCustomEmoji;
 import org.javacord.api.entity.intent.Intent;
+import org.javacord.api.entity.permission.PermissionType;
+import org.javacord.api.entity.permission.Permissions;
 import org.javacord.api.entity.permission.Role;
 import org.javacord.api.entity.server.ActiveThreads;
 import org.javacord.api.entity.server.Ban;
@@ -56,7 +57,6 @@ import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.audio.AudioConnectionImpl;
 import org.javacord.core.entity.IconImpl;
 import org.javacord.core.entity.VanityUrlCodeImpl;
-import org.javacord.core.entity.activity.ActivityImpl;
 import org.javacord.core.entity.auditlog.AuditLogImpl;
 import org.javacord.core.entity.channel.ChannelCategoryImpl;
 import org.javacord.core.entity.channel.RegularServerChannelImpl;
@@ -67,6 +67,8 @@ import org.javacord.core.entity.channel.ServerThreadChannelImpl;
 import org.javacord.core.entity.channel.ServerVoiceChannelImpl;
 import org.javacord.core.entity.channel.UnknownRegularServerChannelImpl;
 import org.javacord.core.entity.channel.UnknownServerChannelImpl;
+import org.javacord.core.entity.permission.PermissionCalculator;
+import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
 import org.javacord.core.entity.server.invite.InviteImpl;
 import org.javacord.core.entity.server.invite.WelcomeScreenImpl;
@@ -74,7 +76,9 @@ import org.javacord.core.entity.server.scheduledevent.ServerScheduledEventImpl;
 import org.javacord.core.entity.sticker.StickerImpl;
 import org.javacord.core.entity.user.Member;
 import org.javacord.core.entity.user.MemberImpl;
+import org.javacord.core.entity.user.PackedClientStatus;
 import org.javacord.core.entity.user.UserImpl;
+import org.javacord.core.entity.user.UserPresence;
 import org.javacord.core.entity.webhook.IncomingWebhookImpl;
 import org.javacord.core.entity.webhook.WebhookImpl;
 import org.javacord.core.listener.server.InternalServerAttachableListenerManager;
@@ -338,6 +342,21 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @param data The json data of the server.
      */
     public ServerImpl(DiscordApiImpl api, JsonNode data) {
+        this(api, data, data.path("members"), data.path("presences"));
+    }
+
+    /**
+     * Creates a new server object with members and presences which are not part of the json data.
+     *
+     * <p>This allows to create the members and presences one by one while they are parsed, instead of keeping the
+     * whole json tree in memory.
+     *
+     * @param api       The discord api instance.
+     * @param data      The json data of the server. Its members and presences are ignored.
+     * @param members   The guild member objects of the server.
+     * @param presences The presence objects of the server.
+     */
+    public ServerImpl(DiscordApiImpl api, JsonNode data, Iterable<JsonNode> members, Iterable<JsonNode> presences) {
         this.api = api;
         ready = !api.hasUserCacheEnabled() || !api.isWaitingForUsersOnStartup();
 
@@ -475,9 +494,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             }
         }
 
-        if (data.has("members")) {
-            addMembers(data.get("members"));
-        }
+        addMembers(members);
 
         if (data.hasNonNull("voice_states")) {
             for (JsonNode voiceStateJson : data.get("voice_states")) {
@@ -521,47 +538,45 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             }
         }
 
-        if (data.has("presences")) {
-            for (JsonNode presenceJson : data.get("presences")) {
-                long userId = Long.parseLong(presenceJson.get("user").get("id").asText());
-                UserImpl user = api.getCachedUserById(userId)
-                        .map(UserImpl.class::cast)
-                        .orElse(null);
-
-                if (user == null) {
-                    // Ignore rogue presences.
-                    // It might be a similar issue than https://github.com/discordapp/discord-api-docs/issues/855
-                    continue;
-                }
+        for (JsonNode presenceJson : presences) {
+            long userId = Long.parseLong(presenceJson.get("user").get("id").asText());
+            UserImpl user = api.getCachedUserById(userId)
+                    .map(UserImpl.class::cast)
+                    .orElse(null);
 
-                if (presenceJson.hasNonNull("activities")) {
-                    Set<Activity> activities = new HashSet<>();
-                    for (JsonNode activityJson : presenceJson.get("activities")) {
-                        if (!activityJson.isNull()) {
-                            activities.add(new ActivityImpl(api, activityJson));
-                        }
-                    }
-                    api.updateUserPresence(userId, presence -> presence.setActivities(activities));
-                }
-                if (presenceJson.has("status")) {
-                    UserStatus status = UserStatus.fromString(presenceJson.get("status").asText());
-                    api.updateUserPresence(userId, presence -> presence.setStatus(status));
-                }
+            if (user == null) {
+                // Ignore rogue presences.
+                // It might be a similar issue than https://github.com/discordapp/discord-api-docs/issues/855
+                continue;
+            }
 
-                if (presenceJson.has("client_status")) {
-                    JsonNode clientStatus = presenceJson.get("client_status");
-                    for (DiscordClient client : DiscordClient.values()) {
-                        if (clientStatus.hasNonNull(client.getName())) {
-                            UserStatus status = UserStatus.fromString(clientStatus.get(client.getName()).asText());
-                            api.updateUserPresence(userId, presence -> presence
-                                    .setClientStatus(presence.getClientStatus().put(client, status)));
-                        } else {
-                            api.updateUserPresence(userId, presence -> presence
-                                    .setClientStatus(presence.getClientStatus().put(client, UserStatus.OFFLINE)));
-                        }
+            Set<Activity> activities = null;
+            if (presenceJson.hasNonNull("activities")) {
+                activities = new HashSet<>();
+                for (JsonNode activityJson : presenceJson.get("activities")) {
+                    if (!activityJson.isNull()) {
+                        activities.add(api.getOrCreateActivity(activityJson));
                     }
                 }
             }
+            UserStatus status = presenceJson.has("status")
+                    ? UserStatus.fromString(presenceJson.get("status").asText())
+                    : null;
+            JsonNode clientStatusJson = presenceJson.get("client_status");
+            Set<Activity> newActivities = activities;
+            api.updateUserPresence(userId, presence -> {
+                UserPresence newPresence = presence;
+                if (newActivities != null) {
+                    newPresence = newPresence.setActivities(newActivities);
+                }
+                if (status != null) {
+                    newPresence = newPresence.setStatus(status);
+                }
+                if (clientStatusJson != null) {
+                    newPresence = newPresence.setClientStatus(PackedClientStatus.fromJson(clientStatusJson));
+                }
+                return newPresence;
+            });
         }
 
         if (data.has("welcome_screen")) {
@@ -967,6 +982,32 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      */
     public void removeMember(long userId) {
         api.removeMemberFromCache(userId, getId());
+        invalidatePermissions(userId);
+    }
+
+    /**
+     * Invalidates the memoized permissions of all members in all channels of the server.
+     * Must be called whenever the permissions of members may have changed, e.g. when a role was updated.
+     */
+    public void invalidatePermissions() {
+        for (ServerChannel channel : getUnorderedChannels()) {
+            if (channel instanceof RegularServerChannelImpl) {
+                ((RegularServerChannelImpl) channel).invalidatePermissions();
+            }
+        }
+    }
+
+    /**
+     * Invalidates the memoized permissions of a member in all channels of the server.
+     *
+     * @param userId The id of the member.
+     */
+    public void invalidatePermissions(long userId) {
+        for (ServerChannel channel : getUnorderedChannels()) {
+            if (channel instanceof RegularServerChannelImpl) {
+                ((RegularServerChannelImpl) channel).invalidatePermissions(userId);
+            }
+        }
     }
 
     /**
@@ -1006,9 +1047,9 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     /**
      * Adds members to the server.
      *
-     * @param membersJson An array of guild member objects.
+     * @param membersJson The guild member objects.
      */
-    public void addMembers(JsonNode membersJson) {
+    public void addMembers(Iterable<JsonNode> membersJson) {
         for (JsonNode memberJson : membersJson) {
             addMember(memberJson);
         }
@@ -1017,10 +1058,10 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
     /**
      * Adds members to the server and returns the added members.
      *
-     * @param membersJson An array of guild member objects.
+     * @param membersJson The guild member objects.
      * @return The added members.
      */
-    public List<Member> addAndGetMembers(JsonNode membersJson) {
+    public List<Member> addAndGetMembers(Iterable<JsonNode> membersJson) {
         List<Member> members = new ArrayList<>();
         for (JsonNode memberJson : membersJson) {
             Member member = addMember(memberJson);
@@ -1140,7 +1181,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Set<ServerChannel> getUnorderedChannels() {
-        return api.getEntityCache().get().getChannelCache().getChannelsOfServer(getId());
+        return api.getEntityCache().getChannelCache().getChannelsOfServer(getId());
     }
 
     /**
@@ -1543,7 +1584,7 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Set<User> getMembers() {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMembersByServer(getId())
                 .stream()
                 .map(Member::getUser)
@@ -1556,13 +1597,13 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @return The real members.
      */
     public Set<Member> getRealMembers() {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMembersByServer(getId());
     }
 
     @Override
     public Optional<User> getMemberById(long id) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(id, getId())
                 .map(Member::getUser);
     }
@@ -1574,13 +1615,13 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
      * @return The real member.
      */
     public Optional<Member> getRealMemberById(long userId) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(userId, getId());
     }
 
     @Override
     public boolean isMember(User user) {
-        return api.getEntityCache().get().getMemberCache()
+        return api.getEntityCache().getMemberCache()
                 .getMemberByIdAndServer(user.getId(), getId())
                 .isPresent();
     }
@@ -1602,6 +1643,55 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
                                 .map(Member::getRoles).orElseGet(Collections::emptyList));
     }
 
+    /**
+     * Gets the ids of the roles of the given user, including the id of the everyone role.
+     *
+     * @param user The user.
+     * @return The ids of the user's roles or an empty list if the user is not a known member of the server.
+     */
+    public List<Long> getRoleIds(User user) {
+        MemberImpl member = ((UserImpl) user).getMember()
+                .filter(userMember -> userMember.getServer().equals(this))
+                .orElse(null);
+        if (member == null) {
+            member = (MemberImpl) getRealMemberById(user.getId()).orElse(null);
+        }
+        return member == null ? Collections.emptyList() : member.getRoleIds();
+    }
+
+    @Override
+    public Permissions getPermissions(User user) {
+        long allowed = PermissionCalculator.calculateBasePermissions(this, user.getId(), getRoleIds(user));
+        return new PermissionsImpl(allowed, 0);
+    }
+
+    @Override
+    public boolean hasPermission(User user, PermissionType permission) {
+        return permission.isSet(PermissionCalculator.calculateBasePermissions(this, user.getId(), getRoleIds(user)));
+    }
+
+    @Override
+    public boolean hasPermissions(User user, PermissionType... type) {
+        long allowed = PermissionCalculator.calculateBasePermissions(this, user.getId(), getRoleIds(user));
+        for (PermissionType permission : type) {
+            if (!permission.isSet(allowed)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean hasAnyPermission(User user, PermissionType... type) {
+        long allowed = PermissionCalculator.calculateBasePermissions(this, user.getId(), getRoleIds(user));
+        for (PermissionType permission : type) {
+            if (permission.isSet(allowed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public boolean isWidgetEnabled() {
         return widgetEnabled;
@@ -1777,13 +1867,8 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
             request.addQueryParameter("after", String.valueOf(after));
         }
 
-        return request.execute(result -> {
-            Set<Ban> bans = new HashSet<>();
-            for (JsonNode ban : result.getJsonBody()) {
-                bans.add(new BanImpl(this, ban));
-            }
-            return Collections.unmodifiableSet(bans);
-        });
+        return request.executeMappingElements(ban -> new BanImpl(this, ban), Collectors.collectingAndThen(
+                Collectors.toSet(), Collections::unmodifiableSet));
     }
 
     @Override
@@ -2048,21 +2133,21 @@ public class ServerImpl implements Server, Cleanupable, InternalServerAttachable
 
     @Override
     public Optional<ServerChannel> getChannelById(long id) {
-        return api.getEntityCache().get().getChannelCache().getChannelById(id)
+        return api.getEntityCache().getChannelCache().getChannelById(id)
                 .filter(ServerChannel.class::isInstance)
                 .map(ServerChannel.class::cast);
     }
 
     @Override
     public Optional<RegularServerChannel> getRegularChannelById(long id) {
-        return api.getEntityCache().get().getChannelCache().getChannelById(id)
+        return api.getEntityCache().getChannelCache().getChannelById(id)
                 .filter(RegularServerChannel.class::isInstance)
                 .map(RegularServerChannel.class::cast);
     }
 
     @Override
     public Optional<TextableRegularServerChannel> getTextableRegularChannelById(long id) {
-        return api.getEntityCache().get().getChannelCache().getChannelById(id)
+        return api.getEntityCache().getChannelCache().getChannelById(id)
                 .filter(TextableRegularServerChannel.class::isInstance)
                 .map(TextableRegularServerChannel.class::cast);
     }
@@ -0,0 +1,75 @@
+package org.javacord.core.entity.user;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javacord.api.entity.DiscordClient;
+import org.javacord.api.entity.user.UserStatus;
+
+/**
+ * Packs the status of a user on every {@link DiscordClient} into a single int.
+ *
+ * <p>Every client uses {@value #BITS_PER_CLIENT} bits, starting at its ordinal times {@value #BITS_PER_CLIENT}.
+ * A client without a status is {@link UserStatus#OFFLINE}, which is stored as {@code 0}, so {@link #ALL_OFFLINE} is
+ * {@code 0} as well.
+ */
+public final class PackedClientStatus {
+
+    /**
+     * The packed client status of a user who is offline on all clients.
+     */
+    public static final int ALL_OFFLINE = 0;
+
+    private static final int BITS_PER_CLIENT = 3;
+    private static final int CLIENT_MASK = (1 << BITS_PER_CLIENT) - 1;
+
+    private static final DiscordClient[] CLIENTS = DiscordClient.values();
+    private static final UserStatus[] STATUSES = UserStatus.values();
+
+    private PackedClientStatus() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Gets the status on the given client.
+     *
+     * @param clientStatus The packed client status.
+     * @param client The client.
+     * @return The status on the client.
+     */
+    public static UserStatus get(int clientStatus, DiscordClient client) {
+        int code = (clientStatus >>> (client.ordinal() * BITS_PER_CLIENT)) & CLIENT_MASK;
+        return code == 0 ? UserStatus.OFFLINE : STATUSES[code - 1];
+    }
+
+    /**
+     * Sets the status on the given client.
+     *
+     * @param clientStatus The packed client status.
+     * @param client The client.
+     * @param status The status on the client.
+     * @return The new packed client status.
+     */
+    public static int with(int clientStatus, DiscordClient client, UserStatus status) {
+        int shift = client.ordinal() * BITS_PER_CLIENT;
+        int code = status == UserStatus.OFFLINE ? 0 : status.ordinal() + 1;
+        return (clientStatus & ~(CLIENT_MASK << shift)) | (code << shift);
+    }
+
+    /**
+     * Reads a {@code client_status} object of a presence.
+     *
+     * <p>Clients which are missing in the object are offline.
+     *
+     * @param data The {@code client_status} object.
+     * @return The packed client status.
+     */
+    public static int fromJson(JsonNode data) {
+        int clientStatus = ALL_OFFLINE;
+        for (DiscordClient client : CLIENTS) {
+            JsonNode status = data.get(client.getName());
+            if (status != null && !status.isNull()) {
+                clientStatus = with(clientStatus, client, UserStatus.fromString(status.asText()));
+            }
+        }
+        return clientStatus;
+    }
+}
@@ -283,7 +283,7 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
     @Override
     public Set<Server> getMutualServers() {
         if (api.isUserCacheEnabled()) {
-            return api.getEntityCache().get().getMemberCache().getServers(getId());
+            return api.getEntityCache().getMemberCache().getServers(getId());
         }
         return member == null ? Collections.emptySet() : Collections.singleton(member.getServer());
     }
@@ -394,28 +394,27 @@ public class UserImpl implements User, InternalUserAttachableListenerManager {
 
     @Override
     public Set<Activity> getActivities() {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
                 .map(UserPresence::getActivities).orElse(Collections.emptySet());
     }
 
     @Override
     public UserStatus getStatus() {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
                 .map(UserPresence::getStatus)
                 .orElse(UserStatus.OFFLINE);
     }
 
     @Override
     public UserStatus getStatusOnClient(DiscordClient client) {
-        return api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(getId())
-                .map(UserPresence::getClientStatus)
-                .map(clientStatusMap -> clientStatusMap.getOrElse(client, UserStatus.OFFLINE))
+        return api.getEntityCache().getUserPresenceCache().getPresenceByUserId(getId())
+                .map(presence -> presence.getStatusOnClient(client))
                 .orElse(UserStatus.OFFLINE);
     }
 
     @Override
     public Optional<PrivateChannel> getPrivateChannel() {
-        return api.getEntityCache().get().getChannelCache().getPrivateChannelByUserId(getId());
+        return api.getEntityCache().getChannelCache().getPrivateChannelByUserId(getId());
     }
 
     @Override
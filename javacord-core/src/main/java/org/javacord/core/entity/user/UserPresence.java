@@ -1,6 +1,5 @@
 package org.javacord.core.entity.user;
 
-import io.vavr.collection.Map;
 import org.javacord.api.entity.DiscordClient;
 import org.javacord.api.entity.activity.Activity;
 import org.javacord.api.entity.user.UserStatus;
@@ -16,21 +15,29 @@ public class UserPresence {
     private final long userId;
     private final Set<Activity> activities;
     private final UserStatus status;
-    private final Map<DiscordClient, UserStatus> clientStatus;
+    private final int clientStatus;
+
+    /**
+     * Creates a new user presence instance for a user without any known presence.
+     *
+     * @param userId The id of the user.
+     */
+    public UserPresence(long userId) {
+        this(userId, null, null, PackedClientStatus.ALL_OFFLINE);
+    }
 
     /**
      * Creates a new user presence instance.
      *
      * @param userId The id of the user.
-     * @param activities The activities.
-     * @param status The status.
-     * @param clientStatus The client status.
+     * @param activities The activities. {@code null} means no activities.
+     * @param status The status. {@code null} means {@link UserStatus#OFFLINE}.
+     * @param clientStatus The client status, packed by {@link PackedClientStatus}.
      */
-    public UserPresence(long userId, Set<Activity> activities, UserStatus status, Map<DiscordClient,
-            UserStatus> clientStatus) {
+    public UserPresence(long userId, Set<Activity> activities, UserStatus status, int clientStatus) {
         this.userId = userId;
-        this.activities = activities;
-        this.status = status;
+        this.activities = activities == null ? Collections.emptySet() : Collections.unmodifiableSet(activities);
+        this.status = status == null ? UserStatus.OFFLINE : status;
         this.clientStatus = clientStatus;
     }
 
@@ -59,7 +66,7 @@ public class UserPresence {
      * @return The presence's activities.
      */
     public Set<Activity> getActivities() {
-        return Collections.unmodifiableSet(activities);
+        return activities;
     }
 
     /**
@@ -84,19 +91,29 @@ public class UserPresence {
     /**
      * Sets the client status.
      *
-     * @param clientStatus The client status to set.
+     * @param clientStatus The client status to set, packed by {@link PackedClientStatus}.
      * @return The new user presence with the updated client status.
      */
-    public UserPresence setClientStatus(Map<DiscordClient, UserStatus> clientStatus) {
+    public UserPresence setClientStatus(int clientStatus) {
         return new UserPresence(userId, activities, status, clientStatus);
     }
 
     /**
      * Gets the presence's client status.
      *
-     * @return The presence's client status.
+     * @return The presence's client status, packed by {@link PackedClientStatus}.
      */
-    public Map<DiscordClient, UserStatus> getClientStatus() {
+    public int getClientStatus() {
         return clientStatus;
     }
+
+    /**
+     * Gets the presence's status on the given client.
+     *
+     * @param client The client.
+     * @return The presence's status on the client.
+     */
+    public UserStatus getStatusOnClient(DiscordClient client) {
+        return PackedClientStatus.get(clientStatus, client);
+    }
 }
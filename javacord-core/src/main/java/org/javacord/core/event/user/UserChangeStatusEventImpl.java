@@ -1,10 +1,10 @@
 package org.javacord.core.event.user;
 
-import io.vavr.collection.Map;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.DiscordClient;
 import org.javacord.api.entity.user.UserStatus;
 import org.javacord.api.event.user.UserChangeStatusEvent;
+import org.javacord.core.entity.user.PackedClientStatus;
 
 /**
  * The implementation of {@link UserChangeStatusEvent}.
@@ -22,14 +22,14 @@ public class UserChangeStatusEventImpl extends OptionalUserEventImpl implements
     private final UserStatus oldStatus;
 
     /**
-     * The new client specific status of the user.
+     * The new client specific status of the user, packed by {@link PackedClientStatus}.
      */
-    private final Map<DiscordClient, UserStatus> newClientStatus;
+    private final int newClientStatus;
 
     /**
-     * The old client specific status of the user.
+     * The old client specific status of the user, packed by {@link PackedClientStatus}.
      */
-    private final Map<DiscordClient, UserStatus> oldClientStatus;
+    private final int oldClientStatus;
 
     /**
      * Creates a new user change status event.
@@ -38,12 +38,11 @@ public class UserChangeStatusEventImpl extends OptionalUserEventImpl implements
      * @param userId The id of the user of the event.
      * @param newStatus The new status of the user.
      * @param oldStatus The old status of the user.
-     * @param newClientStatus The new client specific status of the user.
-     * @param oldClientStatus The old client specific status of the user.
+     * @param newClientStatus The new client specific status of the user, packed by {@link PackedClientStatus}.
+     * @param oldClientStatus The old client specific status of the user, packed by {@link PackedClientStatus}.
      */
     public UserChangeStatusEventImpl(DiscordApi api, long userId, UserStatus newStatus, UserStatus oldStatus,
-                                     Map<DiscordClient, UserStatus> newClientStatus,
-                                     Map<DiscordClient, UserStatus> oldClientStatus) {
+                                     int newClientStatus, int oldClientStatus) {
         super(api, userId);
         this.newStatus = newStatus;
         this.oldStatus = oldStatus;
@@ -63,12 +62,12 @@ public class UserChangeStatusEventImpl extends OptionalUserEventImpl implements
 
     @Override
     public UserStatus getOldStatusOnClient(DiscordClient client) {
-        return oldClientStatus.getOrElse(client, UserStatus.OFFLINE);
+        return PackedClientStatus.get(oldClientStatus, client);
     }
 
     @Override
     public UserStatus getNewStatusOnClient(DiscordClient client) {
-        return newClientStatus.getOrElse(client, UserStatus.OFFLINE);
+        return PackedClientStatus.get(newClientStatus, client);
     }
 
 }
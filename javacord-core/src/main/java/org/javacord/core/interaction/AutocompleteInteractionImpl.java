@@ -15,9 +15,6 @@ import org.javacord.api.interaction.callback.InteractionImmediateResponseBuilder
 import org.javacord.api.interaction.callback.InteractionOriginalResponseUpdater;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.message.InteractionCallbackType;
-import org.javacord.core.util.rest.RestEndpoint;
-import org.javacord.core.util.rest.RestMethod;
-import org.javacord.core.util.rest.RestRequest;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
@@ -52,11 +49,7 @@ public class AutocompleteInteractionImpl extends SlashCommandInteractionImpl imp
         data.set("choices", arrayNode);
         topBody.set("data", data);
 
-        return new RestRequest<Void>(getApi(),
-                RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(getIdAsString(), getToken())
-                .consumeGlobalRatelimit(false)
-                .includeAuthorizationHeader(false)
+        return this.<Void>createCallbackRequest()
                 .setBody(topBody)
                 .execute(result -> null);
     }
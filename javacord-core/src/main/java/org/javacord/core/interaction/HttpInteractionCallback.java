@@ -0,0 +1,90 @@
+package org.javacord.core.interaction;
+
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.rest.RestEndpoint;
+import org.javacord.core.util.rest.RestMethod;
+import org.javacord.core.util.rest.RestRequest;
+import org.javacord.core.util.rest.RestRequestResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * The initial response to an interaction which was received by an {@link InteractionEndpointImpl}.
+ *
+ * <p>The initial response is sent in the body of the http response instead of a separate rest request, as long as
+ * the http request was not answered yet.
+ */
+public class HttpInteractionCallback {
+
+    /**
+     * The body of the initial response, or {@code null} if the http request was answered without one.
+     */
+    private final CompletableFuture<String> responseBody = new CompletableFuture<>();
+
+    /**
+     * Creates a request which sends the initial response in the body of the http response.
+     *
+     * <p>If the http request was already answered, the request is sent to Discord like any other callback request.
+     *
+     * @param api The discord api instance.
+     * @param <T> The type of the result of the request.
+     * @return The request.
+     */
+    public <T> RestRequest<T> createRequest(DiscordApiImpl api) {
+        return new RestRequest<T>(api, RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE) {
+            @Override
+            public CompletableFuture<T> execute(Function<RestRequestResult, T> function) {
+                if (!responseBody.complete(getBody().orElse(null))) {
+                    return super.execute(function);
+                }
+                CompletableFuture<T> future = new CompletableFuture<>();
+                try {
+                    // Discord answers callback requests with 204 No Content
+                    RestRequestResult result = new RestRequestResult(this, new Response.Builder()
+                            .request(new Request.Builder()
+                                    .url(getEndpoint().getOkHttpUrl(getUrlParameters()))
+                                    .build())
+                            .protocol(Protocol.HTTP_1_1)
+                            .code(204)
+                            .message("No Content")
+                            .build());
+                    getResult().complete(result);
+                    future.complete(function.apply(result));
+                } catch (Throwable t) {
+                    getResult().completeExceptionally(t);
+                    future.completeExceptionally(t);
+                }
+                return future;
+            }
+        };
+    }
+
+    /**
+     * Waits for the body of the initial response.
+     *
+     * <p>If there is no response within the timeout, later responses are sent as separate rest requests.
+     *
+     * @param timeout The maximum time to wait in milliseconds.
+     * @return The body of the initial response, or {@code null} if there was none within the timeout.
+     * @throws InterruptedException If the thread was interrupted while waiting.
+     */
+    public String awaitResponseBody(long timeout) throws InterruptedException {
+        try {
+            return responseBody.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // A response might have been set in the meantime
+            responseBody.complete(null);
+            return responseBody.getNow(null);
+        } catch (ExecutionException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+package org.javacord.core.interaction;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters;
+import org.bouncycastle.crypto.signers.Ed25519Signer;
+import org.bouncycastle.util.encoders.DecoderException;
+import org.bouncycastle.util.encoders.Hex;
+import org.javacord.api.interaction.InteractionEndpoint;
+import org.javacord.api.interaction.InteractionResponseMetrics;
+import org.javacord.api.interaction.InteractionType;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.handler.interaction.InteractionCreateHandler;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The implementation of {@link InteractionEndpoint}.
+ */
+public class InteractionEndpointImpl implements InteractionEndpoint {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(InteractionEndpointImpl.class);
+
+    /**
+     * The time in milliseconds to wait for the initial response, so the http response still reaches Discord before
+     * the deadline.
+     */
+    private static final long RESPONSE_TIMEOUT = InteractionResponseMetrics.RESPONSE_DEADLINE.toMillis() - 500;
+
+    /**
+     * The maximum size of a request body in bytes.
+     */
+    private static final int MAX_BODY_SIZE = 1024 * 1024;
+
+    /**
+     * The response to a ping.
+     */
+    private static final byte[] PONG_BODY = "{\"type\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private final DiscordApiImpl api;
+    private final String path;
+    private final Ed25519PublicKeyParameters publicKey;
+    private final InteractionCreateHandler handler;
+    private final HttpServer server;
+
+    /**
+     * Creates and starts a new interaction endpoint.
+     *
+     * @param api The discord api instance.
+     * @param address The address to bind the endpoint to.
+     * @param path The path to receive interactions on.
+     * @param publicKey The hex encoded public key of the application.
+     * @throws IOException If the endpoint could not be bound to the address.
+     */
+    public InteractionEndpointImpl(DiscordApiImpl api, InetSocketAddress address, String path, String publicKey)
+            throws IOException {
+        byte[] encodedPublicKey;
+        try {
+            encodedPublicKey = Hex.decode(publicKey);
+        } catch (DecoderException e) {
+            throw new IllegalArgumentException("The public key must be hex encoded!", e);
+        }
+        if (encodedPublicKey.length != Ed25519PublicKeyParameters.KEY_SIZE) {
+            throw new IllegalArgumentException("The public key must be an Ed25519 public key!");
+        }
+        if (!path.startsWith("/")) {
+            throw new IllegalArgumentException("The path must start with a slash!");
+        }
+        this.api = api;
+        this.path = path;
+        this.publicKey = new Ed25519PublicKeyParameters(encodedPublicKey, 0);
+        handler = new InteractionCreateHandler(api);
+
+        server = HttpServer.create(address, 0);
+        server.createContext(path, this::handleExchange);
+        server.setExecutor(api.getThreadPool().getExecutorService());
+        server.start();
+        logger.debug("Started interaction endpoint on {}{}", server.getAddress(), path);
+    }
+
+    @Override
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public void stop() {
+        server.stop(0);
+        api.removeInteractionEndpoint(this);
+    }
+
+    /**
+     * Handles a http request.
+     *
+     * @param exchange The http exchange.
+     */
+    private void handleExchange(HttpExchange exchange) {
+        long receiveNanoTime = System.nanoTime();
+        try {
+            if (!exchange.getRequestURI().getPath().equals(path)) {
+                respond(exchange, 404, null);
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                respond(exchange, 405, null);
+                return;
+            }
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                respond(exchange, 413, null);
+                return;
+            }
+            if (!isSignatureValid(exchange.getRequestHeaders().getFirst("X-Signature-Ed25519"),
+                    exchange.getRequestHeaders().getFirst("X-Signature-Timestamp"), body)) {
+                respond(exchange, 401, null);
+                return;
+            }
+
+            JsonNode packet = api.getObjectMapper().readTree(body);
+            if (packet.path("type").asInt() == InteractionType.PING.getValue()) {
+                respond(exchange, 200, PONG_BODY);
+                return;
+            }
+            if (packet.hasNonNull("guild_id") && !api.getServerById(packet.get("guild_id").asLong()).isPresent()) {
+                logger.debug("Received interaction of server {} which is not cached (yet)", packet.get("guild_id"));
+                respond(exchange, 503, null);
+                return;
+            }
+
+            HttpInteractionCallback callback = new HttpInteractionCallback();
+            if (!handler.handle(packet, receiveNanoTime, callback)) {
+                respond(exchange, 400, null);
+                return;
+            }
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - receiveNanoTime);
+            String responseBody = callback.awaitResponseBody(Math.max(0, RESPONSE_TIMEOUT - elapsed));
+            if (responseBody == null) {
+                logger.debug("No initial response to interaction {} was sent within {} ms",
+                        packet.get("id"), RESPONSE_TIMEOUT);
+                respond(exchange, 500, null);
+                return;
+            }
+            respond(exchange, 200, responseBody.getBytes(StandardCharsets.UTF_8));
+        } catch (Throwable t) {
+            if (t instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            logger.warn("Couldn't handle interaction request. Please contact the developer!", t);
+            try {
+                respond(exchange, 500, null);
+            } catch (IOException ignored) { }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Checks if the signature of a request was created with the private key of the application.
+     *
+     * @param signature The hex encoded signature of the request.
+     * @param timestamp The timestamp of the request.
+     * @param body The body of the request.
+     * @return Whether the signature is valid.
+     */
+    private boolean isSignatureValid(String signature, String timestamp, byte[] body) {
+        if (signature == null || timestamp == null) {
+            return false;
+        }
+        byte[] decodedSignature;
+        try {
+            decodedSignature = Hex.decode(signature);
+        } catch (DecoderException e) {
+            return false;
+        }
+        byte[] timestampBytes = timestamp.getBytes(StandardCharsets.UTF_8);
+        Ed25519Signer verifier = new Ed25519Signer();
+        verifier.init(false, publicKey);
+        verifier.update(timestampBytes, 0, timestampBytes.length);
+        verifier.update(body, 0, body.length);
+        return verifier.verifySignature(decodedSignature);
+    }
+
+    /**
+     * Reads the body of a request.
+     *
+     * @param in The body of the request.
+     * @return The body, or {@code null} if it is larger than {@link #MAX_BODY_SIZE}.
+     * @throws IOException If reading the body failed.
+     */
+    private static byte[] readBody(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            if (out.size() + read > MAX_BODY_SIZE) {
+                return null;
+            }
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Sends the http response.
+     *
+     * @param exchange The http exchange.
+     * @param code The status code.
+     * @param body The json body, or {@code null} if the response has no body.
+     * @throws IOException If sending the response failed.
+     */
+    private static void respond(HttpExchange exchange, int code, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(code, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(code, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+}
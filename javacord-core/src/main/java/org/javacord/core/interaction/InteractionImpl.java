@@ -61,6 +61,16 @@ public abstract class InteractionImpl implements Interaction {
     private final DiscordLocale serverLocale;
     private final EnumSet<PermissionType> appPermissions;
 
+    /**
+     * The {@link System#nanoTime()} at which the interaction was received.
+     */
+    private volatile long receiveNanoTime = System.nanoTime();
+
+    /**
+     * The initial response if the interaction was received by an {@link InteractionEndpointImpl}, or {@code null}.
+     */
+    private volatile HttpInteractionCallback httpCallback;
+
     /**
      * Class constructor.
      *
@@ -131,11 +141,7 @@ public abstract class InteractionImpl implements Interaction {
 
     @Override
     public CompletableFuture<InteractionOriginalResponseUpdater> respondLater(boolean ephemeral) {
-        return new RestRequest<InteractionOriginalResponseUpdater>(this.api,
-                RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(getIdAsString(), token)
-                .consumeGlobalRatelimit(false)
-                .includeAuthorizationHeader(false)
+        return this.<InteractionOriginalResponseUpdater>createCallbackRequest()
                 .setBody(ephemeral ? RESPOND_LATER_EPHEMERAL_BODY : RESPOND_LATER_BODY)
                 .execute(result -> new InteractionOriginalResponseUpdaterImpl(this));
     }
@@ -156,14 +162,58 @@ public abstract class InteractionImpl implements Interaction {
         modal.set("components", comps);
         body.set("data", modal);
 
-        return new RestRequest<Void>(this.api, RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(getIdAsString(), token)
-                .includeAuthorizationHeader(false)
-                .consumeGlobalRatelimit(false)
+        return this.<Void>createCallbackRequest()
                 .setBody(body)
                 .execute(result -> null);
     }
 
+    /**
+     * Sets the time at which the interaction was received.
+     *
+     * @param receiveNanoTime The {@link System#nanoTime()} at which the interaction was received.
+     */
+    public void setReceiveNanoTime(long receiveNanoTime) {
+        this.receiveNanoTime = receiveNanoTime;
+    }
+
+    /**
+     * Sets the initial response of an interaction which was received by an {@link InteractionEndpointImpl}.
+     *
+     * @param httpCallback The initial response.
+     */
+    public void setHttpCallback(HttpInteractionCallback httpCallback) {
+        this.httpCallback = httpCallback;
+    }
+
+    /**
+     * Creates a request which sends the initial response to this interaction.
+     *
+     * <p>The request is sent with priority, and its response time is recorded in the
+     * {@link DiscordApiImpl#getInteractionResponseMetrics() interaction response metrics}. If the interaction was
+     * received by an {@link InteractionEndpointImpl}, the response is sent in the body of the http response instead.
+     *
+     * @param <T> The type of the result of the request.
+     * @return The request without a body.
+     */
+    public <T> RestRequest<T> createCallbackRequest() {
+        HttpInteractionCallback httpCallback = this.httpCallback;
+        RestRequest<T> request = (httpCallback == null
+                ? new RestRequest<T>(api, RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
+                : httpCallback.<T>createRequest(api))
+                .setUrlParameters(getIdAsString(), token)
+                .consumeGlobalRatelimit(false)
+                .includeAuthorizationHeader(false)
+                .setPriority(true);
+        request.getResult().whenComplete((result, throwable) -> {
+            if (throwable == null) {
+                api.getInteractionResponseMetrics().recordResponse(receiveNanoTime);
+            } else {
+                api.getInteractionResponseMetrics().recordFailedResponse();
+            }
+        });
+        return request;
+    }
+
     @Override
     public InteractionFollowupMessageBuilder createFollowupMessageBuilder() {
         return new InteractionFollowupMessageBuilderImpl(this);
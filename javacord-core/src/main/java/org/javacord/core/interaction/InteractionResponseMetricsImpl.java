@@ -0,0 +1,77 @@
+package org.javacord.core.interaction;
+
+import org.javacord.api.interaction.InteractionResponseMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The implementation of {@link InteractionResponseMetrics}.
+ */
+public class InteractionResponseMetricsImpl implements InteractionResponseMetrics {
+
+    private static final long RESPONSE_DEADLINE_NANOS = RESPONSE_DEADLINE.toNanos();
+
+    private final LongAdder responseCount = new LongAdder();
+    private final LongAdder lateResponseCount = new LongAdder();
+    private final LongAdder failedResponseCount = new LongAdder();
+    private final LongAdder totalResponseNanos = new LongAdder();
+    private final AtomicLong maxResponseNanos = new AtomicLong();
+
+    /**
+     * Records a response that was accepted by Discord.
+     *
+     * @param receiveNanoTime The {@link System#nanoTime()} at which the interaction was received.
+     */
+    public void recordResponse(long receiveNanoTime) {
+        long responseNanos = System.nanoTime() - receiveNanoTime;
+        responseCount.increment();
+        totalResponseNanos.add(responseNanos);
+        if (responseNanos > RESPONSE_DEADLINE_NANOS) {
+            lateResponseCount.increment();
+        }
+        maxResponseNanos.accumulateAndGet(responseNanos, Math::max);
+    }
+
+    /**
+     * Records a response that failed.
+     */
+    public void recordFailedResponse() {
+        failedResponseCount.increment();
+    }
+
+    @Override
+    public long getResponseCount() {
+        return responseCount.sum();
+    }
+
+    @Override
+    public long getLateResponseCount() {
+        return lateResponseCount.sum();
+    }
+
+    @Override
+    public long getFailedResponseCount() {
+        return failedResponseCount.sum();
+    }
+
+    @Override
+    public Duration getAverageResponseTime() {
+        long count = responseCount.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalResponseNanos.sum() / count);
+    }
+
+    @Override
+    public Duration getMaxResponseTime() {
+        return Duration.ofNanos(maxResponseNanos.get());
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InteractionResponseMetrics (responses: %d, late: %d, failed: %d, average: %s, max: %s)",
+                getResponseCount(), getLateResponseCount(), getFailedResponseCount(), getAverageResponseTime(),
+                getMaxResponseTime());
+    }
+
+}
@@ -8,9 +8,6 @@ import org.javacord.api.interaction.InteractionType;
 import org.javacord.api.interaction.MessageComponentInteraction;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.message.InteractionCallbackType;
-import org.javacord.core.util.rest.RestEndpoint;
-import org.javacord.core.util.rest.RestMethod;
-import org.javacord.core.util.rest.RestRequest;
 
 import java.util.concurrent.CompletableFuture;
 
@@ -45,11 +42,7 @@ public abstract class MessageComponentInteractionImpl extends InteractionImpl im
 
     @Override
     public CompletableFuture<Void> acknowledge() {
-        return new RestRequest<Void>(getApi(),
-                RestMethod.POST, RestEndpoint.INTERACTION_RESPONSE)
-                .setUrlParameters(getIdAsString(), getToken())
-                .consumeGlobalRatelimit(false)
-                .includeAuthorizationHeader(false)
+        return this.<Void>createCallbackRequest()
                 .setBody(UPDATE_LATER_BODY)
                 .execute(result -> null);
     }
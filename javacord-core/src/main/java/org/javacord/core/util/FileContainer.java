@@ -1,9 +1,15 @@
 package org.javacord.core.util;
 
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Source;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
-import org.javacord.api.Javacord;
 import org.javacord.api.entity.Icon;
+import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.io.FileUtils;
 import org.javacord.core.util.logging.LoggerUtil;
 
@@ -18,8 +24,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
-import java.net.HttpURLConnection;
 import java.net.URL;
+import java.net.URLConnection;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 
@@ -33,6 +39,16 @@ public class FileContainer {
      */
     private static final Logger logger = LoggerUtil.getLogger(FileContainer.class);
 
+    /**
+     * The maximum amount of bytes of an input stream that are kept in memory while it is sent, so the request can be
+     * sent again, e.g. after it hit a ratelimit.
+     *
+     * <p>The data is kept until the request is done, because a ratelimit is only known after the whole body was sent.
+     * Every input stream upload that is in flight therefore uses up to this much heap. Larger streams are only sent
+     * once, and a second attempt fails.
+     */
+    public static final int MAX_REPLAYABLE_INPUT_STREAM_SIZE = 1024 * 1024;
+
     /**
      * The file as buffered image.
      */
@@ -344,6 +360,56 @@ public class FileContainer {
         return fileDescription;
     }
 
+    /**
+     * Gets the media type of the file, guessed from its name.
+     *
+     * @return The media type of the file.
+     */
+    public MediaType getMediaType() {
+        String mediaType = fileTypeOrName == null ? null : URLConnection.guessContentTypeFromName(fileTypeOrName);
+        return MediaType.parse(mediaType == null ? "application/octet-stream" : mediaType);
+    }
+
+    /**
+     * Gets a request body which streams the file when the request is sent.
+     *
+     * <p>Creating the body does not block and does not read the file. Files and byte arrays have a known length,
+     * all other variants are sent with chunked encoding. All variants can be sent multiple times, e.g. if the request
+     * is retried after hitting a ratelimit. As an input stream can only be read once, up to
+     * {@link #MAX_REPLAYABLE_INPUT_STREAM_SIZE} bytes of it are kept in memory while it is sent. A second attempt
+     * fails if the stream was larger.
+     *
+     * @param api The discord api instance.
+     * @return The request body for the file.
+     */
+    public RequestBody asRequestBody(DiscordApi api) {
+        MediaType mediaType = getMediaType();
+        if (fileAsByteArray != null) {
+            return RequestBody.create(fileAsByteArray, mediaType);
+        }
+        if (fileAsFile != null) {
+            return RequestBody.create(fileAsFile, mediaType);
+        }
+        if (fileAsBufferedImage != null) {
+            return new StreamingRequestBody(mediaType, sink -> {
+                if (!ImageIO.write(fileAsBufferedImage, getFileType(), sink.outputStream())) {
+                    throw new IOException("No image writer found for format " + getFileType());
+                }
+            });
+        }
+        if (fileAsInputStream != null) {
+            return new InputStreamRequestBody(mediaType, fileAsInputStream);
+        }
+        if (fileAsIcon != null || fileAsUrl != null) {
+            return new StreamingRequestBody(mediaType, sink -> {
+                try (Source source = Okio.source(asInputStream(api))) {
+                    sink.writeAll(source);
+                }
+            });
+        }
+        throw new IllegalStateException("No file variant is set");
+    }
+
     /**
      * Gets the byte array for the file.
      *
@@ -357,10 +423,12 @@ public class FileContainer {
                 future.complete(fileAsByteArray);
                 return future;
             }
+            if (fileAsIcon != null || fileAsUrl != null) {
+                URL url = fileAsUrl == null ? fileAsIcon.getUrl() : fileAsUrl;
+                return ((DiscordApiImpl) api).getDownloadCache().download(url);
+            }
             if (fileAsBufferedImage != null
                     || fileAsFile != null
-                    || fileAsIcon != null
-                    || fileAsUrl != null
                     || fileAsInputStream != null) {
                 api.getThreadPool().getExecutorService().submit(() -> {
                     try (
@@ -412,11 +480,7 @@ public class FileContainer {
         }
         if (fileAsIcon != null || fileAsUrl != null) {
             URL url = fileAsUrl == null ? fileAsIcon.getUrl() : fileAsUrl;
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setRequestMethod("GET");
-            conn.setRequestProperty("Content-Type", "application/json; charset=utf-8");
-            conn.setRequestProperty("User-Agent", Javacord.USER_AGENT);
-            return conn.getInputStream();
+            return ((DiscordApiImpl) api).getDownloadCache().openStream(url);
         }
         if (fileAsByteArray != null) {
             return new ByteArrayInputStream(fileAsByteArray);
@@ -444,4 +508,98 @@ public class FileContainer {
                     }
                 });
     }
+
+    /**
+     * Writes the content of a file to a sink.
+     */
+    @FunctionalInterface
+    private interface SinkWriter {
+
+        /**
+         * Writes the content to the given sink.
+         *
+         * @param sink The sink.
+         * @throws IOException If an IO error occurs.
+         */
+        void writeTo(BufferedSink sink) throws IOException;
+    }
+
+    /**
+     * A request body with an unknown length, which is written by a {@link SinkWriter} when the request is sent.
+     */
+    private static class StreamingRequestBody extends RequestBody {
+
+        private final MediaType mediaType;
+        private final SinkWriter writer;
+
+        private StreamingRequestBody(MediaType mediaType, SinkWriter writer) {
+            this.mediaType = mediaType;
+            this.writer = writer;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return mediaType;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            writer.writeTo(sink);
+        }
+    }
+
+    /**
+     * A request body with an unknown length, which streams an input stream when the request is sent.
+     *
+     * <p>The data that was read from the stream is kept in memory, up to {@link #MAX_REPLAYABLE_INPUT_STREAM_SIZE}
+     * bytes. A later attempt sends this data again and continues with the rest of the stream, so a request can also
+     * be repeated if an earlier attempt failed half-way.
+     */
+    private static class InputStreamRequestBody extends RequestBody {
+
+        private final MediaType mediaType;
+        private final Source source;
+
+        /**
+         * The data that was read from the stream so far, or {@code null} if it was too large to be kept.
+         */
+        private Buffer readData = new Buffer();
+        private boolean exhausted = false;
+
+        private InputStreamRequestBody(MediaType mediaType, InputStream in) {
+            this.mediaType = mediaType;
+            source = Okio.source(in);
+        }
+
+        @Override
+        public MediaType contentType() {
+            return mediaType;
+        }
+
+        @Override
+        public synchronized void writeTo(BufferedSink sink) throws IOException {
+            if (readData == null) {
+                throw new IOException("The input stream of the file was larger than "
+                        + MAX_REPLAYABLE_INPUT_STREAM_SIZE + " bytes and was already sent, so it cannot be sent again");
+            }
+            sink.write(readData.copy(), readData.size());
+            if (exhausted) {
+                return;
+            }
+            Buffer chunk = new Buffer();
+            long count;
+            while ((count = source.read(chunk, 8192)) != -1) {
+                if (readData != null) {
+                    if (readData.size() + count > MAX_REPLAYABLE_INPUT_STREAM_SIZE) {
+                        readData = null;
+                    } else {
+                        chunk.copyTo(readData, 0, count);
+                    }
+                }
+                sink.write(chunk, count);
+            }
+            exhausted = true;
+            source.close();
+        }
+    }
 }
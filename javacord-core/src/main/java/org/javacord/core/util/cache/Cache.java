@@ -7,6 +7,8 @@ import io.vavr.collection.Set;
 
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
  * An immutable cache, optionally with indexes.
@@ -18,6 +20,10 @@ import java.util.function.Function;
  * However, for mutable objects, the {@link #updateIndexesOfElement(Object)} methods should be called every time an
  * element update changes the key for this element for one of the indexes.
  *
+ * <p>Indexes with {@code long} keys (like ids) and composite keys of two {@code long}s should be added with
+ * {@link #addLongIndex(String, ToLongFunction)} and {@link #addLongPairIndex(String, ToLongFunction, ToLongFunction)}.
+ * They neither box their keys nor allocate during lookups, but their keys must never change.
+ *
  * @param <T> The type of the elements in the cache.
  */
 public class Cache<T> {
@@ -34,15 +40,30 @@ public class Cache<T> {
      */
     private final Map<String, Index<Object, T>> indexes;
 
+    /**
+     * A map with all indexes with {@code long} keys.
+     */
+    private final Map<String, LongIndex<T>> longIndexes;
+
+    /**
+     * A map with all indexes with composite keys of two {@code long}s.
+     */
+    private final Map<String, LongPairIndex<T>> longPairIndexes;
+
     /**
      * Creates a new cache.
      *
      * @param elements The elements in the cache.
      * @param indexes The indexes.
+     * @param longIndexes The indexes with {@code long} keys.
+     * @param longPairIndexes The indexes with composite keys of two {@code long}s.
      */
-    private Cache(Set<T> elements, Map<String, Index<Object, T>> indexes) {
+    private Cache(Set<T> elements, Map<String, Index<Object, T>> indexes, Map<String, LongIndex<T>> longIndexes,
+                  Map<String, LongPairIndex<T>> longPairIndexes) {
         this.elements = elements;
         this.indexes = indexes;
+        this.longIndexes = longIndexes;
+        this.longPairIndexes = longPairIndexes;
     }
 
     /**
@@ -52,7 +73,7 @@ public class Cache<T> {
      * @return An empty element cache.
      */
     public static <T> Cache<T> empty() {
-        return new Cache<>(HashSet.empty(), HashMap.empty());
+        return new Cache<>(HashSet.empty(), HashMap.empty(), HashMap.empty(), HashMap.empty());
     }
 
     /**
@@ -74,15 +95,98 @@ public class Cache<T> {
      * @throws IllegalStateException If the cache already has an index with the given name.
      */
     public Cache<T> addIndex(String indexName, Function<T, Object> mappingFunction) {
-        if (indexes.containsKey(indexName)) {
-            throw new IllegalStateException("The cache already has an index with name " + indexName);
-        }
+        checkIndexName(indexName);
         Index<Object, T> index = new Index<>(mappingFunction);
         for (T element : elements) {
             index = index.addElement(element);
         }
         Map<String, Index<Object, T>> newIndexes = indexes.put(indexName, index);
-        return new Cache<>(elements, newIndexes);
+        return new Cache<>(elements, newIndexes, longIndexes, longPairIndexes);
+    }
+
+    /**
+     * Adds an index with {@code long} keys to the cache.
+     *
+     * <p>This method has a time-complexity of {@code O(n)} with {@code n} being the amount of elements in the cache.
+     *
+     * @param indexName The name of the index.
+     * @param mappingFunction A function to map elements to their key. The key of an element must never change.
+     * @return The new cache with the added index.
+     * @throws IllegalStateException If the cache already has an index with the given name.
+     * @see LongIndex
+     */
+    public Cache<T> addLongIndex(String indexName, ToLongFunction<T> mappingFunction) {
+        return addLongIndex(indexName, element -> true, mappingFunction);
+    }
+
+    /**
+     * Adds an index with {@code long} keys to the cache that only includes the elements which match the given filter.
+     *
+     * <p>This method has a time-complexity of {@code O(n)} with {@code n} being the amount of elements in the cache.
+     *
+     * @param indexName The name of the index.
+     * @param filter A predicate that decides if an element is included in the index.
+     * @param mappingFunction A function to map elements to their key. The key of an element must never change.
+     * @return The new cache with the added index.
+     * @throws IllegalStateException If the cache already has an index with the given name.
+     * @see LongIndex
+     */
+    public Cache<T> addLongIndex(String indexName, Predicate<T> filter, ToLongFunction<T> mappingFunction) {
+        checkIndexName(indexName);
+        LongIndex<T> index = new LongIndex<>(filter, mappingFunction);
+        for (T element : elements) {
+            index = index.addElement(element);
+        }
+        return new Cache<>(elements, indexes, longIndexes.put(indexName, index), longPairIndexes);
+    }
+
+    /**
+     * Adds an index with composite keys of two {@code long}s to the cache.
+     *
+     * <p>This method has a time-complexity of {@code O(n)} with {@code n} being the amount of elements in the cache.
+     *
+     * @param indexName The name of the index.
+     * @param firstMappingFunction A function to map elements to the first half of their key.
+     * @param secondMappingFunction A function to map elements to the second half of their key.
+     * @return The new cache with the added index.
+     * @throws IllegalStateException If the cache already has an index with the given name.
+     * @see LongPairIndex
+     */
+    public Cache<T> addLongPairIndex(String indexName, ToLongFunction<T> firstMappingFunction,
+                                     ToLongFunction<T> secondMappingFunction) {
+        return addLongPairIndex(indexName, element -> true, firstMappingFunction, secondMappingFunction);
+    }
+
+    /**
+     * Adds an index with composite keys of two {@code long}s to the cache that only includes the elements which match
+     * the given filter.
+     *
+     * <p>This method has a time-complexity of {@code O(n)} with {@code n} being the amount of elements in the cache.
+     *
+     * @param indexName The name of the index.
+     * @param filter A predicate that decides if an element is included in the index.
+     * @param firstMappingFunction A function to map elements to the first half of their key.
+     * @param secondMappingFunction A function to map elements to the second half of their key.
+     * @return The new cache with the added index.
+     * @throws IllegalStateException If the cache already has an index with the given name.
+     * @see LongPairIndex
+     */
+    public Cache<T> addLongPairIndex(String indexName, Predicate<T> filter, ToLongFunction<T> firstMappingFunction,
+                                     ToLongFunction<T> secondMappingFunction) {
+        checkIndexName(indexName);
+        LongPairIndex<T> index = new LongPairIndex<>(filter, firstMappingFunction, secondMappingFunction);
+        for (T element : elements) {
+            index = index.addElement(element);
+        }
+        return new Cache<>(elements, indexes, longIndexes, longPairIndexes.put(indexName, index));
+    }
+
+    private void checkIndexName(String indexName) {
+        if (indexes.containsKey(indexName)
+                || longIndexes.containsKey(indexName)
+                || longPairIndexes.containsKey(indexName)) {
+            throw new IllegalStateException("The cache already has an index with name " + indexName);
+        }
     }
 
     /**
@@ -98,7 +202,10 @@ public class Cache<T> {
     public Cache<T> addElement(T element) {
         Set<T> newElements = elements.add(element);
         Map<String, Index<Object, T>> newIndexes = indexes.mapValues(index -> index.addElement(element));
-        return new Cache<>(newElements, newIndexes);
+        Map<String, LongIndex<T>> newLongIndexes = longIndexes.mapValues(index -> index.addElement(element));
+        Map<String, LongPairIndex<T>> newLongPairIndexes =
+                longPairIndexes.mapValues(index -> index.addElement(element));
+        return new Cache<>(newElements, newIndexes, newLongIndexes, newLongPairIndexes);
     }
 
     /**
@@ -113,7 +220,10 @@ public class Cache<T> {
     public Cache<T> removeElement(T element) {
         Set<T> newElements = elements.remove(element);
         Map<String, Index<Object, T>> newIndexes = indexes.mapValues(index -> index.removeElement(element));
-        return new Cache<>(newElements, newIndexes);
+        Map<String, LongIndex<T>> newLongIndexes = longIndexes.mapValues(index -> index.removeElement(element));
+        Map<String, LongPairIndex<T>> newLongPairIndexes =
+                longPairIndexes.mapValues(index -> index.removeElement(element));
+        return new Cache<>(newElements, newIndexes, newLongIndexes, newLongPairIndexes);
     }
 
     /**
@@ -179,4 +289,85 @@ public class Cache<T> {
         return index.find(key);
     }
 
+    /**
+     * Gets any element in the cache that has the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)} and does not allocate.
+     *
+     * @param indexName The name of the index with {@code long} keys.
+     * @param key The key of the element.
+     * @return An element with the given key or {@code null}.
+     * @throws IllegalArgumentException If the cache has no index with {@code long} keys with the given name.
+     */
+    public T findAnyOrNullByLongIndex(String indexName, long key) {
+        return getIndex(longIndexes, indexName).findAnyOrNull(key);
+    }
+
+    /**
+     * Gets any element in the cache that has the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param indexName The name of the index with {@code long} keys.
+     * @param key The key of the element.
+     * @return An element with the given key.
+     * @throws IllegalArgumentException If the cache has no index with {@code long} keys with the given name.
+     */
+    public Optional<T> findAnyByLongIndex(String indexName, long key) {
+        return Optional.ofNullable(findAnyOrNullByLongIndex(indexName, key));
+    }
+
+    /**
+     * Gets all elements in the cache that have the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param indexName The name of the index with {@code long} keys.
+     * @param key The key of the elements.
+     * @return All the elements that have the given key.
+     * @throws IllegalArgumentException If the cache has no index with {@code long} keys with the given name.
+     */
+    public Set<T> findByLongIndex(String indexName, long key) {
+        return getIndex(longIndexes, indexName).find(key);
+    }
+
+    /**
+     * Gets any element in the cache that has the given composite key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param indexName The name of the index with composite keys of two {@code long}s.
+     * @param first The first half of the key.
+     * @param second The second half of the key.
+     * @return An element with the given key.
+     * @throws IllegalArgumentException If the cache has no index with composite keys with the given name.
+     */
+    public Optional<T> findAnyByLongPairIndex(String indexName, long first, long second) {
+        return Optional.ofNullable(getIndex(longPairIndexes, indexName).findAnyOrNull(first, second));
+    }
+
+    /**
+     * Gets all elements in the cache that have the given composite key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param indexName The name of the index with composite keys of two {@code long}s.
+     * @param first The first half of the key.
+     * @param second The second half of the key.
+     * @return All the elements that have the given key.
+     * @throws IllegalArgumentException If the cache has no index with composite keys with the given name.
+     */
+    public Set<T> findByLongPairIndex(String indexName, long first, long second) {
+        return getIndex(longPairIndexes, indexName).find(first, second);
+    }
+
+    private static <I> I getIndex(Map<String, I> indexes, String indexName) {
+        // getOrElse does not allocate an Option
+        I index = indexes.getOrElse(indexName, null);
+        if (index == null) {
+            throw new IllegalArgumentException("No index with given name (" + indexName + ") found");
+        }
+        return index;
+    }
+
 }
@@ -0,0 +1,93 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * A cache with all Javacord entities.
+ *
+ * <p>The query methods of the returned sub caches never block. Whether they return a snapshot or a read-only view
+ * of the current state depends on the implementation.
+ */
+public interface EntityCache {
+
+    /**
+     * Gets the channel cache.
+     *
+     * @return The channel cache.
+     */
+    ChannelCache getChannelCache();
+
+    /**
+     * Gets the member cache.
+     *
+     * @return The member cache.
+     */
+    MemberCache getMemberCache();
+
+    /**
+     * Gets the user presence cache.
+     *
+     * @return The user presence cache.
+     */
+    UserPresenceCache getUserPresenceCache();
+
+    /**
+     * Adds a channel to the cache.
+     *
+     * @param channel The channel to add.
+     * @return The channel with the same id that was in the cache before.
+     */
+    Optional<Channel> addChannel(Channel channel);
+
+    /**
+     * Removes a channel from the cache.
+     *
+     * @param channelId The id of the channel to remove.
+     * @return The removed channel.
+     */
+    Optional<Channel> removeChannel(long channelId);
+
+    /**
+     * Adds a member to the cache or replaces the existing member with the same id in the same server.
+     *
+     * @param member The member to add.
+     */
+    void addOrReplaceMember(Member member);
+
+    /**
+     * Updates all members with the given id.
+     *
+     * @param userId The id of the members.
+     * @param mapper A function that takes the old member and returns the new member.
+     */
+    void updateMembersById(long userId, UnaryOperator<Member> mapper);
+
+    /**
+     * Removes a member from the cache.
+     *
+     * @param memberId The id of the member to remove.
+     * @param serverId The id of the member's server.
+     * @return The removed member.
+     */
+    Optional<Member> removeMember(long memberId, long serverId);
+
+    /**
+     * Updates a user presence in the cache.
+     *
+     * @param userId The id of the user.
+     * @param mapper A function that takes the old user presence (or an empty presence) and returns the new user
+     *               presence.
+     */
+    void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper);
+
+    /**
+     * Removes all entities from the cache.
+     */
+    void clear();
+
+}
@@ -0,0 +1,111 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.api.entity.channel.ChannelType;
+import org.javacord.api.entity.channel.PrivateChannel;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all channel entities.
+ */
+public class ImmutableChannelCache implements ChannelCache {
+
+    private static final String ID_INDEX_NAME = "id";
+    private static final String TYPE_INDEX_NAME = "type";
+    private static final String SERVER_ID_INDEX_NAME = "server-id";
+    private static final String SERVER_ID_AND_TYPE_INDEX_NAME = "server-id | type";
+    private static final String PRIVATE_CHANNEL_USER_ID_INDEX_NAME = "user-id";
+
+    private static final ImmutableChannelCache EMPTY_CACHE = new ImmutableChannelCache(Cache.<Channel>empty()
+            .addLongIndex(ID_INDEX_NAME, Channel::getId)
+            .addLongIndex(TYPE_INDEX_NAME, channel -> channel.getType().ordinal())
+            .addLongIndex(SERVER_ID_INDEX_NAME, channel -> channel instanceof ServerChannel,
+                    channel -> ((ServerChannel) channel).getServer().getId())
+            .addLongPairIndex(SERVER_ID_AND_TYPE_INDEX_NAME, channel -> channel instanceof ServerChannel,
+                    channel -> ((ServerChannel) channel).getServer().getId(),
+                    channel -> channel.getType().ordinal())
+            // the recipient of a private channel can be set after it was added, so it needs the reverse lookup of the
+            // generic index to be removed with its original key
+            .addIndex(PRIVATE_CHANNEL_USER_ID_INDEX_NAME, channel -> channel
+                    .asPrivateChannel()
+                    .flatMap(PrivateChannel::getRecipient)
+                    .map(User::getId)
+                    .orElse(null))
+    );
+
+    private final Cache<Channel> cache;
+
+    private ImmutableChannelCache(Cache<Channel> cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Gets an empty channel cache.
+     *
+     * @return An empty channel cache.
+     */
+    public static ImmutableChannelCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    /**
+     * Adds a channel to the cache.
+     *
+     * @param channel The channel to add.
+     * @return The new channel cache.
+     */
+    public ImmutableChannelCache addChannel(Channel channel) {
+        return new ImmutableChannelCache(cache.addElement(channel));
+    }
+
+    /**
+     * Removes a channel from the cache.
+     *
+     * @param channel The channel to remove.
+     * @return The new channel cache.
+     */
+    public ImmutableChannelCache removeChannel(Channel channel) {
+        return new ImmutableChannelCache(cache.removeElement(channel));
+    }
+
+    @Override
+    public Set<Channel> getChannels() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    @Override
+    public <T extends Channel> Set<T> getChannelsWithTypes(ChannelType... types) {
+        io.vavr.collection.HashSet<Channel> channels = io.vavr.collection.HashSet.empty();
+        for (ChannelType type : types) {
+            channels = channels.addAll(cache.findByLongIndex(TYPE_INDEX_NAME, type.ordinal()));
+        }
+        return ImmutableToJavaMapper.mapToJava(channels);
+    }
+
+    @Override
+    public Set<ServerChannel> getChannelsOfServer(long serverId) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByLongIndex(SERVER_ID_INDEX_NAME, serverId));
+    }
+
+    @Override
+    public <T extends Channel> Set<T> getChannelsOfServerAndType(long serverId, ChannelType type) {
+        return ImmutableToJavaMapper.mapToJava(
+                cache.findByLongPairIndex(SERVER_ID_AND_TYPE_INDEX_NAME, serverId, type.ordinal()));
+    }
+
+    @Override
+    public Optional<Channel> getChannelById(long id) {
+        return cache.findAnyByLongIndex(ID_INDEX_NAME, id);
+    }
+
+    @Override
+    public Optional<PrivateChannel> getPrivateChannelByUserId(long userId) {
+        return cache.findAnyByIndex(PRIVATE_CHANNEL_USER_ID_INDEX_NAME, userId)
+                .flatMap(Channel::asPrivateChannel);
+    }
+}
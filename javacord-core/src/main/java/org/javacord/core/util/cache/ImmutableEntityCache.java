@@ -0,0 +1,110 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * An entity cache that holds an immutable {@link JavacordEntityCache} which gets atomically replaced on every update.
+ *
+ * <p>All query methods operate on a consistent snapshot, but every update copies the affected persistent
+ * collections and retries if another update happened concurrently.
+ */
+public class ImmutableEntityCache implements EntityCache {
+
+    private final AtomicReference<JavacordEntityCache> cache = new AtomicReference<>(JavacordEntityCache.empty());
+
+    /**
+     * Gets the current immutable snapshot of the cache.
+     *
+     * @return The current snapshot.
+     */
+    public JavacordEntityCache get() {
+        return cache.get();
+    }
+
+    @Override
+    public ImmutableChannelCache getChannelCache() {
+        return cache.get().getChannelCache();
+    }
+
+    @Override
+    public ImmutableMemberCache getMemberCache() {
+        return cache.get().getMemberCache();
+    }
+
+    @Override
+    public ImmutableUserPresenceCache getUserPresenceCache() {
+        return cache.get().getUserPresenceCache();
+    }
+
+    @Override
+    public Optional<Channel> addChannel(Channel channel) {
+        return cache.getAndUpdate(snapshot ->
+                        snapshot.updateChannelCache(channelCache -> channelCache.addChannel(channel)))
+                .getChannelCache()
+                .getChannelById(channel.getId());
+    }
+
+    @Override
+    public Optional<Channel> removeChannel(long channelId) {
+        return cache.getAndUpdate(snapshot -> snapshot.getChannelCache().getChannelById(channelId)
+                        .map(channel -> snapshot.updateChannelCache(
+                                channelCache -> channelCache.removeChannel(channel)))
+                        .orElse(snapshot))
+                .getChannelCache()
+                .getChannelById(channelId);
+    }
+
+    @Override
+    public void addOrReplaceMember(Member member) {
+        cache.getAndUpdate(snapshot -> {
+            Member oldMember = snapshot.getMemberCache()
+                    .getMemberByIdAndServer(member.getId(), member.getServer().getId())
+                    .orElse(null);
+            return snapshot.updateMemberCache(memberCache -> memberCache.removeMember(oldMember).addMember(member));
+        });
+    }
+
+    @Override
+    public void updateMembersById(long userId, UnaryOperator<Member> mapper) {
+        cache.getAndUpdate(snapshot -> {
+            JavacordEntityCache newCache = snapshot;
+            for (Member member : snapshot.getMemberCache().getMembersById(userId)) {
+                newCache = newCache.updateMemberCache(memberCache -> memberCache
+                        .removeMember(member)
+                        .addMember(mapper.apply(member))
+                );
+            }
+            return newCache;
+        });
+    }
+
+    @Override
+    public Optional<Member> removeMember(long memberId, long serverId) {
+        return cache.getAndUpdate(snapshot -> snapshot.getMemberCache().getMemberByIdAndServer(memberId, serverId)
+                        .map(member -> snapshot.updateMemberCache(memberCache -> memberCache.removeMember(member)))
+                        .orElse(snapshot))
+                .getMemberCache()
+                .getMemberByIdAndServer(memberId, serverId);
+    }
+
+    @Override
+    public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        cache.getAndUpdate(snapshot -> {
+            UserPresence presence = snapshot.getUserPresenceCache().getPresenceByUserId(userId)
+                    .orElseGet(() -> new UserPresence(userId));
+            return snapshot.updateUserPresenceCache(userPresenceCache ->
+                    userPresenceCache.removeUserPresence(presence).addUserPresence(mapper.apply(presence)));
+        });
+    }
+
+    @Override
+    public void clear() {
+        cache.set(JavacordEntityCache.empty());
+    }
+}
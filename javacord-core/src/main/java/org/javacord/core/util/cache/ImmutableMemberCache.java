@@ -0,0 +1,113 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.util.ImmutableToJavaMapper;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An immutable cache for all member entities.
+ */
+public class ImmutableMemberCache implements MemberCache {
+
+    private static final String ID_INDEX_NAME = "id";
+    private static final String SERVER_ID_INDEX_NAME = "server-id";
+    private static final String ID_AND_SERVER_ID_INDEX_NAME = "id | server-id";
+
+    private static final ImmutableMemberCache EMPTY_CACHE = new ImmutableMemberCache(
+            Cache.<Member>empty()
+                    .addLongIndex(ID_INDEX_NAME, Member::getId)
+                    .addLongIndex(SERVER_ID_INDEX_NAME, member -> member.getServer().getId())
+                    .addLongPairIndex(ID_AND_SERVER_ID_INDEX_NAME,
+                            Member::getId, member -> member.getServer().getId()),
+            ImmutableUserCache.empty()
+    );
+
+    private final Cache<Member> cache;
+    private final ImmutableUserCache userCache;
+
+    private ImmutableMemberCache(Cache<Member> cache, ImmutableUserCache userCache) {
+        this.cache = cache;
+        this.userCache = userCache;
+    }
+
+    /**
+     * Gets an empty channel cache.
+     *
+     * @return An empty channel cache.
+     */
+    public static ImmutableMemberCache empty() {
+        return EMPTY_CACHE;
+    }
+
+    /**
+     * Adds a member to the cache.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to add.
+     * @return The new member cache.
+     */
+    public ImmutableMemberCache addMember(Member member) {
+        return new ImmutableMemberCache(
+                cache.addElement(member),
+                userCache.getUserById(member.getId())
+                        .map(userCache::removeUser)
+                        .orElse(userCache)
+                        .addUser(member.getUser())
+        );
+    }
+
+    /**
+     * Removes a member from the cache.
+     *
+     * <p>Automatically updates the underlying user cache, too.
+     *
+     * @param member The member to remove.
+     * @return The new member cache.
+     */
+    public ImmutableMemberCache removeMember(Member member) {
+        if (member == null) {
+            return this;
+        }
+        return new ImmutableMemberCache(
+                cache.removeElement(member),
+                userCache.getUserById(member.getId())
+                        .filter(user -> getMembersById(user.getId()).size() <= 1)
+                        .map(userCache::removeUser)
+                        .orElse(userCache)
+        );
+    }
+
+    @Override
+    public Set<Server> getServers(long userId) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByLongIndex(ID_INDEX_NAME, userId).map(Member::getServer));
+    }
+
+    @Override
+    public ImmutableUserCache getUserCache() {
+        return userCache;
+    }
+
+    @Override
+    public Set<Member> getMembers() {
+        return ImmutableToJavaMapper.mapToJava(cache.getAll());
+    }
+
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByLongIndex(ID_INDEX_NAME, id));
+    }
+
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return ImmutableToJavaMapper.mapToJava(cache.findByLongIndex(SERVER_ID_INDEX_NAME, serverId));
+    }
+
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        return cache.findAnyByLongPairIndex(ID_AND_SERVER_ID_INDEX_NAME, id, serverId);
+    }
+}
@@ -8,11 +8,11 @@ import java.util.function.UnaryOperator;
 public class JavacordEntityCache {
 
     private static final JavacordEntityCache EMPTY_CACHE = new JavacordEntityCache(
-            ChannelCache.empty(), MemberCache.empty(), UserPresenceCache.empty());
+            ImmutableChannelCache.empty(), ImmutableMemberCache.empty(), ImmutableUserPresenceCache.empty());
 
-    private final ChannelCache channelCache;
-    private final MemberCache memberCache;
-    private final UserPresenceCache userPresenceCache;
+    private final ImmutableChannelCache channelCache;
+    private final ImmutableMemberCache memberCache;
+    private final ImmutableUserPresenceCache userPresenceCache;
     
     /**
      * Gets an empty Javacord cache.
@@ -24,7 +24,9 @@ public class JavacordEntityCache {
     }
 
     private JavacordEntityCache(
-            ChannelCache channelCache, MemberCache memberCache, UserPresenceCache userPresenceCache) {
+            ImmutableChannelCache channelCache,
+            ImmutableMemberCache memberCache,
+            ImmutableUserPresenceCache userPresenceCache) {
         this.channelCache = channelCache;
         this.memberCache = memberCache;
         this.userPresenceCache = userPresenceCache;
@@ -35,7 +37,7 @@ public class JavacordEntityCache {
      *
      * @return The channel cache.
      */
-    public ChannelCache getChannelCache() {
+    public ImmutableChannelCache getChannelCache() {
         return channelCache;
     }
 
@@ -45,7 +47,7 @@ public class JavacordEntityCache {
      * @param mapper A function that takes the old channel cache and returns the new one.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache updateChannelCache(UnaryOperator<ChannelCache> mapper) {
+    public JavacordEntityCache updateChannelCache(UnaryOperator<ImmutableChannelCache> mapper) {
         return setChannelCache(mapper.apply(channelCache));
     }
 
@@ -55,7 +57,7 @@ public class JavacordEntityCache {
      * @param channelCache The channel cache to set.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache setChannelCache(ChannelCache channelCache) {
+    public JavacordEntityCache setChannelCache(ImmutableChannelCache channelCache) {
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 
@@ -64,7 +66,7 @@ public class JavacordEntityCache {
      *
      * @return The member cache.
      */
-    public MemberCache getMemberCache() {
+    public ImmutableMemberCache getMemberCache() {
         return memberCache;
     }
 
@@ -74,7 +76,7 @@ public class JavacordEntityCache {
      * @param mapper A function that takes the old member cache and returns the new one.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache updateMemberCache(UnaryOperator<MemberCache> mapper) {
+    public JavacordEntityCache updateMemberCache(UnaryOperator<ImmutableMemberCache> mapper) {
         return setMemberCache(mapper.apply(memberCache));
     }
 
@@ -84,7 +86,7 @@ public class JavacordEntityCache {
      * @param memberCache The member cache to set.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache setMemberCache(MemberCache memberCache) {
+    public JavacordEntityCache setMemberCache(ImmutableMemberCache memberCache) {
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 
@@ -93,7 +95,7 @@ public class JavacordEntityCache {
      *
      * @return The user presence cache.
      */
-    public UserPresenceCache getUserPresenceCache() {
+    public ImmutableUserPresenceCache getUserPresenceCache() {
         return userPresenceCache;
     }
 
@@ -103,7 +105,7 @@ public class JavacordEntityCache {
      * @param mapper A function that takes the old user presence cache and returns the new one.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache updateUserPresenceCache(UnaryOperator<UserPresenceCache> mapper) {
+    public JavacordEntityCache updateUserPresenceCache(UnaryOperator<ImmutableUserPresenceCache> mapper) {
         return setUserPresenceCache(mapper.apply(userPresenceCache));
     }
 
@@ -113,7 +115,7 @@ public class JavacordEntityCache {
      * @param userPresenceCache The user presence cache to set.
      * @return The new Javacord entity cache.
      */
-    public JavacordEntityCache setUserPresenceCache(UserPresenceCache userPresenceCache) {
+    public JavacordEntityCache setUserPresenceCache(ImmutableUserPresenceCache userPresenceCache) {
         return new JavacordEntityCache(channelCache, memberCache, userPresenceCache);
     }
 }
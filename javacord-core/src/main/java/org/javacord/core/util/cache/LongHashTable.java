@@ -0,0 +1,227 @@
+package org.javacord.core.util.cache;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * A hash table with primitive {@code long} keys.
+ *
+ * <p>The table uses open addressing with linear probing, so neither lookups nor updates box the key or allocate
+ * entry objects. It is not thread-safe and must be guarded externally, e.g. by a {@link StripedLongMap}.
+ *
+ * @param <V> The type of the values. {@code null} values are not allowed.
+ */
+class LongHashTable<V> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates a new hash table.
+     */
+    LongHashTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new hash table.
+     *
+     * @param expectedSize The expected amount of entries.
+     */
+    LongHashTable(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, expectedSize * 4 / 3 + 1) - 1) << 1;
+        keys = new long[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Spreads the bits of the given key.
+     *
+     * @param key The key.
+     * @return The spread hash of the key.
+     */
+    static long hash(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        key = (key ^ (key >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return key ^ (key >>> 33);
+    }
+
+    /**
+     * Gets the value with the given key.
+     *
+     * @param key The key.
+     * @return The value or {@code null} if there is no value with the given key.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int mask = keys.length - 1;
+        for (int i = (int) hash(key) & mask; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return (V) values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts a value into the table.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The previous value with the given key or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        int mask = keys.length - 1;
+        int i = (int) hash(key) & mask;
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++size > (keys.length >> 1) + (keys.length >> 2)) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Removes the value with the given key.
+     *
+     * @param key The key.
+     * @return The removed value or {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    V remove(long key) {
+        int mask = keys.length - 1;
+        int i = (int) hash(key) & mask;
+        while (true) {
+            if (values[i] == null) {
+                return null;
+            }
+            if (keys[i] == key) {
+                break;
+            }
+            i = (i + 1) & mask;
+        }
+        V removed = (V) values[i];
+        // Shift back the following entries of the probe sequence instead of leaving a tombstone
+        int gap = i;
+        for (int j = (gap + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = (int) hash(keys[j]) & mask;
+            boolean canMove = gap <= j ? (home <= gap || home > j) : (home <= gap && home > j);
+            if (canMove) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Gets any value of the table.
+     *
+     * @return Any value or {@code null} if the table is empty.
+     */
+    @SuppressWarnings("unchecked")
+    V any() {
+        if (size == 0) {
+            return null;
+        }
+        for (Object value : values) {
+            if (value != null) {
+                return (V) value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Performs the given action for every value in the table.
+     *
+     * @param action The action.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(Consumer<? super V> action) {
+        if (size == 0) {
+            return;
+        }
+        for (Object value : values) {
+            if (value != null) {
+                action.accept((V) value);
+            }
+        }
+    }
+
+    /**
+     * Adds all values of the table to the given collection.
+     *
+     * @param collection The collection.
+     */
+    void copyValuesTo(Collection<? super V> collection) {
+        forEach(collection::add);
+    }
+
+    /**
+     * Gets the amount of entries.
+     *
+     * @return The amount of entries.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the table is empty.
+     *
+     * @return Whether the table is empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries from the table.
+     */
+    void clear() {
+        if (keys.length > DEFAULT_CAPACITY) {
+            keys = new long[DEFAULT_CAPACITY];
+            values = new Object[DEFAULT_CAPACITY];
+        } else {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] != null) {
+                int i = (int) hash(oldKeys[j]) & mask;
+                while (values[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package org.javacord.core.util.cache;
+
+import io.vavr.collection.Set;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * An immutable index with primitive {@code long} keys.
+ *
+ * <p>In contrast to the generic {@link Index}, this index does not box its keys and does not keep a reverse lookup
+ * map from the elements to their keys. The key of an element must therefore not change while the element is in the
+ * index, which is the case for ids.
+ *
+ * @param <E> The type of the elements.
+ */
+public class LongIndex<E> {
+
+    /**
+     * A predicate that decides if an element has a key and is included in the index.
+     */
+    private final Predicate<E> filter;
+
+    /**
+     * A function that maps an element to its key.
+     */
+    private final ToLongFunction<E> keyMapper;
+
+    /**
+     * A trie that contains the elements by their key.
+     */
+    private final LongTrie<Object> elementsByKey;
+
+    /**
+     * Creates a new index.
+     *
+     * @param keyMapper A function to map elements to their key.
+     */
+    public LongIndex(ToLongFunction<E> keyMapper) {
+        this(element -> true, keyMapper);
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param filter A predicate that decides if an element is included in the index.
+     * @param keyMapper A function to map elements to their key. Is only called for elements which match the filter.
+     */
+    public LongIndex(Predicate<E> filter, ToLongFunction<E> keyMapper) {
+        this(filter, keyMapper, LongTrie.empty());
+    }
+
+    private LongIndex(Predicate<E> filter, ToLongFunction<E> keyMapper, LongTrie<Object> elementsByKey) {
+        this.filter = filter;
+        this.keyMapper = keyMapper;
+        this.elementsByKey = elementsByKey;
+    }
+
+    /**
+     * Adds an element to the index.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param element The element to add.
+     * @return The new index with the added element.
+     */
+    public LongIndex<E> addElement(E element) {
+        if (!filter.test(element)) {
+            return this;
+        }
+        long key = keyMapper.applyAsLong(element);
+        Object bucket = elementsByKey.get(key, 0);
+        Object newBucket = LongIndexBucket.add(bucket, element);
+        if (newBucket == bucket) {
+            return this;
+        }
+        return new LongIndex<>(filter, keyMapper, elementsByKey.put(key, 0, newBucket));
+    }
+
+    /**
+     * Removes an element from the index.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param element The element to remove.
+     * @return The new index with the element removed.
+     */
+    public LongIndex<E> removeElement(E element) {
+        if (!filter.test(element)) {
+            return this;
+        }
+        long key = keyMapper.applyAsLong(element);
+        Object bucket = elementsByKey.get(key, 0);
+        Object newBucket = LongIndexBucket.remove(bucket, element);
+        if (newBucket == bucket) {
+            return this;
+        }
+        return new LongIndex<>(filter, keyMapper, newBucket == null
+                ? elementsByKey.remove(key, 0)
+                : elementsByKey.put(key, 0, newBucket));
+    }
+
+    /**
+     * Gets all elements with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param key The key of the elements.
+     * @return The elements with the given key.
+     */
+    public Set<E> find(long key) {
+        return LongIndexBucket.toSet(elementsByKey.get(key, 0));
+    }
+
+    /**
+     * Gets any element with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)} and does not allocate.
+     *
+     * @param key The key of the element.
+     * @return An element with the given key or {@code null}.
+     */
+    public E findAnyOrNull(long key) {
+        return LongIndexBucket.any(elementsByKey.get(key, 0));
+    }
+
+    /**
+     * Gets any element with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param key The key of the element.
+     * @return An element with the given key.
+     */
+    public Optional<E> findAny(long key) {
+        return Optional.ofNullable(findAnyOrNull(key));
+    }
+}
@@ -0,0 +1,104 @@
+package org.javacord.core.util.cache;
+
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Set;
+
+/**
+ * Helper methods for the buckets of {@link LongIndex} and {@link LongPairIndex}.
+ *
+ * <p>A bucket is either {@code null} (no elements), the element itself (exactly one element), or an
+ * {@link Elements} instance (two or more elements). Most keys of an index only have a single element, like the id
+ * index of a cache, and do not need a set at all.
+ */
+final class LongIndexBucket {
+
+    private LongIndexBucket() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Adds an element to a bucket.
+     *
+     * @param bucket The bucket or {@code null}.
+     * @param element The element to add.
+     * @return The new bucket.
+     */
+    static Object add(Object bucket, Object element) {
+        if (bucket == null) {
+            return element;
+        }
+        if (bucket instanceof Elements) {
+            Set<Object> elements = ((Elements) bucket).elements;
+            Set<Object> newElements = elements.add(element);
+            return newElements == elements ? bucket : new Elements(newElements);
+        }
+        return bucket.equals(element) ? bucket : new Elements(HashSet.of(bucket, element));
+    }
+
+    /**
+     * Removes an element from a bucket.
+     *
+     * @param bucket The bucket or {@code null}.
+     * @param element The element to remove.
+     * @return The new bucket or {@code null} if it is empty.
+     */
+    static Object remove(Object bucket, Object element) {
+        if (bucket == null) {
+            return null;
+        }
+        if (bucket instanceof Elements) {
+            Set<Object> elements = ((Elements) bucket).elements;
+            Set<Object> newElements = elements.remove(element);
+            if (newElements == elements) {
+                return bucket;
+            }
+            return newElements.size() == 1 ? newElements.head() : new Elements(newElements);
+        }
+        return bucket.equals(element) ? null : bucket;
+    }
+
+    /**
+     * Gets all elements of a bucket.
+     *
+     * @param bucket The bucket or {@code null}.
+     * @param <E> The type of the elements.
+     * @return The elements of the bucket.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> Set<E> toSet(Object bucket) {
+        if (bucket == null) {
+            return HashSet.empty();
+        }
+        if (bucket instanceof Elements) {
+            return (Set<E>) ((Elements) bucket).elements;
+        }
+        return HashSet.of((E) bucket);
+    }
+
+    /**
+     * Gets any element of a bucket.
+     *
+     * @param bucket The bucket or {@code null}.
+     * @param <E> The type of the elements.
+     * @return Any element of the bucket or {@code null} if the bucket is empty.
+     */
+    @SuppressWarnings("unchecked")
+    static <E> E any(Object bucket) {
+        if (bucket instanceof Elements) {
+            return (E) ((Elements) bucket).elements.head();
+        }
+        return (E) bucket;
+    }
+
+    /**
+     * A bucket with two or more elements.
+     */
+    private static final class Elements {
+
+        private final Set<Object> elements;
+
+        private Elements(Set<Object> elements) {
+            this.elements = elements;
+        }
+    }
+}
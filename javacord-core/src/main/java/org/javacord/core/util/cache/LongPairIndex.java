@@ -0,0 +1,156 @@
+package org.javacord.core.util.cache;
+
+import io.vavr.collection.Set;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * An immutable index with a composite key of two primitive {@code long}s, e.g. a user id and a server id.
+ *
+ * <p>Both halves of the key are packed unboxed into the nodes of the underlying trie, so neither updates nor lookups
+ * allocate a tuple for the key. Like for the {@link LongIndex}, the key of an element must not change while the
+ * element is in the index.
+ *
+ * @param <E> The type of the elements.
+ */
+public class LongPairIndex<E> {
+
+    /**
+     * A predicate that decides if an element has a key and is included in the index.
+     */
+    private final Predicate<E> filter;
+
+    /**
+     * A function that maps an element to the first half of its key.
+     */
+    private final ToLongFunction<E> firstKeyMapper;
+
+    /**
+     * A function that maps an element to the second half of its key.
+     */
+    private final ToLongFunction<E> secondKeyMapper;
+
+    /**
+     * A trie that contains the elements by their key.
+     */
+    private final LongTrie<Object> elementsByKey;
+
+    /**
+     * Creates a new index.
+     *
+     * @param firstKeyMapper A function to map elements to the first half of their key.
+     * @param secondKeyMapper A function to map elements to the second half of their key.
+     */
+    public LongPairIndex(ToLongFunction<E> firstKeyMapper, ToLongFunction<E> secondKeyMapper) {
+        this(element -> true, firstKeyMapper, secondKeyMapper);
+    }
+
+    /**
+     * Creates a new index.
+     *
+     * @param filter A predicate that decides if an element is included in the index.
+     * @param firstKeyMapper A function to map elements to the first half of their key.
+     *                       Is only called for elements which match the filter.
+     * @param secondKeyMapper A function to map elements to the second half of their key.
+     *                        Is only called for elements which match the filter.
+     */
+    public LongPairIndex(Predicate<E> filter, ToLongFunction<E> firstKeyMapper, ToLongFunction<E> secondKeyMapper) {
+        this(filter, firstKeyMapper, secondKeyMapper, LongTrie.emptyPairs());
+    }
+
+    private LongPairIndex(Predicate<E> filter, ToLongFunction<E> firstKeyMapper, ToLongFunction<E> secondKeyMapper,
+                          LongTrie<Object> elementsByKey) {
+        this.filter = filter;
+        this.firstKeyMapper = firstKeyMapper;
+        this.secondKeyMapper = secondKeyMapper;
+        this.elementsByKey = elementsByKey;
+    }
+
+    /**
+     * Adds an element to the index.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param element The element to add.
+     * @return The new index with the added element.
+     */
+    public LongPairIndex<E> addElement(E element) {
+        if (!filter.test(element)) {
+            return this;
+        }
+        long first = firstKeyMapper.applyAsLong(element);
+        long second = secondKeyMapper.applyAsLong(element);
+        Object bucket = elementsByKey.get(first, second);
+        Object newBucket = LongIndexBucket.add(bucket, element);
+        if (newBucket == bucket) {
+            return this;
+        }
+        return new LongPairIndex<>(filter, firstKeyMapper, secondKeyMapper,
+                elementsByKey.put(first, second, newBucket));
+    }
+
+    /**
+     * Removes an element from the index.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param element The element to remove.
+     * @return The new index with the element removed.
+     */
+    public LongPairIndex<E> removeElement(E element) {
+        if (!filter.test(element)) {
+            return this;
+        }
+        long first = firstKeyMapper.applyAsLong(element);
+        long second = secondKeyMapper.applyAsLong(element);
+        Object bucket = elementsByKey.get(first, second);
+        Object newBucket = LongIndexBucket.remove(bucket, element);
+        if (newBucket == bucket) {
+            return this;
+        }
+        return new LongPairIndex<>(filter, firstKeyMapper, secondKeyMapper, newBucket == null
+                ? elementsByKey.remove(first, second)
+                : elementsByKey.put(first, second, newBucket));
+    }
+
+    /**
+     * Gets all elements with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param first The first half of the key.
+     * @param second The second half of the key.
+     * @return The elements with the given key.
+     */
+    public Set<E> find(long first, long second) {
+        return LongIndexBucket.toSet(elementsByKey.get(first, second));
+    }
+
+    /**
+     * Gets any element with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)} and does not allocate.
+     *
+     * @param first The first half of the key.
+     * @param second The second half of the key.
+     * @return An element with the given key or {@code null}.
+     */
+    public E findAnyOrNull(long first, long second) {
+        return LongIndexBucket.any(elementsByKey.get(first, second));
+    }
+
+    /**
+     * Gets any element with the given key.
+     *
+     * <p>This method has an effective time complexity of {@code O(1)}.
+     *
+     * @param first The first half of the key.
+     * @param second The second half of the key.
+     * @return An element with the given key.
+     */
+    public Optional<E> findAny(long first, long second) {
+        return Optional.ofNullable(findAnyOrNull(first, second));
+    }
+}
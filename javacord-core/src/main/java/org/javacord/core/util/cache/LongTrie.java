@@ -0,0 +1,290 @@
+package org.javacord.core.util.cache;
+
+/**
+ * An immutable map with primitive {@code long} keys or primitive {@code long} pair keys.
+ *
+ * <p>The map is a compressed hash-array mapped prefix trie (CHAMP). Every node stores its entries and its sub nodes
+ * in two compact arrays which are indexed by bitmaps, and the keys of the entries are stored unboxed in a
+ * {@code long[]}. Lookups therefore neither box the key nor allocate a composite key object.
+ *
+ * <p>The trie is addressed by a 128 bit hash which is a bijection of the key, so two different keys never share the
+ * same hash and no collision nodes are needed.
+ *
+ * @param <V> The type of the values. {@code null} values are not allowed.
+ */
+final class LongTrie<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final long[] NO_KEYS = new long[0];
+    private static final Node EMPTY_NODE = new Node(0, 0, NO_KEYS, new Object[0]);
+
+    private static final LongTrie<?> EMPTY = new LongTrie<>(1, EMPTY_NODE);
+    private static final LongTrie<?> EMPTY_PAIRS = new LongTrie<>(2, EMPTY_NODE);
+
+    /**
+     * The amount of {@code long}s per key.
+     */
+    private final int arity;
+
+    private final Node root;
+
+    private LongTrie(int arity, Node root) {
+        this.arity = arity;
+        this.root = root;
+    }
+
+    /**
+     * Gets an empty trie with {@code long} keys.
+     *
+     * @param <V> The type of the values.
+     * @return An empty trie.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> LongTrie<V> empty() {
+        return (LongTrie<V>) EMPTY;
+    }
+
+    /**
+     * Gets an empty trie with {@code long} pair keys.
+     *
+     * @param <V> The type of the values.
+     * @return An empty trie.
+     */
+    @SuppressWarnings("unchecked")
+    static <V> LongTrie<V> emptyPairs() {
+        return (LongTrie<V>) EMPTY_PAIRS;
+    }
+
+    /**
+     * Gets the value with the given key.
+     *
+     * @param first The key, or the first half of a pair key.
+     * @param second The second half of a pair key. Must be {@code 0} for a trie with single keys.
+     * @return The value or {@code null} if there is no value with the given key.
+     */
+    @SuppressWarnings("unchecked")
+    V get(long first, long second) {
+        long hash2 = LongHashTable.hash(second);
+        long hash1 = LongHashTable.hash(first ^ hash2);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            int bit = 1 << fragment(hash1, hash2, shift);
+            if ((node.dataMap & bit) != 0) {
+                int index = Integer.bitCount(node.dataMap & (bit - 1));
+                return keyEquals(node, index, first, second) ? (V) node.content[index] : null;
+            }
+            if ((node.nodeMap & bit) == 0) {
+                return null;
+            }
+            node = (Node) node.content[node.nodeIndex(bit)];
+        }
+    }
+
+    /**
+     * Puts a value into the trie.
+     *
+     * @param first The key, or the first half of a pair key.
+     * @param second The second half of a pair key. Must be {@code 0} for a trie with single keys.
+     * @param value The value.
+     * @return The new trie.
+     */
+    LongTrie<V> put(long first, long second, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value must not be null");
+        }
+        long hash2 = LongHashTable.hash(second);
+        Node newRoot = putInNode(root, first, second, LongHashTable.hash(first ^ hash2), hash2, 0, value);
+        return newRoot == root ? this : new LongTrie<>(arity, newRoot);
+    }
+
+    /**
+     * Removes the value with the given key.
+     *
+     * @param first The key, or the first half of a pair key.
+     * @param second The second half of a pair key. Must be {@code 0} for a trie with single keys.
+     * @return The new trie.
+     */
+    LongTrie<V> remove(long first, long second) {
+        long hash2 = LongHashTable.hash(second);
+        Node newRoot = removeFromNode(root, first, second, LongHashTable.hash(first ^ hash2), hash2, 0);
+        return newRoot == root ? this : new LongTrie<>(arity, newRoot);
+    }
+
+    /**
+     * Gets the 5 bit fragment of the 128 bit hash at the given shift.
+     */
+    private static int fragment(long hash1, long hash2, int shift) {
+        if (shift < Long.SIZE - BITS) {
+            return (int) (hash1 >>> shift) & MASK;
+        }
+        if (shift < Long.SIZE) {
+            // the fragment spans both halves of the hash
+            return (int) ((hash1 >>> shift) | (hash2 << (Long.SIZE - shift))) & MASK;
+        }
+        return (int) (hash2 >>> (shift - Long.SIZE)) & MASK;
+    }
+
+    private boolean keyEquals(Node node, int index, long first, long second) {
+        return node.keys[index * arity] == first && (arity == 1 || node.keys[index * arity + 1] == second);
+    }
+
+    private Node putInNode(Node node, long first, long second, long hash1, long hash2, int shift, V value) {
+        int bit = 1 << fragment(hash1, hash2, shift);
+        if ((node.dataMap & bit) != 0) {
+            int index = Integer.bitCount(node.dataMap & (bit - 1));
+            if (keyEquals(node, index, first, second)) {
+                if (node.content[index] == value) {
+                    return node;
+                }
+                Object[] content = node.content.clone();
+                content[index] = value;
+                return new Node(node.dataMap, node.nodeMap, node.keys, content);
+            }
+            // Both entries move to a new sub node
+            long otherFirst = node.keys[index * arity];
+            long otherSecond = arity == 1 ? 0 : node.keys[index * arity + 1];
+            long otherHash2 = LongHashTable.hash(otherSecond);
+            Node subNode = merge(otherFirst, otherSecond, LongHashTable.hash(otherFirst ^ otherHash2), otherHash2,
+                    node.content[index], first, second, hash1, hash2, value, shift + BITS);
+            long[] keys = removeKey(node.keys, index);
+            Object[] content = removeElement(node.content, index);
+            content = insertElement(content, node.nodeIndex(bit) - 1, subNode);
+            return new Node(node.dataMap ^ bit, node.nodeMap | bit, keys, content);
+        }
+        if ((node.nodeMap & bit) != 0) {
+            int nodeIndex = node.nodeIndex(bit);
+            Node subNode = (Node) node.content[nodeIndex];
+            Node newSubNode = putInNode(subNode, first, second, hash1, hash2, shift + BITS, value);
+            if (newSubNode == subNode) {
+                return node;
+            }
+            Object[] content = node.content.clone();
+            content[nodeIndex] = newSubNode;
+            return new Node(node.dataMap, node.nodeMap, node.keys, content);
+        }
+        int index = Integer.bitCount(node.dataMap & (bit - 1));
+        long[] keys = insertKey(node.keys, index, first, second);
+        Object[] content = insertElement(node.content, index, value);
+        return new Node(node.dataMap | bit, node.nodeMap, keys, content);
+    }
+
+    private Node merge(long firstA, long secondA, long hash1A, long hash2A, Object valueA,
+                       long firstB, long secondB, long hash1B, long hash2B, Object valueB, int shift) {
+        int fragmentA = fragment(hash1A, hash2A, shift);
+        int fragmentB = fragment(hash1B, hash2B, shift);
+        if (fragmentA == fragmentB) {
+            Node subNode = merge(firstA, secondA, hash1A, hash2A, valueA,
+                    firstB, secondB, hash1B, hash2B, valueB, shift + BITS);
+            return new Node(0, 1 << fragmentA, NO_KEYS, new Object[] {subNode});
+        }
+        long[] keys = new long[2 * arity];
+        Object[] content = new Object[2];
+        int indexA = fragmentA < fragmentB ? 0 : 1;
+        setKey(keys, indexA, firstA, secondA);
+        setKey(keys, 1 - indexA, firstB, secondB);
+        content[indexA] = valueA;
+        content[1 - indexA] = valueB;
+        return new Node((1 << fragmentA) | (1 << fragmentB), 0, keys, content);
+    }
+
+    private Node removeFromNode(Node node, long first, long second, long hash1, long hash2, int shift) {
+        int bit = 1 << fragment(hash1, hash2, shift);
+        if ((node.dataMap & bit) != 0) {
+            int index = Integer.bitCount(node.dataMap & (bit - 1));
+            if (!keyEquals(node, index, first, second)) {
+                return node;
+            }
+            return new Node(node.dataMap ^ bit, node.nodeMap, removeKey(node.keys, index),
+                    removeElement(node.content, index));
+        }
+        if ((node.nodeMap & bit) != 0) {
+            int nodeIndex = node.nodeIndex(bit);
+            Node subNode = (Node) node.content[nodeIndex];
+            Node newSubNode = removeFromNode(subNode, first, second, hash1, hash2, shift + BITS);
+            if (newSubNode == subNode) {
+                return node;
+            }
+            if (newSubNode.nodeMap == 0 && Integer.bitCount(newSubNode.dataMap) == 1) {
+                // Inline the last entry of the sub node to keep the trie compact
+                int index = Integer.bitCount(node.dataMap & (bit - 1));
+                long[] keys = insertKey(node.keys, index, newSubNode.keys[0], arity == 1 ? 0 : newSubNode.keys[1]);
+                Object[] content = removeElement(node.content, nodeIndex);
+                content = insertElement(content, index, newSubNode.content[0]);
+                return new Node(node.dataMap | bit, node.nodeMap ^ bit, keys, content);
+            }
+            Object[] content = node.content.clone();
+            content[nodeIndex] = newSubNode;
+            return new Node(node.dataMap, node.nodeMap, node.keys, content);
+        }
+        return node;
+    }
+
+    private void setKey(long[] keys, int index, long first, long second) {
+        keys[index * arity] = first;
+        if (arity == 2) {
+            keys[index * arity + 1] = second;
+        }
+    }
+
+    private long[] insertKey(long[] keys, int index, long first, long second) {
+        long[] newKeys = new long[keys.length + arity];
+        System.arraycopy(keys, 0, newKeys, 0, index * arity);
+        System.arraycopy(keys, index * arity, newKeys, (index + 1) * arity, keys.length - index * arity);
+        setKey(newKeys, index, first, second);
+        return newKeys;
+    }
+
+    private long[] removeKey(long[] keys, int index) {
+        long[] newKeys = new long[keys.length - arity];
+        System.arraycopy(keys, 0, newKeys, 0, index * arity);
+        System.arraycopy(keys, (index + 1) * arity, newKeys, index * arity, newKeys.length - index * arity);
+        return newKeys;
+    }
+
+    private static Object[] insertElement(Object[] array, int index, Object element) {
+        Object[] newArray = new Object[array.length + 1];
+        System.arraycopy(array, 0, newArray, 0, index);
+        System.arraycopy(array, index, newArray, index + 1, array.length - index);
+        newArray[index] = element;
+        return newArray;
+    }
+
+    private static Object[] removeElement(Object[] array, int index) {
+        Object[] newArray = new Object[array.length - 1];
+        System.arraycopy(array, 0, newArray, 0, index);
+        System.arraycopy(array, index + 1, newArray, index, newArray.length - index);
+        return newArray;
+    }
+
+    /**
+     * A node of the trie.
+     */
+    private static final class Node {
+
+        private final int dataMap;
+        private final int nodeMap;
+
+        /**
+         * The keys of the entries, {@code arity} longs per entry.
+         */
+        private final long[] keys;
+
+        /**
+         * The values of the entries followed by the sub nodes.
+         */
+        private final Object[] content;
+
+        private Node(int dataMap, int nodeMap, long[] keys, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.keys = keys;
+            this.content = content;
+        }
+
+        private int nodeIndex(int bit) {
+            return Integer.bitCount(dataMap) + Integer.bitCount(nodeMap & (bit - 1));
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.javacord.core.util.cache;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An api-wide budget for the amount of cached messages across all channels.
+ *
+ * <p>If the budget is exceeded, the oldest messages of the least recently active channels are evicted first, so busy
+ * channels keep their history while idle channels give it up. Eviction runs in batches which free some headroom below
+ * the budget, and only one thread evicts at a time. Other threads never wait for it, so the budget can be exceeded
+ * briefly.
+ */
+public class MessageCacheBudget {
+
+    /**
+     * The share of the capacity that is freed by an eviction batch.
+     */
+    private static final int HEADROOM_DIVISOR = 20;
+
+    /**
+     * All message caches of the api.
+     */
+    private final Set<MessageCacheImpl> caches = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The total amount of messages in all caches.
+     */
+    private final LongAdder size = new LongAdder();
+
+    /**
+     * The lock of the thread that currently evicts messages.
+     */
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * The maximum amount of messages in all caches, or {@code -1} if there is no budget.
+     */
+    private volatile int capacity;
+
+    /**
+     * Creates a new message cache budget.
+     *
+     * @param capacity The maximum amount of messages in all caches, or {@code -1} for no budget.
+     */
+    public MessageCacheBudget(int capacity) {
+        setCapacity(capacity);
+    }
+
+    /**
+     * Gets the maximum amount of messages in all caches.
+     *
+     * @return The maximum amount of messages, or {@code -1} if there is no budget.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Sets the maximum amount of messages in all caches.
+     *
+     * <p>If the cached messages exceed the new capacity, they are evicted right away.
+     *
+     * @param capacity The maximum amount of messages, or {@code -1} for no budget.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = Math.max(capacity, -1);
+        evictIfExceeded();
+    }
+
+    /**
+     * Checks if the budget is enabled.
+     *
+     * <p>If it is enabled, the capacity of the single message caches is not enforced.
+     *
+     * @return Whether the budget is enabled.
+     */
+    public boolean isEnabled() {
+        return capacity >= 0;
+    }
+
+    /**
+     * Gets the total amount of messages in all caches.
+     *
+     * @return The amount of messages.
+     */
+    public long getSize() {
+        return size.sum();
+    }
+
+    /**
+     * Registers a message cache.
+     *
+     * @param cache The cache.
+     */
+    void register(MessageCacheImpl cache) {
+        caches.add(cache);
+    }
+
+    /**
+     * Unregisters a message cache.
+     *
+     * @param cache The cache.
+     */
+    void unregister(MessageCacheImpl cache) {
+        caches.remove(cache);
+    }
+
+    /**
+     * Updates the total amount of messages.
+     *
+     * @param delta The change of the amount of messages.
+     */
+    void sizeChanged(int delta) {
+        if (delta != 0) {
+            size.add(delta);
+        }
+    }
+
+    /**
+     * Evicts messages if the budget is exceeded.
+     *
+     * <p>Must not be called while holding the lock of a message cache.
+     */
+    void evictIfExceeded() {
+        int capacity = this.capacity;
+        if (capacity < 0 || size.sum() <= capacity || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            long target = capacity - capacity / HEADROOM_DIVISOR;
+            // Snapshot the activity, as it changes while sorting
+            Candidate[] candidates = caches.stream()
+                    .filter(cache -> cache.getSize() > 0)
+                    .map(cache -> new Candidate(cache, cache.getLastActivity()))
+                    .toArray(Candidate[]::new);
+            Arrays.sort(candidates, Comparator.comparingLong(candidate -> candidate.lastActivity));
+            for (Candidate candidate : candidates) {
+                long excess = size.sum() - target;
+                if (excess <= 0) {
+                    break;
+                }
+                candidate.cache.evictOldest((int) Math.min(excess, Integer.MAX_VALUE));
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /**
+     * A message cache with a snapshot of its last activity.
+     */
+    private static class Candidate {
+
+        private final MessageCacheImpl cache;
+        private final long lastActivity;
+
+        private Candidate(MessageCacheImpl cache, long lastActivity) {
+            this.cache = cache;
+            this.lastActivity = lastActivity;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.javacord.core.util.cache;
 
 import org.apache.logging.log4j.Logger;
+import org.javacord.api.entity.DiscordEntity;
 import org.javacord.api.entity.message.Message;
 import org.javacord.api.util.cache.MessageCache;
 import org.javacord.core.DiscordApiImpl;
@@ -9,22 +10,26 @@ import org.javacord.core.util.logging.LoggerUtil;
 
 import java.lang.ref.Reference;
 import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.stream.Collectors;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The implementation of {@link MessageCache}.
+ *
+ * <p>The messages of the channel are kept softly reachable in an id-ordered {@link MessageRing} which is guarded by a
+ * lock of this cache, so channels never contend with each other. Messages which are cached forever are strongly
+ * referenced by a separate list and are not part of the ring, so they do not count towards the capacity.
+ *
+ * <p>Every cache reports its size to the {@link MessageCacheBudget} of the api. If a global capacity is set, the budget
+ * takes over the eviction from the capacity of this cache.
  */
 public class MessageCacheImpl implements MessageCache, Cleanupable {
 
@@ -34,19 +39,19 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
     private static final Logger logger = LoggerUtil.getLogger(MessageCacheImpl.class);
 
     /**
-     * All messages.
+     * All messages that are not cached forever, ordered by their id.
      */
-    private final List<Reference<? extends Message>> messages = new ArrayList<>();
+    private final MessageRing messages = new MessageRing();
 
     /**
-     * The queue that is notified if a message became softly-reachable.
+     * The lock for the messages of this cache.
      */
-    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
-     * The messages cleanup future to be cancelled in {@link #cleanup()}.
+     * The queue that is notified if a message became softly-reachable.
      */
-    private final Future<?> messagesCleanupFuture;
+    private final ReferenceQueue<Message> messagesCleanupQueue = new ReferenceQueue<>();
 
     /**
      * All messages that should be cached forever.
@@ -63,6 +68,36 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     private final DiscordApiImpl api;
 
+    /**
+     * The budget for the amount of cached messages across all channels.
+     */
+    private final MessageCacheBudget budget;
+
+    /**
+     * The amount of cache hits.
+     */
+    private final AtomicLong hits = new AtomicLong();
+
+    /**
+     * The amount of cache misses.
+     */
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * The amount of evicted messages.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * The amount of messages in the ring as last reported to the budget.
+     */
+    private volatile int size = 0;
+
+    /**
+     * The {@link System#nanoTime()} of the last added message.
+     */
+    private volatile long lastActivity = System.nanoTime();
+
     /**
      * The maximum amount of stored messages.
      */
@@ -86,57 +121,45 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
         this.api = api;
         this.capacity = capacity;
         this.storageTimeInSeconds = storageTimeInSeconds;
+        budget = api.getMessageCacheBudget();
+        budget.register(this);
 
         setAutomaticCleanupEnabled(automaticCleanupEnabled);
-
-        // After minimum JDK 9 is required this can be switched to use a Cleaner
-        messagesCleanupFuture = api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
-            api.getMessageCacheLock().lock();
-            try {
-                int removedMessages = 0;
-                for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
-                        messageRef != null;
-                        messageRef = messagesCleanupQueue.poll()) {
-                    messages.remove(messageRef);
-                    removedMessages++;
-                }
-                if (removedMessages > 0) {
-                    logger.warn("Heap memory was too low to hold all configured messages in the cache. "
-                                    + "Removed {} messages from the cache due to memory shortage. "
-                                    + "Either increase your heap settings or decrease your message cache settings!",
-                            removedMessages);
-                }
-            } catch (Throwable t) {
-                logger.error("Failed to clean softly referenced messages!", t);
-            } finally {
-                api.getMessageCacheLock().unlock();
-            }
-        }, 30, 30, TimeUnit.SECONDS);
     }
 
     /**
      * Adds a message to the cache.
      *
+     * <p>If automatic cleanup is enabled and the cache exceeds its capacity, the oldest message is evicted right away.
+     * If a global capacity is set, the budget evicts messages of the least recently active caches instead.
+     *
      * @param message The message to add.
      */
     public void addMessage(Message message) {
-        api.getMessageCacheLock().lock();
+        api.addMessageToCache(message);
+        if (message.isCachedForever()) {
+            return;
+        }
+        lastActivity = System.nanoTime();
+        lock.lock();
         try {
-            api.addMessageToCache(message);
-            if (messages.stream().map(Reference::get).anyMatch(message::equals)) {
-                return;
+            removeCollectedMessages();
+            MessageRing.MessageReference messageRef = messages.get(message.getId());
+            if (messageRef != null) {
+                if (messageRef.get() != null) {
+                    return;
+                }
+                messages.remove(message.getId());
             }
-            // Add the message in the correct order
-            messages.removeIf(messageRef -> messageRef.get() == null);
-            Reference<Message> messageRef = new SoftReference<>(message, messagesCleanupQueue);
-            int pos = Collections.binarySearch(messages, messageRef, Comparator.comparing(Reference::get));
-            if (pos < 0) {
-                pos = -pos - 1;
+            messages.add(message, messagesCleanupQueue);
+            if (cleanFuture.get() != null && !budget.isEnabled()) {
+                evictFirst(messages.size() - capacity);
             }
-            messages.add(pos, messageRef);
+            updateSize();
         } finally {
-            api.getMessageCacheLock().unlock();
+            lock.unlock();
         }
+        budget.evictIfExceeded();
     }
 
     /**
@@ -146,6 +169,14 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void addCacheForeverMessage(Message message) {
         cacheForeverMessages.add(message);
+        // It is strongly referenced now and must not count towards the capacity
+        lock.lock();
+        try {
+            messages.remove(message.getId());
+            updateSize();
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -155,6 +186,9 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      */
     public void removeCacheForeverMessage(Message message) {
         cacheForeverMessages.remove(message);
+        if (!message.isCachedForever()) {
+            addMessage(message);
+        }
     }
 
     /**
@@ -163,37 +197,143 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
      * @param message The message to remove.
      */
     public void removeMessage(Message message) {
-        api.getMessageCacheLock().lock();
+        lock.lock();
         try {
-            messages.removeIf(messageRef -> Objects.equals(messageRef.get(), message));
+            messages.remove(message.getId());
+            updateSize();
         } finally {
-            api.getMessageCacheLock().unlock();
+            lock.unlock();
         }
     }
 
     /**
      * Cleans the cache.
+     *
+     * <p>As the messages are ordered by their id, the messages which exceed the storage time are evicted in a single
+     * batch from the head of the ring, followed by the oldest messages that exceed the capacity unless a global
+     * capacity is set.
      */
     public void clean() {
         Instant minAge = Instant.now().minus(storageTimeInSeconds, ChronoUnit.SECONDS);
-        api.getMessageCacheLock().lock();
+        lock.lock();
         try {
-            messages.removeIf(messageRef -> Optional.ofNullable(messageRef.get())
-                    .map(message -> !message.isCachedForever() && message.getCreationTimestamp().isBefore(minAge))
-                    .orElse(true));
-            long foreverCachedAmount = messages.stream()
-                    .map(Reference::get)
-                    .filter(Objects::nonNull)
-                    .filter(Message::isCachedForever)
-                    .count();
-            messages.removeAll(messages.stream()
-                    .filter(messageRef -> Optional.ofNullable(messageRef.get())
-                            .map(message -> !message.isCachedForever())
-                            .orElse(true))
-                    .limit(Math.max(0, messages.size() - capacity - foreverCachedAmount))
-                    .collect(Collectors.toList()));
+            removeCollectedMessages();
+            int expiredMessages = 0;
+            while (messages.size() > 0
+                    && DiscordEntity.getCreationTimestamp(messages.firstId()).isBefore(minAge)) {
+                messages.removeFirst();
+                expiredMessages++;
+            }
+            evictions.addAndGet(expiredMessages);
+            if (!budget.isEnabled()) {
+                evictFirst(messages.size() - capacity);
+            }
+            updateSize();
         } finally {
-            api.getMessageCacheLock().unlock();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Evicts the oldest messages of this cache.
+     *
+     * <p>Must not be called while holding the lock of another message cache.
+     *
+     * @param amount The maximum amount of messages to evict.
+     * @return The amount of evicted messages.
+     */
+    int evictOldest(int amount) {
+        lock.lock();
+        try {
+            removeCollectedMessages();
+            int evictedMessages = evictFirst(Math.min(amount, messages.size()));
+            updateSize();
+            return evictedMessages;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of messages in this cache, not including messages which are cached forever.
+     *
+     * @return The amount of messages.
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the {@link System#nanoTime()} of the last message that was added to this cache.
+     *
+     * @return The time of the last activity.
+     */
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Records that a received message was already in the cache.
+     */
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Records that a received message was not in the cache.
+     */
+    public void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Evicts the given amount of messages from the head of the ring.
+     *
+     * <p>Must only be called while holding the lock.
+     */
+    private int evictFirst(int amount) {
+        for (int i = 0; i < amount; i++) {
+            messages.removeFirst();
+        }
+        int evictedMessages = Math.max(amount, 0);
+        evictions.addAndGet(evictedMessages);
+        return evictedMessages;
+    }
+
+    /**
+     * Reports the size change of the ring to the budget.
+     *
+     * <p>Must only be called while holding the lock.
+     */
+    private void updateSize() {
+        int newSize = messages.size();
+        budget.sizeChanged(newSize - size);
+        size = newSize;
+    }
+
+    /**
+     * Removes the messages which were collected by the garbage collector from the ring.
+     *
+     * <p>Must only be called while holding the lock.
+     */
+    private void removeCollectedMessages() {
+        int removedMessages = 0;
+        for (Reference<? extends Message> messageRef = messagesCleanupQueue.poll();
+                messageRef != null;
+                messageRef = messagesCleanupQueue.poll()) {
+            long messageId = ((MessageRing.MessageReference) messageRef).getId();
+            // The message might have been evicted and added again in the meantime
+            if (messages.get(messageId) == messageRef) {
+                messages.remove(messageId);
+            }
+            removedMessages++;
+        }
+        if (removedMessages > 0) {
+            evictions.addAndGet(removedMessages);
+            logger.warn("Heap memory was too low to hold all configured messages in the cache. "
+                            + "Removed {} messages from the cache due to memory shortage. "
+                            + "Either increase your heap settings or decrease your message cache settings!",
+                    removedMessages);
         }
     }
 
@@ -244,10 +384,32 @@ public class MessageCacheImpl implements MessageCache, Cleanupable {
         }
     }
 
+    @Override
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
     @Override
     public void cleanup() {
         setAutomaticCleanupEnabled(false);
-        messagesCleanupFuture.cancel(false);
+        budget.unregister(this);
+        lock.lock();
+        try {
+            messages.clear();
+            updateSize();
+        } finally {
+            lock.unlock();
+        }
     }
 
 }
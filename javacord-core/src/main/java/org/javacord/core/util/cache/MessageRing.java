@@ -0,0 +1,249 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.message.Message;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+
+/**
+ * A ring buffer of softly referenced messages that is ordered by the message id.
+ *
+ * <p>New messages almost always have the highest id and are appended at the tail, older messages (e.g. from the
+ * message history) are usually prepended at the head. Both is {@code O(1)}, just like the eviction of the oldest
+ * message. Only messages that have to be inserted in the middle need {@code O(log n)} to find their slot plus a shift
+ * of the following slots. Removed messages leave a hole which is skipped and compacted lazily.
+ *
+ * <p>An id index allows to check in {@code O(1)} if a message is already in the ring. The ring is not thread-safe
+ * and must be guarded externally.
+ */
+class MessageRing {
+
+    private static final int MIN_LENGTH = 16;
+
+    /**
+     * The ids of the slots. The ids of holes are kept to keep the ids sorted.
+     */
+    private long[] ids = new long[MIN_LENGTH];
+
+    /**
+     * The references of the slots, {@code null} for holes.
+     */
+    private MessageReference[] references = new MessageReference[MIN_LENGTH];
+
+    /**
+     * The references by the message id.
+     */
+    private final LongHashTable<MessageReference> index = new LongHashTable<>();
+
+    /**
+     * The physical position of the first slot.
+     */
+    private int head = 0;
+
+    /**
+     * The amount of slots in use, including holes.
+     */
+    private int slots = 0;
+
+    /**
+     * Gets the reference of the message with the given id.
+     *
+     * @param id The id of the message.
+     * @return The reference or {@code null} if the message is not in the ring.
+     */
+    MessageReference get(long id) {
+        return index.get(id);
+    }
+
+    /**
+     * Adds a message to the ring.
+     *
+     * <p>The message must not already be in the ring.
+     *
+     * @param message The message to add.
+     * @param queue The queue the reference is registered with.
+     */
+    void add(Message message, ReferenceQueue<Message> queue) {
+        long id = message.getId();
+        MessageReference reference = new MessageReference(message, queue);
+        index.put(id, reference);
+        if (slots == ids.length) {
+            rebuild();
+        }
+        int mask = ids.length - 1;
+        if (slots == 0 || id > ids[(head + slots - 1) & mask]) {
+            setSlot((head + slots) & mask, id, reference);
+        } else if (id < ids[head]) {
+            head = (head - 1) & mask;
+            setSlot(head, id, reference);
+        } else {
+            int position = insertionPoint(id);
+            if (ids[(head + position) & mask] == id) {
+                // The message was removed before and its hole is still there
+                references[(head + position) & mask] = reference;
+                return;
+            }
+            for (int i = slots; i > position; i--) {
+                int from = (head + i - 1) & mask;
+                setSlot((head + i) & mask, ids[from], references[from]);
+            }
+            setSlot((head + position) & mask, id, reference);
+        }
+        slots++;
+    }
+
+    /**
+     * Removes the message with the given id from the ring.
+     *
+     * @param id The id of the message.
+     * @return The removed reference or {@code null} if the message was not in the ring.
+     */
+    MessageReference remove(long id) {
+        MessageReference reference = index.remove(id);
+        if (reference == null) {
+            return null;
+        }
+        references[(head + insertionPoint(id)) & (ids.length - 1)] = null;
+        trimAndCompact();
+        return reference;
+    }
+
+    /**
+     * Removes the reference with the lowest id from the ring.
+     *
+     * @return The removed reference or {@code null} if the ring is empty.
+     */
+    MessageReference removeFirst() {
+        if (slots == 0) {
+            return null;
+        }
+        MessageReference reference = references[head];
+        index.remove(reference.getId());
+        references[head] = null;
+        trimAndCompact();
+        return reference;
+    }
+
+    /**
+     * Gets the lowest id in the ring.
+     *
+     * @return The lowest id. Undefined if the ring is empty.
+     */
+    long firstId() {
+        return ids[head];
+    }
+
+    /**
+     * Gets the amount of messages in the ring.
+     *
+     * @return The amount of messages.
+     */
+    int size() {
+        return index.size();
+    }
+
+    /**
+     * Removes all messages from the ring.
+     */
+    void clear() {
+        ids = new long[MIN_LENGTH];
+        references = new MessageReference[MIN_LENGTH];
+        index.clear();
+        head = 0;
+        slots = 0;
+    }
+
+    private void setSlot(int slot, long id, MessageReference reference) {
+        ids[slot] = id;
+        references[slot] = reference;
+    }
+
+    /**
+     * Gets the logical position of the given id or the position where it has to be inserted.
+     */
+    private int insertionPoint(long id) {
+        int mask = ids.length - 1;
+        int low = 0;
+        int high = slots - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long middleId = ids[(head + middle) & mask];
+            if (middleId < id) {
+                low = middle + 1;
+            } else if (middleId > id) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Removes the holes at the head and the tail, so that the first and the last slot are always in use, and compacts
+     * the ring if it mostly consists of holes or free slots.
+     */
+    private void trimAndCompact() {
+        int mask = ids.length - 1;
+        while (slots > 0 && references[head] == null) {
+            head = (head + 1) & mask;
+            slots--;
+        }
+        while (slots > 0 && references[(head + slots - 1) & mask] == null) {
+            slots--;
+        }
+        if (slots == 0) {
+            head = 0;
+        }
+        int size = index.size();
+        if ((slots > MIN_LENGTH && size < slots / 2) || (ids.length > MIN_LENGTH && size < ids.length / 8)) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Copies all messages without holes into new arrays with room for twice the amount of messages.
+     */
+    private void rebuild() {
+        int size = index.size();
+        int newLength = Math.max(MIN_LENGTH, Integer.highestOneBit(Math.max(1, size * 2 - 1)) << 1);
+        long[] newIds = new long[newLength];
+        MessageReference[] newReferences = new MessageReference[newLength];
+        int mask = ids.length - 1;
+        int count = 0;
+        for (int i = 0; i < slots; i++) {
+            int slot = (head + i) & mask;
+            if (references[slot] != null) {
+                newIds[count] = ids[slot];
+                newReferences[count] = references[slot];
+                count++;
+            }
+        }
+        ids = newIds;
+        references = newReferences;
+        head = 0;
+        slots = count;
+    }
+
+    /**
+     * A soft reference to a message which remembers the id of the message.
+     */
+    static class MessageReference extends SoftReference<Message> {
+
+        private final long id;
+
+        private MessageReference(Message message, ReferenceQueue<Message> queue) {
+            super(message, queue);
+            id = message.getId();
+        }
+
+        /**
+         * Gets the id of the referenced message.
+         *
+         * @return The id of the message.
+         */
+        long getId() {
+            return id;
+        }
+    }
+}
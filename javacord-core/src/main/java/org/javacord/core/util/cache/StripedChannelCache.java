@@ -0,0 +1,162 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.api.entity.channel.ChannelType;
+import org.javacord.api.entity.channel.PrivateChannel;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.user.User;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A mutable, thread-safe cache for all channel entities that is partitioned by the server id.
+ *
+ * <p>All updates for a channel are serialized by the lock of the channel id's stripe which is held while the secondary
+ * indexes are updated. The secondary index locks are always acquired after the id lock.
+ */
+class StripedChannelCache implements ChannelCache {
+
+    private final StripedLongMap<Channel> channelsById = new StripedLongMap<>();
+    private final StripedLongMap<LongHashTable<ServerChannel>> channelsByServerId = new StripedLongMap<>();
+    private final StripedLongMap<PrivateChannel> privateChannelsByUserId = new StripedLongMap<>();
+    private final Map<ChannelType, Set<Channel>> channelsByType = new EnumMap<>(ChannelType.class);
+
+    /**
+     * Creates a new striped channel cache.
+     */
+    StripedChannelCache() {
+        for (ChannelType type : ChannelType.values()) {
+            channelsByType.put(type, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    /**
+     * Adds a channel to the cache or replaces the channel with the same id.
+     *
+     * @param channel The channel to add.
+     * @return The replaced channel or {@code null}.
+     */
+    Channel addChannel(Channel channel) {
+        return channelsById.getAndUpdate(channel.getId(), previous -> {
+            if (previous != null) {
+                removeFromIndexes(previous);
+            }
+            addToIndexes(channel);
+            return channel;
+        });
+    }
+
+    /**
+     * Removes a channel from the cache.
+     *
+     * @param channelId The id of the channel to remove.
+     * @return The removed channel or {@code null}.
+     */
+    Channel removeChannel(long channelId) {
+        return channelsById.getAndUpdate(channelId, previous -> {
+            if (previous != null) {
+                removeFromIndexes(previous);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Removes all channels from the cache.
+     */
+    void clear() {
+        channelsById.clear();
+        channelsByServerId.clear();
+        privateChannelsByUserId.clear();
+        channelsByType.values().forEach(Set::clear);
+    }
+
+    private void addToIndexes(Channel channel) {
+        channelsByType.get(channel.getType()).add(channel);
+        channel.asServerChannel().ifPresent(serverChannel ->
+                channelsByServerId.getAndUpdate(serverChannel.getServer().getId(), channels -> {
+                    LongHashTable<ServerChannel> table = channels == null ? new LongHashTable<>() : channels;
+                    table.put(serverChannel.getId(), serverChannel);
+                    return table;
+                }));
+        channel.asPrivateChannel()
+                .flatMap(PrivateChannel::getRecipient)
+                .map(User::getId)
+                .ifPresent(userId -> privateChannelsByUserId.put(userId, (PrivateChannel) channel));
+    }
+
+    private void removeFromIndexes(Channel channel) {
+        channelsByType.get(channel.getType()).remove(channel);
+        channel.asServerChannel().ifPresent(serverChannel ->
+                channelsByServerId.getAndUpdate(serverChannel.getServer().getId(), channels -> {
+                    if (channels == null) {
+                        return null;
+                    }
+                    channels.remove(serverChannel.getId());
+                    return channels.isEmpty() ? null : channels;
+                }));
+        channel.asPrivateChannel()
+                .flatMap(PrivateChannel::getRecipient)
+                .map(User::getId)
+                .ifPresent(userId -> privateChannelsByUserId.getAndUpdate(userId,
+                        current -> current == channel ? null : current));
+    }
+
+    @Override
+    public Set<Channel> getChannels() {
+        return channelsById.values();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsWithTypes(ChannelType... types) {
+        if (types.length == 1) {
+            return (Set<T>) Collections.unmodifiableSet(channelsByType.get(types[0]));
+        }
+        Set<T> channels = new HashSet<>();
+        for (ChannelType type : types) {
+            for (Channel channel : channelsByType.get(type)) {
+                channels.add((T) channel);
+            }
+        }
+        return Collections.unmodifiableSet(channels);
+    }
+
+    @Override
+    public Set<ServerChannel> getChannelsOfServer(long serverId) {
+        return channelsByServerId.tableValues(serverId);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends Channel> Set<T> getChannelsOfServerAndType(long serverId, ChannelType type) {
+        return channelsByServerId.read(serverId, channels -> {
+            if (channels == null) {
+                return Collections.emptySet();
+            }
+            Set<T> result = new HashSet<>();
+            channels.forEach(channel -> {
+                if (channel.getType() == type) {
+                    result.add((T) channel);
+                }
+            });
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    @Override
+    public Optional<Channel> getChannelById(long id) {
+        return Optional.ofNullable(channelsById.get(id));
+    }
+
+    @Override
+    public Optional<PrivateChannel> getPrivateChannelByUserId(long userId) {
+        return Optional.ofNullable(privateChannelsByUserId.get(userId));
+    }
+}
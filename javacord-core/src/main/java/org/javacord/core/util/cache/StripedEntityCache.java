@@ -0,0 +1,74 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.channel.Channel;
+import org.javacord.core.entity.user.Member;
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable entity cache that is backed by striped maps with primitive {@code long} keys.
+ *
+ * <p>In contrast to the {@link ImmutableEntityCache}, updates only lock the stripes of the affected ids and modify
+ * them in place instead of copying persistent collections, which makes it suitable for bots with a high rate of member
+ * and presence updates. Queries return cheap read-only views or small copies instead of consistent snapshots.
+ */
+public class StripedEntityCache implements EntityCache {
+
+    private final StripedChannelCache channelCache = new StripedChannelCache();
+    private final StripedMemberCache memberCache = new StripedMemberCache();
+    private final StripedUserPresenceCache userPresenceCache = new StripedUserPresenceCache();
+
+    @Override
+    public ChannelCache getChannelCache() {
+        return channelCache;
+    }
+
+    @Override
+    public MemberCache getMemberCache() {
+        return memberCache;
+    }
+
+    @Override
+    public UserPresenceCache getUserPresenceCache() {
+        return userPresenceCache;
+    }
+
+    @Override
+    public Optional<Channel> addChannel(Channel channel) {
+        return Optional.ofNullable(channelCache.addChannel(channel));
+    }
+
+    @Override
+    public Optional<Channel> removeChannel(long channelId) {
+        return Optional.ofNullable(channelCache.removeChannel(channelId));
+    }
+
+    @Override
+    public void addOrReplaceMember(Member member) {
+        memberCache.addOrReplaceMember(member);
+    }
+
+    @Override
+    public void updateMembersById(long userId, UnaryOperator<Member> mapper) {
+        memberCache.updateMembersById(userId, mapper);
+    }
+
+    @Override
+    public Optional<Member> removeMember(long memberId, long serverId) {
+        return Optional.ofNullable(memberCache.removeMember(memberId, serverId));
+    }
+
+    @Override
+    public void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        userPresenceCache.updateUserPresence(userId, mapper);
+    }
+
+    @Override
+    public void clear() {
+        channelCache.clear();
+        memberCache.clear();
+        userPresenceCache.clear();
+    }
+}
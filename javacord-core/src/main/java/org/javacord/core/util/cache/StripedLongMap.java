@@ -0,0 +1,291 @@
+package org.javacord.core.util.cache;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A concurrent map with primitive {@code long} keys.
+ *
+ * <p>The map is split into a fixed amount of stripes. Every stripe is a {@link LongHashTable} that is guarded by its
+ * own monitor, so updates for keys in different stripes never contend and no update has to copy more than the
+ * affected stripe.
+ *
+ * <p>Functions that are passed to this map are executed while holding the monitor of the key's stripe. They must be
+ * short and must not access this map again. They may however access other striped maps, as long as all callers
+ * acquire them in the same order.
+ *
+ * @param <V> The type of the values. {@code null} values are not allowed.
+ */
+public class StripedLongMap<V> {
+
+    /**
+     * The default amount of stripes.
+     */
+    public static final int DEFAULT_STRIPES = 64;
+
+    private final LongHashTable<V>[] stripes;
+    private final int stripeShift;
+
+    /**
+     * Creates a new striped long map with the default amount of stripes.
+     */
+    public StripedLongMap() {
+        this(DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a new striped long map.
+     *
+     * @param stripes The amount of stripes. Is rounded up to the next power of two.
+     */
+    @SuppressWarnings("unchecked")
+    public StripedLongMap(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be positive");
+        }
+        int stripeCount = Integer.highestOneBit(stripes - 1) << 1;
+        if (stripes == 1) {
+            stripeCount = 1;
+        }
+        this.stripes = new LongHashTable[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new LongHashTable<>();
+        }
+        stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    private LongHashTable<V> stripe(long key) {
+        // use the upper bits for the stripe, the table itself uses the lower bits for the slot
+        return stripeShift == 64 ? stripes[0] : stripes[(int) (LongHashTable.hash(key) >>> stripeShift)];
+    }
+
+    /**
+     * Gets the value with the given key.
+     *
+     * @param key The key.
+     * @return The value or {@code null} if there is no value with the given key.
+     */
+    public V get(long key) {
+        LongHashTable<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.get(key);
+        }
+    }
+
+    /**
+     * Applies the given function to the value with the given key while holding the lock of the key's stripe.
+     *
+     * <p>This allows to safely read mutable values which are only ever modified through
+     * {@link #getAndUpdate(long, UnaryOperator)}.
+     *
+     * @param key The key.
+     * @param function The function which receives the current value or {@code null}.
+     * @param <R> The type of the result.
+     * @return The result of the function.
+     */
+    public <R> R read(long key, Function<? super V, ? extends R> function) {
+        LongHashTable<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return function.apply(stripe.get(key));
+        }
+    }
+
+    /**
+     * Puts a value into the map.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The previous value with the given key or {@code null}.
+     */
+    public V put(long key, V value) {
+        LongHashTable<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.put(key, value);
+        }
+    }
+
+    /**
+     * Removes the value with the given key.
+     *
+     * @param key The key.
+     * @return The removed value or {@code null}.
+     */
+    public V remove(long key) {
+        LongHashTable<V> stripe = stripe(key);
+        synchronized (stripe) {
+            return stripe.remove(key);
+        }
+    }
+
+    /**
+     * Atomically updates the value with the given key.
+     *
+     * @param key The key.
+     * @param updateFunction A function which receives the current value or {@code null} and returns the new value.
+     *                       Returning {@code null} removes the entry. The function may also mutate the current value
+     *                       in place and return it.
+     * @return The previous value or {@code null}.
+     */
+    public V getAndUpdate(long key, UnaryOperator<V> updateFunction) {
+        LongHashTable<V> stripe = stripe(key);
+        synchronized (stripe) {
+            V previous = stripe.get(key);
+            V next = updateFunction.apply(previous);
+            if (next == null) {
+                if (previous != null) {
+                    stripe.remove(key);
+                }
+            } else if (next != previous) {
+                stripe.put(key, next);
+            }
+            return previous;
+        }
+    }
+
+    /**
+     * Gets the amount of entries in the map.
+     *
+     * <p>The result is not an atomic snapshot if the map is modified concurrently.
+     *
+     * @return The amount of entries.
+     */
+    public int size() {
+        int size = 0;
+        for (LongHashTable<V> stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Removes all entries from the map.
+     */
+    public void clear() {
+        for (LongHashTable<V> stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets a read-only view of all values in this map.
+     *
+     * <p>Every value must only be mapped to a single key. The view is weakly consistent: its iterator copies one stripe
+     * at a time, so it never throws a {@code ConcurrentModificationException} and never blocks updates for more than
+     * one stripe.
+     *
+     * @return A read-only view of all values.
+     */
+    public Set<V> values() {
+        return values(Function.identity());
+    }
+
+    /**
+     * Gets a read-only view of all values in this map, mapped by the given function.
+     *
+     * <p>The mapping function is executed while holding the stripe's lock. It must return a distinct element for
+     * every value.
+     *
+     * @param mapper The function to map the values.
+     * @param <E> The type of the elements of the view.
+     * @return A read-only view of all mapped values.
+     * @see #values()
+     */
+    public <E> Set<E> values(Function<? super V, ? extends E> mapper) {
+        return new AbstractSet<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return new StripeIterator<>(mapper);
+            }
+
+            @Override
+            public int size() {
+                return StripedLongMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * Gets a read-only view of the values of the hash table with the given key.
+     *
+     * <p>This map must have {@link LongHashTable} values, that are only ever modified by
+     * {@link #getAndUpdate(long, UnaryOperator)}. The iterator copies the values of the table on creation.
+     *
+     * @param key The key of the table.
+     * @param <E> The type of the values of the table.
+     * @return A read-only view of the table's values.
+     */
+    @SuppressWarnings("unchecked")
+    <E> Set<E> tableValues(long key) {
+        StripedLongMap<LongHashTable<E>> tables = (StripedLongMap<LongHashTable<E>>) this;
+        return new AbstractSet<E>() {
+            @Override
+            public Iterator<E> iterator() {
+                return Collections.unmodifiableList(tables.read(key, table -> {
+                    if (table == null) {
+                        return Collections.<E>emptyList();
+                    }
+                    List<E> copy = new ArrayList<>(table.size());
+                    table.copyValuesTo(copy);
+                    return copy;
+                })).iterator();
+            }
+
+            @Override
+            public int size() {
+                return tables.read(key, table -> table == null ? 0 : table.size());
+            }
+        };
+    }
+
+    /**
+     * An iterator that copies one stripe at a time.
+     *
+     * @param <E> The type of the elements.
+     */
+    private class StripeIterator<E> implements Iterator<E> {
+
+        private final Function<? super V, ? extends E> mapper;
+        private final List<E> buffer = new ArrayList<>();
+        private int nextStripe = 0;
+        private int position = 0;
+
+        private StripeIterator(Function<? super V, ? extends E> mapper) {
+            this.mapper = mapper;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position >= buffer.size()) {
+                if (nextStripe >= stripes.length) {
+                    return false;
+                }
+                buffer.clear();
+                position = 0;
+                LongHashTable<V> stripe = stripes[nextStripe++];
+                synchronized (stripe) {
+                    stripe.forEach(value -> buffer.add(mapper.apply(value)));
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.get(position++);
+        }
+    }
+}
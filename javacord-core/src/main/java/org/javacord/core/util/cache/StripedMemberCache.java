@@ -0,0 +1,185 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.core.entity.user.Member;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable, thread-safe cache for all member entities.
+ *
+ * <p>Members are stored twice: Per server (server id -> user id -> member) and per user (user id -> server id ->
+ * member). Updates always acquire the server's stripe lock first and the user's stripe lock second, which serializes
+ * all updates for a server without a global lock.
+ */
+class StripedMemberCache implements MemberCache {
+
+    private final StripedLongMap<LongHashTable<Member>> membersByServerId = new StripedLongMap<>();
+    private final StripedLongMap<LongHashTable<Member>> membersByUserId = new StripedLongMap<>();
+    private final UserCache userCache = new StripedUserCache();
+
+    /**
+     * Adds a member to the cache or replaces the existing member with the same id in the same server.
+     *
+     * @param member The member to add.
+     */
+    void addOrReplaceMember(Member member) {
+        long userId = member.getId();
+        long serverId = member.getServer().getId();
+        membersByServerId.getAndUpdate(serverId, members -> {
+            LongHashTable<Member> table = members == null ? new LongHashTable<>() : members;
+            table.put(userId, member);
+            membersByUserId.getAndUpdate(userId, servers -> {
+                LongHashTable<Member> userTable = servers == null ? new LongHashTable<>(1) : servers;
+                userTable.put(serverId, member);
+                return userTable;
+            });
+            return table;
+        });
+    }
+
+    /**
+     * Updates the member with the given id in the given server if it is still the expected member.
+     *
+     * @param expected The expected current member.
+     * @param mapper A function that takes the old member and returns the new member.
+     */
+    private void replaceMember(Member expected, UnaryOperator<Member> mapper) {
+        long userId = expected.getId();
+        long serverId = expected.getServer().getId();
+        membersByServerId.getAndUpdate(serverId, members -> {
+            if (members == null || members.get(userId) != expected) {
+                return members;
+            }
+            Member member = mapper.apply(expected);
+            members.put(userId, member);
+            membersByUserId.getAndUpdate(userId, servers -> {
+                LongHashTable<Member> userTable = servers == null ? new LongHashTable<>(1) : servers;
+                userTable.put(serverId, member);
+                return userTable;
+            });
+            return members;
+        });
+    }
+
+    /**
+     * Updates all members with the given id.
+     *
+     * @param userId The id of the members.
+     * @param mapper A function that takes the old member and returns the new member.
+     */
+    void updateMembersById(long userId, UnaryOperator<Member> mapper) {
+        // The user lock must not be held while acquiring a server lock, so work on a copy
+        for (Member member : new ArrayList<>(getMembersById(userId))) {
+            replaceMember(member, mapper);
+        }
+    }
+
+    /**
+     * Removes a member from the cache.
+     *
+     * @param memberId The id of the member to remove.
+     * @param serverId The id of the member's server.
+     * @return The removed member or {@code null}.
+     */
+    Member removeMember(long memberId, long serverId) {
+        Member[] removed = new Member[1];
+        membersByServerId.getAndUpdate(serverId, members -> {
+            if (members == null) {
+                return null;
+            }
+            removed[0] = members.remove(memberId);
+            if (removed[0] != null) {
+                membersByUserId.getAndUpdate(memberId, servers -> {
+                    if (servers == null) {
+                        return null;
+                    }
+                    servers.remove(serverId);
+                    return servers.isEmpty() ? null : servers;
+                });
+            }
+            return members.isEmpty() ? null : members;
+        });
+        return removed[0];
+    }
+
+    /**
+     * Removes all members from the cache.
+     */
+    void clear() {
+        membersByServerId.clear();
+        membersByUserId.clear();
+    }
+
+    @Override
+    public Set<Server> getServers(long userId) {
+        return membersByUserId.read(userId, servers -> {
+            if (servers == null) {
+                return Collections.emptySet();
+            }
+            Set<Server> result = new HashSet<>();
+            servers.forEach(member -> result.add(member.getServer()));
+            return Collections.unmodifiableSet(result);
+        });
+    }
+
+    @Override
+    public UserCache getUserCache() {
+        return userCache;
+    }
+
+    @Override
+    public Set<Member> getMembers() {
+        Set<Member> members = new HashSet<>();
+        for (List<Member> serverMembers : membersByServerId.values(StripedMemberCache::toList)) {
+            members.addAll(serverMembers);
+        }
+        return Collections.unmodifiableSet(members);
+    }
+
+    @Override
+    public Set<Member> getMembersById(long id) {
+        return membersByUserId.tableValues(id);
+    }
+
+    @Override
+    public Set<Member> getMembersByServer(long serverId) {
+        return membersByServerId.tableValues(serverId);
+    }
+
+    @Override
+    public Optional<Member> getMemberByIdAndServer(long id, long serverId) {
+        return Optional.ofNullable(
+                membersByServerId.read(serverId, members -> members == null ? null : members.get(id)));
+    }
+
+    private static List<Member> toList(LongHashTable<Member> table) {
+        List<Member> list = new ArrayList<>(table.size());
+        table.copyValuesTo(list);
+        return list;
+    }
+
+    /**
+     * A read-only user cache view of the member cache.
+     */
+    private class StripedUserCache implements UserCache {
+
+        @Override
+        public Set<User> getUsers() {
+            return membersByUserId.values(servers -> servers.any().getUser());
+        }
+
+        @Override
+        public Optional<User> getUserById(long id) {
+            return Optional.ofNullable(membersByUserId.read(id, servers -> servers == null ? null : servers.any()))
+                    .map(Member::getUser);
+        }
+    }
+}
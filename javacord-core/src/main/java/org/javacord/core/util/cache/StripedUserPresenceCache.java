@@ -0,0 +1,39 @@
+package org.javacord.core.util.cache;
+
+import org.javacord.core.entity.user.UserPresence;
+
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * A mutable, thread-safe cache for all user presences.
+ */
+class StripedUserPresenceCache implements UserPresenceCache {
+
+    private final StripedLongMap<UserPresence> presencesByUserId = new StripedLongMap<>();
+
+    /**
+     * Updates a user presence in the cache.
+     *
+     * @param userId The id of the user.
+     * @param mapper A function that takes the old user presence (or an empty presence) and returns the new user
+     *               presence.
+     */
+    void updateUserPresence(long userId, UnaryOperator<UserPresence> mapper) {
+        presencesByUserId.getAndUpdate(userId, presence -> mapper.apply(presence == null
+                ? new UserPresence(userId)
+                : presence));
+    }
+
+    /**
+     * Removes all user presences from the cache.
+     */
+    void clear() {
+        presencesByUserId.clear();
+    }
+
+    @Override
+    public Optional<UserPresence> getPresenceByUserId(long userId) {
+        return Optional.ofNullable(presencesByUserId.get(userId));
+    }
+}
@@ -42,6 +42,15 @@ public class BlockingReference<V> {
         return value != null;
     }
 
+    /**
+     * Gets the current value without blocking the thread.
+     *
+     * @return The current value or null if no value is present.
+     */
+    public V getNow() {
+        return value;
+    }
+
     /**
      * Gets the current value or blocks the thread until one is present.
      *
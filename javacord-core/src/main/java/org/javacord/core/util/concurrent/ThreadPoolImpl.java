@@ -1,6 +1,8 @@
 package org.javacord.core.util.concurrent;
 
+import org.apache.logging.log4j.Logger;
 import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.core.util.logging.LoggerUtil;
 
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -19,20 +21,50 @@ import java.util.function.Supplier;
  */
 public class ThreadPoolImpl implements ThreadPool {
 
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(ThreadPoolImpl.class);
+
     private static final int CORE_POOL_SIZE = 1;
     private static final int MAXIMUM_POOL_SIZE = Integer.MAX_VALUE;
     private static final int KEEP_ALIVE_TIME = 60;
     private static final TimeUnit TIME_UNIT = TimeUnit.SECONDS;
 
-    private final ExecutorService executorService = new ThreadPoolExecutor(
-            CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
-            new ThreadFactory("Javacord - Central ExecutorService - %d", false));
+    private final ExecutorService executorService;
+    private final boolean virtualThreads;
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(
             CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Scheduler - %d", false));
     private final ScheduledExecutorService daemonScheduler = Executors.newScheduledThreadPool(
             CORE_POOL_SIZE, new ThreadFactory("Javacord - Central Daemon Scheduler - %d", true));
     private final ConcurrentHashMap<String, ExecutorService> executorServiceSingleThreads = new ConcurrentHashMap<>();
 
+    /**
+     * Creates a new thread pool which uses platform threads.
+     */
+    public ThreadPoolImpl() {
+        this(false);
+    }
+
+    /**
+     * Creates a new thread pool.
+     *
+     * @param virtualThreads Whether the executor service should start a new virtual thread for every task. Platform
+     *                       threads are used if the Java runtime does not support virtual threads.
+     */
+    public ThreadPoolImpl(boolean virtualThreads) {
+        if (virtualThreads && !VirtualThreads.isSupported()) {
+            logger.warn("Virtual threads require Java 21 or newer. Using platform threads instead!");
+            virtualThreads = false;
+        }
+        this.virtualThreads = virtualThreads;
+        executorService = virtualThreads
+                ? VirtualThreads.newThreadPerTaskExecutor("Javacord - Central Virtual Thread - ")
+                : new ThreadPoolExecutor(
+                        CORE_POOL_SIZE, MAXIMUM_POOL_SIZE, KEEP_ALIVE_TIME, TIME_UNIT, new SynchronousQueue<>(),
+                        new ThreadFactory("Javacord - Central ExecutorService - %d", false));
+    }
+
     /**
      * Shutdowns the thread pool.
      * This method is called automatically after disconnecting.
@@ -49,6 +81,11 @@ public class ThreadPoolImpl implements ThreadPool {
         return executorService;
     }
 
+    @Override
+    public boolean isUsingVirtualThreads() {
+        return virtualThreads;
+    }
+
     @Override
     public ScheduledExecutorService getScheduler() {
         return scheduler;
@@ -0,0 +1,37 @@
+package org.javacord.core.util.concurrent;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Creates executor services which start a new virtual thread for every task.
+ *
+ * <p>Virtual threads are only available on Java 21 and newer. This implementation is used on older Java versions,
+ * the multi-release jar contains the implementation for Java 21 and newer.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if virtual threads are supported by the Java runtime.
+     *
+     * @return Whether virtual threads are supported.
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Creates an executor service which starts a new virtual thread for every task.
+     *
+     * @param namePrefix The prefix of the thread names, followed by a counter.
+     * @return The executor service.
+     * @throws UnsupportedOperationException If virtual threads are not supported.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        throw new UnsupportedOperationException("Virtual threads require Java 21 or newer");
+    }
+
+}
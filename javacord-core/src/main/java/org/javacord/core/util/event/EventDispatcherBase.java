@@ -3,10 +3,12 @@ package org.javacord.core.util.event;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.entity.server.Server;
+import org.javacord.api.util.event.EventDispatchMode;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -17,6 +19,7 @@ import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
@@ -54,6 +57,18 @@ public abstract class EventDispatcherBase {
      */
     private static final long EXECUTION_TIME_CHECKING_INTERVAL = TimeUnit.MILLISECONDS.toNanos(200);
 
+    /**
+     * The queue selector for events which are not queued behind other events, like the events of interactions in the
+     * interaction fast lane. The listeners of such an event are called one after another, but in parallel to all
+     * other events.
+     */
+    public static final DispatchQueueSelector UNQUEUED = new DispatchQueueSelector() {
+        @Override
+        public String toString() {
+            return "unqueued";
+        }
+    };
+
     /**
      * Whether execution time checking should be enabled or not.
      */
@@ -89,6 +104,12 @@ public abstract class EventDispatcherBase {
      */
     private final Map<AtomicReference<Future<?>>, Long> alreadyCanceledListeners = new ConcurrentHashMap<>();
 
+    /**
+     * The queues which are used instead of the queue manager thread in the {@link EventDispatchMode#LOCK_FREE} mode,
+     * or {@code null} in the {@link EventDispatchMode#QUEUE_MANAGER} mode.
+     */
+    private final LockFreeDispatchQueues lockFreeDispatchQueues;
+
     /**
      * Creates a new event dispatcher.
      *
@@ -96,14 +117,29 @@ public abstract class EventDispatcherBase {
      */
     protected EventDispatcherBase(DiscordApiImpl api) {
         this.api = api;
+        lockFreeDispatchQueues = api.getEventDispatchMode() == EventDispatchMode.LOCK_FREE
+                ? new LockFreeDispatchQueues(api.getThreadPool().getExecutorService(), this::runListenerTask)
+                : null;
 
         api.getThreadPool().getScheduler().scheduleWithFixedDelay(() -> {
             try {
+                Set<Long> currentServerIds = Stream.concat(
+                        api.getServers().stream().map(Server::getId),
+                        api.getUnavailableServers().stream()
+                ).collect(Collectors.toSet());
+                if (lockFreeDispatchQueues != null) {
+                    lockFreeDispatchQueues.removeIdleQueues(queueSelector -> {
+                        if (queueSelector instanceof ServerImpl) {
+                            // clean up queues for servers the bot left
+                            return !currentServerIds.contains(((Server) queueSelector).getId());
+                        } else if (!(queueSelector instanceof DiscordApiImpl)) {
+                            // make sure there are not new queue selector types introduced that are not cleaned up
+                            throw new AssertionError("Unexpected queue selector type");
+                        }
+                        return false;
+                    });
+                }
                 synchronized (queuedListenerTasks) {
-                    Set<Long> currentServerIds = Stream.concat(
-                            api.getServers().stream().map(Server::getId),
-                            api.getUnavailableServers().stream()
-                    ).collect(Collectors.toSet());
 
                     Iterator<DispatchQueueSelector> iterator = queuedListenerTasks.keySet().iterator();
                     while (iterator.hasNext()) {
@@ -214,6 +250,18 @@ public abstract class EventDispatcherBase {
         executionTimeCheckingEnabled = enable;
     }
 
+    /**
+     * Checks if there are any registered listeners of the given class, no matter which object they are attached to.
+     *
+     * <p>Handlers can use this to skip creating events which nobody listens to.
+     *
+     * @param listenerClass The listener class.
+     * @return Whether there are listeners of the given class and events can be dispatched.
+     */
+    protected boolean hasListeners(Class<?> listenerClass) {
+        return api.canDispatchEvents() && api.hasListeners(listenerClass);
+    }
+
     /**
      * Dispatches an event to the given listeners using the provided consumer.
      * Calling this method usually looks like this:
@@ -227,7 +275,8 @@ public abstract class EventDispatcherBase {
      *                      are dispatched and finally other events are dispatched like normal again. Events with the
      *                      same queue selector are dispatched sequentially in the correct order of enqueueal, but on
      *                      arbitrary threads from a thread pool. Events with different queue selectors are dispatched
-     *                      in parallel.
+     *                      in parallel. Events with the {@link #UNQUEUED} queue selector are dispatched right away
+     *                      and in parallel to all other events.
      * @param listeners     A list with listeners which get consumed by the given consumer.
      * @param consumer      A consumer which consumes all listeners from the given list and is meant to call their
      *                      {@code onXyz(Event)} method.
@@ -242,6 +291,20 @@ public abstract class EventDispatcherBase {
             return;
         }
 
+        if (queueSelector == UNQUEUED) {
+            AtomicReference<Future<?>> activeListener = new AtomicReference<>();
+            activeListener.set(api.getThreadPool().getExecutorService().submit(() -> listeners.forEach(
+                    listener -> runListenerTask(activeListener, queueSelector, () -> consumer.accept(listener)))));
+            return;
+        }
+
+        if (lockFreeDispatchQueues != null) {
+            List<Runnable> tasks = new ArrayList<>(listeners.size());
+            listeners.forEach(listener -> tasks.add(() -> consumer.accept(listener)));
+            lockFreeDispatchQueues.dispatch(queueSelector, tasks);
+            return;
+        }
+
         api.getThreadPool().getSingleThreadExecutorService("Event Dispatch Queues Manager").submit(() -> {
             if (queueSelector != null) { // Object dependent listeners
                 // Don't allow adding of more events while there are unfinished object independent tasks
@@ -315,33 +378,16 @@ public abstract class EventDispatcherBase {
                     AtomicReference<Future<?>> activeListener = new AtomicReference<>();
                     activeListener.set(api.getThreadPool().getExecutorService().submit(() -> {
                         if (finalQueueSelector instanceof ServerImpl) {
-                            Object serverReadyNotifier = new Object();
-                            ((ServerImpl) finalQueueSelector)
-                                    .addServerReadyConsumer(s -> {
-                                        synchronized (serverReadyNotifier) {
-                                            serverReadyNotifier.notifyAll();
-                                        }
-                                    });
+                            // Wait without holding a monitor, so a virtual thread can unmount while it waits
+                            CountDownLatch serverReadyLatch = new CountDownLatch(1);
+                            ((ServerImpl) finalQueueSelector).addServerReadyConsumer(s -> serverReadyLatch.countDown());
                             while (!((ServerImpl) finalQueueSelector).isReady()) {
                                 try {
-                                    synchronized (serverReadyNotifier) {
-                                        serverReadyNotifier.wait(5000);
-                                    }
+                                    serverReadyLatch.await(5, TimeUnit.SECONDS);
                                 } catch (InterruptedException ignored) { }
                             }
                         }
-                        // Add the future to the list of active listeners
-                        activeListeners.put(activeListener, new Object[]{System.nanoTime(), finalQueueSelector});
-                        try {
-                            taskQueue.poll().run();
-                        } catch (Throwable t) {
-                            logger.error(
-                                    "Unhandled exception in {}!",
-                                    () -> getThreadType(finalQueueSelector),
-                                    () -> t);
-                        }
-                        activeListeners.remove(activeListener);
-                        alreadyCanceledListeners.remove(activeListener);
+                        runListenerTask(activeListener, finalQueueSelector, taskQueue.poll());
                         runningListeners.remove(finalQueueSelector);
                         // Inform the dispatchEvent method that it maybe can queue new listeners now
                         synchronized (queuedListenerTasks) {
@@ -354,6 +400,29 @@ public abstract class EventDispatcherBase {
         }
     }
 
+    /**
+     * Runs a listener task while tracking its execution time.
+     *
+     * @param activeListener The future of the task.
+     * @param queueSelector  The queue selector of the task.
+     * @param task           The task to run.
+     */
+    private void runListenerTask(AtomicReference<Future<?>> activeListener, DispatchQueueSelector queueSelector,
+                                 Runnable task) {
+        // Add the future to the list of active listeners
+        activeListeners.put(activeListener, new Object[]{System.nanoTime(), queueSelector});
+        try {
+            task.run();
+        } catch (Throwable t) {
+            logger.error(
+                    "Unhandled exception in {}!",
+                    () -> getThreadType(queueSelector),
+                    () -> t);
+        }
+        activeListeners.remove(activeListener);
+        alreadyCanceledListeners.remove(activeListener);
+    }
+
     /**
      * Gets the thread type used in log message for the given queue selector.
      *
@@ -366,6 +435,8 @@ public abstract class EventDispatcherBase {
             threadType = "a global listener thread";
         } else if (queueSelector == null) {
             threadType = "a connection listener thread";
+        } else if (queueSelector == UNQUEUED) {
+            threadType = "an unqueued listener thread";
         } else {
             threadType = String.format("a listener thread for %s", queueSelector);
         }
@@ -77,12 +77,14 @@ public class ListenerManagerImpl<T> implements ListenerManager<T> {
         this.listenerClass = listenerClass;
         this.assignedObjectClass = assignedObjectClass;
         this.objectId = objectId;
+        this.api.updateListenerCount(listenerClass, 1);
     }
 
     /**
      * Called when the listener is removed.
      */
     public void removed() {
+        api.updateListenerCount(listenerClass, -1);
         removeHandlers.forEach(Runnable::run);
     }
 
@@ -0,0 +1,332 @@
+package org.javacord.core.util.event;
+
+import org.javacord.api.util.event.EventDispatchMode;
+import org.javacord.core.entity.server.ServerImpl;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * The event dispatch queues of the {@link EventDispatchMode#LOCK_FREE} mode.
+ *
+ * <p>Every queue selector has its own multi-producer queue with an atomic scheduling state. The thread that dispatches
+ * an event adds its tasks to the queue and schedules the queue if it is idle. A scheduled queue runs one task at a
+ * time on the executor service and schedules itself again as long as it has tasks, so the tasks of a queue selector
+ * are run sequentially in the order they were added.
+ *
+ * <p>Tasks with a {@code null} queue selector are barriers: They are added to a {@link Barrier} which waits until all
+ * previously added tasks are finished, then runs the barrier tasks, and finally releases the tasks that were added in
+ * the meantime. As long as there is no barrier, adding a task neither locks nor waits.
+ */
+class LockFreeDispatchQueues {
+
+    /**
+     * The state of a queue which has no running or scheduled task.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     * The state of a queue which has a running or scheduled task.
+     */
+    private static final int SCHEDULED = 1;
+
+    /**
+     * The state of a queue which was removed from the queues and must no longer be used.
+     */
+    private static final int REMOVED = 2;
+
+    /**
+     * The executor service which runs the tasks.
+     */
+    private final ExecutorService executorService;
+
+    /**
+     * The runner which runs a single task on a thread of the executor service.
+     */
+    private final TaskRunner taskRunner;
+
+    /**
+     * The queues by their queue selector.
+     */
+    private final Map<DispatchQueueSelector, SelectorQueue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * The amount of tasks with a queue selector which were added to a queue and are not finished yet.
+     */
+    private final AtomicLong unfinishedTasks = new AtomicLong();
+
+    /**
+     * The current barrier, or {@code null} if there is none.
+     */
+    private final AtomicReference<Barrier> barrier = new AtomicReference<>();
+
+    /**
+     * Creates new dispatch queues.
+     *
+     * @param executorService The executor service which runs the tasks.
+     * @param taskRunner The runner which runs a single task on a thread of the executor service.
+     */
+    LockFreeDispatchQueues(ExecutorService executorService, TaskRunner taskRunner) {
+        this.executorService = executorService;
+        this.taskRunner = taskRunner;
+    }
+
+    /**
+     * Adds tasks to the queue of the given queue selector.
+     *
+     * @param queueSelector The queue selector, or {@code null} for barrier tasks.
+     * @param tasks The tasks to add.
+     */
+    void dispatch(DispatchQueueSelector queueSelector, List<Runnable> tasks) {
+        while (true) {
+            if (queueSelector != null) {
+                // The increment must happen before the barrier check, so a new barrier always waits for these tasks
+                unfinishedTasks.addAndGet(tasks.size());
+                if (barrier.get() == null) {
+                    tasks.forEach(task -> enqueue(queueSelector, task));
+                    return;
+                }
+                tasksFinished(tasks.size());
+            }
+            Barrier currentBarrier = barrier.get();
+            if (currentBarrier == null) {
+                if (queueSelector == null) {
+                    Barrier newBarrier = new Barrier();
+                    newBarrier.add(null, tasks);
+                    if (barrier.compareAndSet(null, newBarrier)) {
+                        startBarrierIfPossible();
+                        return;
+                    }
+                }
+                continue;
+            }
+            if (currentBarrier.add(queueSelector, tasks)) {
+                return;
+            }
+            // The barrier was closed in the meantime
+        }
+    }
+
+    /**
+     * Removes all idle queues which match the given filter.
+     *
+     * @param filter The filter for the queue selectors of the queues to remove.
+     */
+    void removeIdleQueues(Predicate<DispatchQueueSelector> filter) {
+        for (DispatchQueueSelector queueSelector : queues.keySet()) {
+            if (filter.test(queueSelector)) {
+                queues.computeIfPresent(queueSelector, (key, queue) ->
+                        queue.tasks.isEmpty() && queue.state.compareAndSet(IDLE, REMOVED) ? null : queue);
+            }
+        }
+    }
+
+    /**
+     * Adds a task to the queue of the given queue selector and schedules the queue if it is idle.
+     */
+    private void enqueue(DispatchQueueSelector queueSelector, Runnable task) {
+        while (true) {
+            SelectorQueue queue = queues.computeIfAbsent(queueSelector, SelectorQueue::new);
+            queue.tasks.add(task);
+            if (queue.state.compareAndSet(IDLE, SCHEDULED)) {
+                runNext(queue);
+                return;
+            }
+            if (queue.state.get() != REMOVED || !queue.tasks.remove(task)) {
+                // The running task of the queue picks it up
+                return;
+            }
+            // The queue was removed in the meantime, so the task must be added to a new queue
+        }
+    }
+
+    /**
+     * Runs the next task of a scheduled queue.
+     */
+    private void runNext(SelectorQueue queue) {
+        if (queue.queueSelector instanceof ServerImpl && !((ServerImpl) queue.queueSelector).isReady()) {
+            // Don't block a thread until the server is ready
+            ((ServerImpl) queue.queueSelector).addServerReadyConsumer(server -> runNext(queue));
+            return;
+        }
+        Runnable task = queue.tasks.poll();
+        if (task == null) {
+            queueDrained(queue);
+            return;
+        }
+        submit(queue.queueSelector, task, () -> {
+            tasksFinished(1);
+            queueDrained(queue);
+        });
+    }
+
+    /**
+     * Makes a queue idle after its task finished, or schedules it again if there are more tasks.
+     */
+    private void queueDrained(SelectorQueue queue) {
+        queue.state.set(IDLE);
+        if (!queue.tasks.isEmpty() && queue.state.compareAndSet(IDLE, SCHEDULED)) {
+            runNext(queue);
+        }
+    }
+
+    /**
+     * Marks the given amount of tasks with a queue selector as finished and starts the barrier if it was the last one.
+     */
+    private void tasksFinished(int amount) {
+        if (unfinishedTasks.addAndGet(-amount) == 0) {
+            startBarrierIfPossible();
+        }
+    }
+
+    /**
+     * Starts the current barrier if there is one, it is not running and all tasks with a queue selector are finished.
+     */
+    private void startBarrierIfPossible() {
+        Barrier currentBarrier = barrier.get();
+        if (currentBarrier != null && unfinishedTasks.get() == 0 && currentBarrier.running.compareAndSet(false, true)) {
+            runBarrier(currentBarrier);
+        }
+    }
+
+    /**
+     * Runs the next task of a running barrier, or releases the tasks which are waiting for the barrier if there are
+     * no more barrier tasks at its head.
+     */
+    private void runBarrier(Barrier currentBarrier) {
+        Runnable task = null;
+        boolean closed = false;
+        currentBarrier.lock.lock();
+        try {
+            Task head = currentBarrier.tasks.peek();
+            if (head != null && head.queueSelector == null) {
+                task = currentBarrier.tasks.poll().task;
+            } else {
+                // Release all tasks up to the next barrier task
+                while (head != null && head.queueSelector != null) {
+                    currentBarrier.tasks.poll();
+                    unfinishedTasks.incrementAndGet();
+                    enqueue(head.queueSelector, head.task);
+                    head = currentBarrier.tasks.peek();
+                }
+                if (head == null) {
+                    currentBarrier.closed = true;
+                    barrier.set(null);
+                    closed = true;
+                }
+            }
+        } finally {
+            currentBarrier.lock.unlock();
+        }
+        if (task != null) {
+            submit(null, task, () -> runBarrier(currentBarrier));
+        } else if (!closed) {
+            // The next barrier task has to wait for the released tasks
+            currentBarrier.running.set(false);
+            startBarrierIfPossible();
+        }
+    }
+
+    /**
+     * Submits a task to the executor service.
+     */
+    private void submit(DispatchQueueSelector queueSelector, Runnable task, Runnable onFinish) {
+        AtomicReference<Future<?>> activeListener = new AtomicReference<>();
+        activeListener.set(executorService.submit(() -> {
+            taskRunner.run(activeListener, queueSelector, task);
+            onFinish.run();
+        }));
+    }
+
+    /**
+     * Runs a single task on a thread of the executor service.
+     */
+    @FunctionalInterface
+    interface TaskRunner {
+
+        /**
+         * Runs the task.
+         *
+         * @param activeListener The future of the task.
+         * @param queueSelector The queue selector of the task.
+         * @param task The task to run.
+         */
+        void run(AtomicReference<Future<?>> activeListener, DispatchQueueSelector queueSelector, Runnable task);
+    }
+
+    /**
+     * The queue of a queue selector.
+     */
+    private static class SelectorQueue {
+
+        private final DispatchQueueSelector queueSelector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        private SelectorQueue(DispatchQueueSelector queueSelector) {
+            this.queueSelector = queueSelector;
+        }
+    }
+
+    /**
+     * A barrier with the barrier tasks and the tasks which were added after the first barrier task, in the order
+     * they were added.
+     */
+    private static class Barrier {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Queue<Task> tasks = new ArrayDeque<>();
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        /**
+         * Whether all tasks were released and the barrier no longer accepts tasks.
+         */
+        private boolean closed = false;
+
+        /**
+         * Adds tasks to the barrier.
+         *
+         * @return Whether the tasks were added or the barrier is closed.
+         */
+        private boolean add(DispatchQueueSelector queueSelector, List<Runnable> newTasks) {
+            lock.lock();
+            try {
+                if (closed) {
+                    return false;
+                }
+                for (Runnable task : newTasks) {
+                    tasks.add(new Task(queueSelector, task));
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * A task which waits for a barrier.
+     */
+    private static class Task {
+
+        private final DispatchQueueSelector queueSelector;
+        private final Runnable task;
+
+        private Task(DispatchQueueSelector queueSelector, Runnable task) {
+            this.queueSelector = queueSelector;
+            this.task = task;
+        }
+    }
+}
@@ -1,89 +1,90 @@
 package org.javacord.core.util.gateway;
 
-import com.codahale.xsalsa20poly1305.SecretBox;
 import org.javacord.api.audio.SilentAudioSource;
 
 import java.net.DatagramPacket;
 import java.net.InetSocketAddress;
-import java.nio.ByteBuffer;
 
+/**
+ * A reusable audio packet of a voice connection.
+ *
+ * <p>The rtp header, the mac and the encrypted audio frame are written into a single buffer, which is sent by the
+ * same datagram packet every time. The packet must only be used by the thread which sends the audio.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">
+ *     Discord Docs</a>
+ */
 public class AudioPacket {
 
     private static final byte RTP_TYPE = (byte) 0x80;
     private static final byte RTP_VERSION = (byte) 0x78;
     private static final int RTP_HEADER_LENGTH = 12;
-    private static final int NONCE_LENGTH = 24;
-
-    private boolean encrypted;
-    private byte[] header;
-    private byte[] audioFrame;
 
     /**
-     * Creates a new silent audio packet.
-     *
-     * @param ssrc The ssrc.
-     * @param sequence The sequence.
-     * @param timestamp The timestamp.
+     * The offset of the audio frame in the buffer.
      */
-    public AudioPacket(int ssrc, char sequence, int timestamp) {
-        this(null, ssrc, sequence, timestamp);
-    }
+    private static final int FRAME_OFFSET = RTP_HEADER_LENGTH + XSalsa20Poly1305.MAC_LENGTH;
 
     /**
-     * Creates a new audio packet.
-     *
-     * @param audioFrame A byte array containing 20ms of audio
-     * @param ssrc The ssrc.
-     * @param sequence The sequence.
-     * @param timestamp The timestamp.
+     * The maximum size of an opus packet, which is used as the initial capacity for audio frames.
      */
-    public AudioPacket(byte[] audioFrame, int ssrc, char sequence, int timestamp) {
-        if (audioFrame == null) {
-            audioFrame = SilentAudioSource.SILENCE_FRAME;
-        }
-        this.audioFrame = audioFrame;
-        // See https://discord.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice
-        ByteBuffer buffer = ByteBuffer.allocate(RTP_HEADER_LENGTH)
-                .put(0, RTP_TYPE)
-                .put(1, RTP_VERSION)
-                .putChar(2, sequence)
-                .putInt(4, timestamp)
-                .putInt(8, ssrc);
-        header = buffer.array();
-    }
+    private static final int DEFAULT_FRAME_CAPACITY = 1275;
 
     /**
-     * Encrypts the audio packet with the given key.
-     *
-     * @param key The key used to encrypt the packet.
+     * The nonce, which is the rtp header padded with zeros.
      */
-    public void encrypt(byte[] key) {
-        byte[] nonce = new byte[NONCE_LENGTH];
-        System.arraycopy(header, 0, nonce, 0, RTP_HEADER_LENGTH);
-        audioFrame = new SecretBox(key).seal(nonce, audioFrame);
-        encrypted = true;
-    }
+    private final byte[] nonce = new byte[XSalsa20Poly1305.NONCE_LENGTH];
+
+    private final DatagramPacket datagram;
+
+    private byte[] buffer;
 
     /**
-     * Creates a {@code DatagramPacket}, ready to be sent.
+     * Creates a new audio packet.
      *
+     * @param ssrc The ssrc.
      * @param address The destination address.
-     * @return The created datagram packet.
      */
-    public DatagramPacket asUdpPacket(InetSocketAddress address) {
-        byte[] packet = new byte[header.length + audioFrame.length];
-        System.arraycopy(header, 0, packet, 0, header.length);
-        System.arraycopy(audioFrame, 0, packet, header.length, audioFrame.length);
-        return new DatagramPacket(packet, packet.length, address);
+    public AudioPacket(int ssrc, InetSocketAddress address) {
+        buffer = new byte[FRAME_OFFSET + DEFAULT_FRAME_CAPACITY];
+        buffer[0] = RTP_TYPE;
+        buffer[1] = RTP_VERSION;
+        putInt(buffer, 8, ssrc);
+        datagram = new DatagramPacket(buffer, buffer.length, address);
     }
 
     /**
-     * Checks if the audio packet has been encrypted using the {@link #encrypt(byte[])} method.
+     * Writes the given audio frame into the packet and encrypts it.
      *
-     * @return Whether the audio packet is encrypted or not.
+     * @param audioFrame A byte array containing 20ms of audio, or {@code null} for silence.
+     * @param sequence The sequence.
+     * @param timestamp The timestamp.
+     * @param cipher The cipher of the secret key.
+     * @return The datagram packet, ready to be sent. It is reused for the next frame.
      */
-    public boolean isEncrypted() {
-        return encrypted;
+    public DatagramPacket seal(byte[] audioFrame, char sequence, int timestamp, XSalsa20Poly1305 cipher) {
+        if (audioFrame == null) {
+            audioFrame = SilentAudioSource.SILENCE_FRAME;
+        }
+        if (buffer.length < FRAME_OFFSET + audioFrame.length) {
+            byte[] grownBuffer = new byte[FRAME_OFFSET + audioFrame.length];
+            System.arraycopy(buffer, 0, grownBuffer, 0, RTP_HEADER_LENGTH);
+            buffer = grownBuffer;
+        }
+        buffer[2] = (byte) (sequence >>> 8);
+        buffer[3] = (byte) sequence;
+        putInt(buffer, 4, timestamp);
+        System.arraycopy(buffer, 0, nonce, 0, RTP_HEADER_LENGTH);
+        System.arraycopy(audioFrame, 0, buffer, FRAME_OFFSET, audioFrame.length);
+        cipher.seal(nonce, buffer, FRAME_OFFSET, audioFrame.length);
+        datagram.setData(buffer, 0, FRAME_OFFSET + audioFrame.length);
+        return datagram;
     }
 
+    private static void putInt(byte[] buffer, int index, int value) {
+        buffer[index] = (byte) (value >>> 24);
+        buffer[index + 1] = (byte) (value >>> 16);
+        buffer[index + 2] = (byte) (value >>> 8);
+        buffer[index + 3] = (byte) value;
+    }
 }
@@ -0,0 +1,350 @@
+package org.javacord.core.util.gateway;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.audio.AudioReceiveHandler;
+import org.javacord.core.audio.AudioConnectionImpl;
+import org.javacord.core.audio.ReceivedOpusFrameImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Receives the audio of a voice connection.
+ *
+ * <p>The receiver reads the voice socket in a single thread, which also decrypts the rtp packets, reorders them in a
+ * {@link JitterBuffer} per ssrc and calls the {@link AudioReceiveHandler} of the connection. Packets are read into
+ * pooled buffers and decrypted in place, so receiving a packet does not allocate buffers.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/voice-connections">Discord Docs</a>
+ */
+public class AudioReceiver implements Runnable {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(AudioReceiver.class);
+
+    /**
+     * The amount of later packets which are buffered while waiting for a missing packet.
+     */
+    static final int JITTER_BUFFER_DEPTH = 3;
+
+    /**
+     * The time after which the packets of a silent ssrc are released, even if packets are missing.
+     */
+    static final long FLUSH_DELAY_NANOS = (JITTER_BUFFER_DEPTH + 1) * AudioSendScheduler.FRAME_DURATION_NANOS;
+
+    /**
+     * The time after which the jitter buffer of a silent ssrc is reset, so its sequence may start over.
+     */
+    static final long RESYNC_DELAY_NANOS = 1_000_000_000L;
+
+    /**
+     * The time after which a silent ssrc is forgotten.
+     */
+    private static final long STREAM_TIMEOUT_NANOS = 60_000_000_000L;
+
+    /**
+     * The timeout of the socket, which limits how long it takes to flush silent ssrcs and to stop receiving.
+     */
+    private static final int SOCKET_TIMEOUT_MILLIS = 20;
+
+    private static final int PACKET_BUFFER_SIZE = 2048;
+    private static final int RTP_HEADER_LENGTH = 12;
+    private static final int RTP_PAYLOAD_TYPE_OPUS = 0x78;
+    private static final int ENCRYPTED_PAYLOAD_OFFSET = RTP_HEADER_LENGTH + XSalsa20Poly1305.MAC_LENGTH;
+
+    private final DatagramSocket socket;
+    private final AudioConnectionImpl connection;
+
+    /**
+     * The ids of the users by their ssrc. Written by the websocket, read by the receiving thread.
+     */
+    private final Map<Integer, Long> userIds = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever {@link #userIds} changes, so the receiving thread knows when to look up the user ids again.
+     */
+    private volatile int userIdsVersion = 0;
+
+    private volatile byte[] secretKey;
+
+    /**
+     * Whether the receiver should receive.
+     */
+    private volatile boolean receiving = false;
+
+    /**
+     * Whether the receiving thread is running. Guarded by this receiver.
+     */
+    private boolean running = false;
+
+    // The following fields are only used by the receiving thread
+    private final ArrayDeque<byte[]> bufferPool = new ArrayDeque<>();
+    private final byte[] nonce = new byte[XSalsa20Poly1305.NONCE_LENGTH];
+    private final DatagramPacket datagram = new DatagramPacket(new byte[0], 0);
+    private final ReceivedOpusFrameImpl frame;
+    private Stream[] streams = new Stream[0];
+    private XSalsa20Poly1305 cipher;
+    private byte[] cipherKey;
+    private long lastMaintenance = System.nanoTime();
+
+    /**
+     * Creates a new audio receiver.
+     *
+     * @param connection The audio connection.
+     * @param socket The voice socket.
+     */
+    public AudioReceiver(AudioConnectionImpl connection, DatagramSocket socket) {
+        this.connection = connection;
+        this.socket = socket;
+        frame = new ReceivedOpusFrameImpl(connection);
+    }
+
+    /**
+     * Sets the secret key which is used to decrypt audio packets.
+     *
+     * @param secretKey The secret key.
+     */
+    public void setSecretKey(byte[] secretKey) {
+        this.secretKey = secretKey;
+    }
+
+    /**
+     * Sets the user of a ssrc.
+     *
+     * @param ssrc The ssrc.
+     * @param userId The id of the user.
+     */
+    public void setUserId(int ssrc, long userId) {
+        if (!Long.valueOf(userId).equals(userIds.put(ssrc, userId))) {
+            userIdsVersion++;
+        }
+    }
+
+    /**
+     * Removes all ssrcs of a user.
+     *
+     * @param userId The id of the user.
+     */
+    public void removeUserId(long userId) {
+        if (userIds.values().removeIf(id -> id == userId)) {
+            userIdsVersion++;
+        }
+    }
+
+    /**
+     * Checks whether the receiver is running.
+     *
+     * @return Whether the receiver is running.
+     */
+    public boolean isReceiving() {
+        return receiving;
+    }
+
+    /**
+     * Starts receiving in the given executor, unless the receiver is already running.
+     *
+     * @param executor The executor which runs the receiver. It must be a single thread.
+     */
+    public synchronized void start(Executor executor) {
+        if (receiving) {
+            return;
+        }
+        receiving = true;
+        // A receiver which is still stopping simply continues
+        if (!running) {
+            running = true;
+            executor.execute(this);
+        }
+    }
+
+    /**
+     * Stops receiving within {@value #SOCKET_TIMEOUT_MILLIS}ms.
+     */
+    public synchronized void stop() {
+        receiving = false;
+    }
+
+    @Override
+    public void run() {
+        try {
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+        } catch (IOException e) {
+            logger.error("Failed to set the timeout of the voice socket for {}", connection, e);
+        }
+        while (true) {
+            if (!receiving) {
+                synchronized (this) {
+                    if (!receiving) {
+                        for (Stream stream : streams) {
+                            stream.jitterBuffer.flush();
+                        }
+                        running = false;
+                        return;
+                    }
+                }
+            }
+            byte[] buffer = bufferPool.isEmpty() ? new byte[PACKET_BUFFER_SIZE] : bufferPool.pop();
+            datagram.setData(buffer);
+            try {
+                socket.receive(datagram);
+                if (!handlePacket(buffer, datagram.getLength())) {
+                    bufferPool.push(buffer);
+                }
+            } catch (SocketTimeoutException e) {
+                bufferPool.push(buffer);
+            } catch (IOException e) {
+                bufferPool.push(buffer);
+                if (socket.isClosed()) {
+                    stop();
+                } else {
+                    logger.error("Failed to receive audio packet for {}", connection, e);
+                }
+            } catch (Throwable t) {
+                logger.error("Failed to handle audio packet for {}", connection, t);
+            }
+            maintainStreams();
+        }
+    }
+
+    /**
+     * Decrypts a received packet and adds it to the jitter buffer of its ssrc.
+     *
+     * @param buffer The buffer which contains the packet.
+     * @param length The length of the packet.
+     * @return Whether the buffer is owned by the jitter buffer now.
+     */
+    boolean handlePacket(byte[] buffer, int length) {
+        if (length < ENCRYPTED_PAYLOAD_OFFSET
+                || (buffer[0] & 0xC0) != 0x80
+                || (buffer[1] & 0x7F) != RTP_PAYLOAD_TYPE_OPUS
+                || !connection.getReceiveHandler().isPresent()) {
+            // Not a voice packet (e.g. rtcp), or nobody is interested in it
+            return false;
+        }
+        byte[] currentSecretKey = secretKey;
+        if (currentSecretKey == null) {
+            return false;
+        }
+        if (cipherKey != currentSecretKey) {
+            cipher = new XSalsa20Poly1305(currentSecretKey);
+            cipherKey = currentSecretKey;
+        }
+        System.arraycopy(buffer, 0, nonce, 0, RTP_HEADER_LENGTH);
+        if (!cipher.open(nonce, buffer, ENCRYPTED_PAYLOAD_OFFSET, length - ENCRYPTED_PAYLOAD_OFFSET)) {
+            logger.debug("Received audio packet with an invalid mac for {}", connection);
+            return false;
+        }
+
+        int offset = ENCRYPTED_PAYLOAD_OFFSET;
+        // Skip the (encrypted) rtp header extension, see RFC 8285
+        if ((buffer[0] & 0x10) != 0 && length >= offset + 4
+                && buffer[offset] == (byte) 0xBE && buffer[offset + 1] == (byte) 0xDE) {
+            offset += 4 + 4 * (((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF));
+            if (offset > length) {
+                return false;
+            }
+        }
+
+        int sequence = ((buffer[2] & 0xFF) << 8) | (buffer[3] & 0xFF);
+        int timestamp = readInt(buffer, 4);
+        int ssrc = readInt(buffer, 8);
+        Stream stream = getOrCreateStream(ssrc);
+        long now = System.nanoTime();
+        if (now - stream.lastPacket >= RESYNC_DELAY_NANOS) {
+            stream.jitterBuffer.reset();
+        }
+        stream.lastPacket = now;
+        return stream.jitterBuffer.add(sequence, timestamp, buffer, offset, length - offset);
+    }
+
+    /**
+     * Flushes the jitter buffers of silent ssrcs and forgets ssrcs which have been silent for a long time.
+     */
+    private void maintainStreams() {
+        long now = System.nanoTime();
+        if (now - lastMaintenance < AudioSendScheduler.FRAME_DURATION_NANOS) {
+            return;
+        }
+        lastMaintenance = now;
+        int remaining = 0;
+        for (Stream stream : streams) {
+            long silence = now - stream.lastPacket;
+            if (silence >= FLUSH_DELAY_NANOS && !stream.jitterBuffer.isEmpty()) {
+                stream.jitterBuffer.flush();
+            }
+            if (silence < STREAM_TIMEOUT_NANOS) {
+                streams[remaining++] = stream;
+            }
+        }
+        if (remaining < streams.length) {
+            streams = Arrays.copyOf(streams, remaining);
+        }
+    }
+
+    private Stream getOrCreateStream(int ssrc) {
+        int version = userIdsVersion;
+        for (Stream stream : streams) {
+            if (stream.ssrc == ssrc) {
+                if (stream.userIdsVersion != version) {
+                    stream.userIdsVersion = version;
+                    stream.userId = userIds.getOrDefault(ssrc, 0L);
+                }
+                return stream;
+            }
+        }
+        Stream stream = new Stream(ssrc);
+        stream.userIdsVersion = version;
+        stream.userId = userIds.getOrDefault(ssrc, 0L);
+        streams = Arrays.copyOf(streams, streams.length + 1);
+        streams[streams.length - 1] = stream;
+        return stream;
+    }
+
+    private static int readInt(byte[] buffer, int index) {
+        return ((buffer[index] & 0xFF) << 24)
+                | ((buffer[index + 1] & 0xFF) << 16)
+                | ((buffer[index + 2] & 0xFF) << 8)
+                | (buffer[index + 3] & 0xFF);
+    }
+
+    /**
+     * The received audio of a single ssrc.
+     */
+    private class Stream implements JitterBuffer.Consumer {
+
+        private final int ssrc;
+        private final JitterBuffer jitterBuffer = new JitterBuffer(JITTER_BUFFER_DEPTH, this);
+        private long userId;
+        private int userIdsVersion;
+        private long lastPacket;
+
+        private Stream(int ssrc) {
+            this.ssrc = ssrc;
+        }
+
+        @Override
+        public void accept(int sequence, int timestamp, byte[] buffer, int offset, int length, int lostBefore) {
+            try {
+                AudioReceiveHandler handler = connection.getReceiveHandler().orElse(null);
+                if (handler != null) {
+                    frame.set(ssrc, userId, sequence, timestamp, lostBefore, buffer, offset, length);
+                    handler.handleOpusFrame(frame);
+                }
+            } catch (Throwable t) {
+                logger.error("Audio receive handler of {} threw an exception", connection, t);
+            } finally {
+                bufferPool.push(buffer);
+            }
+        }
+    }
+}
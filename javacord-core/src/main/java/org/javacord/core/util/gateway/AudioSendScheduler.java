@@ -0,0 +1,185 @@
+package org.javacord.core.util.gateway;
+
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.util.concurrent.ThreadPool;
+import org.javacord.core.util.logging.LoggerUtil;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the audio of all voice connections of an api with a fixed amount of threads.
+ *
+ * <p>Every connection is assigned to the lane with the fewest connections. Every lane is a single thread which sends
+ * one frame of each of its connections every {@value #FRAME_DURATION_NANOS} nanoseconds, so the amount of threads is
+ * bound by the amount of lanes instead of the amount of connections. A lane's thread only runs while the lane has
+ * connections.
+ *
+ * <p>The deadlines of a lane are absolute, so a late frame does not delay the following frames and the clock does not
+ * drift. A lane which falls behind by more than {@value #MAX_CATCH_UP_FRAMES} frames skips the missed deadlines
+ * instead of sending a burst of frames.
+ */
+public class AudioSendScheduler {
+
+    /**
+     * The duration of an audio frame in nanoseconds.
+     */
+    public static final long FRAME_DURATION_NANOS = 20_000_000L;
+
+    /**
+     * The maximum amount of frames a lane catches up on after falling behind.
+     */
+    static final int MAX_CATCH_UP_FRAMES = 5;
+
+    /**
+     * Waits which are shorter than this are spun instead of parked, as parking usually overshoots by some microseconds.
+     */
+    private static final long SPIN_THRESHOLD_NANOS = 200_000L;
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(AudioSendScheduler.class);
+
+    private final ThreadPool threadPool;
+    private final Lane[] lanes;
+
+    /**
+     * Creates a new audio send scheduler.
+     *
+     * @param threadPool The thread pool which provides the threads of the lanes.
+     * @param laneCount The amount of lanes.
+     */
+    public AudioSendScheduler(ThreadPool threadPool, int laneCount) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount cannot be less than 1!");
+        }
+        this.threadPool = threadPool;
+        lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane("Audio Send Lane - " + i);
+        }
+    }
+
+    /**
+     * Gets the amount of lanes.
+     *
+     * @return The amount of lanes.
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * Starts sending the audio of the given socket.
+     *
+     * @param socket The socket.
+     */
+    public synchronized void register(AudioUdpSocket socket) {
+        Lane lane = lanes[0];
+        for (Lane candidate : lanes) {
+            if (candidate.sockets.length < lane.sockets.length) {
+                lane = candidate;
+            }
+        }
+        lane.add(socket);
+    }
+
+    /**
+     * Stops sending the audio of the given socket.
+     *
+     * @param socket The socket.
+     */
+    public synchronized void unregister(AudioUdpSocket socket) {
+        for (Lane lane : lanes) {
+            lane.remove(socket);
+        }
+    }
+
+    /**
+     * Waits until the given deadline.
+     *
+     * @param deadline The deadline as returned by {@link System#nanoTime()}.
+     */
+    static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS) {
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * A lane, which sends the audio of its sockets in a single thread.
+     */
+    private class Lane implements Runnable {
+
+        private final String threadName;
+
+        /**
+         * The sockets of this lane. The array is replaced on every change, so it can be iterated without locking.
+         */
+        private volatile AudioUdpSocket[] sockets = new AudioUdpSocket[0];
+
+        /**
+         * Whether the thread of this lane is running. Guarded by this lane.
+         */
+        private boolean running = false;
+
+        private Lane(String threadName) {
+            this.threadName = threadName;
+        }
+
+        private synchronized void add(AudioUdpSocket socket) {
+            AudioUdpSocket[] newSockets = Arrays.copyOf(sockets, sockets.length + 1);
+            newSockets[sockets.length] = socket;
+            sockets = newSockets;
+            if (!running) {
+                running = true;
+                threadPool.getSingleThreadExecutorService(threadName).submit(this);
+            }
+        }
+
+        private synchronized void remove(AudioUdpSocket socket) {
+            sockets = Arrays.stream(sockets).filter(s -> s != socket).toArray(AudioUdpSocket[]::new);
+        }
+
+        @Override
+        public void run() {
+            long deadline = System.nanoTime();
+            while (true) {
+                AudioUdpSocket[] currentSockets = sockets;
+                if (currentSockets.length == 0) {
+                    synchronized (this) {
+                        if (sockets.length == 0) {
+                            running = false;
+                            return;
+                        }
+                    }
+                    deadline = System.nanoTime();
+                    continue;
+                }
+                for (AudioUdpSocket socket : currentSockets) {
+                    try {
+                        socket.sendFrame(deadline);
+                    } catch (Throwable t) {
+                        logger.error("Failed to send audio frame for {}", socket.getConnection(), t);
+                    }
+                }
+                deadline += FRAME_DURATION_NANOS;
+                long behind = System.nanoTime() - deadline;
+                if (behind >= MAX_CATCH_UP_FRAMES * FRAME_DURATION_NANOS) {
+                    long skippedFrames = behind / FRAME_DURATION_NANOS + 1;
+                    deadline += skippedFrames * FRAME_DURATION_NANOS;
+                    for (AudioUdpSocket socket : currentSockets) {
+                        socket.getConnection().recordFramesSkipped(skippedFrames);
+                    }
+                }
+                waitUntil(deadline);
+            }
+        }
+    }
+}
@@ -23,7 +23,9 @@ public class AudioUdpSocket {
     private static final Logger logger = LoggerUtil.getLogger(AudioUdpSocket.class);
 
     private final DatagramSocket socket;
-    private final String threadName;
+    private final AudioSendScheduler scheduler;
+    private final AudioReceiver receiver;
+    private final String receiveThreadName;
 
     private final AudioConnectionImpl connection;
     private final InetSocketAddress address;
@@ -32,15 +34,31 @@ public class AudioUdpSocket {
     private volatile boolean shouldSend = false;
 
     /**
-     * The secret key used to encrypt audio packets.
+     * The packet which is reused for every audio frame.
      */
-    private byte[] secretKey;
+    private final AudioPacket packet;
+
+    /**
+     * The cipher of the secret key used to encrypt audio packets.
+     */
+    private volatile XSalsa20Poly1305 cipher;
 
     /**
      * Gets incremented for every packet sent.
      */
     private char sequence = (char) 0;
 
+    /**
+     * Whether the connection is speaking. Only used by the thread which sends the audio.
+     */
+    private boolean speaking = false;
+
+    /**
+     * The amount of frames of silence which are sent before the connection stops speaking.
+     * Only used by the thread which sends the audio.
+     */
+    private long framesOfSilenceToPlay = 5;
+
     /**
      * Creates a new audio udp socket.
      *
@@ -54,18 +72,31 @@ public class AudioUdpSocket {
         this.connection = connection;
         this.address = address;
         this.ssrc = ssrc;
+        packet = new AudioPacket(ssrc, address);
 
         socket = new DatagramSocket();
-        threadName = String.format("Javacord Audio Send Thread (%#s)", connection.getServer());
+        scheduler = ((DiscordApiImpl) connection.getChannel().getApi()).getAudioSendScheduler();
+        receiver = new AudioReceiver(connection, socket);
+        receiveThreadName = String.format("Audio Receive Thread (%#s)", connection.getServer());
     }
 
     /**
-     * Sets the secret key which is used to encrypt audio packets.
+     * Sets the secret key which is used to encrypt and decrypt audio packets.
      *
      * @param secretKey The secret key.
      */
     public void setSecretKey(byte[] secretKey) {
-        this.secretKey = secretKey;
+        cipher = new XSalsa20Poly1305(secretKey);
+        receiver.setSecretKey(secretKey);
+    }
+
+    /**
+     * Gets the receiver of the audio.
+     *
+     * @return The audio receiver.
+     */
+    public AudioReceiver getReceiver() {
+        return receiver;
     }
 
     /**
@@ -105,100 +136,109 @@ public class AudioUdpSocket {
             return;
         }
         shouldSend = true;
+        scheduler.register(this);
+    }
 
-        DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
-        api.getThreadPool().getSingleThreadExecutorService(threadName).submit(() -> {
-            try {
-                long nextFrameTimestamp = System.nanoTime();
-                boolean dontSleep = true;
-                boolean speaking = false;
-                long framesOfSilenceToPlay = 5;
-                while (shouldSend) {
-                    // Get the current audio source. If none is available, it will block the thread
-                    AudioSource source = connection.getCurrentAudioSourceBlocking();
-                    if (source == null) {
-                        logger.error("Got null audio source without being interrupted ({})", connection);
-                        return;
-                    }
-
-                    if (source.hasFinished()) {
-                        connection.removeAudioSource();
-                        dontSleep = true;
-
-                        // Dispatch AudioSourceFinishedEvent AFTER removing the source.
-                        // Otherwise, AudioSourceFinishedEvent#getNextSource() won't work
-                        api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
-                                (ServerImpl) connection.getServer(),
-                                connection,
-                                ((AudioSourceBase) source).getDelegate(),
-                                new AudioSourceFinishedEventImpl(source, connection));
-                        continue;
-                    }
-
-                    AudioPacket packet = null;
-                    byte[] frame = source.hasNextFrame() ? source.getNextFrame() : null;
-
-                    // If the source is muted, replace the frame with a muted frame
-                    if (source.isMuted()) {
-                        frame = null;
-                    }
-
-                    if (frame != null || framesOfSilenceToPlay > 0) {
-                        if (!speaking && frame != null) {
-                            speaking = true;
-                            connection.setSpeaking(true);
-                        }
-                        packet = new AudioPacket(frame, ssrc, sequence, ((int) sequence) * 960);
-                        // We can stop sending frames of silence after 5 frames
-                        if (frame == null) {
-                            framesOfSilenceToPlay--;
-                            if (framesOfSilenceToPlay == 0) {
-                                speaking = false;
-                                connection.setSpeaking(false);
-                            }
-                        } else {
-                            framesOfSilenceToPlay = 5;
-                        }
-                    }
-
-                    nextFrameTimestamp = nextFrameTimestamp + 20_000_000;
-
-                    sequence++;
-
-                    if (packet != null) {
-                        packet.encrypt(secretKey);
-                    }
-                    try {
-                        if (dontSleep) {
-                            nextFrameTimestamp = System.nanoTime() + 20_000_000;
-                            dontSleep = false;
-                        } else {
-                            Thread.sleep(Math.max(0, nextFrameTimestamp - System.nanoTime()) / 1_000_000);
-                        }
-                        if (packet != null) {
-                            socket.send(packet.asUdpPacket(address));
-                        }
-                    } catch (IOException e) {
-                        logger.error("Failed to send audio packet for {}", connection);
-                    }
-                }
-            } catch (InterruptedException e) {
-                if (shouldSend) {
-                    logger.debug("Got interrupted unexpectedly while waiting for next audio source packet");
+    /**
+     * Polls the next frame from the audio connection and sends it through the socket.
+     *
+     * <p>This is called by the {@link AudioSendScheduler} once per frame and must not block.
+     *
+     * @param deadline The time the frame should be sent at, as returned by {@link System#nanoTime()}.
+     */
+    public void sendFrame(long deadline) {
+        AudioSource source = connection.getAudioSource().orElse(null);
+        if (source == null) {
+            return;
+        }
+
+        if (source.hasFinished()) {
+            connection.removeAudioSource();
+
+            // Dispatch AudioSourceFinishedEvent AFTER removing the source.
+            // Otherwise, AudioSourceFinishedEvent#getNextSource() won't work
+            DiscordApiImpl api = (DiscordApiImpl) connection.getChannel().getApi();
+            api.getEventDispatcher().dispatchAudioSourceFinishedEvent(
+                    (ServerImpl) connection.getServer(),
+                    connection,
+                    ((AudioSourceBase) source).getDelegate(),
+                    new AudioSourceFinishedEventImpl(source, connection));
+            return;
+        }
+
+        DatagramPacket datagram = null;
+        byte[] frame = source.hasNextFrame() ? source.getNextFrame() : null;
+
+        // If the source is muted, replace the frame with a muted frame
+        if (source.isMuted()) {
+            frame = null;
+        }
+
+        if (frame != null || framesOfSilenceToPlay > 0) {
+            if (!speaking && frame != null) {
+                speaking = true;
+                connection.setSpeaking(true);
+            }
+            datagram = packet.seal(frame, sequence, ((int) sequence) * 960, cipher);
+            // We can stop sending frames of silence after 5 frames
+            if (frame == null) {
+                framesOfSilenceToPlay--;
+                if (framesOfSilenceToPlay == 0) {
+                    speaking = false;
+                    connection.setSpeaking(false);
                 }
+            } else {
+                framesOfSilenceToPlay = 5;
+            }
+        }
+
+        sequence++;
+
+        if (datagram != null) {
+            long delay = System.nanoTime() - deadline;
+            try {
+                socket.send(datagram);
+                connection.recordFrameSent(delay);
+            } catch (IOException e) {
+                logger.error("Failed to send audio packet for {}", connection);
             }
-        });
+        }
     }
 
     /**
-     * Stops polling frames from the audio connection.
+     * Gets the audio connection that uses the socket.
+     *
+     * @return The audio connection.
      */
-    public void stopSending() {
-        shouldSend = false;
+    public AudioConnectionImpl getConnection() {
+        return connection;
+    }
+
+    /**
+     * Starts receiving audio from the socket, unless it is already receiving.
+     */
+    public void startReceiving() {
+        receiver.start(connection.getChannel().getApi().getThreadPool()
+                .getSingleDaemonThreadExecutorService(receiveThreadName));
+    }
+
+    /**
+     * Stops receiving audio from the socket.
+     */
+    public void stopReceiving() {
+        receiver.stop();
         connection.getChannel()
                 .getApi()
                 .getThreadPool()
-                .removeAndShutdownSingleThreadExecutorService(threadName);
+                .removeAndShutdownSingleThreadExecutorService(receiveThreadName);
+    }
+
+    /**
+     * Stops polling frames from the audio connection.
+     */
+    public void stopSending() {
+        shouldSend = false;
+        scheduler.unregister(this);
     }
 
 }
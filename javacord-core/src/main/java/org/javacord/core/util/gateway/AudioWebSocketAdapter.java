@@ -46,9 +46,14 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
 
     private final Heart heart;
 
-    private AudioUdpSocket socket;
+    private volatile AudioUdpSocket socket;
     private int ssrc;
 
+    /**
+     * Whether the secret key of the socket is known, so audio can be received.
+     */
+    private volatile boolean sessionDescribed;
+
     /**
      * A boolean to indicate if the websocket should try to reconnect.
      *
@@ -114,6 +119,7 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
                 int port = data.get("port").asInt();
                 ssrc = data.get("ssrc").asInt();
 
+                sessionDescribed = false;
                 socket = new AudioUdpSocket(connection, new InetSocketAddress(ip, port), ssrc);
                 sendSelectProtocol(websocket);
                 Thread.sleep(1000);
@@ -125,12 +131,28 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
                 byte[] secretKey = api.getObjectMapper().convertValue(data.get("secret_key"), byte[].class);
                 socket.setSecretKey(secretKey);
                 socket.startSending();
+                sessionDescribed = true;
+                if (connection.getReceiveHandler().isPresent()) {
+                    socket.startReceiving();
+                }
                 // We established a connection with the udp socket. Now we are ready to send audio! :-)
                 connection.getReadyFuture().complete(connection);
                 break;
             case HEARTBEAT_ACK:
                 // Handled in the heart
                 break;
+            case SPEAKING:
+                data = packet.get("d");
+                if (socket != null && data.hasNonNull("user_id")) {
+                    socket.getReceiver().setUserId(data.get("ssrc").asInt(), data.get("user_id").asLong());
+                }
+                break;
+            case CLIENT_DISCONNECT:
+                data = packet.get("d");
+                if (socket != null && data.hasNonNull("user_id")) {
+                    socket.getReceiver().removeUserId(data.get("user_id").asLong());
+                }
+                break;
             case RESUMED:
                 resuming = false;
                 reconnectAttempt.set(0);
@@ -159,6 +181,9 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
         if (resuming) {
             sendResume(websocket);
             socket.startSending();
+            if (connection.getReceiveHandler().isPresent()) {
+                socket.startReceiving();
+            }
         }
     }
 
@@ -186,8 +211,9 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
 
         // Squash heart, until it stops beating
         heart.squash();
-        //Pause UDP sending
+        //Pause UDP sending and receiving
         socket.stopSending();
+        socket.stopReceiving();
 
         if (resuming) {
             logger.info("Could not resume, reconnecting in {} seconds", api.getReconnectDelay(reconnectAttempt.get()));
@@ -303,11 +329,32 @@ public class AudioWebSocketAdapter extends WebSocketAdapter {
     public void disconnect() {
         reconnect = false;
         socket.stopSending();
+        socket.stopReceiving();
         websocket.get().sendClose(WebSocketCloseReason.DISCONNECT.getNumericCloseCode());
         // cancel heartbeat timer if within one minute no disconnect event was dispatched
         api.getThreadPool().getDaemonScheduler().schedule(heart::squash, 1, TimeUnit.MINUTES);
     }
 
+    /**
+     * Starts receiving audio, if the connection is ready to receive.
+     */
+    public void startReceiving() {
+        AudioUdpSocket currentSocket = socket;
+        if (sessionDescribed && currentSocket != null) {
+            currentSocket.startReceiving();
+        }
+    }
+
+    /**
+     * Stops receiving audio, e.g. because the receive handler was removed.
+     */
+    public void stopReceiving() {
+        AudioUdpSocket currentSocket = socket;
+        if (currentSocket != null) {
+            currentSocket.stopReceiving();
+        }
+    }
+
     /**
      * Sends the resume packet.
      *
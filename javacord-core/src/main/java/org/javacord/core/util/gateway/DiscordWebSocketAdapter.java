@@ -1,7 +1,6 @@
 package org.javacord.core.util.gateway;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.neovisionaries.ws.client.ProxySettings;
@@ -86,6 +85,7 @@ import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 
+import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.PasswordAuthentication;
 import java.net.Proxy;
@@ -93,6 +93,7 @@ import java.net.ProxySelector;
 import java.net.SocketAddress;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -142,6 +143,11 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
     private final AtomicReference<WebSocket> websocket = new AtomicReference<>();
 
+    /**
+     * The inflater of the zlib stream of the current websocket.
+     */
+    private volatile ZlibStreamInflater zlibStreamInflater;
+
     private final Heart heart;
 
     private volatile int lastSeq = -1;
@@ -381,7 +387,7 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             WebSocketFactory factory = new WebSocketFactory();
 
             String webSocketUri = (resumeUrl != null ? resumeUrl : getGateway(api)) + "?encoding=json&v="
-                    + Javacord.DISCORD_GATEWAY_VERSION;
+                    + Javacord.DISCORD_GATEWAY_VERSION + "&compress=zlib-stream";
 
             Proxy proxy = api.getProxy().orElseGet(() -> {
                 List<Proxy> proxies = api.getProxySelector().orElseGet(ProxySelector::getDefault).select(URI.create(
@@ -460,38 +466,75 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
             }
             WebSocket websocket = factory.createSocket(webSocketUri);
             this.websocket.set(websocket);
+            // Every connection has its own zlib stream
+            ZlibStreamInflater previousInflater = zlibStreamInflater;
+            zlibStreamInflater = new ZlibStreamInflater();
+            if (previousInflater != null) {
+                previousInflater.close();
+            }
             websocket.addHeader("Accept-Encoding", "gzip");
             websocket.addListener(this);
             websocket.addListener(new WebSocketLogger());
 
             if (sessionId == null) {
-                api.getGatewayIdentifyRatelimiter().requestQuota();
+                // Wait for the identify quota without blocking a thread
+                api.getGatewayIdentifyRatelimiter().acquire(api.getThreadPool().getExecutorService())
+                        .whenComplete((ignored, throwable) -> {
+                            if (throwable != null) {
+                                handleConnectFailure(throwable);
+                                return;
+                            }
+                            api.getThreadPool().getExecutorService().submit(() -> connectWebSocket(websocket));
+                        });
+            } else {
+                connectWebSocket(websocket);
             }
+        } catch (Throwable t) {
+            handleConnectFailure(t);
+        }
+    }
+
+    /**
+     * Connects the websocket.
+     *
+     * @param websocket The websocket.
+     */
+    private void connectWebSocket(WebSocket websocket) {
+        try {
             triedToResume = false;
             websocket.connect();
         } catch (Throwable t) {
-            resumeUrl = null;
-            logger.warn("An error occurred while connecting to websocket", t);
-            if (reconnect) {
-                reconnectingOrResumingLock.lock();
-                try {
-                    reconnectAttempt.incrementAndGet();
-                } finally {
-                    reconnectingOrResumingLock.unlock();
-                }
-                logger.info("Trying to reconnect/resume in {} seconds!", api.getReconnectDelay(reconnectAttempt.get()));
-                // Reconnect after a (short?) delay depending on the amount of reconnect attempts
-                api.getThreadPool().getScheduler()
-                        .schedule(() -> {
-                            gatewayWriteLock.lock();
-                            try {
-                                gateway = null;
-                            } finally {
-                                gatewayWriteLock.unlock();
-                            }
-                            this.connect();
-                        }, api.getReconnectDelay(reconnectAttempt.get()), TimeUnit.SECONDS);
+            handleConnectFailure(t);
+        }
+    }
+
+    /**
+     * Handles a failed connection attempt and schedules a reconnect if enabled.
+     *
+     * @param t The reason why connecting failed.
+     */
+    private void handleConnectFailure(Throwable t) {
+        resumeUrl = null;
+        logger.warn("An error occurred while connecting to websocket", t);
+        if (reconnect) {
+            reconnectingOrResumingLock.lock();
+            try {
+                reconnectAttempt.incrementAndGet();
+            } finally {
+                reconnectingOrResumingLock.unlock();
             }
+            logger.info("Trying to reconnect/resume in {} seconds!", api.getReconnectDelay(reconnectAttempt.get()));
+            // Reconnect after a (short?) delay depending on the amount of reconnect attempts
+            api.getThreadPool().getScheduler()
+                    .schedule(() -> {
+                        gatewayWriteLock.lock();
+                        try {
+                            gateway = null;
+                        } finally {
+                            gatewayWriteLock.unlock();
+                        }
+                        this.connect();
+                    }, api.getReconnectDelay(reconnectAttempt.get()), TimeUnit.SECONDS);
         }
     }
 
@@ -550,9 +593,86 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
 
     @Override
     public void onTextMessage(WebSocket websocket, String text) throws Exception {
-        ObjectMapper mapper = api.getObjectMapper();
-        JsonNode packet = mapper.readTree(text);
+        if (api.isStreamingPacketDecodingEnabled()) {
+            byte[] payload = text.getBytes(StandardCharsets.UTF_8);
+            handlePayload(websocket, payload, payload.length);
+            return;
+        }
+        handlePacket(websocket, api.getObjectMapper().readTree(text));
+    }
 
+    @Override
+    public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
+        ZlibStreamInflater inflater = zlibStreamInflater;
+        if (inflater.isBroken()) {
+            // The websocket is already closing, as the rest of a broken zlib stream can not be decompressed
+            return;
+        }
+        try {
+            if (!inflater.inflate(binary)) {
+                // The message is split into multiple frames
+                return;
+            }
+        } catch (DataFormatException e) {
+            // A zlib stream can not recover from invalid data, so close the websocket right away instead of dropping
+            // all following packets until the heartbeat times out. The next connection gets a new inflater.
+            logger.warn("An error occurred while decompressing data. Reconnecting...", e);
+            sendCloseFrame(websocket,
+                    WebSocketCloseReason.DECOMPRESSION_FAILED.getNumericCloseCode(),
+                    WebSocketCloseReason.DECOMPRESSION_FAILED.getCloseReason());
+            return;
+        }
+        byte[] message = inflater.getOutput();
+        int length = inflater.getOutputLength();
+        logger.trace("onBinaryMessage: text='{}'", () -> new String(message, 0, length, StandardCharsets.UTF_8));
+        // Parse the bytes directly, as the buffer is reused for the next message
+        if (api.isStreamingPacketDecodingEnabled()) {
+            // Streamed packets keep a copy of their "d"-object
+            handlePayload(websocket, message, length);
+            return;
+        }
+        handlePacket(websocket, api.getObjectMapper().readTree(message, 0, length));
+    }
+
+    /**
+     * Handles a gateway payload with streaming packet decoding.
+     *
+     * <p>Packets whose handler supports streaming are handed over without parsing their "d"-object into a tree. All
+     * other packets are parsed into a tree as usual.
+     *
+     * @param websocket The websocket the payload was received from.
+     * @param payload The buffer with the payload.
+     * @param length The length of the payload in the buffer.
+     * @throws IOException If the payload is no valid json.
+     */
+    private void handlePayload(WebSocket websocket, byte[] payload, int length) throws IOException {
+        Optional<StreamedPacket> streamedPacket = StreamedPacket.scan(api.getObjectMapper(), payload, length, type -> {
+            PacketHandler handler = handlers.get(type);
+            return handler != null && handler.isStreamingSupported();
+        });
+        if (!streamedPacket.isPresent()) {
+            handlePacket(websocket, api.getObjectMapper().readTree(payload, 0, length));
+            return;
+        }
+        StreamedPacket packet = streamedPacket.get();
+        logger.trace("Received streamed packet of type {} with sequence {}", packet.getType(), packet.getSequence());
+        heart.handlePacket(api.getObjectMapper().createObjectNode()
+                .put("op", GatewayOpcode.DISPATCH.getCode())
+                .put("s", packet.getSequence()));
+        lastSeq = packet.getSequence();
+        handlers.get(packet.getType()).handlePacket(packet);
+        if (packet.getType().equals("GUILD_MEMBERS_CHUNK")) {
+            lastGuildMembersChunkReceived = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Handles a packet that was received from the gateway.
+     *
+     * @param websocket The websocket the packet was received from.
+     * @param packet The packet.
+     */
+    private void handlePacket(WebSocket websocket, JsonNode packet) {
         heart.handlePacket(packet);
 
         int op = packet.get("op").asInt();
@@ -698,19 +818,6 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         }
     }
 
-    @Override
-    public void onBinaryMessage(WebSocket websocket, byte[] binary) throws Exception {
-        String message;
-        try {
-            message = BinaryMessageDecompressor.decompress(binary);
-        } catch (DataFormatException e) {
-            logger.warn("An error occurred while decompressing data", e);
-            return;
-        }
-        logger.trace("onTextMessage: text='{}'", message);
-        onTextMessage(websocket, message);
-    }
-
     /**
      * Sends the resume packet.
      *
@@ -739,7 +846,6 @@ public class DiscordWebSocketAdapter extends WebSocketAdapter {
         ObjectNode data = identifyPacket.putObject("d");
         String token = api.getPrefixedToken();
         data.put("token", token)
-                .put("compress", true)
                 .put("large_threshold", 250)
                 .putObject("properties")
                 .put("os", System.getProperty("os.name"))
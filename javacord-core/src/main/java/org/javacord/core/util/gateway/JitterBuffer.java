@@ -0,0 +1,163 @@
+package org.javacord.core.util.gateway;
+
+/**
+ * Reorders the received audio packets of a single ssrc by their rtp sequence.
+ *
+ * <p>Packets are released in order as soon as all previous packets were released. A missing packet is waited for until
+ * more than {@code depth} later packets are buffered; then it is considered lost and skipped. Packets which arrive
+ * after they were released or skipped are rejected, no matter how far behind they are. Only a jump forward by more
+ * than the capacity of the buffer starts a new sequence, or the first packet after a {@link #reset()}.
+ *
+ * <p>The buffer does not copy the packets. It keeps the buffers which are added until they are released to the
+ * {@link Consumer}. It is not thread-safe.
+ */
+public class JitterBuffer {
+
+    /**
+     * The capacity of the buffer, which must be a power of two.
+     */
+    static final int CAPACITY = 16;
+
+    private static final int MASK = CAPACITY - 1;
+
+    private final int depth;
+    private final Consumer consumer;
+
+    private final byte[][] buffers = new byte[CAPACITY][];
+    private final int[] offsets = new int[CAPACITY];
+    private final int[] lengths = new int[CAPACITY];
+    private final int[] timestamps = new int[CAPACITY];
+
+    /**
+     * The sequence of the next packet which is released, or {@code -1} if no packet was added yet.
+     */
+    private int nextSequence = -1;
+
+    /**
+     * The amount of buffered packets.
+     */
+    private int size = 0;
+
+    /**
+     * Creates a new jitter buffer.
+     *
+     * @param depth The amount of later packets that are buffered while waiting for a missing packet.
+     * @param consumer The consumer of the released packets.
+     */
+    public JitterBuffer(int depth, Consumer consumer) {
+        if (depth < 0 || depth >= CAPACITY) {
+            throw new IllegalArgumentException("depth must be between 0 and " + (CAPACITY - 1) + "!");
+        }
+        this.depth = depth;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Adds a packet and releases all packets which are ready.
+     *
+     * @param sequence The rtp sequence of the packet.
+     * @param timestamp The rtp timestamp of the packet.
+     * @param buffer The buffer which contains the packet's payload.
+     * @param offset The offset of the payload in the buffer.
+     * @param length The length of the payload.
+     * @return Whether the packet was added. Packets which were already released or skipped and duplicate packets are
+     *     not added, so the caller keeps their buffer.
+     */
+    public boolean add(int sequence, int timestamp, byte[] buffer, int offset, int length) {
+        sequence &= 0xFFFF;
+        if (nextSequence == -1) {
+            nextSequence = sequence;
+        }
+        int distance = (short) (sequence - nextSequence);
+        if (distance < 0) {
+            // A late or duplicate packet, which must not move the sequence backwards
+            return false;
+        }
+        if (distance >= CAPACITY) {
+            // The sequence jumped forward, e.g. after many lost packets
+            flush();
+            nextSequence = sequence;
+        }
+        int slot = sequence & MASK;
+        if (buffers[slot] != null) {
+            return false;
+        }
+        buffers[slot] = buffer;
+        offsets[slot] = offset;
+        lengths[slot] = length;
+        timestamps[slot] = timestamp;
+        size++;
+        release(depth);
+        return true;
+    }
+
+    /**
+     * Releases all buffered packets in order, skipping missing packets.
+     */
+    public void flush() {
+        release(0);
+    }
+
+    /**
+     * Releases all buffered packets and starts a new sequence with the next packet which is added.
+     *
+     * <p>This is used when the sender was silent for a long time, as its sequence may have started over.
+     */
+    public void reset() {
+        flush();
+        nextSequence = -1;
+    }
+
+    /**
+     * Checks whether the buffer contains packets.
+     *
+     * @return Whether the buffer contains packets.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Releases packets in order, skipping missing packets while more than the given amount of packets is buffered.
+     *
+     * @param maxWaitingSize The maximum amount of buffered packets while waiting for a missing packet.
+     */
+    private void release(int maxWaitingSize) {
+        int lost = 0;
+        while (size > 0) {
+            int slot = nextSequence & MASK;
+            byte[] buffer = buffers[slot];
+            if (buffer == null) {
+                if (size <= maxWaitingSize) {
+                    return;
+                }
+                lost++;
+            } else {
+                buffers[slot] = null;
+                size--;
+                consumer.accept(nextSequence, timestamps[slot], buffer, offsets[slot], lengths[slot], lost);
+                lost = 0;
+            }
+            nextSequence = (nextSequence + 1) & 0xFFFF;
+        }
+    }
+
+    /**
+     * Consumes the packets which are released by a jitter buffer.
+     */
+    @FunctionalInterface
+    public interface Consumer {
+
+        /**
+         * Consumes a released packet. The buffer is owned by the consumer afterwards.
+         *
+         * @param sequence The rtp sequence of the packet.
+         * @param timestamp The rtp timestamp of the packet.
+         * @param buffer The buffer which contains the packet's payload.
+         * @param offset The offset of the payload in the buffer.
+         * @param length The length of the payload.
+         * @param lostBefore The amount of packets which were skipped right before this packet.
+         */
+        void accept(int sequence, int timestamp, byte[] buffer, int offset, int length, int lostBefore);
+    }
+}
@@ -6,7 +6,8 @@ import org.javacord.api.DiscordApi;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
-import java.util.concurrent.ExecutorService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 
 /**
  * This class is extended by all PacketHandlers.
@@ -21,7 +22,6 @@ public abstract class PacketHandler {
     protected final DiscordApiImpl api;
     private final String type;
     private final boolean async;
-    private ExecutorService executorService;
 
     /**
      * Creates a new instance of this class.
@@ -34,33 +34,84 @@ public abstract class PacketHandler {
         this.api = (DiscordApiImpl) api;
         this.async = async;
         this.type = type;
-        if (async) {
-            executorService = api.getThreadPool().getSingleThreadExecutorService("Handlers Processor");
-        }
     }
 
     /**
      * Handles the packet.
      *
+     * <p>Asynchronous packets are handled in the lane of their server, see {@link PacketHandlerExecutor}.
+     *
      * @param packet The packet (the "d"-object).
      */
     public void handlePacket(final JsonNode packet) {
+        handlePacket(packet, () -> handle(packet));
+    }
+
+    /**
+     * Handles the packet with the given handler.
+     *
+     * <p>Asynchronous packets are handled in the lane of their server, see {@link PacketHandlerExecutor}.
+     *
+     * @param packet The packet (the "d"-object).
+     * @param handler The handler of the packet.
+     */
+    protected void handlePacket(JsonNode packet, Runnable handler) {
         if (async) {
-            executorService.submit(() -> {
-                try {
-                    handle(packet);
-                } catch (Throwable t) {
-                    logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
-                            getType(), packet, t);
-                }
-            });
+            api.getPacketHandlerExecutor().submit(type, packet, () -> handleSafely(packet, handler));
         } else {
+            handleSafely(packet, handler);
+        }
+    }
+
+    /**
+     * Handles the packet with the given handler in the priority lane, see
+     * {@link PacketHandlerExecutor#submitPriority(Runnable)}.
+     *
+     * @param packet The packet (the "d"-object).
+     * @param handler The handler of the packet.
+     */
+    protected void handlePacketWithPriority(JsonNode packet, Runnable handler) {
+        api.getPacketHandlerExecutor().submitPriority(() -> handleSafely(packet, handler));
+    }
+
+    /**
+     * Handles a packet whose "d"-object was not parsed into a tree.
+     *
+     * <p>Must only be called if the handler {@link #isStreamingSupported() supports streaming}.
+     *
+     * @param packet The packet.
+     */
+    public void handlePacket(final StreamedPacket packet) {
+        api.getPacketHandlerExecutor().submit(type, packet.getServerId(), () -> handleSafely(packet, () -> {
             try {
                 handle(packet);
-            } catch (Throwable t) {
-                logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
-                        getType(), packet, t);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
             }
+        }));
+    }
+
+    /**
+     * Checks if the handler can handle packets whose "d"-object was not parsed into a tree.
+     *
+     * <p>Handlers which support streaming should override {@link #handle(StreamedPacket)} to read large arrays one
+     * element at a time.
+     *
+     * @return Whether the handler supports streaming.
+     */
+    public boolean isStreamingSupported() {
+        return false;
+    }
+
+    /**
+     * Runs the handler of a packet and logs any exception.
+     */
+    private void handleSafely(Object packet, Runnable handler) {
+        try {
+            handler.run();
+        } catch (Throwable t) {
+            logger.warn("Couldn't handle packet of type {}. Please contact the developer! (packet: {})",
+                    getType(), packet, t);
         }
     }
 
@@ -71,6 +122,18 @@ public abstract class PacketHandler {
      */
     protected abstract void handle(JsonNode packet);
 
+    /**
+     * This method is called by the super class to handle a packet whose "d"-object was not parsed into a tree.
+     *
+     * <p>By default, the whole "d"-object is parsed and handled by {@link #handle(JsonNode)}.
+     *
+     * @param packet The packet.
+     * @throws IOException If the json of the packet is invalid.
+     */
+    protected void handle(StreamedPacket packet) throws IOException {
+        handle(packet.readTree());
+    }
+
     /**
      * Gets the type of packet the handler handles.
      *
@@ -0,0 +1,177 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.javacord.api.util.concurrent.ThreadPool;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs the asynchronous packet handlers in lanes which are partitioned by the server of a packet.
+ *
+ * <p>Every lane is a single thread. The packets of a server always use the same lane and the packets without a server
+ * (e.g. private channels) use their own lane, so the packets of a server are handled in the order they were received,
+ * while packets of different servers are handled in parallel.
+ *
+ * <p>Packets which change the set of servers, like {@code GUILD_CREATE} and {@code GUILD_DELETE}, are barriers: They
+ * are handled after all previously received packets of all lanes and before all packets which are received after them.
+ *
+ * <p>Packets which must be handled quickly, like interactions if the interaction fast lane is enabled, can be submitted
+ * to the priority lane. It is not part of the barriers, so its packets neither wait for other packets of their server
+ * nor for barriers.
+ */
+public class PacketHandlerExecutor {
+
+    /**
+     * The types of packets which are barriers.
+     */
+    private static final Set<String> BARRIER_TYPES =
+            Collections.unmodifiableSet(new HashSet<>(Arrays.asList("GUILD_CREATE", "GUILD_DELETE")));
+
+    /**
+     * A multiplier which spreads the bits of server ids, as their lower bits hardly change.
+     */
+    private static final long SPREAD_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The lanes for packets of servers.
+     */
+    private final ExecutorService[] serverLanes;
+
+    /**
+     * The lane for packets without a server.
+     */
+    private final ExecutorService privateLane;
+
+    /**
+     * The lane for packets which are handled with priority.
+     */
+    private final ExecutorService priorityLane;
+
+    /**
+     * A lock which ensures that barriers are added to all lanes in the same order.
+     */
+    private final ReentrantLock barrierLock = new ReentrantLock();
+
+    /**
+     * Creates a new packet handler executor.
+     *
+     * @param threadPool The thread pool which provides the threads of the lanes.
+     * @param serverLaneCount The amount of lanes for packets of servers.
+     */
+    public PacketHandlerExecutor(ThreadPool threadPool, int serverLaneCount) {
+        if (serverLaneCount < 1) {
+            throw new IllegalArgumentException("serverLaneCount cannot be less than 1!");
+        }
+        serverLanes = new ExecutorService[serverLaneCount];
+        for (int i = 0; i < serverLaneCount; i++) {
+            serverLanes[i] = threadPool.getSingleThreadExecutorService("Handlers Processor - " + i);
+        }
+        privateLane = threadPool.getSingleThreadExecutorService("Handlers Processor - Private");
+        priorityLane = threadPool.getSingleThreadExecutorService("Handlers Processor - Priority");
+    }
+
+    /**
+     * Gets the amount of lanes for packets of servers.
+     *
+     * @return The amount of lanes for packets of servers.
+     */
+    public int getServerLaneCount() {
+        return serverLanes.length;
+    }
+
+    /**
+     * Submits the handler of a packet to the lane of the packet.
+     *
+     * @param type The type of the packet.
+     * @param packet The packet (the "d"-object).
+     * @param task The task which handles the packet.
+     */
+    public void submit(String type, JsonNode packet, Runnable task) {
+        JsonNode serverId = packet == null ? null : packet.get("guild_id");
+        submit(type, serverId == null || serverId.isNull() ? null : serverId.asLong(), task);
+    }
+
+    /**
+     * Submits the handler of a packet to the lane of the given server.
+     *
+     * @param type The type of the packet.
+     * @param serverId The id of the server of the packet, or {@code null} if it has no server.
+     * @param task The task which handles the packet.
+     */
+    public void submit(String type, Long serverId, Runnable task) {
+        if (BARRIER_TYPES.contains(type)) {
+            submitBarrier(task);
+        } else if (serverId == null) {
+            privateLane.submit(task);
+        } else {
+            serverLanes[getServerLane(serverId)].submit(task);
+        }
+    }
+
+    /**
+     * Submits the handler of a packet to the priority lane.
+     *
+     * <p>The task neither waits for other packets of its server nor for barriers, so the handler must not rely on
+     * the packets which were received before it being handled already.
+     *
+     * @param task The task which handles the packet.
+     */
+    public void submitPriority(Runnable task) {
+        priorityLane.submit(task);
+    }
+
+    /**
+     * Submits a task that runs after all previously submitted tasks of all lanes and before all tasks that are
+     * submitted after it.
+     *
+     * <p>The threads of all other lanes wait while the task runs.
+     *
+     * @param task The task.
+     */
+    public void submitBarrier(Runnable task) {
+        AtomicInteger missingLanes = new AtomicInteger(serverLanes.length + 1);
+        CountDownLatch finished = new CountDownLatch(1);
+        Runnable laneTask = () -> {
+            if (missingLanes.decrementAndGet() == 0) {
+                // The last lane which reaches the barrier runs the task
+                try {
+                    task.run();
+                } finally {
+                    finished.countDown();
+                }
+                return;
+            }
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        barrierLock.lock();
+        try {
+            for (ExecutorService serverLane : serverLanes) {
+                serverLane.submit(laneTask);
+            }
+            privateLane.submit(laneTask);
+        } finally {
+            barrierLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the index of the lane for packets of the given server.
+     *
+     * @param serverId The id of the server.
+     * @return The index of the lane.
+     */
+    int getServerLane(long serverId) {
+        return Math.floorMod(Long.hashCode(serverId * SPREAD_MULTIPLIER), serverLanes.length);
+    }
+}
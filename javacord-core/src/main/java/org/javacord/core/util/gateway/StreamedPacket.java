@@ -0,0 +1,294 @@
+package org.javacord.core.util.gateway;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A dispatch packet of the gateway whose "d"-object is not parsed into a tree.
+ *
+ * <p>Only the envelope of the payload ({@code op}, {@code s}, {@code t}) and the {@code guild_id} of the "d"-object
+ * are read while scanning it. The "d"-object is kept as raw json, so handlers can read it with a {@link JsonParser}
+ * and handle large arrays, like the members of a server, one element at a time instead of keeping the whole tree in
+ * memory.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class StreamedPacket {
+
+    private final ObjectMapper mapper;
+    private final int sequence;
+    private final String type;
+    private final Long serverId;
+
+    /**
+     * The raw json of the "d"-object.
+     */
+    private final byte[] data;
+
+    /**
+     * The arrays which were skipped by the last call of {@link #readObject(String...)}.
+     */
+    private final Map<String, StreamedArray> streamedArrays = new HashMap<>();
+
+    private StreamedPacket(ObjectMapper mapper, int sequence, String type, Long serverId, byte[] data) {
+        this.mapper = mapper;
+        this.sequence = sequence;
+        this.type = type;
+        this.serverId = serverId;
+        this.data = data;
+    }
+
+    /**
+     * Scans the envelope of a gateway payload.
+     *
+     * <p>The scan stops as soon as it is clear that the payload can not be streamed. This is the case if it is not a
+     * dispatch packet, if its type is not accepted, or if its "d"-object is not a json object.
+     *
+     * @param mapper The object mapper.
+     * @param payload The buffer with the payload.
+     * @param length The length of the payload in the buffer.
+     * @param streamedTypes A filter for the packet types which should be streamed.
+     * @return The streamed packet, or an empty optional if the payload must be parsed into a tree.
+     * @throws IOException If the payload is no valid json.
+     */
+    public static Optional<StreamedPacket> scan(ObjectMapper mapper, byte[] payload, int length,
+                                                Predicate<String> streamedTypes) throws IOException {
+        Integer op = null;
+        Integer sequence = null;
+        String type = null;
+        Long serverId = null;
+        byte[] data = null;
+        try (JsonParser parser = mapper.getFactory().createParser(payload, 0, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return Optional.empty();
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                switch (fieldName) {
+                    case "op":
+                        op = parser.getValueAsInt(-1);
+                        if (op != GatewayOpcode.DISPATCH.getCode()) {
+                            return Optional.empty();
+                        }
+                        break;
+                    case "s":
+                        sequence = token == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                        break;
+                    case "t":
+                        type = parser.getValueAsString();
+                        if (type == null || !streamedTypes.test(type)) {
+                            return Optional.empty();
+                        }
+                        break;
+                    case "d":
+                        if (token != JsonToken.START_OBJECT) {
+                            return Optional.empty();
+                        }
+                        int start = (int) parser.getTokenLocation().getByteOffset();
+                        serverId = scanServerId(parser);
+                        int end = (int) parser.getCurrentLocation().getByteOffset();
+                        data = Arrays.copyOfRange(payload, start, end);
+                        break;
+                    default:
+                        parser.skipChildren();
+                        break;
+                }
+            }
+        }
+        if (op == null || sequence == null || type == null || data == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StreamedPacket(mapper, sequence, type, serverId, data));
+    }
+
+    /**
+     * Reads the top-level fields of the "d"-object up to its end and returns its {@code guild_id}.
+     */
+    private static Long scanServerId(JsonParser parser) throws IOException {
+        Long serverId = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.getCurrentName();
+            JsonToken token = parser.nextToken();
+            if (fieldName.equals("guild_id") && token != JsonToken.VALUE_NULL) {
+                serverId = Long.parseLong(parser.getValueAsString());
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return serverId;
+    }
+
+    /**
+     * Gets the sequence number of the packet.
+     *
+     * @return The sequence number of the packet.
+     */
+    public int getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the type of the packet.
+     *
+     * @return The type of the packet.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Gets the id of the server of the packet.
+     *
+     * @return The id of the server, or {@code null} if the packet has no {@code guild_id}.
+     */
+    public Long getServerId() {
+        return serverId;
+    }
+
+    /**
+     * Creates a parser for the "d"-object.
+     *
+     * @return A new parser which must be closed after use.
+     * @throws IOException If the parser cannot be created.
+     */
+    public JsonParser createParser() throws IOException {
+        return mapper.getFactory().createParser(data);
+    }
+
+    /**
+     * Reads the whole "d"-object into a tree.
+     *
+     * @return The "d"-object.
+     * @throws IOException If the json is invalid.
+     */
+    public JsonNode readTree() throws IOException {
+        return mapper.readTree(data);
+    }
+
+    /**
+     * Reads the "d"-object into a tree without the given array fields.
+     *
+     * <p>The skipped arrays are available from {@link #getStreamedArray(String)} afterwards.
+     *
+     * @param streamedArrayFields The names of the array fields which should not be part of the tree.
+     * @return The "d"-object without the given array fields.
+     * @throws IOException If the json is invalid.
+     */
+    public ObjectNode readObject(String... streamedArrayFields) throws IOException {
+        streamedArrays.clear();
+        List<String> streamedFields = Arrays.asList(streamedArrayFields);
+        ObjectNode object = mapper.createObjectNode();
+        try (JsonParser parser = createParser()) {
+            parser.nextToken();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_ARRAY && streamedFields.contains(fieldName)) {
+                    int start = (int) parser.getTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    int end = (int) parser.getCurrentLocation().getByteOffset();
+                    streamedArrays.put(fieldName, new StreamedArray(start, end - start));
+                } else {
+                    object.set(fieldName, mapper.readTree(parser));
+                }
+            }
+        }
+        return object;
+    }
+
+    /**
+     * Gets an array field which was skipped by {@link #readObject(String...)}.
+     *
+     * <p>Every iteration parses the elements of the array one after the other, so only the current element is kept
+     * in memory. Parsing errors are thrown as {@link UncheckedIOException}.
+     *
+     * @param fieldName The name of the array field.
+     * @return The elements of the array, or an empty iterable if the "d"-object has no such array.
+     */
+    public Iterable<JsonNode> getStreamedArray(String fieldName) {
+        StreamedArray array = streamedArrays.get(fieldName);
+        return array == null ? Collections.emptyList() : array;
+    }
+
+    @Override
+    public String toString() {
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An array in the "d"-object whose elements are parsed when iterating over it.
+     */
+    private class StreamedArray implements Iterable<JsonNode> {
+
+        private final int offset;
+        private final int length;
+
+        private StreamedArray(int offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public Iterator<JsonNode> iterator() {
+            JsonParser parser;
+            try {
+                parser = mapper.getFactory().createParser(data, offset, length);
+                parser.nextToken();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new Iterator<JsonNode>() {
+
+                private JsonToken next = nextToken();
+
+                @Override
+                public boolean hasNext() {
+                    return next != JsonToken.END_ARRAY && next != null;
+                }
+
+                @Override
+                public JsonNode next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    try {
+                        JsonNode element = mapper.readTree(parser);
+                        next = nextToken();
+                        return element;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+
+                private JsonToken nextToken() {
+                    try {
+                        JsonToken token = parser.nextToken();
+                        if (token == JsonToken.END_ARRAY || token == null) {
+                            parser.close();
+                        }
+                        return token;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+    }
+}
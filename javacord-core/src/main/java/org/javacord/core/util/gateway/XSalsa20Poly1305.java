@@ -0,0 +1,118 @@
+package org.javacord.core.util.gateway;
+
+import org.bouncycastle.crypto.engines.XSalsa20Engine;
+import org.bouncycastle.crypto.macs.Poly1305;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+
+/**
+ * The {@code xsalsa20_poly1305} encryption of voice connections, compatible with NaCl's {@code crypto_secretbox}.
+ *
+ * <p>An instance is created once per secret key and reuses its cipher and mac for every packet, so sealing or opening
+ * a packet only allocates the small key parameters of the cipher and the mac, independent of the size of the packet. It
+ * is not thread-safe and must only be used by one thread at a time.
+ *
+ * @see <a href="https://discord.com/developers/docs/topics/voice-connections#encrypting-and-sending-voice">
+ *     Discord Docs</a>
+ */
+public class XSalsa20Poly1305 {
+
+    /**
+     * The length of the secret key in bytes.
+     */
+    public static final int KEY_LENGTH = 32;
+
+    /**
+     * The length of the nonce in bytes.
+     */
+    public static final int NONCE_LENGTH = 24;
+
+    /**
+     * The length of the message authentication code in bytes, which precedes the ciphertext.
+     */
+    public static final int MAC_LENGTH = 16;
+
+    private static final byte[] ZEROS = new byte[KEY_LENGTH];
+
+    private final KeyParameter key;
+    private final XSalsa20Engine cipher = new XSalsa20Engine();
+    private final Poly1305 mac = new Poly1305();
+
+    /**
+     * The one-time key of the mac, which is taken from the start of the key stream.
+     */
+    private final byte[] macKey = new byte[KEY_LENGTH];
+
+    /**
+     * The expected mac of a message which is opened.
+     */
+    private final byte[] expectedMac = new byte[MAC_LENGTH];
+
+    /**
+     * Creates a new instance for the given secret key.
+     *
+     * @param secretKey The secret key.
+     */
+    public XSalsa20Poly1305(byte[] secretKey) {
+        if (secretKey.length != KEY_LENGTH) {
+            throw new IllegalArgumentException("The secret key must be " + KEY_LENGTH + " bytes long");
+        }
+        key = new KeyParameter(secretKey);
+    }
+
+    /**
+     * Encrypts and authenticates a message in place.
+     *
+     * <p>The message is replaced by its ciphertext and the mac is written into the {@value #MAC_LENGTH} bytes in front
+     * of it, so the result has the same layout as a sealed NaCl secret box.
+     *
+     * @param nonce The nonce, which must be {@value #NONCE_LENGTH} bytes long.
+     * @param buffer The buffer which contains the message.
+     * @param offset The offset of the message in the buffer. It must be at least {@value #MAC_LENGTH}.
+     * @param length The length of the message.
+     */
+    public void seal(byte[] nonce, byte[] buffer, int offset, int length) {
+        if (offset < MAC_LENGTH) {
+            throw new IllegalArgumentException("There must be space for the mac in front of the message");
+        }
+        cipher.init(true, new ParametersWithIV(key, nonce));
+        cipher.processBytes(ZEROS, 0, KEY_LENGTH, macKey, 0);
+        cipher.processBytes(buffer, offset, length, buffer, offset);
+        mac.init(new KeyParameter(macKey));
+        mac.update(buffer, offset, length);
+        mac.doFinal(buffer, offset - MAC_LENGTH);
+    }
+
+    /**
+     * Authenticates and decrypts a message in place.
+     *
+     * <p>This is the reverse of {@link #seal(byte[], byte[], int, int)}: The ciphertext is replaced by the message if
+     * the mac in the {@value #MAC_LENGTH} bytes in front of it is valid. Otherwise, the buffer is not modified.
+     *
+     * @param nonce The nonce, which must be {@value #NONCE_LENGTH} bytes long.
+     * @param buffer The buffer which contains the ciphertext.
+     * @param offset The offset of the ciphertext in the buffer. It must be at least {@value #MAC_LENGTH}.
+     * @param length The length of the ciphertext.
+     * @return Whether the mac was valid.
+     */
+    public boolean open(byte[] nonce, byte[] buffer, int offset, int length) {
+        if (offset < MAC_LENGTH) {
+            throw new IllegalArgumentException("There must be a mac in front of the ciphertext");
+        }
+        cipher.init(false, new ParametersWithIV(key, nonce));
+        cipher.processBytes(ZEROS, 0, KEY_LENGTH, macKey, 0);
+        mac.init(new KeyParameter(macKey));
+        mac.update(buffer, offset, length);
+        mac.doFinal(expectedMac, 0);
+        // Compare in constant time to not leak how much of the mac is valid
+        int difference = 0;
+        for (int i = 0; i < MAC_LENGTH; i++) {
+            difference |= expectedMac[i] ^ buffer[offset - MAC_LENGTH + i];
+        }
+        if (difference != 0) {
+            return false;
+        }
+        cipher.processBytes(buffer, offset, length, buffer, offset);
+        return true;
+    }
+}
@@ -0,0 +1,169 @@
+package org.javacord.core.util.gateway;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Decompresses the messages of a websocket connection with zlib-stream transport compression.
+ *
+ * <p>All messages of a connection are parts of a single zlib stream, so the inflater and its buffers are kept for
+ * the whole connection. A message is complete once the received data ends with the zlib {@code SYNC_FLUSH} suffix.
+ * This class is not thread-safe and the decompressed data is only valid until the next call of
+ * {@link #inflate(byte[])}.
+ */
+class ZlibStreamInflater {
+
+    /**
+     * The suffix of every complete message.
+     */
+    private static final int ZLIB_SUFFIX = 0x0000FFFF;
+
+    /**
+     * The initial size of the buffers.
+     */
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The maximum size of the output buffer that is kept after a message, so a single huge message does not keep
+     * its buffer for the whole connection.
+     */
+    private static final int MAX_RETAINED_BUFFER_SIZE = 4 * 1024 * 1024;
+
+    private final Inflater inflater = new Inflater();
+
+    private byte[] input = new byte[0];
+    private int inputLength = 0;
+
+    private byte[] output = new byte[INITIAL_BUFFER_SIZE];
+    private int outputLength = 0;
+
+    /**
+     * Whether the stream contained invalid data. A zlib stream can not recover from it.
+     */
+    private boolean broken = false;
+
+    /**
+     * Adds the given data of the zlib stream and decompresses it if it completes a message.
+     *
+     * @param data The received data.
+     * @return Whether a message was completed. Its decompressed data is available from {@link #getOutput()} and
+     *         {@link #getOutputLength()}.
+     * @throws DataFormatException If the compressed data format is invalid. The stream is {@link #isBroken() broken}
+     *                             afterwards.
+     */
+    boolean inflate(byte[] data) throws DataFormatException {
+        if (broken) {
+            throw new DataFormatException("The zlib stream contained invalid data before");
+        }
+        if (output.length > MAX_RETAINED_BUFFER_SIZE) {
+            output = new byte[INITIAL_BUFFER_SIZE];
+        }
+        outputLength = 0;
+
+        if (inputLength == 0 && endsWithSuffix(data, data.length)) {
+            // The common case: A whole message in a single frame, which does not need to be copied
+            inflateMessageOrBreak(data, data.length);
+            return true;
+        }
+
+        if (inputLength + data.length > input.length) {
+            input = Arrays.copyOf(input, Math.max(input.length * 2, inputLength + data.length));
+        }
+        System.arraycopy(data, 0, input, inputLength, data.length);
+        inputLength += data.length;
+        if (!endsWithSuffix(input, inputLength)) {
+            return false;
+        }
+        inflateMessageOrBreak(input, inputLength);
+        inputLength = 0;
+        if (input.length > INITIAL_BUFFER_SIZE) {
+            input = new byte[0];
+        }
+        return true;
+    }
+
+    /**
+     * Gets the buffer with the decompressed data of the last completed message.
+     *
+     * @return The buffer. Only the first {@link #getOutputLength()} bytes belong to the message.
+     */
+    byte[] getOutput() {
+        return output;
+    }
+
+    /**
+     * Gets the length of the decompressed data of the last completed message.
+     *
+     * @return The length of the decompressed data.
+     */
+    int getOutputLength() {
+        return outputLength;
+    }
+
+    /**
+     * Checks if the stream contained invalid data. All following data of the stream can not be decompressed, so the
+     * connection has to be replaced.
+     *
+     * @return Whether the stream is broken.
+     */
+    boolean isBroken() {
+        return broken;
+    }
+
+    /**
+     * Releases the native resources of the inflater.
+     */
+    void close() {
+        inflater.end();
+    }
+
+    /**
+     * Decompresses the given data into the output buffer and marks the stream as broken if the data is invalid.
+     */
+    private void inflateMessageOrBreak(byte[] data, int length) throws DataFormatException {
+        try {
+            inflateMessage(data, length);
+        } catch (DataFormatException e) {
+            broken = true;
+            throw e;
+        }
+    }
+
+    /**
+     * Decompresses the given data into the output buffer.
+     */
+    private void inflateMessage(byte[] data, int length) throws DataFormatException {
+        inflater.setInput(data, 0, length);
+        while (true) {
+            if (outputLength == output.length) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            int count = inflater.inflate(output, outputLength, output.length - outputLength);
+            outputLength += count;
+            if (count == 0) {
+                if (inflater.needsDictionary()) {
+                    throw new DataFormatException("Unexpected preset dictionary in zlib stream");
+                }
+                if (inflater.needsInput() || inflater.finished()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks if the given data ends with the zlib {@code SYNC_FLUSH} suffix.
+     */
+    private static boolean endsWithSuffix(byte[] data, int length) {
+        if (length < 4) {
+            return false;
+        }
+        int suffix = (data[length - 4] & 0xFF) << 24
+                | (data[length - 3] & 0xFF) << 16
+                | (data[length - 2] & 0xFF) << 8
+                | (data[length - 1] & 0xFF);
+        return suffix == ZLIB_SUFFIX;
+    }
+
+}
@@ -304,6 +304,8 @@ public class ChannelUpdateHandler extends PacketHandler {
             });
         }
 
+        regularServerChannel.invalidatePermissions();
+
         if (areYouAffected.get() && !channel.canYouSee()) {
             api.forEachCachedMessageWhere(
                     msg -> msg.getChannel().getId() == channelId,
@@ -8,6 +8,9 @@ import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.server.ServerBecomesAvailableEventImpl;
 import org.javacord.core.event.server.ServerJoinEventImpl;
 import org.javacord.core.util.gateway.PacketHandler;
+import org.javacord.core.util.gateway.StreamedPacket;
+
+import java.io.IOException;
 
 /**
  * Handles the guild create packet.
@@ -23,21 +26,37 @@ public class GuildCreateHandler extends PacketHandler {
         super(api, true, "GUILD_CREATE");
     }
 
+    @Override
+    public boolean isStreamingSupported() {
+        return true;
+    }
+
     @Override
     public void handle(JsonNode packet) {
+        handle(packet, packet.path("members"), packet.path("presences"));
+    }
+
+    @Override
+    protected void handle(StreamedPacket packet) throws IOException {
+        // The members and presences are by far the largest part of the packet
+        JsonNode data = packet.readObject("members", "presences");
+        handle(data, packet.getStreamedArray("members"), packet.getStreamedArray("presences"));
+    }
+
+    private void handle(JsonNode packet, Iterable<JsonNode> members, Iterable<JsonNode> presences) {
         if (packet.has("unavailable") && packet.get("unavailable").asBoolean()) {
             return;
         }
         long id = packet.get("id").asLong();
         if (api.getUnavailableServers().contains(id)) {
-            ServerImpl server = new ServerImpl(api, packet);
+            ServerImpl server = new ServerImpl(api, packet, members, presences);
             ServerBecomesAvailableEvent event = new ServerBecomesAvailableEventImpl(server);
 
             api.getEventDispatcher().dispatchServerBecomesAvailableEvent(server, event);
             return;
         }
 
-        ServerImpl server = new ServerImpl(api, packet);
+        ServerImpl server = new ServerImpl(api, packet, members, presences);
         ServerJoinEvent event = new ServerJoinEventImpl(server);
 
         api.getEventDispatcher().dispatchServerJoinEvent(server, event);
@@ -73,6 +73,7 @@ public class GuildMemberUpdateHandler extends PacketHandler {
                     Member oldMember = server.getRealMemberById(userId).orElse(null);
 
                     api.addMemberToCacheOrReplaceExisting(newMember);
+                    server.invalidatePermissions(userId);
 
                     if (oldMember == null) {
                         // Should only happen shortly after startup and is unproblematic
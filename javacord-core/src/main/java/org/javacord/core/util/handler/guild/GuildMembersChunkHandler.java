@@ -6,6 +6,9 @@ import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.entity.user.Member;
 import org.javacord.core.event.server.member.ServerMembersChunkEventImpl;
 import org.javacord.core.util.gateway.PacketHandler;
+import org.javacord.core.util.gateway.StreamedPacket;
+
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -23,12 +26,27 @@ public class GuildMembersChunkHandler extends PacketHandler {
         super(api, true, "GUILD_MEMBERS_CHUNK");
     }
 
+    @Override
+    public boolean isStreamingSupported() {
+        return true;
+    }
+
     @Override
     public void handle(JsonNode packet) {
+        handle(packet, packet.get("members"));
+    }
+
+    @Override
+    protected void handle(StreamedPacket packet) throws IOException {
+        JsonNode data = packet.readObject("members");
+        handle(data, packet.getStreamedArray("members"));
+    }
+
+    private void handle(JsonNode packet, Iterable<JsonNode> membersJson) {
         api.getPossiblyUnreadyServerById(packet.get("guild_id").asLong())
                 .map(ServerImpl.class::cast)
                 .ifPresent(server -> {
-                    List<Member> members = server.addAndGetMembers(packet.get("members"));
+                    List<Member> members = server.addAndGetMembers(membersJson);
                     ServerMembersChunkEventImpl event = new ServerMembersChunkEventImpl(
                             server,
                             members.stream().map(Member::getUser).collect(Collectors.toSet())
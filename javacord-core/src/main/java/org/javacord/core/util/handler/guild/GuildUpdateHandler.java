@@ -164,6 +164,7 @@ public class GuildUpdateHandler extends PacketHandler {
             long oldOwnerId = server.getOwnerId();
             if (newOwnerId != oldOwnerId) {
                 server.setOwnerId(newOwnerId);
+                server.invalidatePermissions();
                 ServerChangeOwnerEvent event = new ServerChangeOwnerEventImpl(server, newOwnerId, oldOwnerId);
 
                 api.getEventDispatcher().dispatchServerChangeOwnerEvent(server, server, event);
@@ -13,6 +13,7 @@ import org.javacord.api.event.server.role.RoleChangePermissionsEvent;
 import org.javacord.api.event.server.role.RoleChangePositionEvent;
 import org.javacord.core.entity.permission.PermissionsImpl;
 import org.javacord.core.entity.permission.RoleImpl;
+import org.javacord.core.entity.server.ServerImpl;
 import org.javacord.core.event.server.role.RoleChangeColorEventImpl;
 import org.javacord.core.event.server.role.RoleChangeHoistEventImpl;
 import org.javacord.core.event.server.role.RoleChangeMentionableEventImpl;
@@ -97,6 +98,7 @@ public class GuildRoleUpdateHandler extends PacketHandler {
             PermissionsImpl newPermissions = new PermissionsImpl(roleJson.get("permissions").asLong(), 0);
             if (!oldPermissions.equals(newPermissions)) {
                 role.setPermissions(newPermissions);
+                ((ServerImpl) role.getServer()).invalidatePermissions();
 
                 RoleChangePermissionsEvent event =
                         new RoleChangePermissionsEventImpl(role, newPermissions, oldPermissions);
@@ -31,17 +31,21 @@ import org.javacord.core.event.interaction.SlashCommandCreateEventImpl;
 import org.javacord.core.event.interaction.UserContextMenuCommandEventImpl;
 import org.javacord.core.interaction.AutocompleteInteractionImpl;
 import org.javacord.core.interaction.ButtonInteractionImpl;
+import org.javacord.core.interaction.HttpInteractionCallback;
+import org.javacord.core.interaction.InteractionEndpointImpl;
 import org.javacord.core.interaction.InteractionImpl;
 import org.javacord.core.interaction.MessageContextMenuInteractionImpl;
 import org.javacord.core.interaction.ModalInteractionImpl;
 import org.javacord.core.interaction.SelectMenuInteractionImpl;
 import org.javacord.core.interaction.SlashCommandInteractionImpl;
 import org.javacord.core.interaction.UserContextMenuInteractionImpl;
+import org.javacord.core.util.event.DispatchQueueSelector;
+import org.javacord.core.util.event.EventDispatcherBase;
 import org.javacord.core.util.gateway.PacketHandler;
 import org.javacord.core.util.logging.LoggerUtil;
 
 /**
- * Handles the guild create packet.
+ * Handles the interaction create packet.
  */
 public class InteractionCreateHandler extends PacketHandler {
 
@@ -56,8 +60,56 @@ public class InteractionCreateHandler extends PacketHandler {
         super(api, true, "INTERACTION_CREATE");
     }
 
+    /**
+     * Handles the packet.
+     *
+     * <p>If the interaction fast lane is enabled, the packet is handled in the priority lane unless its server was not
+     * created yet, so the server and channel of the interaction are known.
+     *
+     * @param packet The packet (the "d"-object).
+     */
+    @Override
+    public void handlePacket(JsonNode packet) {
+        long receiveNanoTime = System.nanoTime();
+        if (api.isInteractionFastLaneEnabled()
+                && (!packet.hasNonNull("guild_id") || api.getServerById(packet.get("guild_id").asLong()).isPresent())) {
+            handlePacketWithPriority(packet, () -> handle(packet, receiveNanoTime, true, null));
+        } else {
+            handlePacket(packet, () -> handle(packet, receiveNanoTime, false, null));
+        }
+    }
+
     @Override
     public void handle(JsonNode packet) {
+        handle(packet, System.nanoTime(), false, null);
+    }
+
+    /**
+     * Handles an interaction which was received by an {@link InteractionEndpointImpl}.
+     *
+     * <p>The events are dispatched without being queued behind other events of the server.
+     *
+     * @param packet The interaction.
+     * @param receiveNanoTime The {@link System#nanoTime()} at which the interaction was received.
+     * @param httpCallback The initial response to the interaction.
+     * @return Whether the interaction was handled, i.e. it is of a known type.
+     */
+    public boolean handle(JsonNode packet, long receiveNanoTime, HttpInteractionCallback httpCallback) {
+        return handle(packet, receiveNanoTime, true, httpCallback);
+    }
+
+    /**
+     * Handles the packet.
+     *
+     * @param packet The packet (the "d"-object).
+     * @param receiveNanoTime The {@link System#nanoTime()} at which the packet was received.
+     * @param fastLane Whether the events are dispatched without being queued behind other events of the server.
+     * @param httpCallback The initial response if the interaction was received by an {@link InteractionEndpointImpl},
+     *                     or {@code null}.
+     * @return Whether the interaction was handled, i.e. it is of a known type.
+     */
+    private boolean handle(JsonNode packet, long receiveNanoTime, boolean fastLane,
+                           HttpInteractionCallback httpCallback) {
         TextChannel channel = null;
         if (packet.hasNonNull("channel")) {
             long channelId = packet.get("channel").get("id").asLong();
@@ -94,7 +146,7 @@ public class InteractionCreateHandler extends PacketHandler {
                     default:
                         logger.info("Got application command interaction of unknown type <{}>. "
                                 + "Please contact the developer!", applicationCommandTypeId);
-                        return;
+                        return false;
                 }
                 break;
             case MESSAGE_COMPONENT:
@@ -108,7 +160,7 @@ public class InteractionCreateHandler extends PacketHandler {
                 } else {
                     logger.warn("Received message component interaction of unknown type <{}>. "
                             + "Please contact the developer!", componentTypeId);
-                    return;
+                    return false;
                 }
                 break;
             case APPLICATION_COMMAND_AUTOCOMPLETE:
@@ -120,14 +172,18 @@ public class InteractionCreateHandler extends PacketHandler {
             default:
                 logger.warn("Received interaction of unknown type <{}>. "
                         + "Please contact the developer!", typeId);
-                return;
+                return false;
         }
+        interaction.setReceiveNanoTime(receiveNanoTime);
+        interaction.setHttpCallback(httpCallback);
         InteractionCreateEvent event = new InteractionCreateEventImpl(interaction);
 
         ServerImpl server = (ServerImpl) interaction.getServer().orElse(null);
+        DispatchQueueSelector queueSelector = fastLane ? EventDispatcherBase.UNQUEUED : server == null ? api : server;
+        DispatchQueueSelector serverQueueSelector = fastLane ? EventDispatcherBase.UNQUEUED : server;
 
         api.getEventDispatcher().dispatchInteractionCreateEvent(
-                server == null ? api : server,
+                queueSelector,
                 server,
                 interaction.getChannel().orElse(null),
                 interaction.getUser(),
@@ -143,7 +199,7 @@ public class InteractionCreateHandler extends PacketHandler {
                         SlashCommandCreateEvent slashCommandCreateEvent =
                                 new SlashCommandCreateEventImpl(interaction);
                         api.getEventDispatcher().dispatchSlashCommandCreateEvent(
-                                server == null ? api : server,
+                                queueSelector,
                                 server,
                                 interaction.getChannel().orElse(null),
                                 interaction.getUser(),
@@ -153,7 +209,7 @@ public class InteractionCreateHandler extends PacketHandler {
                         UserContextMenuCommandEvent userContextMenuCommandEvent =
                                 new UserContextMenuCommandEventImpl(interaction);
                         api.getEventDispatcher().dispatchUserContextMenuCommandEvent(
-                                server,
+                                serverQueueSelector,
                                 server,
                                 interaction.getChannel().orElse(null),
                                 interaction.getUser(),
@@ -163,7 +219,7 @@ public class InteractionCreateHandler extends PacketHandler {
                         MessageContextMenuCommandEvent messageContextMenuCommandEvent =
                                 new MessageContextMenuCommandEventImpl(interaction);
                         api.getEventDispatcher().dispatchMessageContextMenuCommandEvent(
-                                server,
+                                serverQueueSelector,
                                 interaction.asMessageContextMenuInteraction().orElseThrow(AssertionError::new)
                                         .getTarget().getId(),
                                 server,
@@ -174,7 +230,7 @@ public class InteractionCreateHandler extends PacketHandler {
                     default:
                         logger.info("Got application command interaction of unknown type <{}>. "
                                 + "Please contact the developer!", applicationCommandTypeId);
-                        return;
+                        return true;
                 }
 
                 break;
@@ -183,7 +239,7 @@ public class InteractionCreateHandler extends PacketHandler {
                         new MessageComponentCreateEventImpl(interaction);
                 long messageId = messageComponentCreateEvent.getMessageComponentInteraction().getMessage().getId();
                 api.getEventDispatcher().dispatchMessageComponentCreateEvent(
-                        server == null ? api : server,
+                        queueSelector,
                         messageId,
                         server,
                         interaction.getChannel().orElse(null),
@@ -193,7 +249,7 @@ public class InteractionCreateHandler extends PacketHandler {
                 if (componentType == ComponentType.BUTTON) {
                     ButtonClickEvent buttonClickEvent = new ButtonClickEventImpl(interaction);
                     api.getEventDispatcher().dispatchButtonClickEvent(
-                            server == null ? api : server,
+                            queueSelector,
                             messageId,
                             server,
                             interaction.getChannel().orElse(null),
@@ -202,7 +258,7 @@ public class InteractionCreateHandler extends PacketHandler {
                 } else if (componentType.isSelectMenuType()) {
                     SelectMenuChooseEvent selectMenuChooseEvent = new SelectMenuChooseEventImpl(interaction);
                     api.getEventDispatcher().dispatchSelectMenuChooseEvent(
-                            server == null ? api : server,
+                            queueSelector,
                             messageId,
                             server,
                             interaction.getChannel().orElse(null),
@@ -213,7 +269,7 @@ public class InteractionCreateHandler extends PacketHandler {
             case APPLICATION_COMMAND_AUTOCOMPLETE:
                 AutocompleteCreateEvent autocompleteCreateEvent = new AutocompleteCreateEventImpl(interaction);
                 api.getEventDispatcher().dispatchAutocompleteCreateEvent(
-                        server == null ? api : server,
+                        queueSelector,
                         server,
                         interaction.getChannel().orElse(null),
                         interaction.getUser(),
@@ -222,7 +278,7 @@ public class InteractionCreateHandler extends PacketHandler {
             case MODAL_SUBMIT:
                 ModalSubmitEvent modalSubmitEvent = new ModalSubmitEventImpl(interaction);
                 api.getEventDispatcher().dispatchModalSubmitEvent(
-                        server == null ? api : server,
+                        queueSelector,
                         server,
                         interaction.getChannel().orElse(null),
                         interaction.getUser(),
@@ -231,7 +287,7 @@ public class InteractionCreateHandler extends PacketHandler {
             default:
                 break;
         }
-
+        return true;
     }
 
 }
@@ -1,15 +1,12 @@
 package org.javacord.core.util.handler.user;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import io.vavr.collection.HashMap;
-import io.vavr.collection.Map;
 import org.javacord.api.DiscordApi;
-import org.javacord.api.entity.DiscordClient;
 import org.javacord.api.entity.activity.Activity;
 import org.javacord.api.entity.user.UserStatus;
 import org.javacord.api.event.user.UserChangeActivityEvent;
 import org.javacord.api.event.user.UserChangeStatusEvent;
-import org.javacord.core.entity.activity.ActivityImpl;
+import org.javacord.core.entity.user.PackedClientStatus;
 import org.javacord.core.entity.user.UserImpl;
 import org.javacord.core.entity.user.UserPresence;
 import org.javacord.core.event.user.UserChangeActivityEventImpl;
@@ -18,9 +15,7 @@ import org.javacord.core.util.gateway.PacketHandler;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Handles the presence update packet.
@@ -42,64 +37,51 @@ public class PresenceUpdateHandler extends PacketHandler {
         // or all packets after the first do not detect a change and will not send around an event for the server
         long userId = packet.get("user").get("id").asLong();
 
-        AtomicReference<UserPresence> presence = new AtomicReference<>(
-                api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(userId)
-                        .orElseGet(() -> new UserPresence(userId, null, null, io.vavr.collection.HashMap.empty()))
-        );
-
+        Set<Activity> newActivities = null;
         if (packet.hasNonNull("activities")) {
-            Set<Activity> newActivities = new HashSet<>();
+            newActivities = new HashSet<>();
             for (JsonNode activityJson : packet.get("activities")) {
                 if (!activityJson.isNull()) {
-                    newActivities.add(new ActivityImpl(api, activityJson));
+                    newActivities.add(api.getOrCreateActivity(activityJson));
                 }
             }
-            Set<Activity> oldActivities = api.getEntityCache().get()
-                    .getUserPresenceCache()
-                    .getPresenceByUserId(userId)
-                    .map(UserPresence::getActivities)
-                    .orElse(Collections.emptySet());
-            presence.set(presence.get().setActivities(newActivities));
-
-            if (!Objects.deepEquals(newActivities.toArray(), oldActivities.toArray())) {
-                dispatchUserActivityChangeEvent(userId, newActivities, oldActivities);
-            }
         }
-
-        UserStatus oldStatus = api.getEntityCache().get().getUserPresenceCache().getPresenceByUserId(userId)
-                .map(UserPresence::getStatus)
-                .orElse(UserStatus.OFFLINE);
-        UserStatus newStatus;
-        if (packet.has("status")) {
-            newStatus = UserStatus.fromString(packet.get("status").asText(null));
-            presence.set(presence.get().setStatus(newStatus));
-        } else {
-            newStatus = oldStatus;
-        }
-        Map<DiscordClient, UserStatus> oldClientStatus = api.getEntityCache().get().getUserPresenceCache()
-                .getPresenceByUserId(userId)
-                .map(UserPresence::getClientStatus)
-                .orElse(HashMap.empty());
-        for (DiscordClient client : DiscordClient.values()) {
-            if (packet.has("client_status")) {
-                JsonNode clientStatus = packet.get("client_status");
-                if (clientStatus.hasNonNull(client.getName())) {
-                    UserStatus status = UserStatus.fromString(clientStatus.get(client.getName()).asText());
-                    presence.set(presence.get().setClientStatus(presence.get().getClientStatus().put(client, status)));
-                } else {
-                    presence.set(presence.get()
-                            .setClientStatus(presence.get().getClientStatus().put(client, UserStatus.OFFLINE)));
-                }
+        UserStatus newStatus = packet.has("status") ? UserStatus.fromString(packet.get("status").asText(null)) : null;
+        // -1 if the packet has no client status, as packed client statuses are never negative
+        JsonNode clientStatusJson = packet.get("client_status");
+        int newClientStatus = clientStatusJson == null ? -1 : PackedClientStatus.fromJson(clientStatusJson);
+
+        // The mapper might be called more than once, the last call is the one which got applied
+        Set<Activity> activities = newActivities;
+        UserPresence[] snapshots = new UserPresence[2];
+        api.updateUserPresence(userId, oldPresence -> {
+            UserPresence presence = oldPresence;
+            if (activities != null) {
+                presence = presence.setActivities(activities);
+            }
+            if (newStatus != null) {
+                presence = presence.setStatus(newStatus);
+            }
+            if (newClientStatus != -1) {
+                presence = presence.setClientStatus(newClientStatus);
             }
+            snapshots[0] = oldPresence;
+            snapshots[1] = presence;
+            return presence;
+        });
+        UserPresence oldPresence = snapshots[0];
+        UserPresence presence = snapshots[1];
+
+        // Without listeners, only the cache must be updated
+        if (activities != null && api.getEventDispatcher().hasUserChangeActivityListeners()
+                && !presence.getActivities().equals(oldPresence.getActivities())) {
+            dispatchUserActivityChangeEvent(userId, presence.getActivities(), oldPresence.getActivities());
+        }
+        if (api.getEventDispatcher().hasUserChangeStatusListeners()
+                && (presence.getStatus() != oldPresence.getStatus()
+                    || presence.getClientStatus() != oldPresence.getClientStatus())) {
+            dispatchUserStatusChangeEvent(userId, presence, oldPresence);
         }
-        Map<DiscordClient, UserStatus> newClientStatus = api.getEntityCache().get().getUserPresenceCache()
-                .getPresenceByUserId(userId)
-                .map(UserPresence::getClientStatus)
-                .orElse(HashMap.empty());
-
-        api.updateUserPresence(userId, p -> presence.get());
-
-        dispatchUserStatusChangeEventIfChangeDetected(userId, newStatus, oldStatus, newClientStatus, oldClientStatus);
     }
 
     private void dispatchUserActivityChangeEvent(long userId, Set<Activity> newActivities,
@@ -115,26 +97,11 @@ public class PresenceUpdateHandler extends PacketHandler {
         );
     }
 
-    private void dispatchUserStatusChangeEventIfChangeDetected(long userId, UserStatus newStatus, UserStatus oldStatus,
-                                                               Map<DiscordClient, UserStatus> newClientStatus,
-                                                               Map<DiscordClient, UserStatus> oldClientStatus) {
+    private void dispatchUserStatusChangeEvent(long userId, UserPresence newPresence, UserPresence oldPresence) {
         UserImpl user = api.getCachedUserById(userId).map(UserImpl.class::cast).orElse(null);
-        // Only dispatch the event if something changed
-        boolean shouldDispatch = false;
-        if (newClientStatus != oldClientStatus) {
-            shouldDispatch = true;
-        }
-        for (DiscordClient client : DiscordClient.values()) {
-            if (newClientStatus.get(client) != oldClientStatus.get(client)) {
-                shouldDispatch = true;
-            }
-        }
-        if (!shouldDispatch) {
-            return;
-        }
-
-        UserChangeStatusEvent event =
-                new UserChangeStatusEventImpl(api, userId, newStatus, oldStatus, newClientStatus, oldClientStatus);
+        UserChangeStatusEvent event = new UserChangeStatusEventImpl(api, userId,
+                newPresence.getStatus(), oldPresence.getStatus(),
+                newPresence.getClientStatus(), oldPresence.getClientStatus());
 
         api.getEventDispatcher().dispatchUserChangeStatusEvent(
                 api,
@@ -25,6 +25,10 @@ public class TypingStartHandler extends PacketHandler {
 
     @Override
     public void handle(JsonNode packet) {
+        // Typing packets do not change the cache, so they can be ignored without listeners
+        if (!api.getEventDispatcher().hasUserStartTypingListeners()) {
+            return;
+        }
         long userId = packet.get("user_id").asLong();
         long channelId = packet.get("channel_id").asLong();
         TextChannel channel = api.getTextChannelById(channelId).orElse(null);
@@ -0,0 +1,257 @@
+package org.javacord.core.util.http;
+
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Downloads files like avatars, icons and attachments with the http client of the api.
+ *
+ * <p>Downloads share the connection pool, proxy settings and threads of the http client which is used for the
+ * Discord REST API, but have their own dispatcher, so they never take the request slots of the REST API. If a cache
+ * directory is configured, responses are cached on disk as far as their cache headers allow it, in a least recently
+ * used cache which is bounded by its size in bytes.
+ *
+ * <p>Files on the Discord CDN are additionally cached in memory. Their urls contain the hash of their content, so a
+ * url always refers to the same content. The memory cache is a least recently used cache which is bounded by
+ * {@value #MEMORY_CACHE_SIZE} bytes.
+ */
+public class DownloadCache {
+
+    /**
+     * The maximum size of all files in the memory cache in bytes.
+     */
+    public static final long MEMORY_CACHE_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The maximum size of a single file in the memory cache in bytes. Larger files are never cached in memory.
+     */
+    private static final long MAX_MEMORY_CACHE_ENTRY_SIZE = MEMORY_CACHE_SIZE / 16;
+
+    /**
+     * The hosts of the Discord CDN.
+     */
+    private static final Set<String> CDN_HOSTS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("cdn.discordapp.com", "media.discordapp.net")));
+
+    /**
+     * The maximum amount of downloads which run at the same time.
+     */
+    private static final int MAX_CONCURRENT_DOWNLOADS = 32;
+
+    /**
+     * The maximum amount of downloads from the same host which run at the same time.
+     */
+    private static final int MAX_CONCURRENT_DOWNLOADS_PER_HOST = 16;
+
+    /**
+     * The http client which is used for downloads.
+     */
+    private final OkHttpClient httpClient;
+
+    /**
+     * The disk cache, or {@code null} if no cache directory is configured.
+     */
+    private final Cache diskCache;
+
+    /**
+     * The hosts whose files are cached in memory.
+     */
+    private final Set<String> memoryCachedHosts;
+
+    /**
+     * The cached files by their url, in access order. The arrays are private copies which are never handed out,
+     * so callers can not change the cached content. Guarded by itself.
+     */
+    private final LinkedHashMap<HttpUrl, byte[]> memoryCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * The size of all files in the memory cache in bytes. Guarded by {@link #memoryCache}.
+     */
+    private long memoryCacheSize = 0;
+
+    /**
+     * Creates a new download cache.
+     *
+     * @param httpClient The http client of the api.
+     * @param directory The directory of the disk cache, or {@code null} to disable the disk cache.
+     * @param maxDiskSize The maximum size of the disk cache in bytes.
+     */
+    public DownloadCache(OkHttpClient httpClient, File directory, long maxDiskSize) {
+        this(httpClient, directory, maxDiskSize, CDN_HOSTS);
+    }
+
+    /**
+     * Creates a new download cache.
+     *
+     * @param httpClient The http client of the api.
+     * @param directory The directory of the disk cache, or {@code null} to disable the disk cache.
+     * @param maxDiskSize The maximum size of the disk cache in bytes.
+     * @param memoryCachedHosts The hosts whose files are cached in memory.
+     */
+    DownloadCache(OkHttpClient httpClient, File directory, long maxDiskSize, Set<String> memoryCachedHosts) {
+        Dispatcher dispatcher = new Dispatcher(httpClient.dispatcher().executorService());
+        dispatcher.setMaxRequests(MAX_CONCURRENT_DOWNLOADS);
+        dispatcher.setMaxRequestsPerHost(MAX_CONCURRENT_DOWNLOADS_PER_HOST);
+        OkHttpClient.Builder httpClientBuilder = httpClient.newBuilder().dispatcher(dispatcher);
+        // Logging the body would read the whole file into memory
+        httpClientBuilder.interceptors().removeIf(LoggingInterceptor.class::isInstance);
+        diskCache = directory == null ? null : new Cache(directory, maxDiskSize);
+        this.httpClient = httpClientBuilder.cache(diskCache).build();
+        this.memoryCachedHosts = memoryCachedHosts;
+    }
+
+    /**
+     * Downloads the file with the given url.
+     *
+     * <p>This does not block the calling thread.
+     *
+     * @param url The url of the file.
+     * @return The content of the file. The array belongs to the caller.
+     */
+    public CompletableFuture<byte[]> download(URL url) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        HttpUrl httpUrl = HttpUrl.get(url);
+        byte[] cached = getFromMemoryCache(httpUrl);
+        if (cached != null) {
+            future.complete(cached.clone());
+            return future;
+        }
+        httpClient.newCall(new Request.Builder().url(httpUrl).build()).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (ResponseBody body = checkResponse(response).body()) {
+                    byte[] bytes = body.bytes();
+                    addToMemoryCache(httpUrl, bytes);
+                    future.complete(bytes);
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Opens a stream to the file with the given url.
+     *
+     * <p>This blocks until the response headers are received. Files which are not cached in memory are streamed
+     * from the response, so the stream must be closed.
+     *
+     * @param url The url of the file.
+     * @return A stream with the content of the file.
+     * @throws IOException If the file cannot be downloaded.
+     */
+    public InputStream openStream(URL url) throws IOException {
+        HttpUrl httpUrl = HttpUrl.get(url);
+        byte[] cached = getFromMemoryCache(httpUrl);
+        if (cached != null) {
+            return new ByteArrayInputStream(cached);
+        }
+        Response response = checkResponse(httpClient.newCall(new Request.Builder().url(httpUrl).build()).execute());
+        ResponseBody body = response.body();
+        long contentLength = body.contentLength();
+        if (isMemoryCached(httpUrl) && contentLength >= 0 && contentLength <= MAX_MEMORY_CACHE_ENTRY_SIZE) {
+            byte[] bytes = body.bytes();
+            addToMemoryCache(httpUrl, bytes);
+            return new ByteArrayInputStream(bytes);
+        }
+        return body.byteStream();
+    }
+
+    /**
+     * Gets the disk cache.
+     *
+     * @return The disk cache, or {@code null} if no cache directory is configured.
+     */
+    public Cache getDiskCache() {
+        return diskCache;
+    }
+
+    /**
+     * Gets the size of all files in the memory cache.
+     *
+     * @return The size of all files in the memory cache in bytes.
+     */
+    public long getMemoryCacheSize() {
+        synchronized (memoryCache) {
+            return memoryCacheSize;
+        }
+    }
+
+    /**
+     * Removes all files from the memory cache.
+     */
+    public void clearMemoryCache() {
+        synchronized (memoryCache) {
+            memoryCache.clear();
+            memoryCacheSize = 0;
+        }
+    }
+
+    private boolean isMemoryCached(HttpUrl url) {
+        return memoryCachedHosts.contains(url.host());
+    }
+
+    private byte[] getFromMemoryCache(HttpUrl url) {
+        if (!isMemoryCached(url)) {
+            return null;
+        }
+        synchronized (memoryCache) {
+            return memoryCache.get(url);
+        }
+    }
+
+    private void addToMemoryCache(HttpUrl url, byte[] bytes) {
+        if (!isMemoryCached(url) || bytes.length > MAX_MEMORY_CACHE_ENTRY_SIZE) {
+            return;
+        }
+        byte[] copy = bytes.clone();
+        synchronized (memoryCache) {
+            byte[] previous = memoryCache.put(url, copy);
+            memoryCacheSize += bytes.length - (previous == null ? 0 : previous.length);
+            Iterator<Map.Entry<HttpUrl, byte[]>> eldest = memoryCache.entrySet().iterator();
+            while (memoryCacheSize > MEMORY_CACHE_SIZE && eldest.hasNext()) {
+                memoryCacheSize -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * Checks that the response was successful and closes it otherwise.
+     */
+    private static Response checkResponse(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            response.close();
+            throw new IOException("Download of " + response.request().url() + " failed with status code "
+                    + response.code());
+        }
+        return response;
+    }
+}
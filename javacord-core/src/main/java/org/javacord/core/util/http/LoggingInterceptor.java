@@ -0,0 +1,49 @@
+package org.javacord.core.util.http;
+
+import okhttp3.Interceptor;
+import okhttp3.MultipartBody;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.logging.HttpLoggingInterceptor;
+import okhttp3.logging.HttpLoggingInterceptor.Level;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+
+/**
+ * Logs the requests and responses of the http client on the trace level.
+ *
+ * <p>Logging a body copies it into memory. Multipart bodies contain files that are streamed while the request is
+ * written, and one-shot bodies can not be written a second time at all. So only the headers of these requests are
+ * logged. Nothing is copied if trace logging is disabled.
+ */
+public class LoggingInterceptor implements Interceptor {
+
+    private final Logger logger;
+    private final HttpLoggingInterceptor bodyLoggingInterceptor;
+    private final HttpLoggingInterceptor headersLoggingInterceptor;
+
+    /**
+     * Creates a new logging interceptor.
+     *
+     * @param logger The logger to log to.
+     */
+    public LoggingInterceptor(Logger logger) {
+        this.logger = logger;
+        bodyLoggingInterceptor = new HttpLoggingInterceptor(logger::trace).setLevel(Level.BODY);
+        headersLoggingInterceptor = new HttpLoggingInterceptor(logger::trace).setLevel(Level.HEADERS);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (!logger.isTraceEnabled()) {
+            return chain.proceed(chain.request());
+        }
+        RequestBody body = chain.request().body();
+        if (body instanceof MultipartBody || (body != null && body.isOneShot())) {
+            return headersLoggingInterceptor.intercept(chain);
+        }
+        return bodyLoggingInterceptor.intercept(chain);
+    }
+
+}
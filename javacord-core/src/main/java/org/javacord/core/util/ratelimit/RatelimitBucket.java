@@ -6,6 +6,8 @@ import org.javacord.core.util.rest.RestEndpoint;
 import org.javacord.core.util.rest.RestRequest;
 
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -20,6 +22,7 @@ public class RatelimitBucket {
 
     private final RestEndpoint endpoint;
     private final String majorUrlParameter;
+    private final String bucketHash;
 
     private volatile long ratelimitResetTimestamp = 0;
     private volatile int ratelimitRemaining = 1;
@@ -42,9 +45,52 @@ public class RatelimitBucket {
      * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
      */
     public RatelimitBucket(DiscordApi api, RestEndpoint endpoint, String majorUrlParameter) {
+        this(api, endpoint, majorUrlParameter, null);
+    }
+
+    /**
+     * Creates a RatelimitBucket for the given endpoint / parameter combination.
+     *
+     * @param api The api/shard to use.
+     * @param endpoint The REST endpoint of the first request of the bucket.
+     * @param majorUrlParameter The url parameter this bucket is specific for. May be null.
+     * @param bucketHash The bucket hash Discord sent for the routes of this bucket. May be null if the bucket only
+     *                   belongs to the route of the endpoint.
+     */
+    public RatelimitBucket(DiscordApi api, RestEndpoint endpoint, String majorUrlParameter, String bucketHash) {
         this.api = (DiscordApiImpl) api;
         this.endpoint = endpoint;
         this.majorUrlParameter = majorUrlParameter;
+        this.bucketHash = bucketHash;
+    }
+
+    /**
+     * Gets the REST endpoint of the bucket.
+     *
+     * <p>If the bucket has a bucket hash, it is shared by all endpoints with this hash.
+     *
+     * @return The REST endpoint.
+     */
+    public RestEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Gets the url parameter this bucket is specific for.
+     *
+     * @return The major url parameter.
+     */
+    public Optional<String> getMajorUrlParameter() {
+        return Optional.ofNullable(majorUrlParameter);
+    }
+
+    /**
+     * Gets the bucket hash Discord sent for the routes of this bucket.
+     *
+     * @return The bucket hash.
+     */
+    public Optional<String> getBucketHash() {
+        return Optional.ofNullable(bucketHash);
     }
 
     /**
@@ -84,6 +130,15 @@ public class RatelimitBucket {
         return requestQueue.peek();
     }
 
+    /**
+     * Gets the remaining requests till ratelimit.
+     *
+     * @return The remaining requests till ratelimit.
+     */
+    public int getRatelimitRemaining() {
+        return ratelimitRemaining;
+    }
+
     /**
      * Sets the remaining requests till ratelimit.
      *
@@ -108,8 +163,19 @@ public class RatelimitBucket {
      * @return The time in seconds how long you have to wait till there's space in the bucket again.
      */
     public int getTimeTillSpaceGetsAvailable() {
-        long globalRatelimitResetTimestamp =
-                RatelimitBucket.globalRatelimitResetTimestamp.getOrDefault(api.getToken(), 0L);
+        return getTimeTillSpaceGetsAvailable(false);
+    }
+
+    /**
+     * Gets the time in seconds how long you have to wait till there's space in the bucket again.
+     *
+     * @param ignoreGlobalRatelimit Whether the global ratelimit should be ignored, e.g. for interaction callbacks.
+     * @return The time in seconds how long you have to wait till there's space in the bucket again.
+     */
+    public int getTimeTillSpaceGetsAvailable(boolean ignoreGlobalRatelimit) {
+        long globalRatelimitResetTimestamp = ignoreGlobalRatelimit
+                ? 0L
+                : RatelimitBucket.globalRatelimitResetTimestamp.getOrDefault(api.getToken(), 0L);
         long timestamp = System.currentTimeMillis() + (api.getTimeOffset() == null ? 0 : api.getTimeOffset());
         if (ratelimitRemaining > 0 && (globalRatelimitResetTimestamp - timestamp) <= 0) {
             return 0;
@@ -140,6 +206,10 @@ public class RatelimitBucket {
             return false;
         }
         RatelimitBucket otherBucket = (RatelimitBucket) obj;
+        if (bucketHash != null || otherBucket.bucketHash != null) {
+            return Objects.equals(bucketHash, otherBucket.bucketHash)
+                    && Objects.equals(majorUrlParameter, otherBucket.majorUrlParameter);
+        }
         return equals(otherBucket.endpoint, otherBucket.majorUrlParameter);
     }
 
@@ -147,7 +217,12 @@ public class RatelimitBucket {
     public int hashCode() {
         int hash = 42;
         int urlParamHash = majorUrlParameter == null ? 0 : majorUrlParameter.hashCode();
-        int endpointHash = endpoint == null ? 0 : endpoint.hashCode();
+        int endpointHash;
+        if (bucketHash != null) {
+            endpointHash = bucketHash.hashCode();
+        } else {
+            endpointHash = endpoint == null ? 0 : endpoint.hashCode();
+        }
 
         hash = hash * 11 + urlParamHash;
         hash = hash * 17 + endpointHash;
@@ -158,6 +233,9 @@ public class RatelimitBucket {
     public String toString() {
         String str = "Endpoint: " + (endpoint == null ? "global" : endpoint.getEndpointUrl());
         str += ", Major url parameter:" + (majorUrlParameter == null ? "none" : majorUrlParameter);
+        if (bucketHash != null) {
+            str += ", Bucket hash: " + bucketHash;
+        }
         return str;
     }
 }
@@ -5,22 +5,52 @@ import org.apache.logging.log4j.Logger;
 import org.javacord.api.exception.DiscordException;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.rest.RestEndpoint;
+import org.javacord.core.util.rest.RestMethod;
 import org.javacord.core.util.rest.RestRequest;
 import org.javacord.core.util.rest.RestRequestResponseInformationImpl;
 import org.javacord.core.util.rest.RestRequestResult;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
  * This class manages ratelimits and keeps track of them.
+ *
+ * <p>Requests are sent asynchronously. Buckets which have to wait for a ratelimit are scheduled on the central
+ * scheduler instead of blocking a thread, so the amount of threads does not depend on the amount of buckets.
+ *
+ * <p>{@link RestRequest#isPriority() Priority requests}, like interaction callbacks, are sent before other requests
+ * which wait for a free in-flight slot and can use additional reserved slots.
  */
 public class RatelimitManager {
 
+    /**
+     * The maximum amount of requests which were sent and did not receive a response yet.
+     */
+    public static final int MAX_IN_FLIGHT_REQUESTS = 64;
+
+    /**
+     * The amount of additional in-flight requests which are reserved for {@link RestRequest#isPriority() priority
+     * requests}, so they are not delayed by a burst of other requests.
+     */
+    public static final int MAX_PRIORITY_IN_FLIGHT_REQUESTS = 8;
+
     /**
      * The logger of this class.
      */
@@ -32,9 +62,30 @@ public class RatelimitManager {
     private final DiscordApiImpl api;
 
     /**
-     * All buckets.
+     * All buckets by their key.
+     */
+    private final ConcurrentMap<BucketKey, RatelimitBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * The bucket hashes that Discord sent in the {@code X-RateLimit-Bucket} header, by the method and endpoint of
+     * the route.
+     */
+    private final Map<RestMethod, Map<RestEndpoint, String>> bucketHashes = new EnumMap<>(RestMethod.class);
+
+    /**
+     * The amount of requests which were sent and did not receive a response yet.
+     */
+    private final AtomicInteger inFlightRequests = new AtomicInteger();
+
+    /**
+     * The buckets which wait for a free slot for an in-flight request.
+     */
+    private final Queue<RatelimitBucket> bucketsWaitingForSlot = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The buckets with a priority request which wait for a free slot for an in-flight request.
      */
-    private final Set<RatelimitBucket> buckets = new HashSet<>();
+    private final Queue<RatelimitBucket> priorityBucketsWaitingForSlot = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates a new ratelimit manager.
@@ -43,15 +94,20 @@ public class RatelimitManager {
      */
     public RatelimitManager(DiscordApiImpl api) {
         this.api = api;
+        for (RestMethod method : RestMethod.values()) {
+            bucketHashes.put(method, new ConcurrentHashMap<>());
+        }
     }
 
     /**
      * Gets all ratelimit buckets.
      *
+     * <p>This includes idle buckets which are kept until their ratelimit resets.
+     *
      * @return All ratelimit buckets.
      */
-    public Set<RatelimitBucket> getBuckets() {
-        return buckets;
+    public Collection<RatelimitBucket> getBuckets() {
+        return Collections.unmodifiableCollection(buckets.values());
     }
 
     /**
@@ -61,101 +117,283 @@ public class RatelimitManager {
      * @param request The request to queue.
      */
     public void queueRequest(RestRequest<?> request) {
-        final RatelimitBucket bucket;
-        final boolean alreadyInQueue;
-        synchronized (buckets) {
-            // Search for a bucket that fits to this request
-            bucket = buckets.stream()
-                    .filter(b -> b.equals(request.getEndpoint(), request.getMajorUrlParameter().orElse(null)))
-                    .findAny()
-                    .orElseGet(() -> new RatelimitBucket(
-                            api, request.getEndpoint(), request.getMajorUrlParameter().orElse(null)));
+        RestEndpoint endpoint = request.getEndpoint();
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        BucketKey key = getBucketKey(request);
 
+        AtomicBoolean alreadyInQueue = new AtomicBoolean();
+        RatelimitBucket bucket = buckets.compute(key, (bucketKey, existingBucket) -> {
+            RatelimitBucket newBucket = existingBucket == null
+                    ? new RatelimitBucket(api, endpoint, majorUrlParameter, bucketKey.bucketHash)
+                    : existingBucket;
             // Must be executed BEFORE adding the request to the queue
-            alreadyInQueue = bucket.peekRequestFromQueue() != null;
+            alreadyInQueue.set(newBucket.peekRequestFromQueue() != null);
+            newBucket.addRequestToQueue(request);
+            return newBucket;
+        });
 
-            // Add the bucket to the set of buckets (does nothing if it's already in the set)
-            buckets.add(bucket);
+        // If the bucket is already in the queue, there's nothing more to do
+        if (alreadyInQueue.get()) {
+            return;
+        }
+
+        // Start working of the queue
+        processBucket(bucket);
+    }
 
-            // Add the request to the bucket's queue
-            bucket.addRequestToQueue(request);
+    /**
+     * Gets the key of the bucket the given request would be queued in.
+     * Requests with equal keys share a ratelimit.
+     *
+     * @param request The request.
+     * @return The key of the bucket.
+     */
+    public BucketKey getBucketKey(RestRequest<?> request) {
+        String majorUrlParameter = request.getMajorUrlParameter().orElse(null);
+        String bucketHash = getBucketHash(request);
+
+        // Requests of a route share the bucket of its hash once Discord told us the hash, unless the bucket of the
+        // route still has queued requests, as they must be sent first
+        BucketKey key = new BucketKey(request.getEndpoint(), null, majorUrlParameter);
+        if (bucketHash != null) {
+            RatelimitBucket routeBucket = buckets.get(key);
+            if (routeBucket == null || routeBucket.peekRequestFromQueue() == null) {
+                key = new BucketKey(null, bucketHash, majorUrlParameter);
+            }
         }
+        return key;
+    }
 
-        // If the bucket is already in the queue, there's nothing more to do
-        if (alreadyInQueue) {
+    /**
+     * Gets the remaining requests till ratelimit of the bucket with the given key, as Discord told us in the
+     * {@code X-RateLimit-Remaining} header of its last response.
+     *
+     * @param key The key of the bucket.
+     * @return The remaining requests till ratelimit, or {@code 1} if the bucket is unknown.
+     */
+    public int getRatelimitRemaining(BucketKey key) {
+        RatelimitBucket bucket = buckets.get(key);
+        return bucket == null ? 1 : bucket.getRatelimitRemaining();
+    }
+
+    /**
+     * Sends the first request of the bucket's queue, or schedules the bucket if it has to wait for a ratelimit or a
+     * free slot for in-flight requests.
+     *
+     * <p>A bucket has at most one request in flight at a time, so the requests of a bucket are sent in order.
+     *
+     * @param bucket The bucket.
+     */
+    private void processBucket(RatelimitBucket bucket) {
+        RestRequest<?> request = bucket.peekRequestFromQueue();
+        boolean priority = request.isPriority();
+        int sleepTime = bucket.getTimeTillSpaceGetsAvailable(priority);
+        if (sleepTime > 0) {
+            logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits", bucket, sleepTime);
+            // Check again after the delay in case something changed (e.g. because we hit a global ratelimit)
+            api.getThreadPool().getScheduler()
+                    .schedule(() -> processBucket(bucket), sleepTime, TimeUnit.MILLISECONDS);
             return;
         }
 
-        // Start working of the queue
-        api.getThreadPool().getExecutorService().submit(() -> {
-            RestRequest<?> currentRequest = bucket.peekRequestFromQueue();
-            RestRequestResult result = null;
+        if (!tryAcquireInFlightSlot(priority)) {
+            (priority ? priorityBucketsWaitingForSlot : bucketsWaitingForSlot).add(bucket);
+            // A slot might have been released before the bucket was added
+            if (inFlightRequests.get() < getMaxInFlightRequests(priority)) {
+                processNextWaitingBucket();
+            }
+            return;
+        }
+
+        CompletableFuture<RestRequestResult> resultFuture;
+        try {
+            resultFuture = request.executeAsync();
+        } catch (Throwable t) {
+            resultFuture = new CompletableFuture<>();
+            resultFuture.completeExceptionally(t);
+        }
+        resultFuture.whenComplete((result, throwable) -> {
             long responseTimestamp = System.currentTimeMillis();
-            while (currentRequest != null) {
-                try {
-                    int sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    if (sleepTime > 0) {
-                        logger.debug("Delaying requests to {} for {}ms to prevent hitting ratelimits",
-                                bucket, sleepTime);
-                    }
-
-                    // Sleep until space is available
-                    while (sleepTime > 0) {
-                        try {
-                            Thread.sleep(sleepTime);
-                        } catch (InterruptedException e) {
-                            logger.warn("We got interrupted while waiting for a rate limit!", e);
-                        }
-                        // Update in case something changed (e.g. because we hit a global ratelimit)
-                        sleepTime = bucket.getTimeTillSpaceGetsAvailable();
-                    }
-
-                    // Execute the request
-                    result = currentRequest.executeBlocking();
-
-                    // Calculate the time offset, if it wasn't done before
-                    responseTimestamp = System.currentTimeMillis();
-                } catch (Throwable t) {
-                    responseTimestamp = System.currentTimeMillis();
-                    if (currentRequest.getResult().isDone()) {
-                        logger.warn("Received exception for a request that is already done. "
-                                + "This should not be able to happen!", t);
-                    }
-                    // Try to get the response from the exception if it exists
-                    if (t instanceof DiscordException) {
-                        result = ((DiscordException) t).getResponse()
-                                .map(RestRequestResponseInformationImpl.class::cast)
-                                .map(RestRequestResponseInformationImpl::getRestRequestResult)
-                                .orElse(null);
-                    }
-                    // Complete the request
-                    currentRequest.getResult().completeExceptionally(t);
-                } finally {
-                    try {
-                        // Calculate offset
-                        calculateOffset(responseTimestamp, result);
-                        // Handle the response
-                        handleResponse(currentRequest, result, bucket, responseTimestamp);
-                    } catch (Throwable t) {
-                        logger.warn("Encountered unexpected exception.", t);
-                    }
-
-                    // The request didn't finish, so let's try again
-                    if (!currentRequest.getResult().isDone()) {
-                        continue;
-                    }
-
-                    // Poll a new quest
-                    synchronized (buckets) {
-                        bucket.pollRequestFromQueue();
-                        currentRequest = bucket.peekRequestFromQueue();
-                        if (currentRequest == null) {
-                            buckets.remove(bucket);
-                        }
-                    }
-                }
+            releaseInFlightSlot();
+            // Don't run the request's callbacks on a thread of the http client
+            api.getThreadPool().getExecutorService().submit(
+                    () -> handleResult(bucket, request, result, throwable, responseTimestamp));
+        });
+    }
+
+    /**
+     * Handles the result of a request and continues with the next request of the bucket.
+     *
+     * @param bucket The bucket the request belongs to.
+     * @param request The request.
+     * @param result The result of the request, or {@code null} if it failed.
+     * @param throwable The reason why the request failed, or {@code null} if it did not fail.
+     * @param responseTimestamp The timestamp directly after the response finished.
+     */
+    private void handleResult(RatelimitBucket bucket, RestRequest<?> request, RestRequestResult result,
+                              Throwable throwable, long responseTimestamp) {
+        if (throwable != null) {
+            Throwable t = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            if (request.getResult().isDone()) {
+                logger.warn("Received exception for a request that is already done. "
+                        + "This should not be able to happen!", t);
+            }
+            // Try to get the response from the exception if it exists
+            if (t instanceof DiscordException) {
+                result = ((DiscordException) t).getResponse()
+                        .map(RestRequestResponseInformationImpl.class::cast)
+                        .map(RestRequestResponseInformationImpl::getRestRequestResult)
+                        .orElse(null);
             }
+            // Complete the request
+            request.getResult().completeExceptionally(t);
+        }
+
+        try {
+            // Calculate offset
+            calculateOffset(responseTimestamp, result);
+            // Handle the response
+            handleResponse(request, result, bucket, responseTimestamp);
+        } catch (Throwable t) {
+            logger.warn("Encountered unexpected exception.", t);
+        }
+
+        // The request didn't finish, so let's try again
+        if (!request.getResult().isDone()) {
+            processBucket(bucket);
+            return;
+        }
+
+        // Poll a new request
+        AtomicBoolean hasNextRequest = new AtomicBoolean();
+        buckets.compute(BucketKey.of(bucket), (bucketKey, existingBucket) -> {
+            bucket.pollRequestFromQueue();
+            hasNextRequest.set(bucket.peekRequestFromQueue() != null);
+            return existingBucket;
         });
+        if (hasNextRequest.get()) {
+            processBucket(bucket);
+        } else {
+            removeWhenIdle(bucket);
+        }
+    }
+
+    /**
+     * Removes a bucket without queued requests once its ratelimit reset, so the next request of the bucket still
+     * respects it.
+     *
+     * @param bucket The bucket.
+     */
+    private void removeWhenIdle(RatelimitBucket bucket) {
+        AtomicInteger timeTillReset = new AtomicInteger();
+        buckets.computeIfPresent(BucketKey.of(bucket), (bucketKey, existingBucket) -> {
+            if (existingBucket != bucket || bucket.peekRequestFromQueue() != null) {
+                // The bucket is in use again
+                return existingBucket;
+            }
+            timeTillReset.set(bucket.getTimeTillSpaceGetsAvailable());
+            return timeTillReset.get() > 0 ? bucket : null;
+        });
+        if (timeTillReset.get() > 0) {
+            api.getThreadPool().getScheduler()
+                    .schedule(() -> removeWhenIdle(bucket), timeTillReset.get(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the bucket hash of the request's route, if Discord sent it already.
+     *
+     * @param request The request.
+     * @return The bucket hash or {@code null} if it is unknown.
+     */
+    private String getBucketHash(RestRequest<?> request) {
+        RestMethod method = request.getMethod();
+        RestEndpoint endpoint = request.getEndpoint();
+        return method == null || endpoint == null ? null : bucketHashes.get(method).get(endpoint);
+    }
+
+    /**
+     * Remembers the bucket hash of the request's route and updates the ratelimit information of the bucket of the
+     * hash, so all routes which share the hash respect it.
+     *
+     * @param request The request.
+     * @param bucket The bucket the request belongs to.
+     * @param bucketHash The bucket hash Discord sent for the request.
+     * @param remaining The remaining requests till ratelimit.
+     * @param resetTimestamp The ratelimit reset timestamp.
+     */
+    private void updateSharedBucket(
+            RestRequest<?> request, RatelimitBucket bucket, String bucketHash, int remaining, long resetTimestamp) {
+        if (request.getMethod() == null || request.getEndpoint() == null) {
+            return;
+        }
+        String previousHash = bucketHashes.get(request.getMethod()).put(request.getEndpoint(), bucketHash);
+        if (!bucketHash.equals(previousHash)) {
+            logger.debug("Learned bucket hash {} for {} requests to {}", bucketHash, request.getMethod(), bucket);
+        }
+        if (bucketHash.equals(bucket.getBucketHash().orElse(null))) {
+            // Already updated
+            return;
+        }
+        RatelimitBucket sharedBucket = buckets.computeIfAbsent(
+                new BucketKey(null, bucketHash, bucket.getMajorUrlParameter().orElse(null)),
+                bucketKey -> new RatelimitBucket(
+                        api, request.getEndpoint(), bucketKey.majorUrlParameter, bucketKey.bucketHash));
+        sharedBucket.setRatelimitRemaining(remaining);
+        sharedBucket.setRatelimitResetTimestamp(resetTimestamp);
+        removeWhenIdle(sharedBucket);
+    }
+
+    /**
+     * Gets the maximum amount of in-flight requests at which a request can still be sent.
+     *
+     * @param priority Whether the request is a priority request.
+     * @return The maximum amount of in-flight requests.
+     */
+    private static int getMaxInFlightRequests(boolean priority) {
+        return priority ? MAX_IN_FLIGHT_REQUESTS + MAX_PRIORITY_IN_FLIGHT_REQUESTS : MAX_IN_FLIGHT_REQUESTS;
+    }
+
+    /**
+     * Tries to acquire a slot for an in-flight request.
+     *
+     * @param priority Whether the slot is acquired for a priority request, which can use the reserved slots.
+     * @return Whether a slot was acquired.
+     */
+    private boolean tryAcquireInFlightSlot(boolean priority) {
+        int maxInFlightRequests = getMaxInFlightRequests(priority);
+        int current;
+        do {
+            current = inFlightRequests.get();
+            if (current >= maxInFlightRequests) {
+                return false;
+            }
+        } while (!inFlightRequests.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Releases a slot for an in-flight request and hands it to the next waiting bucket.
+     */
+    private void releaseInFlightSlot() {
+        inFlightRequests.decrementAndGet();
+        processNextWaitingBucket();
+    }
+
+    /**
+     * Processes the next bucket which waits for a free slot for an in-flight request, if there is one.
+     * Buckets with a priority request are processed first.
+     */
+    private void processNextWaitingBucket() {
+        RatelimitBucket waitingBucket = priorityBucketsWaitingForSlot.poll();
+        if (waitingBucket == null && inFlightRequests.get() < MAX_IN_FLIGHT_REQUESTS) {
+            waitingBucket = bucketsWaitingForSlot.poll();
+        }
+        if (waitingBucket != null) {
+            api.getThreadPool().getExecutorService().submit(() -> processBucket(waitingBucket));
+        }
     }
 
     /**
@@ -174,7 +412,16 @@ public class RatelimitManager {
         Response response = result.getResponse();
         boolean global = response.header("X-RateLimit-Global", "false").equalsIgnoreCase("true");
         int remaining = Integer.parseInt(response.header("X-RateLimit-Remaining", "1"));
-        long reset =  (long) (Double.parseDouble(response.header("X-RateLimit-Reset", "0")) * 1000);
+        String bucketHash = response.header("X-RateLimit-Bucket");
+        String resetAfter = response.header("X-RateLimit-Reset-After");
+        long reset;
+        if (resetAfter != null) {
+            // The relative reset does not depend on the accuracy of the time offset
+            long timeOffset = api.getTimeOffset() == null ? 0 : api.getTimeOffset();
+            reset = responseTimestamp + timeOffset + (long) (Double.parseDouble(resetAfter) * 1000);
+        } else {
+            reset = (long) (Double.parseDouble(response.header("X-RateLimit-Reset", "0")) * 1000);
+        }
 
         // Check if we received a 429 response
         if (result.getResponse().code() == 429) {
@@ -202,6 +449,9 @@ public class RatelimitManager {
                 // Update the bucket information
                 bucket.setRatelimitRemaining(0);
                 bucket.setRatelimitResetTimestamp(responseTimestamp + retryAfter);
+                if (bucketHash != null) {
+                    updateSharedBucket(request, bucket, bucketHash, 0, responseTimestamp + retryAfter);
+                }
             }
         } else {
             // Check if we didn't already complete it exceptionally.
@@ -213,6 +463,9 @@ public class RatelimitManager {
             // Update bucket information
             bucket.setRatelimitRemaining(remaining);
             bucket.setRatelimitResetTimestamp(reset);
+            if (bucketHash != null) {
+                updateSharedBucket(request, bucket, bucketHash, remaining, reset);
+            }
         }
     }
 
@@ -242,4 +495,53 @@ public class RatelimitManager {
         }
     }
 
+    /**
+     * The key of a bucket.
+     *
+     * <p>Buckets are keyed by the endpoint of their route until Discord tells us the bucket hash of the route.
+     */
+    public static final class BucketKey {
+
+        private final RestEndpoint endpoint;
+        private final String bucketHash;
+        private final String majorUrlParameter;
+
+        private BucketKey(RestEndpoint endpoint, String bucketHash, String majorUrlParameter) {
+            this.endpoint = endpoint;
+            this.bucketHash = bucketHash;
+            this.majorUrlParameter = majorUrlParameter;
+        }
+
+        /**
+         * Gets the key of the given bucket.
+         *
+         * @param bucket The bucket.
+         * @return The key of the bucket.
+         */
+        private static BucketKey of(RatelimitBucket bucket) {
+            String bucketHash = bucket.getBucketHash().orElse(null);
+            return new BucketKey(bucketHash == null ? bucket.getEndpoint() : null, bucketHash,
+                    bucket.getMajorUrlParameter().orElse(null));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof BucketKey)) {
+                return false;
+            }
+            BucketKey other = (BucketKey) obj;
+            return endpoint == other.endpoint
+                    && Objects.equals(bucketHash, other.bucketHash)
+                    && Objects.equals(majorUrlParameter, other.majorUrlParameter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(endpoint, bucketHash, majorUrlParameter);
+        }
+    }
+
 }
@@ -0,0 +1,558 @@
+package org.javacord.core.util.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.apache.logging.log4j.Logger;
+import org.javacord.api.entity.DiscordEntity;
+import org.javacord.api.entity.channel.ServerChannel;
+import org.javacord.api.entity.channel.TextChannel;
+import org.javacord.api.entity.message.Message;
+import org.javacord.api.entity.permission.Role;
+import org.javacord.api.entity.server.Server;
+import org.javacord.api.entity.user.User;
+import org.javacord.api.util.rest.RestBatch;
+import org.javacord.api.util.rest.RestBatchProgress;
+import org.javacord.api.util.rest.RestBatchResult;
+import org.javacord.core.DiscordApiImpl;
+import org.javacord.core.util.logging.LoggerUtil;
+import org.javacord.core.util.ratelimit.RatelimitManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * The implementation of {@link RestBatch}.
+ *
+ * <p>The requests of a batch are grouped by the key of their ratelimit bucket. The groups are served round-robin, and
+ * a group gets a new request queued only while it has less requests pending than its bucket has remaining, so the
+ * ratelimit manager never holds more requests of a batch than it can send in the current ratelimit window.
+ *
+ * <p>The calls of a group are queued in the order their operations were added, and the ratelimit manager sends the
+ * requests of a bucket one after another. So operations of the same bucket, e.g. adding and removing roles in the same
+ * server, are executed in the order they were added. The groups run in parallel, so there is no order between
+ * operations of different buckets.
+ */
+public class RestBatchImpl implements RestBatch {
+
+    /**
+     * The logger of this class.
+     */
+    private static final Logger logger = LoggerUtil.getLogger(RestBatchImpl.class);
+
+    /**
+     * The maximum amount of messages which can be deleted with a single bulk delete request.
+     */
+    static final int MAX_BULK_DELETE_MESSAGES = 100;
+
+    /**
+     * The maximum age of messages which are deleted in bulk. Discord only bulk deletes messages which are younger than
+     * two weeks when the request arrives, so this leaves a margin for the time until the request is sent.
+     */
+    static final Duration MAX_BULK_DELETE_AGE = Duration.ofDays(14).minusMinutes(10);
+
+    /**
+     * The maximum amount of users which can be banned with a single bulk ban request.
+     */
+    static final int MAX_BULK_BAN_USERS = 200;
+
+    private final DiscordApiImpl api;
+
+    /**
+     * The operations which are not sent in bulk, in the order they were added. An operation can be added multiple
+     * times, e.g. to add a role again after it was removed.
+     */
+    private final List<SingleOperation> singleOperations = new ArrayList<>();
+
+    /**
+     * The ids of the users to ban by the id of their server.
+     */
+    private final Map<Long, Set<Long>> bans = new LinkedHashMap<>();
+
+    /**
+     * The ids of the messages to delete by the id of their channel.
+     */
+    private final Map<Long, Set<Long>> messageDeletions = new LinkedHashMap<>();
+
+    private final List<Consumer<RestBatchProgress>> progressListeners = new CopyOnWriteArrayList<>();
+    private final CompletableFuture<RestBatchResult> result = new CompletableFuture<>();
+
+    private String reason = null;
+    private int maxParallelism = DEFAULT_MAX_PARALLELISM;
+    private boolean executed = false;
+
+    // The following fields are guarded by this batch
+    private final Queue<Group> groupsWithCalls = new ArrayDeque<>();
+    private final Map<String, Throwable> failures = new LinkedHashMap<>();
+    private int operationCount;
+    private int pendingCalls = 0;
+    private int succeededCount = 0;
+    private int failedCount = 0;
+
+    /**
+     * Creates a new rest batch.
+     *
+     * @param api The discord api instance.
+     */
+    public RestBatchImpl(DiscordApiImpl api) {
+        this.api = api;
+    }
+
+    @Override
+    public RestBatch addRoleToUser(User user, Role role) {
+        return addSingleOperation(String.format("add role %s to user %s in server %s",
+                role.getIdAsString(), user.getIdAsString(), role.getServer().getIdAsString()),
+                () -> new RestRequest<RestRequestResult>(api, RestMethod.PUT, RestEndpoint.SERVER_MEMBER_ROLE)
+                        .setUrlParameters(role.getServer().getIdAsString(), user.getIdAsString(),
+                                role.getIdAsString()));
+    }
+
+    @Override
+    public RestBatch removeRoleFromUser(User user, Role role) {
+        return addSingleOperation(String.format("remove role %s from user %s in server %s",
+                role.getIdAsString(), user.getIdAsString(), role.getServer().getIdAsString()),
+                () -> new RestRequest<RestRequestResult>(api, RestMethod.DELETE, RestEndpoint.SERVER_MEMBER_ROLE)
+                        .setUrlParameters(role.getServer().getIdAsString(), user.getIdAsString(),
+                                role.getIdAsString()));
+    }
+
+    @Override
+    public RestBatch updateNickname(Server server, User user, String nickname) {
+        return addSingleOperation(String.format("update nickname of user %s in server %s",
+                user.getIdAsString(), server.getIdAsString()),
+                () -> {
+                    if (user.isYourself()) {
+                        return new RestRequest<RestRequestResult>(api, RestMethod.PATCH, RestEndpoint.OWN_NICKNAME)
+                                .setUrlParameters(server.getIdAsString())
+                                .setBody(JsonNodeFactory.instance.objectNode().put("nick", nickname));
+                    }
+                    return new RestRequest<RestRequestResult>(api, RestMethod.PATCH, RestEndpoint.SERVER_MEMBER)
+                            .setUrlParameters(server.getIdAsString(), user.getIdAsString())
+                            .setBody(JsonNodeFactory.instance.objectNode()
+                                    .put("nick", nickname == null ? "" : nickname));
+                });
+    }
+
+    @Override
+    public RestBatch kickUser(Server server, User user) {
+        return addSingleOperation(String.format("kick user %s from server %s",
+                user.getIdAsString(), server.getIdAsString()),
+                () -> new RestRequest<RestRequestResult>(api, RestMethod.DELETE, RestEndpoint.SERVER_MEMBER)
+                        .setUrlParameters(server.getIdAsString(), user.getIdAsString()));
+    }
+
+    @Override
+    public RestBatch banUser(Server server, long userId) {
+        assertNotExecuted();
+        bans.computeIfAbsent(server.getId(), id -> new LinkedHashSet<>()).add(userId);
+        return this;
+    }
+
+    @Override
+    public RestBatch deleteMessages(TextChannel channel, long... messageIds) {
+        assertNotExecuted();
+        Set<Long> channelMessageIds = messageDeletions.computeIfAbsent(channel.getId(), id -> new LinkedHashSet<>());
+        for (long messageId : messageIds) {
+            channelMessageIds.add(messageId);
+        }
+        return this;
+    }
+
+    @Override
+    public RestBatch deleteMessages(Message... messages) {
+        for (Message message : messages) {
+            deleteMessages(message.getChannel(), message.getId());
+        }
+        return this;
+    }
+
+    @Override
+    public RestBatch deleteChannel(ServerChannel channel) {
+        return addSingleOperation(String.format("delete channel %s", channel.getIdAsString()),
+                () -> new RestRequest<RestRequestResult>(api, RestMethod.DELETE, RestEndpoint.CHANNEL)
+                        .setUrlParameters(channel.getIdAsString()));
+    }
+
+    @Override
+    public RestBatch setAuditLogReason(String reason) {
+        this.reason = reason;
+        return this;
+    }
+
+    @Override
+    public RestBatch setMaxParallelism(int maxParallelism) {
+        if (maxParallelism < 1) {
+            throw new IllegalArgumentException("maxParallelism cannot be less than 1!");
+        }
+        this.maxParallelism = maxParallelism;
+        return this;
+    }
+
+    @Override
+    public RestBatch addProgressListener(Consumer<RestBatchProgress> listener) {
+        progressListeners.add(listener);
+        return this;
+    }
+
+    @Override
+    public synchronized int getOperationCount() {
+        if (executed) {
+            return operationCount;
+        }
+        return singleOperations.size()
+                + bans.values().stream().mapToInt(Set::size).sum()
+                + messageDeletions.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public CompletableFuture<RestBatchResult> execute() {
+        synchronized (this) {
+            assertNotExecuted();
+            operationCount = getOperationCount();
+            executed = true;
+
+            RatelimitManager ratelimitManager = api.getRatelimitManager();
+            Map<RatelimitManager.BucketKey, Group> groups = new HashMap<>();
+            for (Call call : createCalls()) {
+                call.request.setAuditLogReason(reason);
+                Group group = groups.computeIfAbsent(ratelimitManager.getBucketKey(call.request), key -> {
+                    Group newGroup = new Group();
+                    groupsWithCalls.add(newGroup);
+                    return newGroup;
+                });
+                call.group = group;
+                group.calls.add(call);
+            }
+        }
+        if (operationCount == 0) {
+            result.complete(new Result(0, 0, 0, Collections.emptyMap()));
+        } else {
+            sendCalls();
+        }
+        return result;
+    }
+
+    /**
+     * Adds an operation which is not sent in bulk.
+     *
+     * @param description The description of the operation.
+     * @param request Creates the request of the operation.
+     * @return The current instance in order to chain call methods.
+     */
+    private RestBatch addSingleOperation(String description, Supplier<RestRequest<RestRequestResult>> request) {
+        assertNotExecuted();
+        singleOperations.add(new SingleOperation(description, request));
+        return this;
+    }
+
+    private void assertNotExecuted() {
+        if (executed) {
+            throw new IllegalStateException("The batch was already executed!");
+        }
+    }
+
+    /**
+     * Creates the calls of all operations.
+     *
+     * @return The calls.
+     */
+    private List<Call> createCalls() {
+        List<Call> calls = new ArrayList<>();
+        for (SingleOperation operation : singleOperations) {
+            calls.add(new Call(operation.request.get(), Collections.singletonList(operation.description), null));
+        }
+        bans.forEach((serverId, userIds) -> createBanCalls(calls, serverId, userIds));
+        messageDeletions.forEach((channelId, messageIds) -> createMessageDeletionCalls(calls, channelId, messageIds));
+        return calls;
+    }
+
+    private void createBanCalls(List<Call> calls, long serverId, Set<Long> userIds) {
+        String serverIdString = Long.toUnsignedString(serverId);
+        for (List<Long> chunk : chunk(new ArrayList<>(userIds), MAX_BULK_BAN_USERS)) {
+            Map<String, String> descriptions = new LinkedHashMap<>();
+            for (long userId : chunk) {
+                descriptions.put(Long.toUnsignedString(userId),
+                        String.format("ban user %s from server %s", Long.toUnsignedString(userId), serverIdString));
+            }
+            List<String> operations = new ArrayList<>(descriptions.values());
+
+            // Do not use bulk banning for a single user
+            if (chunk.size() == 1) {
+                calls.add(new Call(new RestRequest<RestRequestResult>(api, RestMethod.PUT, RestEndpoint.BAN)
+                        .setUrlParameters(serverIdString, descriptions.keySet().iterator().next()),
+                        operations, null));
+                continue;
+            }
+
+            ObjectNode body = JsonNodeFactory.instance.objectNode();
+            ArrayNode userIdsJson = body.putArray("user_ids");
+            descriptions.keySet().forEach(userIdsJson::add);
+            calls.add(new Call(new RestRequest<RestRequestResult>(api, RestMethod.POST, RestEndpoint.SERVER_BULK_BAN)
+                    .setUrlParameters(serverIdString)
+                    .setBody(body),
+                    operations,
+                    result -> {
+                        // Discord bans all users it can and tells us the users it did not ban
+                        Set<String> bannedUsers = new HashSet<>();
+                        JsonNode bannedUsersJson = result.getJsonBody().path("banned_users");
+                        bannedUsersJson.forEach(userId -> bannedUsers.add(userId.asText()));
+                        Map<String, Throwable> failedBans = new LinkedHashMap<>();
+                        descriptions.forEach((userId, description) -> {
+                            if (!bannedUsers.contains(userId)) {
+                                failedBans.put(description, new IllegalStateException("Discord did not ban the user"));
+                            }
+                        });
+                        return failedBans;
+                    }));
+        }
+    }
+
+    private void createMessageDeletionCalls(List<Call> calls, long channelId, Set<Long> messageIds) {
+        String channelIdString = Long.toUnsignedString(channelId);
+        Instant oldestBulkDeletable = Instant.now().minus(MAX_BULK_DELETE_AGE);
+        List<Long> bulkDeletableMessageIds = new ArrayList<>();
+        for (long messageId : messageIds) {
+            if (DiscordEntity.getCreationTimestamp(messageId).isAfter(oldestBulkDeletable)) {
+                bulkDeletableMessageIds.add(messageId);
+            } else {
+                calls.add(createMessageDeletionCall(channelIdString, messageId));
+            }
+        }
+
+        for (List<Long> chunk : chunk(bulkDeletableMessageIds, MAX_BULK_DELETE_MESSAGES)) {
+            // Do not use bulk deletion for a single message
+            if (chunk.size() == 1) {
+                calls.add(createMessageDeletionCall(channelIdString, chunk.get(0)));
+                continue;
+            }
+
+            ObjectNode body = JsonNodeFactory.instance.objectNode();
+            ArrayNode messagesJson = body.putArray("messages");
+            List<String> operations = new ArrayList<>(chunk.size());
+            for (long messageId : chunk) {
+                messagesJson.add(Long.toUnsignedString(messageId));
+                operations.add(describeMessageDeletion(channelIdString, messageId));
+            }
+            calls.add(new Call(
+                    new RestRequest<RestRequestResult>(api, RestMethod.POST, RestEndpoint.MESSAGES_BULK_DELETE)
+                            .setUrlParameters(channelIdString)
+                            .setBody(body),
+                    operations, null));
+        }
+    }
+
+    private Call createMessageDeletionCall(String channelId, long messageId) {
+        return new Call(new RestRequest<RestRequestResult>(api, RestMethod.DELETE, RestEndpoint.MESSAGE_DELETE)
+                .setUrlParameters(channelId, Long.toUnsignedString(messageId)),
+                Collections.singletonList(describeMessageDeletion(channelId, messageId)), null);
+    }
+
+    private static String describeMessageDeletion(String channelId, long messageId) {
+        return String.format("delete message %s in channel %s", Long.toUnsignedString(messageId), channelId);
+    }
+
+    private static <T> List<List<T>> chunk(List<T> list, int chunkSize) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += chunkSize) {
+            chunks.add(list.subList(i, Math.min(i + chunkSize, list.size())));
+        }
+        return chunks;
+    }
+
+    /**
+     * Queues as many calls as the ratelimits of their buckets and the maximum parallelism allow.
+     */
+    private void sendCalls() {
+        RatelimitManager ratelimitManager = api.getRatelimitManager();
+        List<Call> callsToSend = new ArrayList<>();
+        // The calls are queued while holding the lock, so concurrent results can not reorder the calls of a group
+        synchronized (this) {
+            // Serve the groups round-robin until every group is saturated
+            int saturatedGroups = 0;
+            while (pendingCalls < maxParallelism && saturatedGroups < groupsWithCalls.size()) {
+                Group group = groupsWithCalls.poll();
+                Call call = group.calls.peek();
+                // The bucket of a call can change while the batch is executed, e.g. when Discord tells us its hash
+                int waveSize = Math.max(1, ratelimitManager.getRatelimitRemaining(
+                        ratelimitManager.getBucketKey(call.request)));
+                if (group.pendingCalls < waveSize) {
+                    group.calls.poll();
+                    group.pendingCalls++;
+                    pendingCalls++;
+                    callsToSend.add(call);
+                    saturatedGroups = 0;
+                } else {
+                    saturatedGroups++;
+                }
+                if (!group.calls.isEmpty()) {
+                    groupsWithCalls.add(group);
+                }
+            }
+            for (Call call : callsToSend) {
+                call.request.execute(Function.identity())
+                        .whenComplete((response, throwable) -> handleResult(call, response, throwable));
+            }
+        }
+    }
+
+    /**
+     * Records the result of a call and sends the next calls.
+     *
+     * @param call The call.
+     * @param response The response of the call, if it succeeded.
+     * @param throwable The cause, if the call failed.
+     */
+    private void handleResult(Call call, RestRequestResult response, Throwable throwable) {
+        Map<String, Throwable> callFailures = Collections.emptyMap();
+        if (throwable != null) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause()
+                    : throwable;
+            callFailures = new LinkedHashMap<>();
+            for (String operation : call.operations) {
+                callFailures.put(operation, cause);
+            }
+        } else if (call.partialFailures != null) {
+            try {
+                callFailures = call.partialFailures.apply(response);
+            } catch (Throwable t) {
+                logger.warn("Failed to read the result of a batched request", t);
+            }
+        }
+
+        Result progress;
+        synchronized (this) {
+            call.group.pendingCalls--;
+            pendingCalls--;
+            failedCount += callFailures.size();
+            succeededCount += call.operations.size() - callFailures.size();
+            failures.putAll(callFailures);
+            progress = new Result(operationCount, succeededCount, failedCount,
+                    pendingCalls == 0 && groupsWithCalls.isEmpty()
+                            ? Collections.unmodifiableMap(new LinkedHashMap<>(failures))
+                            : Collections.emptyMap());
+        }
+
+        for (Consumer<RestBatchProgress> listener : progressListeners) {
+            try {
+                listener.accept(progress);
+            } catch (Throwable t) {
+                logger.error("Progress listener of a batch threw an exception", t);
+            }
+        }
+        if (progress.isDone()) {
+            result.complete(progress);
+        } else {
+            sendCalls();
+        }
+    }
+
+    /**
+     * An operation which is not sent in bulk.
+     */
+    private static final class SingleOperation {
+
+        private final String description;
+        private final Supplier<RestRequest<RestRequestResult>> request;
+
+        private SingleOperation(String description, Supplier<RestRequest<RestRequestResult>> request) {
+            this.description = description;
+            this.request = request;
+        }
+    }
+
+    /**
+     * A request of the batch, which performs one or more operations.
+     */
+    private static final class Call {
+
+        private final RestRequest<RestRequestResult> request;
+        private final List<String> operations;
+
+        /**
+         * Gets the failed operations of a request which succeeded, or {@code null} if the request either succeeds or
+         * fails as a whole.
+         */
+        private final Function<RestRequestResult, Map<String, Throwable>> partialFailures;
+
+        private Group group;
+
+        private Call(RestRequest<RestRequestResult> request, List<String> operations,
+                     Function<RestRequestResult, Map<String, Throwable>> partialFailures) {
+            this.request = request;
+            this.operations = operations;
+            this.partialFailures = partialFailures;
+        }
+    }
+
+    /**
+     * The calls of a ratelimit bucket.
+     */
+    private static final class Group {
+
+        private final Queue<Call> calls = new ArrayDeque<>();
+        private int pendingCalls = 0;
+    }
+
+    /**
+     * The progress or result of a batch.
+     */
+    private static final class Result implements RestBatchResult {
+
+        private final int operationCount;
+        private final int succeededCount;
+        private final int failedCount;
+        private final Map<String, Throwable> failures;
+
+        private Result(int operationCount, int succeededCount, int failedCount, Map<String, Throwable> failures) {
+            this.operationCount = operationCount;
+            this.succeededCount = succeededCount;
+            this.failedCount = failedCount;
+            this.failures = failures;
+        }
+
+        @Override
+        public int getOperationCount() {
+            return operationCount;
+        }
+
+        @Override
+        public int getSucceededCount() {
+            return succeededCount;
+        }
+
+        @Override
+        public int getFailedCount() {
+            return failedCount;
+        }
+
+        @Override
+        public Map<String, Throwable> getFailures() {
+            return failures;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("RestBatchResult (operations: %d, succeeded: %d, failed: %d)",
+                    operationCount, succeededCount, failedCount);
+        }
+    }
+}
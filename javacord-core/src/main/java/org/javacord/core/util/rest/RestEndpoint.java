@@ -43,6 +43,7 @@ public enum RestEndpoint {
     WEBHOOK_MESSAGE("/webhooks/%s/%s/messages/%s",0),
     INVITE("/invites/%s"),
     BAN("/guilds/%s/bans", 0),
+    SERVER_BULK_BAN("/guilds/%s/bulk-ban", 0),
     CURRENT_USER("/users/@me"),
     AUDIT_LOG("/guilds/%s/audit-logs", 0),
     CUSTOM_EMOJI("/guilds/%s/emojis", 0),
@@ -50,7 +51,7 @@ public enum RestEndpoint {
     STICKER_PACK("/sticker-packs"),
     SERVER_STICKER("/guilds/%s/stickers", 0),
     // interactions
-    INTERACTION_RESPONSE("/interactions/%s/%s/callback"),
+    INTERACTION_RESPONSE("/interactions/%s/%s/callback", 0),
     ORIGINAL_INTERACTION_RESPONSE("/webhooks/%s/%s/messages/@original"),
     APPLICATION_COMMANDS("/applications/%s/commands"),
     SERVER_APPLICATION_COMMANDS("/applications/%s/guilds/%s/commands",0),
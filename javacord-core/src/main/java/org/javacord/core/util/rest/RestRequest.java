@@ -1,6 +1,9 @@
 package org.javacord.core.util.rest;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.MultipartBody;
@@ -10,21 +13,27 @@ import okhttp3.Response;
 import org.apache.logging.log4j.Logger;
 import org.javacord.api.DiscordApi;
 import org.javacord.api.exception.DiscordException;
+import org.javacord.api.util.ratelimit.Ratelimiter;
 import org.javacord.api.util.rest.RestRequestInformation;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
 import org.javacord.api.util.rest.RestRequestResponseInformation;
 import org.javacord.core.DiscordApiImpl;
 import org.javacord.core.util.logging.LoggerUtil;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.stream.Collector;
 
 /**
  * This class is used to wrap a rest request.
@@ -36,16 +45,24 @@ public class RestRequest<T> {
      */
     private static final Logger logger = LoggerUtil.getLogger(RestRequest.class);
 
+    /**
+     * The message of the origin of a rest request.
+     */
+    private static final String ORIGIN_MESSAGE = "origin of RestRequest call";
+
     private final DiscordApiImpl api;
     private final RestMethod method;
     private final RestEndpoint endpoint;
 
     private volatile boolean includeAuthorizationHeader = true;
     private volatile boolean consumeGlobalRatelimit = true;
+    private volatile boolean priority = false;
     private volatile String[] urlParameters = new String[0];
     private final Map<String, String> queryParameters = new HashMap<>();
     private final Map<String, String> headers = new HashMap<>();
     private volatile String body = null;
+    private volatile RestResponseDecoding responseDecoding = RestResponseDecoding.TREE;
+    private volatile Function<MappingIterator<JsonNode>, T> elementsMapper = null;
 
     private final CompletableFuture<RestRequestResult> result = new CompletableFuture<>();
 
@@ -60,7 +77,7 @@ public class RestRequest<T> {
     private String customMajorParam = null;
 
     /**
-     * The origin of the rest request.
+     * The origin of the rest request, or {@code null} if it was not captured.
      */
     private final Exception origin;
 
@@ -76,7 +93,35 @@ public class RestRequest<T> {
         this.method = method;
         this.endpoint = endpoint;
 
-        this.origin = new Exception("origin of RestRequest call");
+        this.origin = captureOrigin(this.api.getRestRequestOriginCapture());
+    }
+
+    /**
+     * Captures the origin of a rest request.
+     *
+     * @param originCapture How the origin should be captured.
+     * @return The origin or {@code null} if it was not captured.
+     */
+    private static Exception captureOrigin(RestRequestOriginCapture originCapture) {
+        if (originCapture == null) {
+            return new Exception(ORIGIN_MESSAGE);
+        }
+        switch (originCapture.getMode()) {
+            case DISABLED:
+                return null;
+            case SAMPLED:
+                return ThreadLocalRandom.current().nextInt(originCapture.getSampleRate()) == 0
+                        ? new Exception(ORIGIN_MESSAGE)
+                        : null;
+            case LIMITED:
+                // Without a stack walker, only the full stack trace can be captured
+                return StackFrames.isSupported()
+                        ? new LimitedOrigin(StackFrames.capture(originCapture.getMaxFrames()))
+                        : new Exception(ORIGIN_MESSAGE);
+            case FULL:
+            default:
+                return new Exception(ORIGIN_MESSAGE);
+        }
     }
 
     /**
@@ -124,6 +169,25 @@ public class RestRequest<T> {
         return Optional.ofNullable(body);
     }
 
+    /**
+     * Gets how the body of a successful response to this request is decoded.
+     *
+     * @return How the body of a successful response is decoded.
+     */
+    public RestResponseDecoding getResponseDecoding() {
+        return responseDecoding;
+    }
+
+    /**
+     * Gets the function which maps the elements of the response to the requested object, if the response's elements
+     * are {@link RestResponseDecoding#ELEMENTS mapped} while reading the body.
+     *
+     * @return The function which maps the elements of the response.
+     */
+    public Function<MappingIterator<JsonNode>, T> getElementsMapper() {
+        return elementsMapper;
+    }
+
     /**
      * Gets the major url parameter of this request.
      * If a request has a major parameter, it means that the ratelimits for this request are based on this parameter.
@@ -147,7 +211,8 @@ public class RestRequest<T> {
     /**
      * Gets the origin of the rest request.
      *
-     * @return The origin of the rest request.
+     * @return The origin of the rest request or {@code null} if it was not captured.
+     * @see DiscordApiImpl#getRestRequestOriginCapture()
      */
     public Exception getOrigin() {
         return origin;
@@ -272,6 +337,47 @@ public class RestRequest<T> {
         return this;
     }
 
+    /**
+     * Sets if this request should be sent with priority.
+     *
+     * <p>Priority requests are sent before other requests which wait for a free in-flight slot, and they can use
+     * slots which are reserved for them. They also ignore the global ratelimit, so only requests to endpoints which
+     * are not bound to the global ratelimit, like interaction callbacks, should be sent with priority.
+     *
+     * @param priority Whether the request should be sent with priority.
+     * @return The current instance in order to chain call methods.
+     */
+    public RestRequest<T> setPriority(boolean priority) {
+        this.priority = priority;
+        return this;
+    }
+
+    /**
+     * Checks if this request is sent with priority.
+     *
+     * @return Whether this request is sent with priority.
+     * @see #setPriority(boolean)
+     */
+    public boolean isPriority() {
+        return priority;
+    }
+
+    /**
+     * Sets how the body of a successful response to this request is decoded.
+     * Defaults to {@link RestResponseDecoding#TREE}.
+     *
+     * @param responseDecoding How the body of a successful response should be decoded. Use
+     *                         {@link #executeMappingElements(Function, Collector)} to map the elements of the response.
+     * @return The current instance in order to chain call methods.
+     */
+    public RestRequest<T> setResponseDecoding(RestResponseDecoding responseDecoding) {
+        if (responseDecoding == RestResponseDecoding.ELEMENTS) {
+            throw new IllegalArgumentException("Elements are only decoded by executeMappingElements(...)");
+        }
+        this.responseDecoding = responseDecoding;
+        return this;
+    }
+
     /**
      * Executes the request. This will automatically retry if we hit a ratelimit.
      *
@@ -295,6 +401,45 @@ public class RestRequest<T> {
         return future;
     }
 
+    /**
+     * Executes the request and maps the elements of the json array in the response one at a time while the body is
+     * read, without keeping the whole array in memory. This will automatically retry if we hit a ratelimit.
+     *
+     * <p>The elements are mapped on the thread which reads the response.
+     *
+     * @param elementMapper A function which maps an element of the array.
+     * @param collector A collector which collects the mapped elements to the requested object.
+     * @param <E> The type of the mapped elements.
+     * @return A future which will contain the collected elements.
+     */
+    @SuppressWarnings("unchecked")
+    public <E> CompletableFuture<T> executeMappingElements(
+            Function<JsonNode, E> elementMapper, Collector<? super E, ?, T> collector) {
+        elementsMapper = elements -> collect(elements, elementMapper, collector);
+        responseDecoding = RestResponseDecoding.ELEMENTS;
+        return execute(result -> (T) result.getMappedElements());
+    }
+
+    /**
+     * Maps and collects the elements of a json array.
+     *
+     * @param elements The elements.
+     * @param elementMapper A function which maps an element.
+     * @param collector A collector which collects the mapped elements.
+     * @param <E> The type of the mapped elements.
+     * @param <A> The type of the mutable result container of the collector.
+     * @param <R> The type of the result.
+     * @return The collected elements.
+     */
+    private static <E, A, R> R collect(Iterator<JsonNode> elements, Function<JsonNode, E> elementMapper,
+                                       Collector<? super E, A, R> collector) {
+        A container = collector.supplier().get();
+        while (elements.hasNext()) {
+            collector.accumulator().accept(container, elementMapper.apply(elements.next()));
+        }
+        return collector.finisher().apply(container);
+    }
+
     /**
      * Gets the result of this request. This will not start executing, just return the result!
      *
@@ -319,21 +464,78 @@ public class RestRequest<T> {
     }
 
     /**
-     * Executes the request blocking.
+     * Executes the request asynchronously.
      *
-     * @return The result of the request.
-     * @throws Exception If something went wrong while executing the request.
-     */
-    public RestRequestResult executeBlocking() throws Exception {
-        if (consumeGlobalRatelimit) {
-            api.getGlobalRatelimiter().ifPresent(ratelimiter -> {
-                try {
-                    ratelimiter.requestQuota();
-                } catch (InterruptedException e) {
-                    logger.warn("Encountered unexpected ratelimiter interrupt", e);
+     * <p>The request is enqueued to the dispatcher of the http client once the global ratelimiter
+     * {@link Ratelimiter#acquire(java.util.concurrent.Executor) granted a quota}. Ratelimiters which can only wait
+     * for a quota by blocking wait in the executor service of the api, never in a pool that is shared with other code.
+     * No thread waits for the response.
+     *
+     * @return A future with the result of the request. It is completed on a thread of the http client.
+     */
+    public CompletableFuture<RestRequestResult> executeAsync() {
+        CompletableFuture<RestRequestResult> future = new CompletableFuture<>();
+        Request request;
+        try {
+            request = buildHttpRequest();
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+            return future;
+        }
+        Optional<Ratelimiter> globalRatelimiter =
+                consumeGlobalRatelimit ? api.getGlobalRatelimiter() : Optional.empty();
+        if (globalRatelimiter.isPresent()) {
+            CompletableFuture<Void> quota;
+            try {
+                quota = globalRatelimiter.get().acquire(api.getThreadPool().getExecutorService());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+                return future;
+            }
+            quota.whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    logger.warn("Encountered unexpected ratelimiter exception", throwable);
                 }
+                enqueue(request, future);
             });
+        } else {
+            enqueue(request, future);
         }
+        return future;
+    }
+
+    /**
+     * Enqueues the http request to the dispatcher of the http client.
+     *
+     * @param request The http request.
+     * @param future The future which is completed with the result.
+     */
+    private void enqueue(Request request, CompletableFuture<RestRequestResult> future) {
+        logger.debug("Trying to send {} request to {}{}",
+                method::name, () -> endpoint.getFullUrl(urlParameters), () -> body != null ? " with body " + body : "");
+        api.getHttpClient().newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response closeableResponse = response) {
+                    future.complete(processResponse(closeableResponse));
+                } catch (Throwable t) {
+                    future.completeExceptionally(t);
+                }
+            }
+        });
+    }
+
+    /**
+     * Builds the http request.
+     *
+     * @return The http request.
+     */
+    private Request buildHttpRequest() {
         Request.Builder requestBuilder = new Request.Builder();
         HttpUrl.Builder httpUrlBuilder = endpoint.getOkHttpUrl(urlParameters).newBuilder();
         queryParameters.forEach(httpUrlBuilder::addQueryParameter);
@@ -371,71 +573,99 @@ public class RestRequest<T> {
             requestBuilder.addHeader("authorization", api.getPrefixedToken());
         }
         headers.forEach(requestBuilder::addHeader);
-        logger.debug("Trying to send {} request to {}{}",
-                method::name, () -> endpoint.getFullUrl(urlParameters), () -> body != null ? " with body " + body : "");
+        return requestBuilder.build();
+    }
+
+    /**
+     * Reads the response and checks it for errors.
+     *
+     * @param response The response.
+     * @return The result of the request.
+     * @throws Exception If the response is an error, or reading it failed.
+     */
+    private RestRequestResult processResponse(Response response) throws Exception {
+        RestRequestResult result = new RestRequestResult(this, response);
+        logger.debug("Sent {} request to {} and received status code {} with{} body{}",
+                method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
+                () -> result.getBody().map(b -> "").orElse(" empty"),
+                () -> result.getStringBody().map(s -> " " + s).orElse(""));
+
+        if (response.code() >= 300 || response.code() < 200) {
+
+            RestRequestInformation requestInformation = asRestRequestInformation();
+            RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
+                    requestInformation, result);
+            Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
+                    .fromCode(response.code());
+
+            // Check if the response body contained a know error code
+            if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
+                int code = result.getJsonBody().get("code").asInt();
+                String message = result.getJsonBody().has("message")
+                        ? result.getJsonBody().get("message").asText()
+                        : null;
+                Optional<? extends DiscordException> discordException =
+                        RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
+                                .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
+                                        origin, (message == null) ? restRequestResultCode.getMeaning() : message,
+                                        requestInformation, responseInformation));
+                // There's an exception for this specific response code
+                if (discordException.isPresent()) {
+                    throw discordException.get();
+                }
+            }
 
-        try (Response response = getApi().getHttpClient().newCall(requestBuilder.build()).execute()) {
-            RestRequestResult result = new RestRequestResult(this, response);
-            logger.debug("Sent {} request to {} and received status code {} with{} body{}",
-                    method::name, () -> endpoint.getFullUrl(urlParameters), response::code,
-                    () -> result.getBody().map(b -> "").orElse(" empty"),
-                    () -> result.getStringBody().map(s -> " " + s).orElse(""));
-
-            if (response.code() >= 300 || response.code() < 200) {
-
-                RestRequestInformation requestInformation = asRestRequestInformation();
-                RestRequestResponseInformation responseInformation = new RestRequestResponseInformationImpl(
-                        requestInformation, result);
-                Optional<RestRequestHttpResponseCode> responseCode = RestRequestHttpResponseCode
-                        .fromCode(response.code());
-
-                // Check if the response body contained a know error code
-                if (!result.getJsonBody().isNull() && result.getJsonBody().has("code")) {
-                    int code = result.getJsonBody().get("code").asInt();
-                    String message = result.getJsonBody().has("message")
-                            ? result.getJsonBody().get("message").asText()
-                            : null;
-                    Optional<? extends DiscordException> discordException =
-                            RestRequestResultErrorCode.fromCode(code, responseCode.orElse(null))
-                                    .flatMap(restRequestResultCode -> restRequestResultCode.getDiscordException(
-                                            origin, (message == null) ? restRequestResultCode.getMeaning() : message,
-                                            requestInformation, responseInformation));
-                    // There's an exception for this specific response code
+            switch (response.code()) {
+                case 429:
+                    // A 429 will be handled in the RatelimitManager class
+                    return result;
+                default:
+                    // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
+                    Optional<? extends DiscordException> discordException = responseCode
+                            .flatMap(restRequestHttpResponseCode ->
+                                             restRequestHttpResponseCode.getDiscordException(
+                                                     origin,
+                                                     "Received a " + response.code() + " response from Discord with"
+                                                     + (result.getBody().isPresent() ? "" : " empty")
+                                                     + " body"
+                                                     + result.getStringBody().map(s -> " " + s).orElse("")
+                                                     + "!",
+                                                     requestInformation, responseInformation));
                     if (discordException.isPresent()) {
                         throw discordException.get();
+                    } else {
+                        // No specific exception was defined for the response code, so throw a "normal"
+                        throw new DiscordException(
+                                origin, "Received a " + response.code() + " response from Discord with"
+                                        + (result.getBody().isPresent() ? "" : " empty") + " body"
+                                        + result.getStringBody().map(s -> " " + s).orElse("") + "!",
+                                requestInformation, responseInformation);
                     }
-                }
-
-                switch (response.code()) {
-                    case 429:
-                        // A 429 will be handled in the RatelimitManager class
-                        return result;
-                    default:
-                        // There are specific exceptions for specific response codes (e.g. NotFoundException for 404)
-                        Optional<? extends DiscordException> discordException = responseCode
-                                .flatMap(restRequestHttpResponseCode ->
-                                                 restRequestHttpResponseCode.getDiscordException(
-                                                         origin,
-                                                         "Received a " + response.code() + " response from Discord with"
-                                                         + (result.getBody().isPresent() ? "" : " empty")
-                                                         + " body"
-                                                         + result.getStringBody().map(s -> " " + s).orElse("")
-                                                         + "!",
-                                                         requestInformation, responseInformation));
-                        if (discordException.isPresent()) {
-                            throw discordException.get();
-                        } else {
-                            // No specific exception was defined for the response code, so throw a "normal"
-                            throw new DiscordException(
-                                    origin, "Received a " + response.code() + " response from Discord with"
-                                            + (result.getBody().isPresent() ? "" : " empty") + " body"
-                                            + result.getStringBody().map(s -> " " + s).orElse("") + "!",
-                                    requestInformation, responseInformation);
-                        }
-                }
             }
-            return result;
         }
+        return result;
+    }
+
+    /**
+     * The origin of a rest request with a limited amount of stack frames.
+     */
+    private static class LimitedOrigin extends Exception {
+
+        /**
+         * Creates a new origin without filling in the full stack trace.
+         *
+         * @param stackTrace The captured frames.
+         */
+        private LimitedOrigin(StackTraceElement[] stackTrace) {
+            super(ORIGIN_MESSAGE);
+            setStackTrace(stackTrace);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+
     }
 
 }
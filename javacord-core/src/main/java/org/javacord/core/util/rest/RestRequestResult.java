@@ -2,7 +2,9 @@ package org.javacord.core.util.rest;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.NullNode;
 import okhttp3.Response;
 import okhttp3.ResponseBody;
@@ -11,6 +13,7 @@ import org.javacord.core.util.logging.LoggerUtil;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * The result of a {@link RestRequest}.
@@ -27,13 +30,17 @@ public class RestRequestResult {
     private final ResponseBody body;
     private final String stringBody;
     private final JsonNode jsonBody;
+    private final Object mappedElements;
 
     /**
      * Creates a new RestRequestResult.
      *
+     * <p>The body is decoded with the {@link RestRequest#getResponseDecoding() decoding} of the request. It is only
+     * read as a string if the response is an error, trace logging is enabled, or the request asks for it.
+     *
      * @param request The request of the result.
      * @param response The response of the RestRequest.
-     * @throws IOException Passed on from {@link ResponseBody#string()}.
+     * @throws IOException If reading the body failed.
      */
     public RestRequestResult(RestRequest<?> request, Response response) throws IOException {
         this.request = request;
@@ -42,18 +49,52 @@ public class RestRequestResult {
         if (body == null) {
             stringBody = null;
             jsonBody = NullNode.getInstance();
-        } else {
-            stringBody = body.string();
-            ObjectMapper mapper = request.getApi().getObjectMapper();
-            JsonNode jsonBody;
-            try {
-                jsonBody = mapper.readTree(stringBody);
-            } catch (JsonParseException e) {
-                // This can happen if Discord sends garbage (see https://github.com/Javacord/Javacord/issues/526)
-                logger.debug("Failed to parse json response", e);
-                jsonBody = null;
-            }
-            this.jsonBody = jsonBody == null ? NullNode.getInstance() : jsonBody;
+            mappedElements = null;
+            return;
+        }
+
+        RestResponseDecoding decoding = request.getResponseDecoding();
+        if (decoding == null) {
+            decoding = RestResponseDecoding.TREE;
+        }
+        stringBody = decoding == RestResponseDecoding.STRING || !response.isSuccessful() || logger.isTraceEnabled()
+                ? body.string()
+                : null;
+        ObjectMapper mapper = request.getApi().getObjectMapper();
+
+        if (decoding == RestResponseDecoding.ELEMENTS && response.isSuccessful()) {
+            jsonBody = NullNode.getInstance();
+            mappedElements = mapElements(mapper, request.getElementsMapper());
+            return;
+        }
+
+        JsonNode jsonBody;
+        try {
+            jsonBody = stringBody == null ? mapper.readTree(body.byteStream()) : mapper.readTree(stringBody);
+        } catch (JsonParseException e) {
+            // This can happen if Discord sends garbage (see https://github.com/Javacord/Javacord/issues/526)
+            logger.debug("Failed to parse json response", e);
+            jsonBody = null;
+        }
+        this.jsonBody = jsonBody == null ? NullNode.getInstance() : jsonBody;
+        mappedElements = null;
+    }
+
+    /**
+     * Maps the elements of the json array in the body one at a time.
+     *
+     * @param mapper The object mapper.
+     * @param elementsMapper Maps the iterated elements to the result of the request.
+     * @return The mapped elements.
+     * @throws IOException If reading the body failed.
+     */
+    private Object mapElements(ObjectMapper mapper, Function<MappingIterator<JsonNode>, ?> elementsMapper)
+            throws IOException {
+        ObjectReader reader = mapper.readerFor(JsonNode.class);
+        try (MappingIterator<JsonNode> elements = stringBody == null
+                ? reader.readValues(body.byteStream())
+                : reader.readValues(stringBody)) {
+            return elementsMapper.apply(elements);
         }
     }
 
@@ -86,6 +127,8 @@ public class RestRequestResult {
 
     /**
      * Gets the string body of the response.
+     * It is only present for error responses, if trace logging is enabled, or if the request's decoding is
+     * {@link RestResponseDecoding#STRING}.
      *
      * @return The string body of the response.
      */
@@ -95,7 +138,8 @@ public class RestRequestResult {
 
     /**
      * Gets the json body of the response.
-     * Returns a {@link NullNode} if the response had no body or the body is not in a valid json format.
+     * Returns a {@link NullNode} if the response had no body, the body is not in a valid json format, or its elements
+     * were {@link RestResponseDecoding#ELEMENTS mapped} while reading it.
      *
      * @return The json body of the response.
      */
@@ -103,4 +147,14 @@ public class RestRequestResult {
         return jsonBody;
     }
 
+    /**
+     * Gets the mapped elements of the json array in the body.
+     *
+     * @return The mapped elements or {@code null} if the request's decoding is not
+     *     {@link RestResponseDecoding#ELEMENTS}.
+     */
+    public Object getMappedElements() {
+        return mappedElements;
+    }
+
 }
@@ -0,0 +1,30 @@
+package org.javacord.core.util.rest;
+
+/**
+ * An enum with all strategies to decode the body of a successful response.
+ *
+ * <p>The body of an error response is always read as a string, because it is part of the thrown exception.
+ */
+public enum RestResponseDecoding {
+
+    /**
+     * Reads the body as a string and parses the string to a json tree.
+     * Both are kept in memory, so this should only be used if the string body is needed.
+     */
+    STRING,
+
+    /**
+     * Parses the json tree directly from the byte stream of the body.
+     * The string body is only available if trace logging is enabled.
+     */
+    TREE,
+
+    /**
+     * Maps the elements of a json array one at a time while the body is read, without creating a tree of the whole
+     * array. The json body is a {@code NullNode}.
+     *
+     * @see RestRequest#executeMappingElements(java.util.function.Function, java.util.stream.Collector)
+     */
+    ELEMENTS
+
+}
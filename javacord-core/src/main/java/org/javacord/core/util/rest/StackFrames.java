@@ -0,0 +1,35 @@
+package org.javacord.core.util.rest;
+
+/**
+ * Captures the innermost frames of the current thread's stack.
+ *
+ * <p>Walking only some frames of the stack is possible on Java 9 and newer. This implementation is used on older Java
+ * versions, the multi-release jar contains the implementation for Java 9 and newer.
+ */
+final class StackFrames {
+
+    private StackFrames() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if capturing the innermost frames is supported by the Java runtime.
+     *
+     * @return Whether capturing the innermost frames is supported.
+     */
+    static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Captures the innermost frames of the current thread's stack, skipping the frames of rest requests.
+     *
+     * @param maxFrames The maximum amount of frames.
+     * @return The captured frames, starting with the frame which created the rest request.
+     * @throws UnsupportedOperationException If capturing the innermost frames is not supported.
+     */
+    static StackTraceElement[] capture(int maxFrames) {
+        throw new UnsupportedOperationException("Capturing the innermost stack frames requires Java 9 or newer");
+    }
+
+}
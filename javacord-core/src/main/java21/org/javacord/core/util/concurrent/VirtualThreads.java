@@ -0,0 +1,36 @@
+package org.javacord.core.util.concurrent;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates executor services which start a new virtual thread for every task.
+ *
+ * <p>This is the implementation for Java 21 and newer.
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if virtual threads are supported by the Java runtime.
+     *
+     * @return Whether virtual threads are supported.
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Creates an executor service which starts a new virtual thread for every task.
+     *
+     * @param namePrefix The prefix of the thread names, followed by a counter.
+     * @return The executor service.
+     */
+    static ExecutorService newThreadPerTaskExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+
+}
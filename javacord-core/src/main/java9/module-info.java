@@ -1,9 +1,10 @@
 @SuppressWarnings("requires-transitive-automatic")
 module org.javacord.core {
     requires okhttp3.logging;
-    requires com.codahale.xsalsa20poly1305;
+    requires org.bouncycastle.provider;
 
     requires java.logging;
+    requires static jdk.httpserver;
 
     requires transitive org.javacord.api;
     requires transitive okhttp3;
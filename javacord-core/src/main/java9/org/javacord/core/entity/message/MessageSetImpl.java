@@ -23,11 +23,13 @@ import java.util.Spliterators;
 import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.Collectors.toList;
 
 /**
@@ -785,11 +787,7 @@ public class MessageSetImpl implements MessageSet {
             restRequest.addQueryParameter("after", Long.toUnsignedString(after));
         }
 
-        return restRequest.execute(result -> {
-            List<JsonNode> messageJsonNodes = new ArrayList<>();
-            result.getJsonBody().iterator().forEachRemaining(messageJsonNodes::add);
-            return messageJsonNodes;
-        }).join();
+        return restRequest.executeMappingElements(Function.identity(), toCollection(ArrayList::new)).join();
     }
 
     @Override
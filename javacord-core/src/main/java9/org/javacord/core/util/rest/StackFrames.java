@@ -0,0 +1,49 @@
+package org.javacord.core.util.rest;
+
+/**
+ * Captures the innermost frames of the current thread's stack.
+ *
+ * <p>This is the implementation for Java 9 and newer. It only walks the captured frames.
+ */
+final class StackFrames {
+
+    private static final StackWalker stackWalker = StackWalker.getInstance();
+
+    private StackFrames() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Checks if capturing the innermost frames is supported by the Java runtime.
+     *
+     * @return Whether capturing the innermost frames is supported.
+     */
+    static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Captures the innermost frames of the current thread's stack, skipping the frames of rest requests.
+     *
+     * @param maxFrames The maximum amount of frames.
+     * @return The captured frames, starting with the frame which created the rest request.
+     */
+    static StackTraceElement[] capture(int maxFrames) {
+        return stackWalker.walk(frames -> frames
+                .dropWhile(frame -> isSkipped(frame.getClassName()))
+                .limit(maxFrames)
+                .map(StackWalker.StackFrame::toStackTraceElement)
+                .toArray(StackTraceElement[]::new));
+    }
+
+    /**
+     * Checks if a frame of the given class is skipped.
+     *
+     * @param className The name of the class of the frame.
+     * @return Whether the frame is skipped.
+     */
+    private static boolean isSkipped(String className) {
+        return className.equals(StackFrames.class.getName()) || className.equals(RestRequest.class.getName());
+    }
+
+}
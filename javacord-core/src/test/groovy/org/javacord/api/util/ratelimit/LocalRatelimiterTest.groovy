@@ -0,0 +1,55 @@
+package org.javacord.api.util.ratelimit
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.TimeUnit
+
+@Subject(LocalRatelimiter)
+class LocalRatelimiterTest extends Specification {
+
+    def 'tryAcquire() takes at most the amount per reset interval'() {
+        given:
+            def ratelimiter = new LocalRatelimiter(3, Duration.ofMinutes(1))
+
+        expect:
+            (0..<5).collect { ratelimiter.tryAcquire() } == [true, true, true, false, false]
+            ratelimiter.remainingQuota == 0
+    }
+
+    def 'acquire() completes the waiting requests when their reset interval starts'() {
+        given:
+            def ratelimiter = new LocalRatelimiter(2, Duration.ofMillis(200))
+
+        when:
+            def start = System.nanoTime()
+            def futures = (0..<6).collect { ratelimiter.acquire() }
+            def completionMillis = futures.collect {
+                it.get(5, TimeUnit.SECONDS)
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+            }
+
+        then:
+            futures[0..1].every { it.done }
+            completionMillis[2] >= 200
+            completionMillis[4] >= 400
+            !ratelimiter.tryAcquire()
+    }
+
+    def 'blocking and non-blocking requests share the quota'() {
+        given:
+            def ratelimiter = new LocalRatelimiter(1, Duration.ofMillis(200))
+
+        when:
+            def start = System.nanoTime()
+            CompletableFuture<Void> future = ratelimiter.acquire()
+            ratelimiter.requestQuota()
+
+        then:
+            future.done
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200
+    }
+
+}
@@ -0,0 +1,51 @@
+package org.javacord.api.util.ratelimit
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+@Subject(Ratelimiter)
+class RatelimiterTest extends Specification {
+
+    def 'acquire(Executor) waits for a blocking quota in the given executor'() {
+        given:
+            def quotaThread = new AtomicReference<Thread>()
+            def ratelimiter = new Ratelimiter() {
+                @Override
+                void requestQuota() {
+                    quotaThread.set(Thread.currentThread())
+                }
+            }
+            def executor = Mock(Executor)
+
+        when:
+            def future = ratelimiter.acquire(executor)
+
+        then:
+            1 * executor.execute(_) >> { Runnable task -> new Thread(task, 'quota thread').start() }
+
+        when:
+            future.get(5, TimeUnit.SECONDS)
+
+        then:
+            quotaThread.get().name == 'quota thread'
+    }
+
+    def 'acquire(Executor) of the local ratelimiter does not use the executor'() {
+        given:
+            def ratelimiter = new LocalRatelimiter(1, Duration.ofMinutes(1))
+            def executor = Mock(Executor)
+
+        when:
+            def future = ratelimiter.acquire(executor)
+
+        then:
+            future.done
+            0 * executor._
+    }
+
+}
@@ -5,7 +5,10 @@ import okhttp3.Credentials
 import org.apache.logging.log4j.Level
 import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
 import org.javacord.api.exception.NotFoundException
+import org.javacord.api.listener.user.UserChangeStatusListener
+import org.javacord.api.listener.user.UserStartTypingListener
 import org.javacord.test.MockProxyManager
 import org.mockserver.configuration.ConfigurationProperties
 import org.mockserver.model.HttpRequest
@@ -89,6 +92,56 @@ class DiscordApiImplTest extends Specification {
             'getAllServers'                          | []
     }
 
+    def 'the listener count goes up when listeners are added and down when they are removed'() {
+        given:
+            UserStartTypingListener first = { }
+            UserStartTypingListener second = { }
+
+        expect:
+            !api.hasListeners(UserStartTypingListener)
+
+        when:
+            def firstManager = api.addListener(UserStartTypingListener, first)
+            api.addListener(UserStartTypingListener, second)
+            // Adding the same listener again does not register it twice
+            api.addListener(UserStartTypingListener, second)
+
+        then:
+            api.hasListeners(UserStartTypingListener)
+            api.@listenerCounts == [(UserStartTypingListener): 2]
+
+        when:
+            firstManager.remove()
+
+        then:
+            api.@listenerCounts == [(UserStartTypingListener): 1]
+
+        when:
+            api.removeListener(UserStartTypingListener, second)
+
+        then:
+            !api.hasListeners(UserStartTypingListener)
+            api.@listenerCounts.isEmpty()
+    }
+
+    def 'removing the listeners of an object decreases the listener count'() {
+        given:
+            api.addObjectListener(User, 1, UserStartTypingListener, { } as UserStartTypingListener)
+            api.addObjectListener(User, 1, UserChangeStatusListener, { } as UserChangeStatusListener)
+            api.addObjectListener(User, 2, UserStartTypingListener, { } as UserStartTypingListener)
+
+        expect:
+            api.@listenerCounts == [(UserStartTypingListener): 2, (UserChangeStatusListener): 1]
+
+        when:
+            api.removeObjectListeners(User, 1)
+
+        then:
+            api.@listenerCounts == [(UserStartTypingListener): 1]
+            api.hasListeners(UserStartTypingListener)
+            !api.hasListeners(UserChangeStatusListener)
+    }
+
     @RestoreSystemProperties
     def 'REST calls with a man-in-the-middle attack fail'() {
         given:
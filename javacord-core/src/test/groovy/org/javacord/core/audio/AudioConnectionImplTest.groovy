@@ -0,0 +1,68 @@
+package org.javacord.core.audio
+
+import org.javacord.api.audio.AudioReceiveHandler
+import org.javacord.api.entity.channel.ServerVoiceChannel
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.gateway.AudioWebSocketAdapter
+import org.javacord.core.util.gateway.DiscordWebSocketAdapter
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CompletableFuture
+
+@Subject(AudioConnectionImpl)
+class AudioConnectionImplTest extends Specification {
+
+    def websocketAdapter = Mock(AudioWebSocketAdapter)
+
+    def connection
+
+    def setup() {
+        def api = Stub(DiscordApiImpl) {
+            getWebSocketAdapter() >> Stub(DiscordWebSocketAdapter)
+        }
+        def channel = Stub(ServerVoiceChannel) {
+            getApi() >> api
+        }
+        connection = new AudioConnectionImpl(channel, new CompletableFuture<>(), false, false)
+        connection.@websocketAdapter = websocketAdapter
+    }
+
+    def 'setting a receive handler starts receiving'() {
+        when:
+            connection.receiveHandler = Stub(AudioReceiveHandler)
+
+        then:
+            1 * websocketAdapter.startReceiving()
+            0 * websocketAdapter.stopReceiving()
+    }
+
+    def 'removing the receive handler stops receiving until a new handler is set'() {
+        given:
+            connection.receiveHandler = Stub(AudioReceiveHandler)
+
+        when:
+            connection.removeReceiveHandler()
+
+        then:
+            1 * websocketAdapter.stopReceiving()
+            !connection.receiveHandler.present
+
+        when:
+            connection.receiveHandler = Stub(AudioReceiveHandler)
+
+        then:
+            1 * websocketAdapter.startReceiving()
+            connection.receiveHandler.present
+    }
+
+    def 'setting a null receive handler stops receiving'() {
+        when:
+            connection.receiveHandler = null
+
+        then:
+            1 * websocketAdapter.stopReceiving()
+            0 * websocketAdapter.startReceiving()
+    }
+
+}
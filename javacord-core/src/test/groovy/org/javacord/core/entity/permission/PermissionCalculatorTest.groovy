@@ -0,0 +1,188 @@
+package org.javacord.core.entity.permission
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.permission.PermissionState
+import org.javacord.api.entity.permission.PermissionType
+import org.javacord.api.entity.permission.Permissions
+import org.javacord.core.OfflineDiscordApiBuilder
+import org.javacord.core.entity.channel.RegularServerChannelImpl
+import org.javacord.core.entity.server.ServerImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+
+import static org.javacord.api.entity.permission.PermissionType.ADMINISTRATOR
+import static org.javacord.api.entity.permission.PermissionType.ATTACH_FILES
+import static org.javacord.api.entity.permission.PermissionType.EMBED_LINKS
+import static org.javacord.api.entity.permission.PermissionType.MANAGE_MESSAGES
+import static org.javacord.api.entity.permission.PermissionType.SEND_MESSAGES
+import static org.javacord.api.entity.permission.PermissionType.VIEW_CHANNEL
+
+@Subject(PermissionCalculator)
+class PermissionCalculatorTest extends Specification {
+
+    static final long SERVER_ID = 10
+    static final long CHANNEL_ID = 20
+    static final long ROLE_A = 30
+    static final long ROLE_B = 31
+    static final long OWNER_ID = 40
+    static final long MEMBER_ID = 41
+
+    def api = new OfflineDiscordApiBuilder().build()
+
+    def cleanup() {
+        api.disconnect()
+    }
+
+    def 'allowed role overwrites take precedence over denied role overwrites'() {
+        given:
+            def roleOverwrites = [
+                    (SERVER_ID): permissions([], [SEND_MESSAGES, EMBED_LINKS]),
+                    (ROLE_A)   : permissions([SEND_MESSAGES], [ATTACH_FILES]),
+                    (ROLE_B)   : permissions([ATTACH_FILES], [VIEW_CHANNEL])
+            ]
+
+        when:
+            def overwritten = PermissionCalculator.calculateOverwrittenPermissions(
+                    SERVER_ID, [SERVER_ID, ROLE_A, ROLE_B], MEMBER_ID, roleOverwrites, [:])
+
+        then:
+            overwritten.allowedPermission == [SEND_MESSAGES, ATTACH_FILES] as Set
+            overwritten.deniedPermissions == [EMBED_LINKS, VIEW_CHANNEL] as Set
+    }
+
+    def 'user overwrites are applied last'() {
+        given:
+            def roleOverwrites = [(ROLE_A): permissions([SEND_MESSAGES], [])]
+            def userOverwrites = [(MEMBER_ID): permissions([VIEW_CHANNEL], [SEND_MESSAGES])]
+
+        when:
+            def overwritten = PermissionCalculator.calculateOverwrittenPermissions(
+                    SERVER_ID, [SERVER_ID, ROLE_A], MEMBER_ID, roleOverwrites, userOverwrites)
+
+        then:
+            overwritten.allowedPermission == [VIEW_CHANNEL] as Set
+            overwritten.deniedPermissions == [SEND_MESSAGES] as Set
+    }
+
+    def 'administrators have all permissions regardless of overwrites'() {
+        when:
+            def effective = PermissionCalculator.calculateEffectivePermissions(
+                    ADMINISTRATOR.value, permissions([], [VIEW_CHANNEL, SEND_MESSAGES]))
+
+        then:
+            effective.allowedPermission == PermissionType.values() as Set
+            effective.deniedPermissions.empty
+    }
+
+    def 'every permission of the effective permissions is either allowed or denied'() {
+        when:
+            def effective = PermissionCalculator.calculateEffectivePermissions(
+                    VIEW_CHANNEL.value | SEND_MESSAGES.value, permissions([MANAGE_MESSAGES], [SEND_MESSAGES]))
+
+        then:
+            effective.allowedPermission == [VIEW_CHANNEL, MANAGE_MESSAGES] as Set
+            PermissionType.values().every { effective.getState(it) != PermissionState.UNSET }
+    }
+
+    def 'the owner has all permissions in a channel'() {
+        given:
+            def server = server()
+            def channel = channel(server)
+
+        expect:
+            channel.getEffectivePermissions(server.getMemberById(OWNER_ID).get()).allowedPermission ==
+                    PermissionType.values() as Set
+    }
+
+    def 'effective permissions are memoized until a role is updated'() {
+        given:
+            def server = server()
+            def channel = channel(server)
+            def member = server.getMemberById(MEMBER_ID).get()
+
+        expect:
+            !channel.hasPermission(member, MANAGE_MESSAGES)
+            channel.getEffectivePermissions(member).is(channel.getEffectivePermissions(member))
+
+        when:
+            ((RoleImpl) server.getRoleById(ROLE_A).get()).setPermissions(new PermissionsImpl(ADMINISTRATOR.value, 0))
+            server.invalidatePermissions()
+
+        then:
+            channel.hasPermission(member, MANAGE_MESSAGES)
+    }
+
+    def 'effective permissions are memoized until an overwrite is updated'() {
+        given:
+            def server = server()
+            def channel = channel(server)
+            def member = server.getMemberById(MEMBER_ID).get()
+            channel.getEffectivePermissions(member)
+
+        when:
+            channel.internalOverwrittenUserPermissions.put(MEMBER_ID, permissions([], [VIEW_CHANNEL]))
+            channel.invalidatePermissions()
+
+        then:
+            !channel.hasPermission(member, VIEW_CHANNEL)
+            channel.hasPermission(member, SEND_MESSAGES)
+    }
+
+    Permissions permissions(List<PermissionType> allowed, List<PermissionType> denied) {
+        new PermissionsImpl(allowed.sum(0L) { it.value } as long, denied.sum(0L) { it.value } as long)
+    }
+
+    ServerImpl server() {
+        def data = new ObjectMapper().readTree("""{
+            "id": "$SERVER_ID",
+            "name": "Server",
+            "region": "us-west",
+            "large": false,
+            "member_count": 2,
+            "owner_id": "$OWNER_ID",
+            "verification_level": 0,
+            "explicit_content_filter": 0,
+            "default_message_notifications": 0,
+            "mfa_level": 0,
+            "premium_tier": 0,
+            "nsfw_level": 0,
+            "preferred_locale": "en-US",
+            "roles": [
+                ${role(SERVER_ID, VIEW_CHANNEL.value)},
+                ${role(ROLE_A, SEND_MESSAGES.value)},
+                ${role(ROLE_B, 0)}
+            ],
+            "channels": [{
+                "id": "$CHANNEL_ID",
+                "type": 0,
+                "name": "general",
+                "position": 0,
+                "nsfw": false,
+                "permission_overwrites": [
+                    {"id": "$SERVER_ID", "type": 0, "allow": "0", "deny": "${SEND_MESSAGES.value}"},
+                    {"id": "$ROLE_A", "type": 0, "allow": "${SEND_MESSAGES.value}", "deny": "0"}
+                ]
+            }],
+            "members": [
+                ${member(OWNER_ID, [])},
+                ${member(MEMBER_ID, [ROLE_A])}
+            ]
+        }""")
+        new ServerImpl(api, data)
+    }
+
+    static RegularServerChannelImpl channel(ServerImpl server) {
+        (RegularServerChannelImpl) server.getRegularChannelById(CHANNEL_ID).get()
+    }
+
+    static String role(long id, long permissions) {
+        """{"id": "$id", "name": "Role $id", "permissions": "$permissions", "position": 0, "color": 0,
+            "hoist": false, "managed": false, "mentionable": false}"""
+    }
+
+    static String member(long id, List<Long> roles) {
+        """{"user": {"id": "$id", "username": "User $id", "discriminator": "0001"},
+            "roles": [${roles.collect { "\"$it\"" }.join(', ')}], "joined_at": "2022-01-01T00:00:00.000000+00:00"}"""
+    }
+}
@@ -0,0 +1,53 @@
+package org.javacord.core.entity.user
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.DiscordClient
+import org.javacord.api.entity.user.UserStatus
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+@Subject(PackedClientStatus)
+class PackedClientStatusTest extends Specification {
+
+    def 'all clients are offline by default'() {
+        expect:
+            DiscordClient.values().every {
+                PackedClientStatus.get(PackedClientStatus.ALL_OFFLINE, it) == UserStatus.OFFLINE
+            }
+    }
+
+    @Unroll
+    def 'setting #status on #client does not change the other clients'() {
+        given:
+            def clientStatus = DiscordClient.values().inject(PackedClientStatus.ALL_OFFLINE) { packed, it ->
+                PackedClientStatus.with(packed, it, UserStatus.IDLE)
+            }
+
+        when:
+            clientStatus = PackedClientStatus.with(clientStatus, client, status)
+
+        then:
+            PackedClientStatus.get(clientStatus, client) == status
+            DiscordClient.values().findAll { it != client }.every {
+                PackedClientStatus.get(clientStatus, it) == UserStatus.IDLE
+            }
+
+        where:
+            [client, status] << [DiscordClient.values(), UserStatus.values()].combinations()
+    }
+
+    def 'clients which are missing in the json are offline'() {
+        given:
+            def json = new ObjectMapper().readTree('{"desktop":"dnd","web":null}')
+
+        when:
+            def clientStatus = PackedClientStatus.fromJson(json)
+
+        then:
+            PackedClientStatus.get(clientStatus, DiscordClient.DESKTOP) == UserStatus.DO_NOT_DISTURB
+            PackedClientStatus.get(clientStatus, DiscordClient.MOBILE) == UserStatus.OFFLINE
+            PackedClientStatus.get(clientStatus, DiscordClient.WEB) == UserStatus.OFFLINE
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.javacord.core.interaction
+
+import groovy.json.JsonOutput
+import groovy.json.JsonSlurper
+import org.bouncycastle.crypto.generators.Ed25519KeyPairGenerator
+import org.bouncycastle.crypto.params.Ed25519KeyGenerationParameters
+import org.bouncycastle.crypto.params.Ed25519PrivateKeyParameters
+import org.bouncycastle.crypto.params.Ed25519PublicKeyParameters
+import org.bouncycastle.crypto.signers.Ed25519Signer
+import org.bouncycastle.util.encoders.Hex
+import org.javacord.core.OfflineDiscordApiBuilder
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+import java.security.SecureRandom
+
+@Subject(InteractionEndpointImpl)
+class InteractionEndpointImplTest extends Specification {
+
+    def api = new OfflineDiscordApiBuilder().build()
+
+    Ed25519PrivateKeyParameters privateKey
+
+    Ed25519PublicKeyParameters publicKey
+
+    def endpoint
+
+    def setup() {
+        def generator = new Ed25519KeyPairGenerator()
+        generator.init(new Ed25519KeyGenerationParameters(new SecureRandom()))
+        def keyPair = generator.generateKeyPair()
+        privateKey = keyPair.private as Ed25519PrivateKeyParameters
+        publicKey = keyPair.public as Ed25519PublicKeyParameters
+        endpoint = api.startInteractionEndpoint(new InetSocketAddress(InetAddress.loopbackAddress, 0),
+                '/interactions', Hex.toHexString(publicKey.encoded)).join()
+    }
+
+    def cleanup() {
+        api.disconnect()
+    }
+
+    def sign(String timestamp, byte[] body) {
+        def signer = new Ed25519Signer()
+        signer.init(true, privateKey)
+        def timestampBytes = timestamp.getBytes(StandardCharsets.UTF_8)
+        signer.update(timestampBytes, 0, timestampBytes.length)
+        signer.update(body, 0, body.length)
+        Hex.toHexString(signer.generateSignature())
+    }
+
+    def post(Map payload, Closure<String> signature = this.&sign) {
+        def body = JsonOutput.toJson(payload).getBytes(StandardCharsets.UTF_8)
+        def timestamp = String.valueOf(System.currentTimeMillis().intdiv(1000))
+        def connection = new URL("http://localhost:${endpoint.address.port}/interactions")
+                .openConnection() as HttpURLConnection
+        connection.requestMethod = 'POST'
+        connection.doOutput = true
+        connection.setRequestProperty('Content-Type', 'application/json')
+        connection.setRequestProperty('X-Signature-Ed25519', signature(timestamp, body))
+        connection.setRequestProperty('X-Signature-Timestamp', timestamp)
+        connection.outputStream.withCloseable { it.write(body) }
+        def code = connection.responseCode
+        def response = code == 200 ? new JsonSlurper().parse(connection.inputStream) : null
+        connection.disconnect()
+        [code, response]
+    }
+
+    def 'signed pings are answered with a pong'() {
+        when:
+            def (code, response) = post([id: '1', application_id: '2', type: 1, token: 'token', version: 1])
+
+        then:
+            code == 200
+            response == [type: 1]
+    }
+
+    def 'requests with an invalid signature are rejected'() {
+        when:
+            def (code, response) = post([id: '1', application_id: '2', type: 1, token: 'token', version: 1]) {
+                timestamp, body -> sign(timestamp, 'another body'.getBytes(StandardCharsets.UTF_8))
+            }
+
+        then:
+            code == 401
+    }
+
+    def 'the initial response is sent in the body of the http response'() {
+        given:
+            api.addSlashCommandCreateListener {
+                it.slashCommandInteraction.createImmediateResponder().setContent('pong').respond()
+            }
+
+        when:
+            def (code, response) = post([
+                    id            : '1',
+                    application_id: '2',
+                    type          : 2,
+                    token         : 'token',
+                    version       : 1,
+                    locale        : 'en-US',
+                    user          : [id: '3', username: 'user', discriminator: '0001'],
+                    data          : [id: '4', name: 'ping', type: 1]
+            ])
+
+        then:
+            code == 200
+            response.type == 4
+            response.data.content == 'pong'
+    }
+
+}
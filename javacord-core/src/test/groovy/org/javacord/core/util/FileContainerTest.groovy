@@ -1,13 +1,24 @@
 package org.javacord.core.util
 
+import com.sun.net.httpserver.HttpServer
+import okhttp3.MultipartBody
+import okhttp3.Request
+import okio.Buffer
+import okio.ForwardingSink
+import okio.Okio
 import org.javacord.core.DiscordApiImpl
+import org.javacord.core.OfflineDiscordApiBuilder
 import org.javacord.core.util.concurrent.ThreadPoolImpl
 import spock.lang.AutoCleanup
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 
+import javax.imageio.ImageIO
 import java.awt.image.BufferedImage
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.util.concurrent.atomic.AtomicInteger
 
 @Subject(FileContainer)
 class FileContainerTest extends Specification {
@@ -49,4 +60,178 @@ class FileContainerTest extends Specification {
             iae.message == 'No image writer found for format "txt"'
     }
 
+    def 'request bodies of files are streamed from the file and can be sent multiple times'() {
+        given:
+            def file = Files.createTempFile('javacord', '.txt').toFile()
+            file.deleteOnExit()
+            file.bytes = 'file content'.bytes
+            def requestBody = new FileContainer(file).asRequestBody(Stub(DiscordApiImpl))
+
+        expect:
+            requestBody.contentType().toString() == 'text/plain'
+            requestBody.contentLength() == 12
+            !requestBody.oneShot
+            2.times {
+                def sink = new Buffer()
+                requestBody.writeTo(sink)
+                assert sink.readUtf8() == 'file content'
+            }
+    }
+
+    def 'request bodies of input streams are streamed with an unknown length and can be sent again'() {
+        given:
+            def requestBody = new FileContainer(new ByteArrayInputStream('stream content'.bytes), 'file.bin')
+                    .asRequestBody(Stub(DiscordApiImpl))
+
+        expect:
+            requestBody.contentType().toString() == 'application/octet-stream'
+            requestBody.contentLength() == -1
+            !requestBody.oneShot
+            2.times {
+                def sink = new Buffer()
+                requestBody.writeTo(sink)
+                assert sink.readUtf8() == 'stream content'
+            }
+    }
+
+    def 'request bodies of input streams continue with the rest of the stream if an attempt failed'() {
+        given:
+            def content = 'x' * 20_000
+            def requestBody = new FileContainer(new ByteArrayInputStream(content.bytes), 'file.bin')
+                    .asRequestBody(Stub(DiscordApiImpl))
+            def failingSink = Okio.buffer(new ForwardingSink(Okio.blackhole()) {
+                long written = 0
+
+                @Override
+                void write(Buffer source, long byteCount) throws IOException {
+                    if ((written += byteCount) > 10_000) {
+                        throw new IOException('Connection reset')
+                    }
+                    super.write(source, byteCount)
+                }
+            })
+            def sink = new Buffer()
+
+        when:
+            requestBody.writeTo(failingSink)
+            failingSink.flush()
+
+        then:
+            thrown(IOException)
+
+        when:
+            requestBody.writeTo(sink)
+
+        then:
+            sink.readUtf8() == content
+    }
+
+    def 'request bodies of input streams up to the replay limit can be sent again'() {
+        given:
+            def content = new byte[FileContainer.MAX_REPLAYABLE_INPUT_STREAM_SIZE]
+            new Random(42).nextBytes(content)
+            def requestBody = new FileContainer(new ByteArrayInputStream(content), 'file.bin')
+                    .asRequestBody(Stub(DiscordApiImpl))
+
+        expect:
+            2.times {
+                def sink = new Buffer()
+                requestBody.writeTo(sink)
+                assert sink.readByteArray() == content
+            }
+    }
+
+    def 'request bodies of input streams larger than the replay limit can only be sent once'() {
+        given:
+            def size = FileContainer.MAX_REPLAYABLE_INPUT_STREAM_SIZE + 1
+            def stream = new InputStream() {
+                int remaining = size
+
+                @Override
+                int read() {
+                    remaining-- > 0 ? 0 : -1
+                }
+            }
+            def requestBody = new FileContainer(stream, 'file.bin').asRequestBody(Stub(DiscordApiImpl))
+            def sink = Okio.buffer(Okio.blackhole())
+
+        when:
+            requestBody.writeTo(sink)
+
+        then:
+            notThrown(IOException)
+
+        when:
+            requestBody.writeTo(sink)
+
+        then:
+            IOException e = thrown()
+            e.message.contains('cannot be sent again')
+    }
+
+    def 'request bodies of BufferedImages are encoded when they are sent'() {
+        given:
+            def image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB)
+            def requestBody = new FileContainer(image, 'file.png').asRequestBody(Stub(DiscordApiImpl))
+            def sink = new Buffer()
+
+        when:
+            requestBody.writeTo(sink)
+
+        then:
+            requestBody.contentType().toString() == 'image/png'
+            sink.size() > 0
+            ImageIO.read(sink.inputStream()).width == 100
+    }
+
+    def 'attachments are uploaded through the http client of the api'() {
+        given:
+            def downloads = new AtomicInteger()
+            def uploadedBody = null
+            def server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+            server.createContext('/download') { exchange ->
+                downloads.incrementAndGet()
+                def body = 'url content'.bytes
+                exchange.sendResponseHeaders(200, body.length)
+                exchange.responseBody.withCloseable { it.write(body) }
+            }
+            server.createContext('/upload') { exchange ->
+                uploadedBody = new String(exchange.requestBody.bytes, StandardCharsets.UTF_8)
+                exchange.sendResponseHeaders(204, -1)
+                exchange.close()
+            }
+            server.start()
+            def api = new OfflineDiscordApiBuilder().build()
+            def file = Files.createTempFile('javacord', '.txt').toFile()
+            file.deleteOnExit()
+            file.bytes = 'file content'.bytes
+            def url = new URL("http://localhost:${server.address.port}/download")
+            def body = new MultipartBody.Builder()
+                    .setType(MultipartBody.FORM)
+                    .addFormDataPart('files[0]', 'file.txt', new FileContainer(file).asRequestBody(api))
+                    .addFormDataPart('files[1]', 'stream.bin',
+                            new FileContainer(new ByteArrayInputStream('stream content'.bytes), 'stream.bin')
+                                    .asRequestBody(api))
+                    .addFormDataPart('files[2]', 'url.txt', new FileContainer(url).asRequestBody(api))
+                    .build()
+            def request = new Request.Builder()
+                    .url("http://localhost:${server.address.port}/upload")
+                    .post(body)
+                    .build()
+
+        when:
+            def code = api.httpClient.newCall(request).execute().withCloseable { it.code() }
+
+        then:
+            code == 204
+            uploadedBody.contains('file content')
+            uploadedBody.contains('stream content')
+            uploadedBody.contains('url content')
+            downloads.get() == 1
+
+        cleanup:
+            server.stop(0)
+            api.disconnect()
+    }
+
 }
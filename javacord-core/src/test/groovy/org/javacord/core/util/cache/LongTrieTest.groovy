@@ -0,0 +1,85 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(LongTrie)
+class LongTrieTest extends Specification {
+
+    def 'random updates behave like a map for single keys'() {
+        given:
+            def random = new Random(42)
+            def trie = LongTrie.empty()
+            def expected = [:]
+
+        when:
+            50_000.times {
+                long key = random.nextInt(5_000) * 0x1_0000_0001L
+                if (random.nextBoolean()) {
+                    trie = trie.put(key, 0, it as Long)
+                    expected[key] = it as Long
+                } else {
+                    trie = trie.remove(key, 0)
+                    expected.remove(key)
+                }
+            }
+
+        then:
+            (0..<5_000).every {
+                long key = it * 0x1_0000_0001L
+                trie.get(key, 0) == expected[key]
+            }
+    }
+
+    def 'pair keys are distinguished by both halves'() {
+        given:
+            def trie = LongTrie.emptyPairs()
+                    .put(1, 2, 'a')
+                    .put(2, 1, 'b')
+                    .put(1, 1, 'c')
+
+        expect:
+            trie.get(1, 2) == 'a'
+            trie.get(2, 1) == 'b'
+            trie.get(1, 1) == 'c'
+            trie.get(2, 2) == null
+            trie.remove(1, 2).get(1, 2) == null
+            trie.remove(1, 2).get(1, 1) == 'c'
+    }
+
+    def 'removing all entries leaves an empty trie and does not modify the previous version'() {
+        given:
+            def full = LongTrie.emptyPairs()
+            10_000.times { full = full.put(it, -it, it as Long) }
+            def trie = full
+
+        when:
+            10_000.times { trie = trie.remove(it, -it) }
+
+        then:
+            (0..<10_000).every { trie.get(it, -it) == null }
+            (0..<10_000).every { full.get(it, -it) == it }
+    }
+
+    def 'long index buckets collapse back to single elements'() {
+        given:
+            def index = new LongIndex<String>({ it.length() as long })
+
+        when:
+            index = index.addElement('a').addElement('b').addElement('cc')
+
+        then:
+            index.find(1).toJavaSet() == ['a', 'b'] as Set
+            index.findAnyOrNull(2) == 'cc'
+            index.find(3).isEmpty()
+
+        when:
+            index = index.removeElement('a')
+
+        then:
+            index.find(1).toJavaSet() == ['b'] as Set
+            index.findAny(1).get() == 'b'
+            index.removeElement('b').findAnyOrNull(1) == null
+    }
+
+}
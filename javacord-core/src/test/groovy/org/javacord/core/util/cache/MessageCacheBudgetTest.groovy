@@ -0,0 +1,69 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import org.javacord.core.DiscordApiImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(MessageCacheBudget)
+class MessageCacheBudgetTest extends Specification {
+
+    def budget = new MessageCacheBudget(10)
+
+    def api = Stub(DiscordApiImpl) {
+        getMessageCacheBudget() >> budget
+    }
+
+    def 'the oldest messages of the least recently active cache are evicted first'() {
+        given:
+            def idle = new MessageCacheImpl(api, 50, 60, false)
+            def busy = new MessageCacheImpl(api, 50, 60, false)
+
+        when:
+            (1..6).each { idle.addMessage(message(it)) }
+            (11..16).each { busy.addMessage(message(it)) }
+
+        then:
+            budget.size == 10
+            idle.size == 4
+            idle.evictionCount == 2
+            busy.size == 6
+            busy.evictionCount == 0
+
+        when:
+            idle.evictOldest(4)
+
+        then:
+            budget.size == 6
+            idle.evictionCount == 6
+    }
+
+    def 'lowering the capacity evicts messages right away'() {
+        given:
+            def cache = new MessageCacheImpl(api, 50, 60, false)
+            (1..10).each { cache.addMessage(message(it)) }
+
+        when:
+            budget.capacity = 4
+
+        then:
+            budget.size == 4
+            cache.size == 4
+
+        when:
+            budget.capacity = -1
+            (11..20).each { cache.addMessage(message(it)) }
+            cache.cleanup()
+
+        then:
+            budget.size == 0
+    }
+
+    def message(long id) {
+        Stub(Message) {
+            getId() >> id
+            isCachedForever() >> false
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.javacord.core.util.cache
+
+import org.javacord.api.entity.message.Message
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.lang.ref.ReferenceQueue
+
+@Subject(MessageRing)
+class MessageRingTest extends Specification {
+
+    def queue = new ReferenceQueue<Message>()
+
+    def 'messages are evicted in id order regardless of the insertion order'() {
+        given:
+            def ring = new MessageRing()
+            def messages = [5, 3, 9, 1, 7, 4].collect { message(it) }
+
+        when:
+            messages.each { ring.add(it, queue) }
+
+        then:
+            ring.size() == 6
+            (1..6).collect { ring.removeFirst().id } == [1, 3, 4, 5, 7, 9]
+            ring.removeFirst() == null
+    }
+
+    def 'random updates keep the ring consistent with a sorted map'() {
+        given:
+            def random = new Random(42)
+            def ring = new MessageRing()
+            def expected = new TreeMap<Long, Message>()
+            def messages = (0..<2_000).collect { message(it) }
+
+        when:
+            20_000.times {
+                def message = messages[random.nextInt(messages.size())]
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        if (ring.get(message.id) == null) {
+                            ring.add(message, queue)
+                            expected[message.id] = message
+                        }
+                        break
+                    case 2:
+                        assert (ring.remove(message.id) != null) == (expected.remove(message.id) != null)
+                        break
+                    default:
+                        if (!expected.isEmpty()) {
+                            assert ring.firstId() == expected.firstKey()
+                            assert ring.removeFirst().get().is(expected.remove(expected.firstKey()))
+                        }
+                }
+                assert ring.size() == expected.size()
+            }
+
+        then:
+            expected.values().every { ring.get(it.id).get().is(it) }
+            expected.keySet().toList() == (0..<expected.size()).collect { ring.removeFirst().id }
+    }
+
+    def message(long id) {
+        Stub(Message) {
+            getId() >> id
+        }
+    }
+
+}
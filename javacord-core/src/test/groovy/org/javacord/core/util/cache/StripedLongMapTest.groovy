@@ -0,0 +1,80 @@
+package org.javacord.core.util.cache
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(StripedLongMap)
+class StripedLongMapTest extends Specification {
+
+    def 'put, get and remove behave like a map'() {
+        given:
+            def map = new StripedLongMap<String>()
+
+        expect:
+            map.put(1L, 'a') == null
+            map.put(-1L, 'b') == null
+            map.put(1L, 'c') == 'a'
+            map.get(1L) == 'c'
+            map.get(-1L) == 'b'
+            map.get(2L) == null
+            map.size() == 2
+            map.remove(1L) == 'c'
+            map.remove(1L) == null
+            map.size() == 1
+    }
+
+    def 'entries survive resizing and removals with colliding probe sequences'() {
+        given:
+            def map = new StripedLongMap<Long>(1)
+            def expected = [:]
+
+        when:
+            10_000.times {
+                long key = it * 31L
+                map.put(key, key)
+                expected[key] = key
+            }
+            (0..<10_000).step(3).each {
+                long key = it * 31L
+                map.remove(key)
+                expected.remove(key)
+            }
+
+        then:
+            map.size() == expected.size()
+            expected.every { key, value -> map.get(key) == value }
+            map.values().toSet() == expected.values().toSet()
+    }
+
+    def 'getAndUpdate removes the entry if the function returns null'() {
+        given:
+            def map = new StripedLongMap<String>()
+            map.put(42L, 'a')
+
+        when:
+            def previous = map.getAndUpdate(42L, { null })
+
+        then:
+            previous == 'a'
+            map.get(42L) == null
+            map.size() == 0
+    }
+
+    def 'concurrent updates of the same keys are not lost'() {
+        given:
+            def map = new StripedLongMap<Integer>(4)
+            def threads = (1..8).collect {
+                Thread.start {
+                    10_000.times { map.getAndUpdate(it % 16, { count -> count == null ? 1 : count + 1 }) }
+                }
+            }
+
+        when:
+            threads*.join()
+
+        then:
+            map.size() == 16
+            map.values().sum() == 80_000
+    }
+
+}
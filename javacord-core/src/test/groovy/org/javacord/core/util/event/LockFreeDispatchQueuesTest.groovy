@@ -0,0 +1,107 @@
+package org.javacord.core.util.event
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(LockFreeDispatchQueues)
+class LockFreeDispatchQueuesTest extends Specification {
+
+    def executorService = Executors.newCachedThreadPool()
+
+    def queues = new LockFreeDispatchQueues(executorService, { activeListener, queueSelector, task -> task.run() })
+
+    def cleanup() {
+        executorService.shutdownNow()
+    }
+
+    def 'tasks of a queue selector run sequentially in the order they were dispatched'() {
+        given:
+            def selectors = (0..<50).collect { Stub(DispatchQueueSelector) }
+            def order = new ConcurrentHashMap<DispatchQueueSelector, List<Integer>>()
+            def running = new ConcurrentHashMap<DispatchQueueSelector, AtomicInteger>()
+            def overlaps = new AtomicInteger()
+            def finished = new CountDownLatch(selectors.size() * 500)
+
+        when:
+            selectors.each {
+                order[it] = Collections.synchronizedList([])
+                running[it] = new AtomicInteger()
+            }
+            (0..<500).each { i ->
+                selectors.each { selector ->
+                    queues.dispatch(selector, [{
+                        if (running[selector].incrementAndGet() != 1) {
+                            overlaps.incrementAndGet()
+                        }
+                        order[selector] << i
+                        running[selector].decrementAndGet()
+                        finished.countDown()
+                    } as Runnable])
+                }
+            }
+
+        then:
+            finished.await(30, TimeUnit.SECONDS)
+            overlaps.get() == 0
+            selectors.every { order[it] == (0..<500).toList() }
+    }
+
+    def 'barrier tasks run after all previous tasks and before all following tasks'() {
+        given:
+            def selectors = (0..<20).collect { Stub(DispatchQueueSelector) }
+            def log = Collections.synchronizedList([])
+            def finished = new CountDownLatch(selectors.size() * 2 + 2)
+            def task = { String name ->
+                [{
+                    Thread.sleep(1)
+                    log << name
+                    finished.countDown()
+                } as Runnable]
+            }
+
+        when:
+            selectors.each { queues.dispatch(it, task('before')) }
+            queues.dispatch(null, task('barrier 1'))
+            queues.dispatch(null, task('barrier 2'))
+            selectors.each { queues.dispatch(it, task('after')) }
+
+        then:
+            finished.await(30, TimeUnit.SECONDS)
+            log == ['before'] * selectors.size() + ['barrier 1', 'barrier 2'] + ['after'] * selectors.size()
+    }
+
+    def 'tasks that are dispatched between barriers wait for the previous barrier'() {
+        given:
+            def selector = Stub(DispatchQueueSelector)
+            def log = Collections.synchronizedList([])
+            def finished = new CountDownLatch(5)
+            def task = { String name ->
+                [{
+                    log << name
+                    finished.countDown()
+                } as Runnable]
+            }
+
+        when:
+            queues.dispatch(null, [{
+                Thread.sleep(50)
+                log << 'barrier 1'
+                finished.countDown()
+            } as Runnable])
+            queues.dispatch(selector, task('a'))
+            queues.dispatch(null, task('barrier 2'))
+            queues.dispatch(selector, task('b'))
+            queues.dispatch(selector, task('c'))
+
+        then:
+            finished.await(30, TimeUnit.SECONDS)
+            log == ['barrier 1', 'a', 'barrier 2', 'b', 'c']
+    }
+
+}
@@ -0,0 +1,61 @@
+package org.javacord.core.util.gateway
+
+import com.codahale.xsalsa20poly1305.SecretBox
+import org.javacord.api.audio.SilentAudioSource
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+@Subject(AudioPacket)
+class AudioPacketTest extends Specification {
+
+    def key = (0..<32).collect { it as byte } as byte[]
+
+    def address = new InetSocketAddress(InetAddress.loopbackAddress, 50000)
+
+    def packet = new AudioPacket(0x01020304, address)
+
+    def cipher = new XSalsa20Poly1305(key)
+
+    @Unroll
+    def 'sealed packets of #frameLength bytes match the rtp header followed by a secret box'() {
+        given:
+            def frame = (0..<frameLength).collect { (it * 7) as byte } as byte[]
+
+        when:
+            def datagram = packet.seal(frame, 0x0506 as char, 0x0708090A, cipher)
+
+        then:
+            def header = [0x80, 0x78, 0x05, 0x06, 0x07, 0x08, 0x09, 0x0A, 0x01, 0x02, 0x03, 0x04] as byte[]
+            def nonce = Arrays.copyOf(header, 24)
+            datagramBytes(datagram) as List == (header as List) + (new SecretBox(key).seal(nonce, frame) as List)
+            datagram.socketAddress == address
+
+        where:
+            frameLength << [0, 3, 960, 5000]
+    }
+
+    def 'the datagram is reused for every frame'() {
+        when:
+            def first = packet.seal([1, 2, 3] as byte[], 0 as char, 0, cipher)
+            def second = packet.seal(null, 1 as char, 960, cipher)
+
+        then:
+            first.is(second)
+            def header = Arrays.copyOf(datagramBytes(second), 12)
+            def sealed = new SecretBox(key).seal(Arrays.copyOf(header, 24), SilentAudioSource.SILENCE_FRAME)
+            datagramBytes(second) as List == (header as List) + (sealed as List)
+    }
+
+    def 'secret keys with the wrong length are rejected'() {
+        when:
+            new XSalsa20Poly1305(new byte[16])
+
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    private static byte[] datagramBytes(DatagramPacket datagram) {
+        Arrays.copyOfRange(datagram.data, datagram.offset, datagram.offset + datagram.length)
+    }
+}
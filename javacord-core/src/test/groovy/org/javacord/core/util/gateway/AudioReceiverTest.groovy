@@ -0,0 +1,139 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.api.audio.AudioReceiveHandler
+import org.javacord.core.audio.AudioConnectionImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+@Subject(AudioReceiver)
+class AudioReceiverTest extends Specification {
+
+    static final int SSRC = 1234
+
+    def key = (0..<32).collect { (it * 3) as byte } as byte[]
+
+    def frames = new LinkedBlockingQueue<Map>()
+
+    def handler = { frame ->
+        frames << [userId   : frame.userId.orElse(null),
+                   ssrc     : frame.ssrc,
+                   sequence : frame.sequence,
+                   timestamp: frame.timestamp,
+                   lost     : frame.lostFramesBefore,
+                   data     : frame.opusDataAsByteArray as List]
+    } as AudioReceiveHandler
+
+    def connection = Mock(AudioConnectionImpl) {
+        getReceiveHandler() >> Optional.of(handler)
+    }
+
+    // The voice socket of the bot and a local stand-in for the voice server of Discord
+    def socket = new DatagramSocket(0, InetAddress.loopbackAddress)
+    def server = new DatagramSocket(0, InetAddress.loopbackAddress)
+    def serverPacket = new AudioPacket(SSRC, socket.localSocketAddress as InetSocketAddress)
+    def serverCipher = new XSalsa20Poly1305(key)
+
+    ExecutorService executor = Executors.newSingleThreadExecutor()
+
+    @Subject
+    def receiver = new AudioReceiver(connection, socket)
+
+    def setup() {
+        receiver.setSecretKey(key)
+        receiver.start(executor)
+    }
+
+    def cleanup() {
+        receiver.stop()
+        executor.shutdown()
+        executor.awaitTermination(1, TimeUnit.SECONDS)
+        socket.close()
+        server.close()
+    }
+
+    def send(int sequence) {
+        server.send(serverPacket.seal([sequence, 1, 2] as byte[], sequence as char, sequence * 960, serverCipher))
+    }
+
+    def poll() {
+        frames.poll(1, TimeUnit.SECONDS)
+    }
+
+    def 'received packets are decrypted, reordered and mapped to their user'() {
+        given:
+            receiver.setUserId(SSRC, 42L)
+
+        when:
+            [1, 3, 2, 4, 5].each { send(it) }
+
+        then:
+            (1..5).collect { poll() } == (1..5).collect {
+                [userId: 42L, ssrc: SSRC, sequence: it, timestamp: it * 960, lost: 0, data: [it, 1, 2]]
+            }
+    }
+
+    def 'packets with an invalid mac and packets which are not opus are ignored'() {
+        given:
+            def forged = serverPacket.seal([7, 7, 7] as byte[], 1 as char, 960, new XSalsa20Poly1305(new byte[32]))
+            server.send(forged)
+            def rtcp = [0x80, 0xC9, 0, 1, 0, 0, 0, 0, 0, 0, 0x04, 0xD2] + [0] * 20 as byte[]
+            server.send(new DatagramPacket(rtcp, rtcp.length, socket.localSocketAddress))
+
+        when:
+            send(2)
+
+        then:
+            poll().data == [2, 1, 2]
+            frames.poll(200, TimeUnit.MILLISECONDS) == null
+    }
+
+    def 'the packets of a silent user are released without waiting for missing packets'() {
+        when:
+            [1, 3].each { send(it) }
+
+        then:
+            poll().sequence == 1
+            with(poll()) {
+                sequence == 3
+                lost == 1
+                userId == null
+            }
+    }
+
+    def 'the sequence of a user starts over after a long silence'() {
+        when:
+            send(20_000)
+
+        then:
+            poll().sequence == 20_000
+
+        when:
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(AudioReceiver.RESYNC_DELAY_NANOS))
+            send(10)
+
+        then:
+            poll().sequence == 10
+    }
+
+    def 'rtp header extensions are skipped'() {
+        given:
+            byte[] buffer = new byte[12 + 16 + 8 + 3]
+            [0x90, 0x78, 0, 1, 0, 0, 0x03, 0xC0, 0, 0, 0x04, 0xD2].eachWithIndex { b, i -> buffer[i] = b as byte }
+            ([0xBE, 0xDE, 0, 1, 0x10, 0xFF, 0, 0] + [9, 8, 7]).eachWithIndex { b, i -> buffer[28 + i] = b as byte }
+            serverCipher.seal(Arrays.copyOf(buffer, 24), buffer, 28, 11)
+
+        when:
+            server.send(new DatagramPacket(buffer, buffer.length, socket.localSocketAddress))
+
+        then:
+            with(poll()) {
+                sequence == 1
+                data == [9, 8, 7]
+            }
+    }
+}
@@ -0,0 +1,100 @@
+package org.javacord.core.util.gateway
+
+import org.javacord.core.audio.AudioConnectionImpl
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@Subject(AudioSendScheduler)
+class AudioSendSchedulerTest extends Specification {
+
+    def threadPool = new ThreadPoolImpl()
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
+    def 'frames are sent at absolute deadlines'() {
+        given:
+            def scheduler = new AudioSendScheduler(threadPool, 1)
+            def deadlines = new ConcurrentLinkedQueue<Long>()
+            def sentAt = new ConcurrentLinkedQueue<Long>()
+            def tenFramesSent = new CountDownLatch(10)
+            def socket = Mock(AudioUdpSocket) {
+                sendFrame(_) >> { long deadline ->
+                    sentAt << System.nanoTime()
+                    deadlines << deadline
+                    tenFramesSent.countDown()
+                }
+            }
+
+        when:
+            scheduler.register(socket)
+            tenFramesSent.await(5, TimeUnit.SECONDS)
+            scheduler.unregister(socket)
+
+        then:
+            def deadlineList = deadlines.toList()
+            deadlineList.size() >= 10
+            (1..<deadlineList.size()).every {
+                deadlineList[it] - deadlineList[it - 1] == AudioSendScheduler.FRAME_DURATION_NANOS
+            }
+            [deadlineList, sentAt.toList()].transpose().every { deadline, sent -> sent >= deadline }
+    }
+
+    def 'connections are spread over the lanes'() {
+        given:
+            def scheduler = new AudioSendScheduler(threadPool, 2)
+            def threads = new ConcurrentHashMap<Integer, String>()
+            def allSent = new CountDownLatch(4)
+            def sockets = (0..<4).collect { index ->
+                Mock(AudioUdpSocket) {
+                    sendFrame(_) >> {
+                        if (threads.putIfAbsent(index, Thread.currentThread().name) == null) {
+                            allSent.countDown()
+                        }
+                    }
+                }
+            }
+
+        when:
+            sockets.each { scheduler.register(it) }
+            allSent.await(5, TimeUnit.SECONDS)
+            sockets.each { scheduler.unregister(it) }
+
+        then:
+            threads.size() == 4
+            threads.values().toSet().size() == 2
+    }
+
+    def 'missed deadlines are skipped after falling too far behind'() {
+        given:
+            def scheduler = new AudioSendScheduler(threadPool, 1)
+            def connection = Mock(AudioConnectionImpl)
+            def frames = 0
+            def skipped = new CountDownLatch(1)
+            def socket = Mock(AudioUdpSocket) {
+                getConnection() >> connection
+                sendFrame(_) >> {
+                    if (frames++ == 1) {
+                        Thread.sleep(AudioSendScheduler.MAX_CATCH_UP_FRAMES * 20 + 50)
+                    }
+                }
+            }
+
+        when:
+            scheduler.register(socket)
+            skipped.await(2, TimeUnit.SECONDS)
+            scheduler.unregister(socket)
+
+        then:
+            1 * connection.recordFramesSkipped({ it >= AudioSendScheduler.MAX_CATCH_UP_FRAMES }) >> {
+                skipped.countDown()
+            }
+    }
+}
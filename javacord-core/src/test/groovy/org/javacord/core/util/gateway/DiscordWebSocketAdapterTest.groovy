@@ -1,7 +1,10 @@
 package org.javacord.core.util.gateway
 
+import com.fasterxml.jackson.databind.ObjectMapper
 import com.neovisionaries.ws.client.OpeningHandshakeException
+import com.neovisionaries.ws.client.WebSocket
 import com.neovisionaries.ws.client.WebSocketException
+import com.neovisionaries.ws.client.WebSocketFrame
 import io.netty.handler.codec.http.HttpHeaderNames
 import okhttp3.Credentials
 import org.apache.logging.log4j.Level
@@ -22,6 +25,10 @@ import spock.lang.Subject
 import spock.util.environment.RestoreSystemProperties
 
 import javax.net.ssl.SSLHandshakeException
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+import java.util.zip.Deflater
 
 @Subject(DiscordWebSocketAdapter)
 class DiscordWebSocketAdapterTest extends Specification {
@@ -638,4 +645,60 @@ class DiscordWebSocketAdapterTest extends Specification {
             Authenticator.default = defaultAuthenticator
     }
 
+    def 'a corrupt compressed frame closes the websocket, so the next connection gets a new zlib stream'() {
+        given:
+            def frameSenderThreadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> frameSenderThreadPool
+                // do not wait for identify rate limit by using a different token each time
+                getPrefixedToken() >> UUID.randomUUID().toString()
+                getObjectMapper() >> new ObjectMapper()
+            }
+            def sentFrames = new LinkedBlockingQueue<WebSocketFrame>()
+            WebSocket websocket = Stub {
+                sendFrame(_) >> { WebSocketFrame frame -> sentFrames.add(frame); null }
+            }
+            def adapter = new DiscordWebSocketAdapter(api, false)
+            def corruptFrame = 'corrupt data'.getBytes(StandardCharsets.UTF_8) + ([0, 0, -1, -1] as byte[])
+            // a reconnect request, which makes the adapter close the websocket once it is decompressed
+            def reconnectPacket = '{"op":7,"d":null}'
+
+        when: 'a corrupt frame is followed by a valid one on the same websocket'
+            adapter.zlibStreamInflater = new ZlibStreamInflater()
+            adapter.onBinaryMessage(websocket, corruptFrame)
+            adapter.onBinaryMessage(websocket, compress(new Deflater(), reconnectPacket))
+
+        then: 'the websocket is closed right away and the rest of the broken stream is dropped'
+            with(sentFrames.poll(5, TimeUnit.SECONDS)) {
+                closeFrame
+                closeCode == WebSocketCloseReason.DECOMPRESSION_FAILED.numericCloseCode
+            }
+            sentFrames.poll(500, TimeUnit.MILLISECONDS) == null
+
+        when: 'the next connection starts a new zlib stream'
+            adapter.zlibStreamInflater = new ZlibStreamInflater()
+            adapter.onBinaryMessage(websocket, compress(new Deflater(), reconnectPacket))
+
+        then: 'its frames are decompressed and handled again'
+            with(sentFrames.poll(5, TimeUnit.SECONDS)) {
+                closeFrame
+                closeCode == WebSocketCloseReason.COMMANDED_RECONNECT.numericCloseCode
+            }
+
+        cleanup:
+            frameSenderThreadPool.shutdown()
+    }
+
+    def compress(Deflater deflater, String message) {
+        deflater.setInput(message.getBytes(StandardCharsets.UTF_8))
+        def output = new ByteArrayOutputStream()
+        def buffer = new byte[1024]
+        int count
+        while ((count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            output.write(buffer, 0, count)
+        }
+        deflater.end()
+        output.toByteArray()
+    }
+
 }
@@ -0,0 +1,110 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+@Subject(JitterBuffer)
+class JitterBufferTest extends Specification {
+
+    def released = []
+
+    def jitterBuffer = new JitterBuffer(2, { sequence, timestamp, buffer, offset, length, lostBefore ->
+        released << [sequence, lostBefore]
+    } as JitterBuffer.Consumer)
+
+    def add(int sequence) {
+        jitterBuffer.add(sequence, sequence * 960, new byte[1], 0, 1)
+    }
+
+    @Unroll
+    def 'packets received in the order #order are released in order'() {
+        when:
+            order.each { add(it) }
+
+        then:
+            released == [[10, 0], [11, 0], [12, 0], [13, 0]]
+
+        where:
+            order << [[10, 11, 12, 13], [10, 12, 11, 13], [10, 13, 12, 11]]
+    }
+
+    def 'a missing packet is skipped after more than depth later packets were received'() {
+        when:
+            [10, 12, 13].each { add(it) }
+
+        then:
+            released == [[10, 0]]
+
+        when:
+            add(14)
+
+        then:
+            released == [[10, 0], [12, 1], [13, 0], [14, 0]]
+    }
+
+    def 'late and duplicate packets are rejected'() {
+        given:
+            [10, 12, 13, 14].each { add(it) }
+
+        expect:
+            !add(11)
+            !add(13)
+            add(16)
+            !add(16)
+    }
+
+    def 'the sequence wraps around'() {
+        when:
+            [65534, 0, 65535, 1].each { add(it) }
+
+        then:
+            released == [[65534, 0], [65535, 0], [0, 0], [1, 0]]
+    }
+
+    def 'flushing releases all packets and skips missing packets'() {
+        given:
+            [10, 12].each { add(it) }
+
+        when:
+            jitterBuffer.flush()
+
+        then:
+            released == [[10, 0], [12, 1]]
+            jitterBuffer.empty
+    }
+
+    def 'the buffer resynchronizes when the sequence jumps forward'() {
+        given:
+            [10, 12].each { add(it) }
+
+        when:
+            add(20_000)
+
+        then:
+            released == [[10, 0], [12, 1], [20_000, 0]]
+    }
+
+    def 'packets far behind are rejected instead of resynchronizing backwards'() {
+        given:
+            [20_000, 20_001].each { add(it) }
+
+        expect:
+            !add(10)
+            !add(19_000)
+            add(20_002)
+            released == [[20_000, 0], [20_001, 0], [20_002, 0]]
+    }
+
+    def 'the buffer starts a new sequence after a reset'() {
+        given:
+            [20_000, 20_002].each { add(it) }
+
+        when:
+            jitterBuffer.reset()
+            add(10)
+
+        then:
+            released == [[20_000, 0], [20_002, 1], [10, 0]]
+    }
+}
@@ -0,0 +1,107 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.core.util.concurrent.ThreadPoolImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(PacketHandlerExecutor)
+class PacketHandlerExecutorTest extends Specification {
+
+    def threadPool = new ThreadPoolImpl()
+
+    def executor = new PacketHandlerExecutor(threadPool, 4)
+
+    def mapper = new ObjectMapper()
+
+    def cleanup() {
+        threadPool.shutdown()
+    }
+
+    def 'packets of a server are handled sequentially in the order they were received'() {
+        given:
+            def serverIds = (0..<50).collect { 1_000_000_000_000L + it * 4096 }
+            def order = new ConcurrentHashMap<Long, List<Integer>>()
+            def running = new ConcurrentHashMap<Long, AtomicInteger>()
+            def overlaps = new AtomicInteger()
+            def finished = new CountDownLatch(serverIds.size() * 200)
+
+        when:
+            serverIds.each {
+                order[it] = Collections.synchronizedList([])
+                running[it] = new AtomicInteger()
+            }
+            (0..<200).each { i ->
+                serverIds.each { serverId ->
+                    executor.submit('MESSAGE_CREATE', packet(serverId), {
+                        if (running[serverId].incrementAndGet() != 1) {
+                            overlaps.incrementAndGet()
+                        }
+                        order[serverId] << i
+                        running[serverId].decrementAndGet()
+                        finished.countDown()
+                    })
+                }
+            }
+
+        then:
+            finished.await(30, TimeUnit.SECONDS)
+            overlaps.get() == 0
+            serverIds.every { order[it] == (0..<200).toList() }
+            serverIds.collect { executor.getServerLane(it) }.toSet().size() > 1
+    }
+
+    def 'server creation and deletion packets are barriers for all lanes'() {
+        given:
+            def log = Collections.synchronizedList([])
+            def finished = new CountDownLatch(2 * 20 + 2)
+            def task = { String name ->
+                return {
+                    Thread.sleep(1)
+                    log << name
+                    finished.countDown()
+                } as Runnable
+            }
+
+        when:
+            (0..<10).each { executor.submit('MESSAGE_CREATE', packet(it * 4096L), task('before')) }
+            (0..<10).each { executor.submit('MESSAGE_CREATE', mapper.createObjectNode(), task('before')) }
+            executor.submit('GUILD_CREATE', packet(1), task('create'))
+            executor.submit('GUILD_DELETE', packet(2), task('delete'))
+            (0..<10).each { executor.submit('MESSAGE_CREATE', packet(it * 4096L), task('after')) }
+            (0..<10).each { executor.submit('MESSAGE_CREATE', mapper.createObjectNode(), task('after')) }
+
+        then:
+            finished.await(30, TimeUnit.SECONDS)
+            log == ['before'] * 20 + ['create', 'delete'] + ['after'] * 20
+    }
+
+    def 'priority packets do not wait for barriers'() {
+        given:
+            def blocker = new CountDownLatch(1)
+            def priorityHandled = new CountDownLatch(1)
+            def barrierHandled = new CountDownLatch(1)
+
+        when:
+            executor.submit('MESSAGE_CREATE', packet(1), { blocker.await() })
+            executor.submit('GUILD_CREATE', packet(2), { barrierHandled.countDown() })
+            executor.submitPriority({ priorityHandled.countDown() })
+
+        then:
+            priorityHandled.await(30, TimeUnit.SECONDS)
+            barrierHandled.count == 1
+
+        cleanup:
+            blocker.countDown()
+    }
+
+    def packet(long serverId) {
+        mapper.createObjectNode().put('guild_id', Long.toString(serverId))
+    }
+
+}
@@ -0,0 +1,71 @@
+package org.javacord.core.util.gateway
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+import java.nio.charset.StandardCharsets
+
+@Subject(StreamedPacket)
+class StreamedPacketTest extends Specification {
+
+    def mapper = new ObjectMapper()
+
+    @Unroll
+    def 'the envelope and the server id are scanned when the "d"-object is #position'() {
+        given:
+            def bytes = payload.getBytes(StandardCharsets.UTF_8)
+            def buffer = Arrays.copyOf(bytes, bytes.length + 10)
+
+        when:
+            def packet = StreamedPacket.scan(mapper, buffer, bytes.length, { it == 'GUILD_MEMBERS_CHUNK' })
+
+        then:
+            packet.present
+            packet.get().type == 'GUILD_MEMBERS_CHUNK'
+            packet.get().sequence == 42
+            packet.get().serverId == 123L
+            packet.get().readTree() == mapper.readTree('{"members":[{"id":"1"}],"guild_id":"123","chunk_index":0}')
+
+        where:
+            position | payload
+            'last'   | ' {"t":"GUILD_MEMBERS_CHUNK","s":42,"op":0,"d":{"members":[{"id":"1"}],"guild_id":"123","chunk_index":0}}'
+            'first'  | '{"d":{"members":[{"id":"1"}],"guild_id":"123","chunk_index":0},"op":0,"s":42,"t":"GUILD_MEMBERS_CHUNK"}'
+    }
+
+    @Unroll
+    def 'payloads which must be parsed into a tree are not streamed: #payload'() {
+        given:
+            def bytes = payload.getBytes(StandardCharsets.UTF_8)
+
+        expect:
+            !StreamedPacket.scan(mapper, bytes, bytes.length, { it == 'GUILD_CREATE' }).present
+
+        where:
+            payload << [
+                    '{"t":null,"s":null,"op":10,"d":{"heartbeat_interval":41250}}',
+                    '{"t":"MESSAGE_CREATE","s":1,"op":0,"d":{"id":"1"}}',
+                    '{"t":"GUILD_CREATE","s":1,"op":0,"d":null}'
+            ]
+    }
+
+    def 'streamed arrays are not part of the tree and are parsed element by element'() {
+        given:
+            def payload = '{"t":"GUILD_CREATE","s":1,"op":0,"d":{"id":"5","members":[{"id":"1"},null,{"id":"2"}],' +
+                    '"name":"Server","presences":[],"roles":[{"id":"5"}]}}'
+            def bytes = payload.getBytes(StandardCharsets.UTF_8)
+            def packet = StreamedPacket.scan(mapper, bytes, bytes.length, { true }).get()
+
+        when:
+            def data = packet.readObject('members', 'presences', 'emojis')
+
+        then:
+            data == mapper.readTree('{"id":"5","name":"Server","roles":[{"id":"5"}]}')
+            packet.getStreamedArray('members').collect { it.toString() } == ['{"id":"1"}', 'null', '{"id":"2"}']
+            packet.getStreamedArray('members').collect { it.toString() } == ['{"id":"1"}', 'null', '{"id":"2"}']
+            packet.getStreamedArray('presences').collect() == []
+            packet.getStreamedArray('emojis').collect() == []
+    }
+
+}
@@ -0,0 +1,95 @@
+package org.javacord.core.util.gateway
+
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.charset.StandardCharsets
+import java.util.zip.DataFormatException
+import java.util.zip.Deflater
+
+@Subject(ZlibStreamInflater)
+class ZlibStreamInflaterTest extends Specification {
+
+    def deflater = new Deflater()
+
+    def inflater = new ZlibStreamInflater()
+
+    def cleanup() {
+        deflater.end()
+        inflater.close()
+    }
+
+    def 'messages of one zlib stream are decompressed with a shared context'() {
+        given:
+            def messages = (0..<20).collect { '{"op":0,"d":{"id":"' + it + '","name":"' + 'x' * (it * 1000) + '"}}' }
+
+        expect:
+            messages.every { message ->
+                inflater.inflate(compress(message)) && decompressed() == message
+            }
+    }
+
+    def 'messages which are split into multiple frames are decompressed once they are complete'() {
+        given:
+            def random = new Random(42)
+            def message = '{"op":0,"d":"' + (0..<50_000).collect { random.nextInt(10) }.join() + '"}'
+            def compressed = compress(message)
+            def frames = (0..<compressed.length).step(1000).collect {
+                Arrays.copyOfRange(compressed, it, Math.min(it + 1000, compressed.length))
+            }
+
+        when:
+            def completed = frames.collect { inflater.inflate(it) }
+
+        then:
+            frames.size() > 1
+            completed == [false] * (frames.size() - 1) + [true]
+            decompressed() == message
+    }
+
+    def 'messages larger than the initial buffer are decompressed completely'() {
+        given:
+            def random = new Random(42)
+            def message = (0..<300_000).collect { (char) ('a' as char) + random.nextInt(26) }.join()
+
+        expect:
+            inflater.inflate(compress(message))
+            decompressed() == message
+            inflater.inflate(compress('{}'))
+            decompressed() == '{}'
+    }
+
+    def 'a stream with invalid data stays broken'() {
+        given:
+            def corruptFrame = 'corrupt data'.getBytes(StandardCharsets.UTF_8) + ([0, 0, -1, -1] as byte[])
+
+        when:
+            inflater.inflate(corruptFrame)
+
+        then:
+            thrown(DataFormatException)
+            inflater.broken
+
+        when:
+            inflater.inflate(compress('{}'))
+
+        then:
+            thrown(DataFormatException)
+    }
+
+    def compress(String message) {
+        deflater.setInput(message.getBytes(StandardCharsets.UTF_8))
+        def output = new ByteArrayOutputStream()
+        def buffer = new byte[1024]
+        int count
+        while ((count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH)) > 0) {
+            output.write(buffer, 0, count)
+        }
+        output.toByteArray()
+    }
+
+    def decompressed() {
+        new String(inflater.output, 0, inflater.outputLength, StandardCharsets.UTF_8)
+    }
+
+}
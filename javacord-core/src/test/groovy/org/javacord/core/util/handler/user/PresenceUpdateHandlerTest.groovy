@@ -0,0 +1,68 @@
+package org.javacord.core.util.handler.user
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.user.UserStatus
+import org.javacord.api.event.user.UserChangeStatusEvent
+import org.javacord.core.OfflineDiscordApiBuilder
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+@Subject(PresenceUpdateHandler)
+class PresenceUpdateHandlerTest extends Specification {
+
+    static final long USER_ID = 30
+
+    def api = new OfflineDiscordApiBuilder().build()
+
+    @Subject
+    def handler = new PresenceUpdateHandler(api)
+
+    def cleanup() {
+        api.disconnect()
+    }
+
+    def presence(String status) {
+        new ObjectMapper().readTree("""{"user": {"id": "$USER_ID"}, "status": "$status",
+            "client_status": {"desktop": "$status"}, "activities": []}""")
+    }
+
+    def status() {
+        api.entityCache.userPresenceCache.getPresenceByUserId(USER_ID).map { it.status }.orElse(null)
+    }
+
+    def 'presences are only cached while there are no listeners'() {
+        given:
+            def events = new LinkedBlockingQueue<UserChangeStatusEvent>()
+
+        when:
+            handler.handle(presence('online'))
+
+        then:
+            !api.eventDispatcher.hasUserChangeStatusListeners()
+            status() == UserStatus.ONLINE
+
+        when:
+            def listenerManager = api.addUserChangeStatusListener { events << it }
+            handler.handle(presence('idle'))
+
+        then:
+            api.eventDispatcher.hasUserChangeStatusListeners()
+            with(events.poll(1, TimeUnit.SECONDS)) {
+                oldStatus == UserStatus.ONLINE
+                newStatus == UserStatus.IDLE
+            }
+
+        when:
+            listenerManager.remove()
+            handler.handle(presence('dnd'))
+
+        then:
+            !api.eventDispatcher.hasUserChangeStatusListeners()
+            status() == UserStatus.DO_NOT_DISTURB
+            events.poll(100, TimeUnit.MILLISECONDS) == null
+    }
+
+}
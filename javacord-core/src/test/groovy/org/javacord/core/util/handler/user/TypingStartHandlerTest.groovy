@@ -0,0 +1,90 @@
+package org.javacord.core.util.handler.user
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.event.user.UserStartTypingEvent
+import org.javacord.core.OfflineDiscordApiBuilder
+import org.javacord.core.entity.server.ServerImpl
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.TimeUnit
+
+@Subject(TypingStartHandler)
+class TypingStartHandlerTest extends Specification {
+
+    static final long SERVER_ID = 10
+    static final long CHANNEL_ID = 20
+    static final long USER_ID = 30
+
+    def api = new OfflineDiscordApiBuilder().build()
+
+    @Subject
+    def handler = new TypingStartHandler(api)
+
+    def cleanup() {
+        api.disconnect()
+    }
+
+    def 'typing packets are only handled while there are listeners'() {
+        given:
+            // The server of the packet is unknown, so handling the packet fails
+            def packet = new ObjectMapper().readTree(
+                    """{"user_id": "$USER_ID", "channel_id": "$CHANNEL_ID", "guild_id": "$SERVER_ID"}""")
+
+        when:
+            handler.handle(packet)
+
+        then:
+            noExceptionThrown()
+
+        when:
+            def listenerManager = api.addUserStartTypingListener { }
+            handler.handle(packet)
+
+        then:
+            thrown(AssertionError)
+
+        when:
+            listenerManager.remove()
+            handler.handle(packet)
+
+        then:
+            noExceptionThrown()
+    }
+
+    def 'typing events are dispatched once a listener is added'() {
+        given:
+            def events = new LinkedBlockingQueue<UserStartTypingEvent>()
+            def mapper = new ObjectMapper()
+            new ServerImpl(api, mapper.readTree("""{
+                "id": "$SERVER_ID",
+                "name": "Server",
+                "region": "us-west",
+                "large": false,
+                "member_count": 0,
+                "owner_id": "$USER_ID",
+                "verification_level": 0,
+                "explicit_content_filter": 0,
+                "default_message_notifications": 0,
+                "mfa_level": 0,
+                "premium_tier": 0,
+                "nsfw_level": 0,
+                "preferred_locale": "en-US",
+                "channels": [{"id": "$CHANNEL_ID", "type": 0, "name": "general", "position": 0, "nsfw": false,
+                        "permission_overwrites": []}]
+            }"""))
+            def packet = mapper.readTree("""{"user_id": "$USER_ID", "channel_id": "$CHANNEL_ID"}""")
+
+        when:
+            api.addUserStartTypingListener { events << it }
+            handler.handle(packet)
+
+        then:
+            with(events.poll(1, TimeUnit.SECONDS)) {
+                userId == USER_ID
+                channel.id == CHANNEL_ID
+            }
+    }
+
+}
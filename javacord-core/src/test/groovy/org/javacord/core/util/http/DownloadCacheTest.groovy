@@ -0,0 +1,152 @@
+package org.javacord.core.util.http
+
+import com.sun.net.httpserver.HttpServer
+import okhttp3.Callback
+import okhttp3.Dispatcher
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import org.junit.Rule
+import org.junit.rules.TemporaryFolder
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@Subject(DownloadCache)
+class DownloadCacheTest extends Specification {
+
+    def requests = new AtomicInteger()
+
+    def server = HttpServer.create(new InetSocketAddress(InetAddress.loopbackAddress, 0), 0)
+
+    ExecutorService serverExecutor = Executors.newCachedThreadPool()
+
+    @Rule
+    TemporaryFolder temporaryFolder = new TemporaryFolder()
+
+    def setup() {
+        server.createContext('/') { exchange ->
+            requests.incrementAndGet()
+            def body = "content of ${exchange.requestURI.path}".bytes
+            exchange.responseHeaders.add('Cache-Control', 'public, max-age=3600')
+            exchange.sendResponseHeaders(200, body.length)
+            exchange.responseBody.withCloseable { it.write(body) }
+        }
+        server.executor = serverExecutor
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+        serverExecutor.shutdownNow()
+    }
+
+    def url(String path) {
+        new URL("http://localhost:${server.address.port}$path")
+    }
+
+    def 'files of memory cached hosts are downloaded only once'() {
+        given:
+            def downloadCache = new DownloadCache(new OkHttpClient(), null, 0, ['localhost'] as Set)
+
+        when:
+            def first = downloadCache.download(url('/avatars/1/a_hash.png')).join()
+            def second = downloadCache.download(url('/avatars/1/a_hash.png')).join()
+            def stream = downloadCache.openStream(url('/avatars/1/a_hash.png')).withCloseable { it.bytes }
+
+        then:
+            new String(first) == 'content of /avatars/1/a_hash.png'
+            second == first
+            stream == first
+            requests.get() == 1
+            downloadCache.memoryCacheSize == first.length
+    }
+
+    def 'changing a downloaded file does not change the cached file'() {
+        given:
+            def downloadCache = new DownloadCache(new OkHttpClient(), null, 0, ['localhost'] as Set)
+
+        when:
+            Arrays.fill(downloadCache.download(url('/avatars/1/a_hash.png')).join(), (byte) 0)
+            Arrays.fill(downloadCache.download(url('/avatars/1/a_hash.png')).join(), (byte) 0)
+            def content = downloadCache.download(url('/avatars/1/a_hash.png')).join()
+
+        then:
+            new String(content) == 'content of /avatars/1/a_hash.png'
+            requests.get() == 1
+    }
+
+    def 'files of other hosts are not cached in memory'() {
+        given:
+            def downloadCache = new DownloadCache(new OkHttpClient(), null, 0)
+
+        when:
+            2.times { downloadCache.download(url('/image.png')).join() }
+
+        then:
+            requests.get() == 2
+            downloadCache.memoryCacheSize == 0
+    }
+
+    def 'files are cached on disk as long as the cache headers allow it'() {
+        given:
+            def firstCache = new DownloadCache(new OkHttpClient(), temporaryFolder.root, 1024 * 1024)
+            def secondCache = new DownloadCache(new OkHttpClient(), temporaryFolder.root, 1024 * 1024)
+
+        when:
+            def first = firstCache.openStream(url('/image.png')).withCloseable { it.bytes }
+            firstCache.diskCache.flush()
+            def second = secondCache.download(url('/image.png')).join()
+
+        then:
+            second == first
+            requests.get() == 1
+            secondCache.diskCache.hitCount() == 1
+    }
+
+    def 'downloads do not wait for the requests of the api'() {
+        given:
+            def release = new CountDownLatch(1)
+            server.createContext('/slow') { exchange ->
+                release.await()
+                exchange.sendResponseHeaders(204, -1)
+                exchange.close()
+            }
+            def dispatcher = new Dispatcher()
+            dispatcher.maxRequests = 1
+            def httpClient = new OkHttpClient.Builder().dispatcher(dispatcher).build()
+            httpClient.newCall(new Request.Builder().url(url('/slow')).build()).enqueue(Stub(Callback))
+            def downloadCache = new DownloadCache(httpClient, null, 0)
+
+        when:
+            def content = downloadCache.download(url('/image.png')).get(5, TimeUnit.SECONDS)
+
+        then:
+            new String(content) == 'content of /image.png'
+            dispatcher.runningCallsCount() == 1
+
+        cleanup:
+            release.countDown()
+    }
+
+    def 'failed downloads complete exceptionally'() {
+        given:
+            server.createContext('/missing') { exchange ->
+                exchange.sendResponseHeaders(404, -1)
+                exchange.close()
+            }
+            def downloadCache = new DownloadCache(new OkHttpClient(), null, 0)
+
+        when:
+            downloadCache.openStream(url('/missing'))
+
+        then:
+            IOException e = thrown()
+            e.message.contains('404')
+    }
+
+}
@@ -1,24 +1,37 @@
 package org.javacord.core.util.ratelimit
 
+import com.fasterxml.jackson.databind.ObjectMapper
+import okhttp3.OkHttpClient
+import okhttp3.Request
 import org.apache.logging.log4j.test.appender.ListAppender
 import org.javacord.api.exception.DiscordException
 import org.javacord.core.DiscordApiImpl
 import org.javacord.core.util.concurrent.ThreadPoolImpl
+import org.javacord.core.util.rest.RestEndpoint
+import org.javacord.core.util.rest.RestMethod
 import org.javacord.core.util.rest.RestRequest
+import org.javacord.core.util.rest.RestRequestResult
+import org.mockserver.integration.ClientAndServer
+import org.mockserver.mock.action.ExpectationResponseCallback
+import org.mockserver.model.HttpRequest
+import org.mockserver.model.HttpResponse
 import spock.lang.Specification
 import spock.lang.Subject
 
 import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CompletionException
 import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
 
 @Subject(RatelimitManager)
 class RatelimitManagerTest extends Specification {
 
-    def 'executeBlocking() throwing a DiscordException without result does not cause an Exception'() {
+    def 'executeAsync() failing with a DiscordException without result does not cause an Exception'() {
         given:
+            def failedResult = new CompletableFuture<RestRequestResult>()
+            failedResult.completeExceptionally(new DiscordException(null, null, null, null))
             RestRequest request = Stub {
-                executeBlocking() >> { throw new DiscordException(null, null, null, null) }
+                executeAsync() >> failedResult
                 getResult() >> new CompletableFuture<>()
             }
             def threadPool = new ThreadPoolImpl()
@@ -47,4 +60,137 @@ class RatelimitManagerTest extends Specification {
             threadPool?.shutdown()
     }
 
+    def 'requests of a bucket are sent one after another in the order they were queued'() {
+        given:
+            def threadPool = new ThreadPoolImpl()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+            }
+            def ratelimitManager = new RatelimitManager(api)
+            def sent = Collections.synchronizedList([])
+            def pendingResults = Collections.synchronizedList([])
+            def requests = (0..<5).collect { i ->
+                def result = new CompletableFuture<RestRequestResult>()
+                Stub(RestRequest) {
+                    getEndpoint() >> RestEndpoint.MESSAGE
+                    getMajorUrlParameter() >> Optional.of('1')
+                    getResult() >> result
+                    executeAsync() >> {
+                        sent << i
+                        def response = new CompletableFuture<RestRequestResult>()
+                        pendingResults << response
+                        result.complete(null)
+                        response
+                    }
+                }
+            }
+
+        when:
+            requests.each { ratelimitManager.queueRequest it }
+
+        then:
+            sent == [0]
+
+        when:
+            4.times { n ->
+                pendingResults[n].complete(null)
+                def deadline = System.currentTimeMillis() + 5_000
+                while (sent.size() < n + 2 && System.currentTimeMillis() < deadline) {
+                    Thread.sleep 1
+                }
+            }
+            pendingResults[4].complete(null)
+
+        then:
+            sent == [0, 1, 2, 3, 4]
+
+        cleanup:
+            threadPool?.shutdown()
+    }
+
+    def 'routes that share a bucket hash are limited together and receive fewer 429 responses'() {
+        when:
+            def tooManyRequestsWithSeparateBuckets = sendConcurrentRequestsToSharedBucket(false)
+            def tooManyRequestsWithSharedBucket = sendConcurrentRequestsToSharedBucket(true)
+
+        then:
+            tooManyRequestsWithSharedBucket == 0
+            tooManyRequestsWithSeparateBuckets > tooManyRequestsWithSharedBucket
+    }
+
+    /**
+     * Sends requests to two routes which share a ratelimit of one request per window on a local server, and counts the
+     * 429 responses after both routes were used once.
+     */
+    def sendConcurrentRequestsToSharedBucket(boolean sendBucketHash) {
+        def mockServer = ClientAndServer.startClientAndServer()
+        def threadPool = new ThreadPoolImpl()
+        try {
+            def windowMillis = 100
+            def windowStart = 0L
+            def tooManyRequests = new AtomicInteger()
+            mockServer.when(HttpRequest.request()).respond({
+                synchronized (tooManyRequests) {
+                    def response = HttpResponse.response().withHeader('Via', '1.1 google')
+                    if (sendBucketHash) {
+                        response.withHeader('X-RateLimit-Bucket', 'shared')
+                    }
+                    def now = System.currentTimeMillis()
+                    def remainingWindow = windowStart + windowMillis - now
+                    if (remainingWindow > 0) {
+                        tooManyRequests.incrementAndGet()
+                        return response.withStatusCode(429)
+                                .withBody("{\"retry_after\": ${remainingWindow / 1000}, \"global\": false}")
+                    }
+                    windowStart = now
+                    response.withStatusCode(200)
+                            .withHeader('X-RateLimit-Remaining', '0')
+                            .withHeader('X-RateLimit-Reset-After', "${windowMillis / 1000}")
+                }
+            } as ExpectationResponseCallback)
+
+            def objectMapper = new ObjectMapper()
+            DiscordApiImpl api = Stub {
+                getThreadPool() >> threadPool
+                getTimeOffset() >> null
+                getObjectMapper() >> objectMapper
+            }
+            def httpClient = new OkHttpClient()
+            def ratelimitManager = new RatelimitManager(api)
+            def request = { RestEndpoint endpoint ->
+                def result = new CompletableFuture<RestRequestResult>()
+                RestRequest restRequest
+                restRequest = Stub {
+                    getApi() >> api
+                    getMethod() >> RestMethod.GET
+                    getEndpoint() >> endpoint
+                    getMajorUrlParameter() >> Optional.of('1')
+                    getResult() >> result
+                    executeAsync() >> {
+                        CompletableFuture.supplyAsync({
+                            httpClient.newCall(new Request.Builder()
+                                    .url("http://127.0.0.1:$mockServer.localPort/${endpoint.name()}")
+                                    .build()).execute().withCloseable { new RestRequestResult(restRequest, it) }
+                        }, threadPool.executorService)
+                    }
+                }
+                ratelimitManager.queueRequest restRequest
+                result
+            }
+
+            // Let the ratelimit manager learn about both routes
+            request(RestEndpoint.MESSAGE).get(10, TimeUnit.SECONDS)
+            request(RestEndpoint.CHANNEL).get(10, TimeUnit.SECONDS)
+            tooManyRequests.set(0)
+
+            (0..<8).collectMany { [request(RestEndpoint.MESSAGE), request(RestEndpoint.CHANNEL)] }
+                    .each { it.get(30, TimeUnit.SECONDS) }
+            return tooManyRequests.get()
+        } finally {
+            threadPool.shutdown()
+            mockServer.close()
+        }
+    }
+
 }
@@ -0,0 +1,245 @@
+package org.javacord.core.util.rest
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import org.javacord.api.entity.channel.TextChannel
+import org.javacord.api.entity.permission.Role
+import org.javacord.api.entity.server.Server
+import org.javacord.api.entity.user.User
+import org.javacord.api.util.rest.RestBatchProgress
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.util.ratelimit.RatelimitManager
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.util.concurrent.TimeUnit
+
+@Subject(RestBatchImpl)
+class RestBatchImplTest extends Specification {
+
+    static final long DISCORD_EPOCH = 1420070400000L
+
+    def queued = []
+    def remaining = 1
+    DiscordApiImpl api = Stub()
+    def ratelimitManager = new RatelimitManager(api)
+
+    def setup() {
+        RatelimitManager ratelimitManagerStub = Stub {
+            getBucketKey(_) >> { RestRequest request -> ratelimitManager.getBucketKey(request) }
+            getRatelimitRemaining(_) >> { remaining }
+            queueRequest(_) >> { RestRequest request -> queued << request }
+        }
+        api.getRatelimitManager() >> ratelimitManagerStub
+    }
+
+    def 'message deletions are sent in bulk unless the messages are too old'() {
+        given:
+            def youngestId = (System.currentTimeMillis() - DISCORD_EPOCH) << 22
+            def youngIds = (0..<250).collect { youngestId - it }
+            def oldId = 1L << 22
+            def batch = new RestBatchImpl(api).deleteMessages(channel(5), youngIds + [oldId] as long[])
+
+        when:
+            def result = batch.execute()
+            def sent = completeAll()
+
+        then:
+            def bulkRequests = sent.findAll { it.endpoint == RestEndpoint.MESSAGES_BULK_DELETE }
+            bulkRequests.collect { new ObjectMapper().readTree(it.body.get()).get('messages').size() } ==
+                    [100, 100, 50]
+            def singleRequests = sent.findAll { it.endpoint == RestEndpoint.MESSAGE_DELETE }
+            singleRequests*.urlParameters*.toList() == [['5', Long.toUnsignedString(oldId)]]
+
+        and:
+            with(result.get(1, TimeUnit.SECONDS)) {
+                operationCount == 251
+                succeededCount == 251
+                failedCount == 0
+            }
+    }
+
+    def 'messages which are almost two weeks old are not deleted in bulk'() {
+        given:
+            def twoWeeks = TimeUnit.DAYS.toMillis(14)
+            def youngId = (System.currentTimeMillis() - DISCORD_EPOCH) << 22
+            def almostTwoWeeksOldIds = (0..<2).collect {
+                (System.currentTimeMillis() - twoWeeks + TimeUnit.MINUTES.toMillis(1) - DISCORD_EPOCH - it) << 22
+            }
+            def batch = new RestBatchImpl(api)
+                    .deleteMessages(channel(5), [youngId, youngId - 1] + almostTwoWeeksOldIds as long[])
+
+        when:
+            batch.execute()
+            def sent = completeAll()
+
+        then:
+            sent.count { it.endpoint == RestEndpoint.MESSAGES_BULK_DELETE } == 1
+            sent.findAll { it.endpoint == RestEndpoint.MESSAGE_DELETE }*.urlParameters*.getAt(1) ==
+                    almostTwoWeeksOldIds.collect { Long.toUnsignedString(it) }
+    }
+
+    def 'a bucket gets at most as many requests as it has remaining'() {
+        given:
+            remaining = 5
+            def role = role(1, server(10))
+            def batch = new RestBatchImpl(api)
+            (0..<20).each { batch.addRoleToUser(user(it), role) }
+
+        when:
+            batch.execute()
+
+        then:
+            queued.size() == 5
+
+        when:
+            queued.remove(0).result.complete(Stub(RestRequestResult))
+
+        then:
+            queued.size() == 5
+    }
+
+    def 'the pending requests are limited by the parallelism and shared by the buckets'() {
+        given:
+            remaining = 5
+            def roleA = role(1, server(10))
+            def roleB = role(2, server(20))
+            def batch = new RestBatchImpl(api).setMaxParallelism(6)
+            (0..<20).each { batch.addRoleToUser(user(it), roleA).addRoleToUser(user(it), roleB) }
+
+        when:
+            batch.execute()
+
+        then:
+            queued.size() == 6
+            queued.countBy { it.majorUrlParameter.get() } == ['10': 3, '20': 3]
+    }
+
+    def 'repeated operations of a bucket are all sent in the order they were added'() {
+        given:
+            remaining = 5
+            def role = role(1, server(10))
+            def user = user(2)
+            def batch = new RestBatchImpl(api)
+                    .addRoleToUser(user, role)
+                    .removeRoleFromUser(user, role)
+                    .addRoleToUser(user, role)
+
+        when:
+            def result = batch.execute()
+            def sent = completeAll()
+
+        then:
+            sent*.method == [RestMethod.PUT, RestMethod.DELETE, RestMethod.PUT]
+            result.get(1, TimeUnit.SECONDS).operationCount == 3
+    }
+
+    def 'bans are sent in bulk and users which were not banned are reported'() {
+        given:
+            def batch = new RestBatchImpl(api)
+                    .banUser(server(10), 1)
+                    .banUser(server(10), 2)
+                    .banUser(server(10), 3)
+                    .banUser(server(20), 4)
+
+        when:
+            def result = batch.execute()
+            def sent = completeAll { request ->
+                Stub(RestRequestResult) {
+                    getJsonBody() >> new ObjectMapper()
+                            .readTree('{"banned_users": ["1", "2"], "failed_users": ["3"]}')
+                }
+            }
+
+        then:
+            sent.find { it.endpoint == RestEndpoint.SERVER_BULK_BAN }.urlParameters.toList() == ['10']
+            sent.find { it.endpoint == RestEndpoint.BAN }.urlParameters.toList() == ['20', '4']
+
+        and:
+            with(result.get(1, TimeUnit.SECONDS)) {
+                operationCount == 4
+                succeededCount == 3
+                failedCount == 1
+                failures.keySet() == ['ban user 3 from server 10'] as Set
+            }
+    }
+
+    def 'failed requests fail all of their operations and progress is reported'() {
+        given:
+            def progress = []
+            def server = server(10)
+            def batch = new RestBatchImpl(api)
+                    .kickUser(server, user(1))
+                    .kickUser(server, user(2))
+                    .addProgressListener { RestBatchProgress it -> progress << it.completedCount }
+            def cause = new IllegalStateException()
+
+        when:
+            def result = batch.execute()
+            queued.remove(0).result.completeExceptionally(cause)
+            queued.remove(0).result.complete(Stub(RestRequestResult))
+
+        then:
+            progress == [1, 2]
+            with(result.get(1, TimeUnit.SECONDS)) {
+                succeededCount == 1
+                failedCount == 1
+                failures == ['kick user 1 from server 10': cause]
+            }
+    }
+
+    def 'a batch can be executed only once'() {
+        given:
+            def batch = new RestBatchImpl(api)
+            batch.execute()
+
+        when:
+            batch.execute()
+
+        then:
+            thrown(IllegalStateException)
+    }
+
+    /**
+     * Completes the queued requests until the batch does not queue any more requests.
+     *
+     * @param response Creates the response of a request, if the response's content matters.
+     * @return All completed requests.
+     */
+    def completeAll(Closure<RestRequestResult> response = null) {
+        def sent = []
+        while (queued) {
+            RestRequest request = queued.remove(0)
+            sent << request
+            request.result.complete(response ? response(request) : Stub(RestRequestResult))
+        }
+        sent
+    }
+
+    def server(long id) {
+        Stub(Server) {
+            getId() >> id
+            getIdAsString() >> Long.toUnsignedString(id)
+        }
+    }
+
+    def user(long id) {
+        Stub(User) {
+            getId() >> id
+            getIdAsString() >> Long.toUnsignedString(id)
+        }
+    }
+
+    def role(long id, Server server) {
+        Stub(Role) {
+            getIdAsString() >> Long.toUnsignedString(id)
+            getServer() >> server
+        }
+    }
+
+    def channel(long id) {
+        Stub(TextChannel) {
+            getId() >> id
+            getIdAsString() >> Long.toUnsignedString(id)
+        }
+    }
+}
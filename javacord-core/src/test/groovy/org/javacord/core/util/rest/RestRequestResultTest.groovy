@@ -1,15 +1,32 @@
 package org.javacord.core.util.rest
 
+import com.fasterxml.jackson.databind.JsonNode
+import com.fasterxml.jackson.databind.ObjectMapper
+import okhttp3.MediaType
 import okhttp3.Protocol
 import okhttp3.Request
 import okhttp3.Response
 import okhttp3.ResponseBody
+import org.apache.logging.log4j.Level
+import org.apache.logging.log4j.core.config.Configurator
+import org.javacord.core.DiscordApiImpl
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.util.stream.Collectors
+
 @Subject(RestRequestResult)
 class RestRequestResultTest extends Specification {
 
+    def setup() {
+        // The string body is read for trace logging, which is enabled in tests
+        Configurator.setLevel(RestRequestResult.name, Level.DEBUG)
+    }
+
+    def cleanup() {
+        Configurator.setLevel(RestRequestResult.name, Level.ALL)
+    }
+
     def 'jsonBody is not null, but MissingNode if response body is empty'() {
         given:
             def request = new Request.Builder()
@@ -31,4 +48,93 @@ class RestRequestResultTest extends Specification {
             result.jsonBody.isMissingNode()
     }
 
+    def 'successful responses are parsed without a string body'() {
+        given:
+            def request = request(decoding)
+
+        when:
+            def result = new RestRequestResult(request, response(200, '{"id": "1"}'))
+
+        then:
+            result.jsonBody.get('id').asText() == '1'
+            result.stringBody.present == stringBodyPresent
+
+        where:
+            decoding                    | stringBodyPresent
+            RestResponseDecoding.TREE   | false
+            RestResponseDecoding.STRING | true
+    }
+
+    def 'error responses keep their string body'() {
+        when:
+            def result = new RestRequestResult(request(RestResponseDecoding.TREE), response(404, body))
+
+        then:
+            result.stringBody == Optional.of(body)
+            result.jsonBody.get('code').asInt() == 10003
+
+        where:
+            body = '{"code": 10003, "message": "Unknown Channel"}'
+    }
+
+    def 'array elements are mapped one at a time'() {
+        given:
+            def request = new RestRequest<List<String>>(api(), RestMethod.GET, RestEndpoint.MESSAGE)
+            request.executeMappingElements({ JsonNode it -> it.get('id').asText() }, Collectors.toList())
+
+        when:
+            def result = new RestRequestResult(request, response(200, '[{"id": "1"}, {"id": "2"}, {"id": "3"}]'))
+
+        then:
+            result.mappedElements == ['1', '2', '3']
+            result.jsonBody.isNull()
+            !result.stringBody.present
+    }
+
+    def 'elements of error responses are not mapped'() {
+        given:
+            def request = new RestRequest<List<String>>(api(), RestMethod.GET, RestEndpoint.MESSAGE)
+            request.executeMappingElements({ JsonNode it -> it.asText() }, Collectors.toList())
+
+        when:
+            def result = new RestRequestResult(request, response(403, '{"code": 50001}'))
+
+        then:
+            result.mappedElements == null
+            result.jsonBody.get('code').asInt() == 50001
+    }
+
+    def 'elements can only be decoded when mapping them'() {
+        when:
+            new RestRequest<Void>(api(), RestMethod.GET, RestEndpoint.MESSAGE)
+                    .setResponseDecoding(RestResponseDecoding.ELEMENTS)
+
+        then:
+            thrown(IllegalArgumentException)
+    }
+
+    def request(RestResponseDecoding decoding) {
+        def api = api()
+        Stub(RestRequest) {
+            getApi() >> api
+            getResponseDecoding() >> decoding
+        }
+    }
+
+    def api() {
+        Stub(DiscordApiImpl) {
+            getObjectMapper() >> new ObjectMapper()
+        }
+    }
+
+    static Response response(int code, String body) {
+        new Response.Builder()
+                .request(new Request.Builder().url('http://localhost').build())
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message('')
+                .body(ResponseBody.create(body, MediaType.get('application/json')))
+                .build()
+    }
+
 }
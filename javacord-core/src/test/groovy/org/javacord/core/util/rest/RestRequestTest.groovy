@@ -0,0 +1,76 @@
+package org.javacord.core.util.rest
+
+import org.javacord.api.util.rest.RestRequestOriginCapture
+import org.javacord.core.DiscordApiImpl
+import org.javacord.core.OfflineDiscordApiBuilder
+import spock.lang.Specification
+import spock.lang.Subject
+
+@Subject(RestRequest)
+class RestRequestTest extends Specification {
+
+    def request(RestRequestOriginCapture originCapture) {
+        DiscordApiImpl api = Stub {
+            getRestRequestOriginCapture() >> originCapture
+        }
+        new RestRequest(api, RestMethod.GET, RestEndpoint.MESSAGE)
+    }
+
+    def 'the full origin of every request is captured by default'() {
+        given:
+            def api = new OfflineDiscordApiBuilder().build()
+
+        when:
+            def origin = new RestRequest(api, RestMethod.GET, RestEndpoint.MESSAGE).origin
+
+        then:
+            api.restRequestOriginCapture == RestRequestOriginCapture.full()
+            origin.message == 'origin of RestRequest call'
+            origin.stackTrace.any { it.className == RestRequestTest.name }
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'the origin capture of the api is used for its requests'() {
+        given:
+            def api = new OfflineDiscordApiBuilder()
+                    .setRestRequestOriginCapture(RestRequestOriginCapture.disabled())
+                    .build()
+
+        when:
+            def origin = new RestRequest(api, RestMethod.GET, RestEndpoint.MESSAGE).origin
+
+        then:
+            origin == null
+
+        cleanup:
+            api?.disconnect()
+    }
+
+    def 'no origin is captured if the capture is disabled'() {
+        expect:
+            (1..100).every { request(RestRequestOriginCapture.disabled()).origin == null }
+    }
+
+    def 'only the origin of sampled requests is captured'() {
+        expect:
+            (1..100).every { request(RestRequestOriginCapture.sampled(1)).origin != null }
+            (1..1000).every { request(RestRequestOriginCapture.sampled(Integer.MAX_VALUE)).origin == null }
+    }
+
+    def 'the origin of limited requests has at most the requested frames'() {
+        when:
+            def origin = request(RestRequestOriginCapture.limited(3)).origin
+
+        then:
+            origin.message == 'origin of RestRequest call'
+            StackFrames.isSupported() ? origin.stackTrace.length <= 3 : origin.stackTrace.length > 3
+
+        and: 'the frames of the rest request itself are skipped'
+            !StackFrames.isSupported() || origin.stackTrace.every {
+                it.className != RestRequest.name && it.className != StackFrames.name
+            }
+    }
+
+}
@@ -0,0 +1,92 @@
+package org.javacord.core;
+
+import org.javacord.api.util.cache.EntityCacheBackend;
+import org.javacord.api.util.event.EventDispatchMode;
+import org.javacord.api.util.ratelimit.LocalRatelimiter;
+import org.javacord.api.util.rest.RestRequestOriginCapture;
+
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Creates apis that are not connected to Discord for tests and benchmarks.
+ *
+ * <p>The apis have no token, do not register a shutdown hook and handle packets in a single thread unless configured
+ * otherwise. They must be disconnected to shut down their thread pool.
+ */
+public class OfflineDiscordApiBuilder {
+
+    private boolean userCacheEnabled = true;
+    private EntityCacheBackend entityCacheBackend = EntityCacheBackend.IMMUTABLE;
+    private EventDispatchMode eventDispatchMode = EventDispatchMode.QUEUE_MANAGER;
+    private int packetHandlerThreads = 1;
+    private RestRequestOriginCapture restRequestOriginCapture = RestRequestOriginCapture.full();
+
+    /**
+     * Sets whether the user cache is enabled.
+     *
+     * @param userCacheEnabled Whether the user cache is enabled.
+     * @return The current instance in order to chain call methods.
+     */
+    public OfflineDiscordApiBuilder setUserCacheEnabled(boolean userCacheEnabled) {
+        this.userCacheEnabled = userCacheEnabled;
+        return this;
+    }
+
+    /**
+     * Sets the data structure that is used to cache channels, members and presences.
+     *
+     * @param entityCacheBackend The entity cache backend.
+     * @return The current instance in order to chain call methods.
+     */
+    public OfflineDiscordApiBuilder setEntityCacheBackend(EntityCacheBackend entityCacheBackend) {
+        this.entityCacheBackend = entityCacheBackend;
+        return this;
+    }
+
+    /**
+     * Sets the way events are queued before they are dispatched to the listeners.
+     *
+     * @param eventDispatchMode The event dispatch mode.
+     * @return The current instance in order to chain call methods.
+     */
+    public OfflineDiscordApiBuilder setEventDispatchMode(EventDispatchMode eventDispatchMode) {
+        this.eventDispatchMode = eventDispatchMode;
+        return this;
+    }
+
+    /**
+     * Sets the amount of threads which handle the packets of servers in parallel.
+     *
+     * @param packetHandlerThreads The amount of packet handler threads.
+     * @return The current instance in order to chain call methods.
+     */
+    public OfflineDiscordApiBuilder setPacketHandlerThreads(int packetHandlerThreads) {
+        this.packetHandlerThreads = packetHandlerThreads;
+        return this;
+    }
+
+    /**
+     * Sets how the origin of rest requests is captured.
+     *
+     * @param restRequestOriginCapture The rest request origin capture.
+     * @return The current instance in order to chain call methods.
+     */
+    public OfflineDiscordApiBuilder setRestRequestOriginCapture(RestRequestOriginCapture restRequestOriginCapture) {
+        this.restRequestOriginCapture = restRequestOriginCapture;
+        return this;
+    }
+
+    /**
+     * Creates the api.
+     *
+     * @return The api.
+     */
+    public DiscordApiImpl build() {
+        return new DiscordApiImpl(null, 0, 1, Collections.emptySet(), false, false, false, null,
+                new LocalRatelimiter(1, Duration.ofSeconds(5)), null, null, null, false, null, null,
+                Collections.emptyMap(), Collections.emptyList(), userCacheEnabled, true, entityCacheBackend, -1,
+                eventDispatchMode, false, packetHandlerThreads, false, null, 0, restRequestOriginCapture, false);
+    }
+
+}